@@ -0,0 +1,42 @@
+// k6 login storm against auth-service: VUS clients logging in back to back.
+// Measures login latency and how many requests the hashing pool refuses with 429; see README.md.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'https://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000');
+const HOLD = __ENV.HOLD || '3m';
+// Accounts registered beforehand as <prefix><n>@loadtest.local with PASSWORD
+const USERS = parseInt(__ENV.USERS || '1000');
+const EMAIL_PREFIX = __ENV.EMAIL_PREFIX || 'storm';
+const PASSWORD = __ENV.PASSWORD;
+
+const rejected = new Counter('login_rejected');
+
+export const options = {
+    insecureSkipTLSVerify: true,
+    scenarios: {
+        storm: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: HOLD, target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const user = Math.floor(Math.random() * USERS);
+    const res = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ email: `${EMAIL_PREFIX}${user}@loadtest.local`, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' }, timeout: '30s' });
+    if (res.status === 429) {
+        rejected.add(1);
+    }
+    check(res, { 'status is 200 or 429': (r) => r.status === 200 || r.status === 429 });
+}
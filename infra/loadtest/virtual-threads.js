@@ -0,0 +1,40 @@
+// k6 load test comparing platform-thread and virtual-thread mode of a servlet service.
+// Ramps to VUS concurrent clients holding requests against one endpoint; see README.md.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'https://localhost:8080';
+const TARGET_PATH = __ENV.TARGET_PATH || '/api/payments/history';
+const TOKEN = __ENV.TOKEN;
+const VUS = parseInt(__ENV.VUS || '10000');
+const HOLD = __ENV.HOLD || '5m';
+const MODE = __ENV.MODE || 'platform';
+
+export const options = {
+    insecureSkipTLSVerify: true,
+    discardResponseBodies: true,
+    tags: { mode: MODE },
+    scenarios: {
+        concurrent: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '2m', target: VUS },
+                { duration: HOLD, target: VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const params = {
+    headers: TOKEN ? { Authorization: `Bearer ${TOKEN}` } : {},
+    timeout: '60s',
+};
+
+export default function () {
+    const res = http.get(`${BASE_URL}${TARGET_PATH}`, params);
+    check(res, { 'status is 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
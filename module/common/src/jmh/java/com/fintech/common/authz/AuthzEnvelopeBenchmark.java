@@ -0,0 +1,74 @@
+package com.fintech.common.authz;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading the X-Authz header on a downstream service: the binary envelope against
+ * the legacy Base64 JSON that every request used to deserialize into nested maps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AuthzEnvelopeBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private String envelopeHeader;
+    private String jsonHeader;
+
+    @Setup
+    public void setup() throws Exception {
+        Map<String, Map<String, Object>> resourceAccess = new LinkedHashMap<>();
+        for (String type : List.of("account", "transaction", "ledger", "report")) {
+            Map<String, Object> resource = new LinkedHashMap<>();
+            resource.put("access_field", List.of("id", "userId", "amount", "currency", "status",
+                    "createdAt", "updatedAt", "description", "reference", "balance"));
+            resource.put("config", Map.of("access_level", "OWN", "limit", 100));
+            resourceAccess.put(type, resource);
+        }
+        List<String> permissions = List.of("GET:/api/v1/accounts/*", "POST:/api/v1/transactions/**");
+
+        envelopeHeader = AuthzEnvelope.encode(true, "123456789012345678", "CUSTOMER", null,
+                permissions, resourceAccess);
+
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("allowed", true);
+        legacy.put("userId", "123456789012345678");
+        legacy.put("role", "CUSTOMER");
+        legacy.put("permissions", permissions);
+        legacy.put("resourceAccess", resourceAccess);
+        legacy.put("reason", null);
+        jsonHeader = Base64.getEncoder().encodeToString(mapper.writeValueAsBytes(legacy));
+    }
+
+    @Benchmark
+    public boolean envelopeFieldCheck() {
+        AuthzEnvelope envelope = AuthzEnvelope.parse(envelopeHeader);
+        int resource = envelope.indexOfResource("transaction");
+        return resource >= 0 && envelope.getAllowedFields(resource).contains("amount");
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public boolean legacyJsonFieldCheck() throws Exception {
+        String json = new String(Base64.getDecoder().decode(jsonHeader), StandardCharsets.UTF_8);
+        Map<String, Object> authz = mapper.readValue(json, Map.class);
+        Map<String, Map<String, Object>> resourceAccess = (Map<String, Map<String, Object>>) authz.get("resourceAccess");
+        Map<String, Object> resource = resourceAccess.get("transaction");
+        return resource != null && ((List<String>) resource.get("access_field")).contains("amount");
+    }
+}
@@ -0,0 +1,54 @@
+package com.fintech.common.id;
+
+import java.time.Instant;
+
+/**
+ * Copy of the per-service generator this module replaces (global lock, Instant.now()
+ * and busy-spin on sequence overflow), kept only as a benchmark baseline.
+ */
+public class LegacySynchronizedSnowflake {
+
+    private static final long EPOCH = 1640995200000L;
+    private static final long SEQUENCE_BITS = 12L;
+    private static final long NODE_ID_BITS = 10L;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final long NODE_ID_SHIFT = SEQUENCE_BITS;
+    private static final long TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_ID_BITS;
+
+    private final long nodeId;
+    private volatile long lastTimestamp = -1L;
+    private volatile long sequence = 0L;
+    private final Object lock = new Object();
+
+    public LegacySynchronizedSnowflake(long nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long generateId() {
+        synchronized (lock) {
+            long currentTimestamp = Instant.now().toEpochMilli();
+            if (currentTimestamp < lastTimestamp) {
+                throw new IllegalStateException("Clock moved backwards");
+            }
+            if (currentTimestamp == lastTimestamp) {
+                sequence = (sequence + 1) & MAX_SEQUENCE;
+                if (sequence == 0) {
+                    while (currentTimestamp <= lastTimestamp) {
+                        currentTimestamp = Instant.now().toEpochMilli();
+                    }
+                }
+            } else {
+                sequence = 0L;
+            }
+            lastTimestamp = currentTimestamp;
+            return ((currentTimestamp - EPOCH) << TIMESTAMP_SHIFT) | (nodeId << NODE_ID_SHIFT) | sequence;
+        }
+    }
+
+    /**
+     * The transaction-service variant returned the ID as a String
+     */
+    public String nextId() {
+        return String.valueOf(generateId());
+    }
+}
@@ -0,0 +1,71 @@
+package com.fintech.common.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the shared lock-free generator against the legacy synchronized one.
+ * Each nested class runs the same benchmarks at a fixed thread count (1, 4, 16, 64).
+ *
+ * Note: both generators are capped at 4096 IDs/ms by the Snowflake layout, so at high
+ * thread counts the numbers show how each one behaves at that ceiling rather than raw CAS cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public abstract class SnowflakeIdGeneratorBenchmark {
+
+    private static final int BLOCK_SIZE = 100;
+
+    private final SnowflakeIdGenerator lockFree = new SnowflakeIdGenerator(1);
+    private final LegacySynchronizedSnowflake legacy = new LegacySynchronizedSnowflake(1);
+
+    @Benchmark
+    public long lockFreeNextId() {
+        return lockFree.nextId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK_SIZE)
+    public void lockFreeReservedBlock(Blackhole blackhole) {
+        IdBlock block = lockFree.reserve(BLOCK_SIZE);
+        while (block.hasNext()) {
+            blackhole.consume(block.nextId());
+        }
+    }
+
+    @Benchmark
+    public long legacySynchronized() {
+        return legacy.generateId();
+    }
+
+    @Benchmark
+    public String legacySynchronizedString() {
+        return legacy.nextId();
+    }
+
+    @Threads(1)
+    public static class OneThread extends SnowflakeIdGeneratorBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends SnowflakeIdGeneratorBenchmark {
+    }
+
+    @Threads(16)
+    public static class SixteenThreads extends SnowflakeIdGeneratorBenchmark {
+    }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends SnowflakeIdGeneratorBenchmark {
+    }
+}
@@ -0,0 +1,87 @@
+package com.fintech.common.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifications per second of an RS256 access token as signed by auth-service.
+ *
+ * parserPerCall is what the gateway and authorization service used to do (build a parser
+ * and check the signature on every request), sharedParser keeps one parser but still
+ * checks every signature, and cached serves repeat tokens from JwtVerifier. Requests are
+ * spread over a working set of live sessions, each sending many requests per token.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JwtVerifierBenchmark {
+
+    private static final int TOKEN_COUNT = 10_000;
+
+    private final String[] tokens = new String[TOKEN_COUNT];
+
+    private PublicKey publicKey;
+    private JwtParser sharedParser;
+    private JwtVerifier verifier;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        publicKey = keyPair.getPublic();
+
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            String sessionId = "session-" + i;
+            tokens[i] = Jwts.builder().subject(sessionId).issuedAt(now).expiration(expiry)
+                    .claim("sessionId", sessionId)
+                    .claim("userId", String.valueOf(100_000_000_000L + i))
+                    .claim("roleId", 2L)
+                    .signWith(keyPair.getPrivate())
+                    .compact();
+        }
+
+        sharedParser = Jwts.parser().verifyWith(publicKey).build();
+        verifier = new JwtVerifier(publicKey, Duration.ofMinutes(5), TOKEN_COUNT * 2);
+        for (String token : tokens) {
+            verifier.verify(token);
+        }
+    }
+
+    @Benchmark
+    public Claims parserPerCall() {
+        return Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(nextToken()).getPayload();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseSignedClaims(nextToken()).getPayload();
+    }
+
+    @Benchmark
+    public Claims cached() {
+        return verifier.verify(nextToken());
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(TOKEN_COUNT)];
+    }
+}
@@ -0,0 +1,492 @@
+package com.fintech.common.authz;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of the authorization decision the gateway forwards in X-Authz.
+ *
+ * Header value: {@code "b1." + base64url(payload)}, without padding. Payload layout (v1):
+ * <pre>
+ * u8      version
+ * varint  string count, then per string: varint byte length + UTF-8 bytes
+ * u8      flags (allowed, has userId, has role, has reason)
+ * varint  userId / role / reason string refs, present per flags
+ * varint  permission count, then string refs
+ * varint  resource count, then per resource:
+ *           varint type ref
+ *           varint field count, then field string refs
+ *           varint config byte length, then the config map as tagged values
+ * </pre>
+ * Every string appears once in the table and is referenced by index, so repeated field
+ * names and config keys cost one or two bytes.
+ *
+ * The reader keeps the decoded payload and only records offsets while parsing; strings and
+ * config maps are materialized the first time they are asked for. Instances are meant to be
+ * used by the request thread that parsed them and are not thread-safe.
+ */
+public final class AuthzEnvelope {
+
+    public static final String PREFIX = "b1.";
+    static final int VERSION = 1;
+
+    private static final int FLAG_ALLOWED = 1;
+    private static final int FLAG_USER_ID = 1 << 1;
+    private static final int FLAG_ROLE = 1 << 2;
+    private static final int FLAG_REASON = 1 << 3;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_FALSE = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_DOUBLE = 4;
+    private static final int TAG_STRING = 5;
+    private static final int TAG_LIST = 6;
+    private static final int TAG_MAP = 7;
+
+    private static final String ACCESS_FIELD = "access_field";
+    private static final String CONFIG = "config";
+
+    private final byte[] data;
+    private final int[] stringOffsets;
+    private final int[] stringLengths;
+    private final String[] strings;
+
+    private final boolean allowed;
+    private final int userIdRef;
+    private final int roleRef;
+    private final int reasonRef;
+    private final int[] permissionRefs;
+
+    private final int[] resourceTypeRefs;
+    private final int[][] resourceFieldRefs;
+    private final int[] resourceConfigOffsets;
+    private final Map<String, Object>[] resourceConfigs;
+
+    // ------------------------------------------------------------------ reading
+
+    public static boolean isEnvelope(String header) {
+        return header != null && header.startsWith(PREFIX);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the header is not a well-formed v1 envelope
+     */
+    public static AuthzEnvelope parse(String header) {
+        if (!isEnvelope(header)) {
+            throw new IllegalArgumentException("Not an authz envelope");
+        }
+        try {
+            return new AuthzEnvelope(Base64.getUrlDecoder().decode(header.substring(PREFIX.length())));
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated authz envelope", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private AuthzEnvelope(byte[] data) {
+        this.data = data;
+        Cursor in = new Cursor(data);
+
+        int version = in.u8();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported authz envelope version: " + version);
+        }
+
+        int stringCount = in.varint();
+        stringOffsets = new int[stringCount];
+        stringLengths = new int[stringCount];
+        strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            stringLengths[i] = in.varint();
+            stringOffsets[i] = in.pos;
+            in.pos += stringLengths[i];
+        }
+
+        int flags = in.u8();
+        allowed = (flags & FLAG_ALLOWED) != 0;
+        userIdRef = (flags & FLAG_USER_ID) != 0 ? checkRef(in.varint()) : -1;
+        roleRef = (flags & FLAG_ROLE) != 0 ? checkRef(in.varint()) : -1;
+        reasonRef = (flags & FLAG_REASON) != 0 ? checkRef(in.varint()) : -1;
+
+        permissionRefs = new int[in.varint()];
+        for (int i = 0; i < permissionRefs.length; i++) {
+            permissionRefs[i] = checkRef(in.varint());
+        }
+
+        int resourceCount = in.varint();
+        resourceTypeRefs = new int[resourceCount];
+        resourceFieldRefs = new int[resourceCount][];
+        resourceConfigOffsets = new int[resourceCount];
+        resourceConfigs = new Map[resourceCount];
+        for (int r = 0; r < resourceCount; r++) {
+            resourceTypeRefs[r] = checkRef(in.varint());
+            int[] fields = new int[in.varint()];
+            for (int f = 0; f < fields.length; f++) {
+                fields[f] = checkRef(in.varint());
+            }
+            resourceFieldRefs[r] = fields;
+            int configLength = in.varint();
+            resourceConfigOffsets[r] = in.pos;
+            in.pos += configLength;
+        }
+        if (in.pos != data.length) {
+            throw new IllegalArgumentException("Malformed authz envelope");
+        }
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public String getUserId() {
+        return string(userIdRef);
+    }
+
+    public String getRole() {
+        return string(roleRef);
+    }
+
+    public String getReason() {
+        return string(reasonRef);
+    }
+
+    public List<String> getPermissions() {
+        List<String> permissions = new ArrayList<>(permissionRefs.length);
+        for (int ref : permissionRefs) {
+            permissions.add(string(ref));
+        }
+        return permissions;
+    }
+
+    public int getResourceCount() {
+        return resourceTypeRefs.length;
+    }
+
+    /**
+     * Index of the resource type, or -1 when the envelope grants nothing on it
+     */
+    public int indexOfResource(String resourceType) {
+        for (int r = 0; r < resourceTypeRefs.length; r++) {
+            if (resourceType.equals(string(resourceTypeRefs[r]))) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    public String getResourceType(int resource) {
+        return string(resourceTypeRefs[resource]);
+    }
+
+    public int getFieldCount(int resource) {
+        return resourceFieldRefs[resource].length;
+    }
+
+    public String getField(int resource, int field) {
+        return string(resourceFieldRefs[resource][field]);
+    }
+
+    public List<String> getAllowedFields(int resource) {
+        int[] refs = resourceFieldRefs[resource];
+        List<String> fields = new ArrayList<>(refs.length);
+        for (int ref : refs) {
+            fields.add(string(ref));
+        }
+        return fields;
+    }
+
+    /**
+     * The resource's config map, decoded on first access
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getConfig(int resource) {
+        Map<String, Object> config = resourceConfigs[resource];
+        if (config == null) {
+            Cursor in = new Cursor(data);
+            in.pos = resourceConfigOffsets[resource];
+            config = (Map<String, Object>) readValue(in);
+            resourceConfigs[resource] = config;
+        }
+        return config;
+    }
+
+    /**
+     * Materializes the legacy resourceType -> {access_field, config} structure
+     */
+    public Map<String, Map<String, Object>> toResourceAccess() {
+        Map<String, Map<String, Object>> resourceAccess = new LinkedHashMap<>();
+        for (int r = 0; r < resourceTypeRefs.length; r++) {
+            Map<String, Object> resource = new LinkedHashMap<>();
+            resource.put(ACCESS_FIELD, getAllowedFields(r));
+            resource.put(CONFIG, getConfig(r));
+            resourceAccess.put(getResourceType(r), resource);
+        }
+        return resourceAccess;
+    }
+
+    private String string(int ref) {
+        if (ref < 0) {
+            return null;
+        }
+        String value = strings[ref];
+        if (value == null) {
+            value = new String(data, stringOffsets[ref], stringLengths[ref], StandardCharsets.UTF_8);
+            strings[ref] = value;
+        }
+        return value;
+    }
+
+    private int checkRef(int ref) {
+        if (ref < 0 || ref >= strings.length) {
+            throw new IllegalArgumentException("Invalid string reference in authz envelope: " + ref);
+        }
+        return ref;
+    }
+
+    private Object readValue(Cursor in) {
+        int tag = in.u8();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_LONG: {
+                long value = in.zigzag();
+                // Same number types Jackson produces for untyped JSON
+                return value == (int) value ? (Object) (int) value : (Object) value;
+            }
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(in.fixed64());
+            case TAG_STRING:
+                return string(checkRef(in.varint()));
+            case TAG_LIST: {
+                int size = in.varint();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return Collections.unmodifiableList(list);
+            }
+            case TAG_MAP: {
+                int size = in.varint();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    String key = string(checkRef(in.varint()));
+                    map.put(key, readValue(in));
+                }
+                return Collections.unmodifiableMap(map);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown value tag in authz envelope: " + tag);
+        }
+    }
+
+    private static final class Cursor {
+        final byte[] data;
+        int pos;
+
+        Cursor(byte[] data) {
+            this.data = data;
+        }
+
+        int u8() {
+            return data[pos++] & 0xFF;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = u8();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (value < 0) {
+                        throw new IllegalArgumentException("Negative length in authz envelope");
+                    }
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in authz envelope");
+        }
+
+        long zigzag() {
+            long raw = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = u8();
+                raw |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (raw >>> 1) ^ -(raw & 1);
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in authz envelope");
+        }
+
+        long fixed64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | u8();
+            }
+            return value;
+        }
+    }
+
+    // ------------------------------------------------------------------ writing
+
+    /**
+     * Encode a decision into an X-Authz header value
+     *
+     * @param resourceAccess resourceType -> {access_field: [fields], config: {key: value}}
+     */
+    public static String encode(boolean allowed, String userId, String role, String reason,
+                                Collection<String> permissions,
+                                Map<String, ? extends Map<String, ?>> resourceAccess) {
+        Writer writer = new Writer();
+        Buffer body = writer.body;
+
+        int flags = (allowed ? FLAG_ALLOWED : 0)
+                | (userId != null ? FLAG_USER_ID : 0)
+                | (role != null ? FLAG_ROLE : 0)
+                | (reason != null ? FLAG_REASON : 0);
+        body.write(flags);
+        if (userId != null) {
+            body.varint(writer.ref(userId));
+        }
+        if (role != null) {
+            body.varint(writer.ref(role));
+        }
+        if (reason != null) {
+            body.varint(writer.ref(reason));
+        }
+
+        if (permissions == null) {
+            body.varint(0);
+        } else {
+            body.varint(permissions.size());
+            for (String permission : permissions) {
+                body.varint(writer.ref(permission));
+            }
+        }
+
+        if (resourceAccess == null) {
+            body.varint(0);
+        } else {
+            body.varint(resourceAccess.size());
+            for (Map.Entry<String, ? extends Map<String, ?>> resource : resourceAccess.entrySet()) {
+                body.varint(writer.ref(resource.getKey()));
+                Map<String, ?> access = resource.getValue() != null ? resource.getValue() : Map.of();
+
+                Object fields = access.get(ACCESS_FIELD);
+                if (fields instanceof Collection<?> list) {
+                    body.varint(list.size());
+                    for (Object field : list) {
+                        body.varint(writer.ref(String.valueOf(field)));
+                    }
+                } else {
+                    body.varint(0);
+                }
+
+                Buffer config = new Buffer();
+                Object configValue = access.get(CONFIG);
+                writer.value(config, configValue instanceof Map ? configValue : Map.of());
+                body.varint(config.size());
+                config.writeTo(body);
+            }
+        }
+
+        Buffer out = new Buffer();
+        out.write(VERSION);
+        out.varint(writer.strings.size());
+        for (byte[] string : writer.stringBytes) {
+            out.varint(string.length);
+            out.write(string, 0, string.length);
+        }
+        body.writeTo(out);
+
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    private static final class Writer {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final List<byte[]> stringBytes = new ArrayList<>();
+        final Buffer body = new Buffer();
+
+        int ref(String value) {
+            Integer ref = strings.get(value);
+            if (ref == null) {
+                ref = strings.size();
+                strings.put(value, ref);
+                stringBytes.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return ref;
+        }
+
+        void value(Buffer out, Object value) {
+            if (value == null) {
+                out.write(TAG_NULL);
+            } else if (value instanceof Boolean b) {
+                out.write(b ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                out.write(TAG_LONG);
+                out.zigzag(((Number) value).longValue());
+            } else if (value instanceof Number n) {
+                out.write(TAG_DOUBLE);
+                out.fixed64(Double.doubleToLongBits(n.doubleValue()));
+            } else if (value instanceof Collection<?> list) {
+                out.write(TAG_LIST);
+                out.varint(list.size());
+                for (Object item : list) {
+                    value(out, item);
+                }
+            } else if (value instanceof Map<?, ?> map) {
+                out.write(TAG_MAP);
+                out.varint(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    out.varint(ref(String.valueOf(entry.getKey())));
+                    value(out, entry.getValue());
+                }
+            } else {
+                out.write(TAG_STRING);
+                out.varint(ref(value.toString()));
+            }
+        }
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        void varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void zigzag(long value) {
+            long raw = (value << 1) ^ (value >> 63);
+            while ((raw & ~0x7FL) != 0) {
+                write((int) ((raw & 0x7F) | 0x80));
+                raw >>>= 7;
+            }
+            write((int) raw);
+        }
+
+        void fixed64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift) & 0xFF);
+            }
+        }
+
+        void writeTo(Buffer other) {
+            other.write(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.fintech.common.concurrent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread mode additions on top of spring.threads.virtual.enabled (Java 21+ only):
+ * consumer threads for the services' own Kafka listener factories and pinning diagnostics
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAutoConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "threads.virtual.pinning.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${threads.virtual.pinning.threshold-ms:20}") long thresholdMs,
+            @Value("${threads.virtual.pinning.summary-interval-ms:60000}") long summaryIntervalMs) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), Duration.ofMillis(summaryIntervalMs));
+    }
+
+    /**
+     * Boot only switches its own listener factory to virtual threads; the services build theirs
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(AbstractKafkaListenerContainerFactory.class)
+    static class KafkaListenerVirtualThreadConfiguration {
+
+        @Bean
+        static BeanPostProcessor kafkaListenerVirtualThreadPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory
+                            && factory.getContainerProperties().getListenerTaskExecutor() == null) {
+                        factory.getContainerProperties().setListenerTaskExecutor(
+                                VirtualThreads.newTaskExecutor(beanName + "-", -1));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
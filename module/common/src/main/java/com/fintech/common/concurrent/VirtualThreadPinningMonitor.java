@@ -0,0 +1,110 @@
+package com.fintech.common.concurrent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier (blocking inside synchronized code or
+ * a native frame) for longer than a threshold, using the JFR jdk.VirtualThreadPinned event.
+ * <p>
+ * Each pinning site, identified by its top application frames, is logged with its stack
+ * once at WARN; later occurrences are counted and the busiest sites are summarized
+ * every summary interval.
+ */
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int SITE_FRAMES = 3;
+    private static final int LOGGED_FRAMES = 12;
+    private static final int SUMMARY_SITES = 5;
+
+    private final Duration threshold;
+    private final Duration summaryInterval;
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+    private long lastSummary = System.currentTimeMillis();
+
+    public VirtualThreadPinningMonitor(Duration threshold, Duration summaryInterval) {
+        this.threshold = threshold;
+        this.summaryInterval = summaryInterval;
+    }
+
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.onFlush(this::summarizeIfDue);
+        stream.startAsync();
+        logger.info("Virtual thread pinning diagnostics enabled, threshold: {}ms", threshold.toMillis());
+    }
+
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Pin counts per site, busiest first
+     */
+    public Map<String, Long> getPinnedSites() {
+        return pinnedSites.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                        (a, b) -> a, java.util.LinkedHashMap::new));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !frame.getMethod().getType().getName().startsWith("java."))
+                .limit(SITE_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining(" <- "));
+        if (site.isEmpty()) {
+            site = "<jdk>";
+        }
+
+        LongAdder count = pinnedSites.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            logger.warn("Virtual thread pinned for {}ms at {}\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::format)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private void summarizeIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastSummary < summaryInterval.toMillis() || pinnedSites.isEmpty()) {
+            return;
+        }
+        lastSummary = now;
+        logger.info("Virtual thread pinning sites (top {}): {}", SUMMARY_SITES,
+                getPinnedSites().entrySet().stream().limit(SUMMARY_SITES)
+                        .map(entry -> entry.getValue() + "x " + entry.getKey())
+                        .collect(Collectors.joining("; ")));
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fintech.common.concurrent;
+
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Switch for the virtual-thread execution mode.
+ * <p>
+ * The mode follows Spring Boot's spring.threads.virtual.enabled, which moves Tomcat
+ * request handling and the Boot-managed executors to virtual threads. Services use
+ * this class for the executors they define themselves. Services compile for Java 17,
+ * so the mode only takes effect on a Java 21+ runtime and is ignored otherwise.
+ */
+public final class VirtualThreads {
+
+    public static final String ENABLED_PROPERTY = "spring.threads.virtual.enabled";
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static boolean isEnabled(Environment environment) {
+        return isSupported() && environment.getProperty(ENABLED_PROPERTY, Boolean.class, false);
+    }
+
+    /**
+     * Executor starting a virtual thread per task
+     *
+     * @param concurrencyLimit maximum tasks running at once, submitters wait beyond it; -1 for no limit
+     */
+    public static SimpleAsyncTaskExecutor newTaskExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        // Like the pools it replaces, let running tasks finish on shutdown
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fintech.common.config;
+
+import com.fintech.common.id.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Auto-configuration for the fintech common module
+ * Registers the shared Snowflake ID generator for every service that includes the module
+ */
+@AutoConfiguration
+public class CommonAutoConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommonAutoConfiguration.class);
+
+    /**
+     * Node ID comes from snowflake.node-id, falling back to the older snowflake.machine-id key
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SnowflakeIdGenerator snowflakeIdGenerator(
+            @Value("${snowflake.node-id:${snowflake.machine-id:1}}") long nodeId,
+            @Value("${snowflake.epoch:" + SnowflakeIdGenerator.DEFAULT_EPOCH + "}") long epoch) {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(nodeId, epoch);
+        logger.info("Snowflake ID Generator initialized: {}", generator.getInfo());
+        return generator;
+    }
+}
@@ -0,0 +1,44 @@
+package com.fintech.common.id;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A contiguous range of Snowflake IDs reserved by {@link SnowflakeIdGenerator#reserve(int)}.
+ * Not thread-safe: a block belongs to the thread that reserved it.
+ */
+public final class IdBlock {
+
+    private final SnowflakeIdGenerator generator;
+    private final long firstSlot;
+    private final int size;
+    private int position;
+
+    IdBlock(SnowflakeIdGenerator generator, long firstSlot, int size) {
+        this.generator = generator;
+        this.firstSlot = firstSlot;
+        this.size = size;
+    }
+
+    public boolean hasNext() {
+        return position < size;
+    }
+
+    public long nextId() {
+        if (position >= size) {
+            throw new NoSuchElementException("ID block of " + size + " exhausted");
+        }
+        return generator.toId(firstSlot + position++);
+    }
+
+    public String nextIdString() {
+        return Long.toString(nextId());
+    }
+
+    public int remaining() {
+        return size - position;
+    }
+
+    public int size() {
+        return size;
+    }
+}
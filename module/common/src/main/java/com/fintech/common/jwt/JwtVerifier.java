@@ -0,0 +1,116 @@
+package com.fintech.common.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies signed JWTs with one immutable parser and remembers the claims of tokens it has
+ * verified, so each signature is checked once per token per node.
+ *
+ * Entries are keyed by the SHA-256 of the token (the token itself is not kept) and live
+ * for at most maxTtl and never past the token's exp. Invalid tokens are never cached. When
+ * the cache is full, expired entries are purged at most once a second; if it is still full
+ * the token is verified but not cached.
+ */
+public final class JwtVerifier {
+
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private final JwtParser parser;
+    private final long maxTtlMs;
+    private final int maxEntries;
+    private final ConcurrentHashMap<TokenKey, Entry> cache;
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    public JwtVerifier(PublicKey publicKey, Duration maxTtl, int maxEntries) {
+        this.parser = Jwts.parser().verifyWith(publicKey).build();
+        this.maxTtlMs = maxTtl.toMillis();
+        this.maxEntries = maxEntries;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxEntries, 1 << 16));
+    }
+
+    /**
+     * Verify signature and expiry and return the claims, or null when the token is invalid
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        if (maxTtlMs <= 0 || maxEntries <= 0) {
+            return parse(token);
+        }
+
+        TokenKey key = TokenKey.of(token);
+        long now = System.currentTimeMillis();
+        Entry cached = cache.get(key);
+        if (cached != null) {
+            if (now < cached.expiresAtMs()) {
+                return cached.claims();
+            }
+            cache.remove(key, cached);
+        }
+
+        Claims claims = parse(token);
+        if (claims != null) {
+            Date exp = claims.getExpiration();
+            long expiresAtMs = exp != null ? Math.min(now + maxTtlMs, exp.getTime()) : now + maxTtlMs;
+            if (expiresAtMs > now && hasRoom(now)) {
+                cache.put(key, new Entry(claims, expiresAtMs));
+            }
+        }
+        return claims;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private Claims parse(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean hasRoom(long now) {
+        if (cache.size() < maxEntries) {
+            return true;
+        }
+        long purgeAt = nextPurgeAt.get();
+        if (now >= purgeAt && nextPurgeAt.compareAndSet(purgeAt, now + PURGE_INTERVAL_MS)) {
+            cache.values().removeIf(entry -> entry.expiresAtMs() <= now);
+        }
+        return cache.size() < maxEntries;
+    }
+
+    private record Entry(Claims claims, long expiresAtMs) {
+    }
+
+    private record TokenKey(long h0, long h1, long h2, long h3) {
+
+        static TokenKey of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(sha256().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenKey(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.fintech.common.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.CompositeBatchInterceptor;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Adapts the concurrency and poll size of Kafka listener containers to their lag.
+ * <p>
+ * Each evaluation reads per-partition lag from the consumers' records-lag metrics and the
+ * processing rate measured by {@link ListenerTimingInterceptor}. A listener that would need
+ * longer than target-drain-seconds to catch up gets one more consumer (while it has more
+ * partitions than consumers) and a doubled poll size; one that stays near zero lag shrinks
+ * back. Both are kept within the listener's bounds, and the poll size is also capped so a
+ * poll is processed well within max.poll.interval.ms. Applying a change restarts the
+ * container, so changes are at least cooldown-ms apart.
+ * <p>
+ * While a {@link SaturationProbe} reports saturation, the listeners that depend on it are
+ * paused. A listener depends on the probes named in its pause-on setting, by default all
+ * of them; listeners that never touch the database can set pause-on to the other probes,
+ * or leave it empty, so a busy connection pool does not stop them.
+ * <p>
+ * Settings resolve from kafka.adaptive.&lt;listener&gt;.* and then kafka.adaptive.*:
+ * min-concurrency, max-concurrency, min-poll-records, max-poll-records, pause-on.
+ */
+public class AdaptiveConsumerController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConsumerController.class);
+
+    private static final String PREFIX = "kafka.adaptive.";
+    private static final String LAG_METRIC = "records-lag";
+    private static final String FETCH_METRICS_GROUP = "consumer-fetch-manager-metrics";
+    private static final int DEFAULT_MAX_POLL_INTERVAL_MS = 300_000;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<SaturationProbe> probes;
+    private final List<ListenerState> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+
+    private final long evaluationIntervalMs;
+    private final long targetDrainSeconds;
+    private final long scaleUpLag;
+    private final long lowLag;
+    private final int scaleDownRounds;
+    private final long cooldownMs;
+
+    public AdaptiveConsumerController(Environment environment, MeterRegistry meterRegistry,
+                                      List<SaturationProbe> probes) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.probes = probes;
+        this.evaluationIntervalMs = environment.getProperty(PREFIX + "evaluation-interval-ms", Long.class, 10_000L);
+        this.targetDrainSeconds = environment.getProperty(PREFIX + "target-drain-seconds", Long.class, 30L);
+        this.scaleUpLag = environment.getProperty(PREFIX + "scale-up-lag", Long.class, 1_000L);
+        this.lowLag = environment.getProperty(PREFIX + "low-lag", Long.class, 100L);
+        this.scaleDownRounds = environment.getProperty(PREFIX + "scale-down-rounds", Integer.class, 3);
+        this.cooldownMs = environment.getProperty(PREFIX + "cooldown-ms", Long.class, 60_000L);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kafka-adaptive-consumers");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::evaluate, evaluationIntervalMs, evaluationIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Adaptive Kafka consumers enabled, evaluation interval: {}ms, target drain: {}s, probes: {}",
+                evaluationIntervalMs, targetDrainSeconds, probes.stream().map(SaturationProbe::getName).toList());
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Make every container created by the factory adaptive. The factory's concurrency and
+     * max.poll.records are the starting point, clamped into the listener's bounds.
+     *
+     * @param name listener name for settings (kafka.adaptive.&lt;name&gt;.*) and metric tags
+     */
+    public <K, V> void apply(ConcurrentKafkaListenerContainerFactory<K, V> factory, String name, int concurrency) {
+        apply(factory, name, concurrency, null, null, null);
+    }
+
+    /**
+     * Like {@link #apply(ConcurrentKafkaListenerContainerFactory, String, int)} for a factory with
+     * its own container customizer or interceptors. The factory holds only one of each and this
+     * method sets them, so pass them here instead of to the factory: they run first, followed by
+     * the adaptive ones.
+     */
+    public <K, V> void apply(ConcurrentKafkaListenerContainerFactory<K, V> factory, String name, int concurrency,
+                             @Nullable ContainerCustomizer<K, V, ConcurrentMessageListenerContainer<K, V>> customizer,
+                             @Nullable RecordInterceptor<K, V> recordInterceptor,
+                             @Nullable BatchInterceptor<K, V> batchInterceptor) {
+        Object configuredPoll = factory.getConsumerFactory().getConfigurationProperties()
+                .get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG);
+        int pollRecords = configuredPoll != null ? Integer.parseInt(configuredPoll.toString()) : 500;
+        Object configuredInterval = factory.getConsumerFactory().getConfigurationProperties()
+                .get(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG);
+        int maxPollIntervalMs = configuredInterval != null
+                ? Integer.parseInt(configuredInterval.toString()) : DEFAULT_MAX_POLL_INTERVAL_MS;
+
+        int minConcurrency = setting(name, "min-concurrency", 1);
+        int maxConcurrency = Math.max(minConcurrency, setting(name, "max-concurrency", Math.max(concurrency, 12)));
+        int minPollRecords = setting(name, "min-poll-records", Math.min(pollRecords, 10));
+        int maxPollRecords = Math.max(minPollRecords, setting(name, "max-poll-records", Math.max(pollRecords, 500)));
+        Set<String> pauseOn = pauseOn(name);
+
+        factory.setConcurrency(clamp(concurrency, minConcurrency, maxConcurrency));
+        int initialPoll = clamp(pollRecords, minPollRecords, maxPollRecords);
+
+        factory.setContainerCustomizer(container -> {
+            if (customizer != null) {
+                customizer.configure(container);
+            }
+            ListenerState state = new ListenerState(name, container, minConcurrency, maxConcurrency,
+                    minPollRecords, maxPollRecords, maxPollIntervalMs, pauseOn);
+            state.pollRecords = initialPoll;
+            container.getContainerProperties().getKafkaConsumerProperties()
+                    .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(initialPoll));
+            ListenerTimingInterceptor<K, V> interceptor = new ListenerTimingInterceptor<>(state::recordProcessed);
+            container.setRecordInterceptor(recordInterceptor != null
+                    ? new CompositeRecordInterceptor<>(recordInterceptor, interceptor) : interceptor);
+            container.setBatchInterceptor(batchInterceptor != null
+                    ? new CompositeBatchInterceptor<>(batchInterceptor, interceptor) : interceptor);
+            listeners.add(state);
+        });
+    }
+
+    void evaluate() {
+        Set<String> saturated = new HashSet<>();
+        for (SaturationProbe probe : probes) {
+            try {
+                if (probe.isSaturated()) {
+                    saturated.add(probe.getName());
+                    logger.debug("Downstream {} saturated", probe.getName());
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Saturation probe {} failed - {}", probe.getName(), e.getMessage());
+            }
+        }
+        for (ListenerState state : listeners) {
+            try {
+                evaluate(state, saturated);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to evaluate Kafka listener {} - {}", state.id(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void evaluate(ListenerState state, Set<String> saturated) {
+        ConcurrentMessageListenerContainer<?, ?> container = state.container;
+        if (state.restarting || !container.isRunning()) {
+            return;
+        }
+        long lag = state.refreshLag();
+        long now = System.currentTimeMillis();
+        long records = state.records.sumThenReset();
+        long nanos = state.nanos.sumThenReset();
+        double seconds = Math.max(now - state.lastEvaluation, 1) / 1000.0;
+        state.lastEvaluation = now;
+        double throughput = records / seconds;
+
+        if (!Collections.disjoint(state.pauseOn, saturated)) {
+            if (!state.paused) {
+                container.pause();
+                state.paused = true;
+                logger.warn("Paused Kafka listener {} while {} is saturated, lag: {}", state.id(), saturated, lag);
+            }
+            return;
+        }
+        if (state.paused) {
+            container.resume();
+            state.paused = false;
+            state.lowLagRounds = 0;
+            logger.info("Resumed Kafka listener {}, lag: {}", state.id(), lag);
+            return;
+        }
+
+        int concurrency = container.getConcurrency();
+        int pollRecords = state.pollRecords;
+        // A poll must be processed well within max.poll.interval.ms or the consumer is evicted
+        double nanosPerRecord = records > 0 ? (double) nanos / records : 0;
+        int pollCap = nanosPerRecord > 0
+                ? (int) Math.max(1, Math.min(Integer.MAX_VALUE, state.maxPollIntervalMs * 500_000.0 / nanosPerRecord))
+                : Integer.MAX_VALUE;
+
+        int targetConcurrency = concurrency;
+        int targetPoll = pollRecords;
+        double drainSeconds = throughput > 0 ? lag / throughput : Double.POSITIVE_INFINITY;
+        if (lag >= scaleUpLag && drainSeconds > targetDrainSeconds) {
+            state.lowLagRounds = 0;
+            int partitions = assignedPartitions(container);
+            if (concurrency < partitions) {
+                targetConcurrency = Math.min(concurrency + 1, state.maxConcurrency);
+            }
+            targetPoll = Math.min(pollRecords * 2, state.maxPollRecords);
+        } else if (lag <= lowLag) {
+            if (++state.lowLagRounds >= scaleDownRounds) {
+                targetConcurrency = Math.max(concurrency - 1, state.minConcurrency);
+                targetPoll = Math.max(pollRecords / 2, state.minPollRecords);
+            }
+        } else {
+            state.lowLagRounds = 0;
+        }
+        targetPoll = Math.max(state.minPollRecords, Math.min(targetPoll, pollCap));
+
+        if ((targetConcurrency != concurrency || targetPoll != pollRecords) && now - state.lastChange >= cooldownMs) {
+            logger.info("Kafka listener {}: lag {}, {} records/s, {} ms/record; concurrency {} -> {}, max.poll.records {} -> {}",
+                    state.id(), lag, Math.round(throughput), Math.round(nanosPerRecord / 1_000_000.0),
+                    concurrency, targetConcurrency, pollRecords, targetPoll);
+            state.lowLagRounds = 0;
+            state.lastChange = now;
+            restart(state, targetConcurrency, targetPoll);
+        }
+    }
+
+    /**
+     * Concurrency and max.poll.records only apply to new consumers, so the container is
+     * stopped (committing what was processed) and started again with the new settings
+     */
+    private void restart(ListenerState state, int concurrency, int pollRecords) {
+        state.restarting = true;
+        state.container.stop(() -> scheduler.execute(() -> {
+            try {
+                state.container.setConcurrency(concurrency);
+                state.container.getContainerProperties().getKafkaConsumerProperties()
+                        .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(pollRecords));
+                state.pollRecords = pollRecords;
+                state.container.start();
+            } catch (RuntimeException e) {
+                logger.error("Failed to restart Kafka listener {} - {}", state.id(), e.getMessage(), e);
+            } finally {
+                state.restarting = false;
+            }
+        }));
+    }
+
+    private static int assignedPartitions(ConcurrentMessageListenerContainer<?, ?> container) {
+        Collection<TopicPartition> assigned = container.getAssignedPartitions();
+        return assigned != null ? assigned.size() : 0;
+    }
+
+    private int setting(String name, String key, int defaultValue) {
+        return environment.getProperty(PREFIX + name + "." + key, Integer.class,
+                environment.getProperty(PREFIX + key, Integer.class, defaultValue));
+    }
+
+    /**
+     * Probes the listener pauses for; all of them unless pause-on lists a subset
+     */
+    private Set<String> pauseOn(String name) {
+        String[] configured = environment.getProperty(PREFIX + name + ".pause-on", String[].class,
+                environment.getProperty(PREFIX + "pause-on", String[].class));
+        if (configured == null) {
+            return probes.stream().map(SaturationProbe::getName).collect(Collectors.toUnmodifiableSet());
+        }
+        return Arrays.stream(configured).map(String::trim).filter(probe -> !probe.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    /**
+     * Runtime state and meters of one adaptive container
+     */
+    private final class ListenerState {
+
+        final String name;
+        final ConcurrentMessageListenerContainer<?, ?> container;
+        final int minConcurrency;
+        final int maxConcurrency;
+        final int minPollRecords;
+        final int maxPollRecords;
+        final int maxPollIntervalMs;
+        final Set<String> pauseOn;
+        final LongAdder records = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final AtomicLong lag = new AtomicLong();
+        final Map<TopicPartition, AtomicLong> partitionLag = new ConcurrentHashMap<>();
+        final Counter recordCounter;
+        final Timer processingTimer;
+
+        volatile int pollRecords;
+        volatile boolean paused;
+        volatile boolean restarting;
+        long lastEvaluation = System.currentTimeMillis();
+        long lastChange;
+        int lowLagRounds;
+
+        ListenerState(String name, ConcurrentMessageListenerContainer<?, ?> container, int minConcurrency,
+                      int maxConcurrency, int minPollRecords, int maxPollRecords, int maxPollIntervalMs,
+                      Set<String> pauseOn) {
+            this.name = name;
+            this.container = container;
+            this.minConcurrency = minConcurrency;
+            this.maxConcurrency = maxConcurrency;
+            this.minPollRecords = minPollRecords;
+            this.maxPollRecords = maxPollRecords;
+            this.maxPollIntervalMs = maxPollIntervalMs;
+            this.pauseOn = pauseOn;
+
+            String listener = id();
+            Gauge.builder("kafka.listener.lag", lag, AtomicLong::get)
+                    .description("Records behind the log end across assigned partitions")
+                    .tag("listener", listener).register(meterRegistry);
+            Gauge.builder("kafka.listener.concurrency", container, listenerContainer -> listenerContainer.getConcurrency())
+                    .tag("listener", listener).register(meterRegistry);
+            Gauge.builder("kafka.listener.poll.records", this, state -> state.pollRecords)
+                    .tag("listener", listener).register(meterRegistry);
+            Gauge.builder("kafka.listener.paused", this, state -> state.paused ? 1 : 0)
+                    .tag("listener", listener).register(meterRegistry);
+            this.recordCounter = Counter.builder("kafka.listener.records")
+                    .description("Records processed by the listener")
+                    .tag("listener", listener).register(meterRegistry);
+            this.processingTimer = Timer.builder("kafka.listener.processing")
+                    .description("Time spent in the listener per record or batch")
+                    .tag("listener", listener).register(meterRegistry);
+        }
+
+        String id() {
+            return container.getListenerId() != null ? container.getListenerId() : name;
+        }
+
+        void recordProcessed(Integer count, long elapsedNanos) {
+            records.add(count);
+            nanos.add(elapsedNanos);
+            recordCounter.increment(count);
+            processingTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Sum the consumers' records-lag metrics and publish them per partition
+         */
+        long refreshLag() {
+            Map<TopicPartition, Long> current = new HashMap<>();
+            for (Map<MetricName, ? extends Metric> clientMetrics : container.metrics().values()) {
+                for (Map.Entry<MetricName, ? extends Metric> entry : clientMetrics.entrySet()) {
+                    MetricName metricName = entry.getKey();
+                    if (!LAG_METRIC.equals(metricName.name()) || !FETCH_METRICS_GROUP.equals(metricName.group())) {
+                        continue;
+                    }
+                    String topic = metricName.tags().get("topic");
+                    String partition = metricName.tags().get("partition");
+                    Object value = entry.getValue().metricValue();
+                    if (topic == null || partition == null || !(value instanceof Number number)
+                            || Double.isNaN(number.doubleValue())) {
+                        continue;
+                    }
+                    current.put(new TopicPartition(topic, Integer.parseInt(partition)), number.longValue());
+                }
+            }
+
+            long total = 0;
+            for (Map.Entry<TopicPartition, Long> entry : current.entrySet()) {
+                total += entry.getValue();
+                partitionLag.computeIfAbsent(entry.getKey(), this::registerPartitionGauge).set(entry.getValue());
+            }
+            // Partitions moved to another instance no longer report lag here
+            partitionLag.forEach((partition, value) -> {
+                if (!current.containsKey(partition)) {
+                    value.set(0);
+                }
+            });
+            lag.set(total);
+            return total;
+        }
+
+        private AtomicLong registerPartitionGauge(TopicPartition partition) {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("kafka.listener.partition.lag", value, AtomicLong::get)
+                    .tag("listener", id())
+                    .tag("topic", partition.topic())
+                    .tag("partition", String.valueOf(partition.partition()))
+                    .register(meterRegistry);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.fintech.common.kafka;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+
+import javax.sql.DataSource;
+
+/**
+ * Auto-configuration for adaptive Kafka listeners, for services with spring-kafka and Micrometer.
+ * Services opt a listener factory in with {@link AdaptiveConsumerController#apply}.
+ * Disabled with kafka.adaptive.enabled=false.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass({ConcurrentMessageListenerContainer.class, MeterRegistry.class})
+@ConditionalOnProperty(name = "kafka.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveKafkaAutoConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(MeterRegistry.class)
+    public AdaptiveConsumerController adaptiveConsumerController(Environment environment, MeterRegistry meterRegistry,
+                                                                 ObjectProvider<SaturationProbe> probes) {
+        return new AdaptiveConsumerController(environment, meterRegistry, probes.orderedStream().toList());
+    }
+
+    /**
+     * Pauses adaptive listeners while a Hikari pool is saturated
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HikariDataSource.class)
+    static class HikariProbeConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(HikariSaturationProbe.class)
+        public HikariSaturationProbe hikariSaturationProbe(
+                ObjectProvider<DataSource> dataSources,
+                @Value("${kafka.adaptive.hikari.utilization-threshold:0.9}") double utilizationThreshold) {
+            return new HikariSaturationProbe(dataSources, utilizationThreshold);
+        }
+    }
+}
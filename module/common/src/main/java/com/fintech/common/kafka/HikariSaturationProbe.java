@@ -0,0 +1,44 @@
+package com.fintech.common.kafka;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+
+/**
+ * Reports saturation when a Hikari pool has threads waiting for a connection or
+ * its active connections reach the utilization threshold of the pool size
+ */
+public class HikariSaturationProbe implements SaturationProbe {
+
+    private final ObjectProvider<DataSource> dataSources;
+    private final double utilizationThreshold;
+
+    public HikariSaturationProbe(ObjectProvider<DataSource> dataSources, double utilizationThreshold) {
+        this.dataSources = dataSources;
+        this.utilizationThreshold = utilizationThreshold;
+    }
+
+    @Override
+    public String getName() {
+        return "hikari";
+    }
+
+    @Override
+    public boolean isSaturated() {
+        return dataSources.orderedStream()
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .anyMatch(this::isSaturated);
+    }
+
+    private boolean isSaturated(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return false;
+        }
+        return pool.getThreadsAwaitingConnection() > 0
+                || pool.getActiveConnections() >= dataSource.getMaximumPoolSize() * utilizationThreshold;
+    }
+}
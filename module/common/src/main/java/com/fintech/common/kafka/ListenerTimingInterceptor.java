@@ -0,0 +1,53 @@
+package com.fintech.common.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Measures how long the listener spends on each record or batch. Runs on the
+ * consumer thread, so the start time is kept per thread.
+ */
+class ListenerTimingInterceptor<K, V> implements RecordInterceptor<K, V>, BatchInterceptor<K, V> {
+
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+    private final ObjLongConsumer<Integer> onProcessed;
+
+    /**
+     * @param onProcessed receives the record count and elapsed nanos of every record or batch
+     */
+    ListenerTimingInterceptor(ObjLongConsumer<Integer> onProcessed) {
+        this.onProcessed = onProcessed;
+    }
+
+    @Override
+    public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        startNanos.get()[0] = System.nanoTime();
+        return record;
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        onProcessed.accept(1, System.nanoTime() - startNanos.get()[0]);
+    }
+
+    @Override
+    public ConsumerRecords<K, V> intercept(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        startNanos.get()[0] = System.nanoTime();
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        onProcessed.accept(records.count(), System.nanoTime() - startNanos.get()[0]);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<K, V> records, Exception exception, Consumer<K, V> consumer) {
+        onProcessed.accept(records.count(), System.nanoTime() - startNanos.get()[0]);
+    }
+}
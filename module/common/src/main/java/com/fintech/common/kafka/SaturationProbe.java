@@ -0,0 +1,14 @@
+package com.fintech.common.kafka;
+
+/**
+ * A downstream resource Kafka listeners depend on, such as a connection pool.
+ * While a probe reports saturation, the adaptive listeners that depend on it (see
+ * kafka.adaptive.&lt;listener&gt;.pause-on) pause their partitions instead of polling
+ * more work than the resource can take.
+ */
+public interface SaturationProbe {
+
+    String getName();
+
+    boolean isSaturated();
+}
@@ -0,0 +1,21 @@
+package com.fintech.common.ledger;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One ledger entry as stored in a ledger segment file.
+ * Amounts carry {@link LedgerSegment#AMOUNT_SCALE} decimal places; balanceAfter and description may be null.
+ */
+public record LedgerRecord(
+        long entryId,
+        String txnId,
+        String paymentId,
+        String accountNumber,
+        String entryType,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        String description,
+        Instant createdAt
+) {
+}
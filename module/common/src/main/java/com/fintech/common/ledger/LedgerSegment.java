@@ -0,0 +1,86 @@
+package com.fintech.common.ledger;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Layout of a ledger segment file, the columnar export format of ledger_entries.
+ * <pre>
+ * "LSEG" u8 version
+ * row groups: one compressed chunk per column, in column order
+ * footer:     varint column count, column names
+ *             varint row group count, then per row group:
+ *               varint row count, i64 min / max created_at (epoch micros)
+ *               per column: i64 offset, i32 compressed length, i32 raw length
+ * trailer:    i64 footer offset, "LSEG"
+ * </pre>
+ * A chunk is Deflate-compressed. Raw, it is a flags byte (bit 0: has a null bitmap), the
+ * bitmap if present, an encoding byte and the non-null values:
+ * <ul>
+ * <li>longs: {@link #PLAIN} zigzag varints or {@link #DELTA} zigzag varint deltas</li>
+ * <li>strings: {@link #PLAIN} length-prefixed UTF-8, or {@link #DICTIONARY} - a varint
+ * dictionary size, the distinct values, then one varint code per value</li>
+ * </ul>
+ * Writers pick dictionary encoding per chunk when it is smaller, so low-cardinality
+ * columns such as account numbers and entry types cost a byte or two per row.
+ */
+public final class LedgerSegment {
+
+    static final byte[] MAGIC = "LSEG".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    /**
+     * Decimal places of amount and balance_after, matching the ledger_entries columns
+     */
+    public static final int AMOUNT_SCALE = 2;
+
+    static final int PLAIN = 0;
+    static final int DELTA = 1;
+    static final int DICTIONARY = 2;
+
+    static final int FLAG_NULLS = 1;
+
+    static final int ENTRY_ID = 0;
+    static final int TXN_ID = 1;
+    static final int PAYMENT_ID = 2;
+    static final int ACCOUNT_NUMBER = 3;
+    static final int ENTRY_TYPE = 4;
+    static final int AMOUNT = 5;
+    static final int BALANCE_AFTER = 6;
+    static final int DESCRIPTION = 7;
+    static final int CREATED_AT = 8;
+
+    public static final List<String> COLUMNS = List.of(
+            "entry_id", "txn_id", "payment_id", "account_number", "entry_type",
+            "amount", "balance_after", "description", "created_at");
+
+    /**
+     * File extension of ledger segments
+     */
+    public static final String EXTENSION = ".lseg";
+
+    /**
+     * Shard of an account within a day partition of the given number of shards
+     */
+    public static int shardOf(String accountNumber, int shards) {
+        return Math.floorMod(accountNumber.hashCode(), shards);
+    }
+
+    /**
+     * Directory name of a day partition
+     */
+    public static String partitionName(LocalDate day) {
+        return "date=" + day;
+    }
+
+    /**
+     * File name of a shard's segment within a day partition
+     */
+    public static String segmentName(int shard) {
+        return String.format("shard-%02d%s", shard, EXTENSION);
+    }
+
+    private LedgerSegment() {
+    }
+}
@@ -0,0 +1,388 @@
+package com.fintech.common.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.fintech.common.ledger.LedgerSegment.*;
+
+/**
+ * Reads a ledger segment through memory-mapped row groups. Only the footer is read on
+ * open; each row group is mapped when requested and only the projected columns are
+ * inflated, straight from the mapping, so scanning a file never loads it onto the heap.
+ * <p>
+ * Not thread-safe; open one reader per thread.
+ */
+public final class LedgerSegmentReader implements Closeable {
+
+    private static final int TRAILER_LENGTH = 8 + 4;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int[] groupRows;
+    private final long[] groupMinCreatedAt;
+    private final long[] groupMaxCreatedAt;
+    // Per group and column: offset, compressed length, raw length
+    private final long[][] chunks;
+    private final long rowCount;
+    private final Inflater inflater = new Inflater();
+    private final SegmentBuffer buffer = new SegmentBuffer(64 * 1024);
+
+    private LedgerSegmentReader(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+
+        long size = channel.size();
+        int headerLength = MAGIC.length + 1;
+        if (size < headerLength + TRAILER_LENGTH) {
+            throw new IOException("Not a ledger segment: " + path);
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerLength);
+        ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_LENGTH, TRAILER_LENGTH);
+        if (!hasMagic(header, 0) || !hasMagic(trailer, 8)) {
+            throw new IOException("Not a ledger segment: " + path);
+        }
+        if ((header.get(MAGIC.length) & 0xFF) != VERSION) {
+            throw new IOException("Unsupported ledger segment version " + (header.get(MAGIC.length) & 0xFF) + ": " + path);
+        }
+
+        long footerOffset = trailer.getLong(0);
+        if (footerOffset < headerLength || footerOffset > size - TRAILER_LENGTH) {
+            throw new IOException("Corrupt footer offset in ledger segment " + path);
+        }
+        int footerLength = Math.toIntExact(size - TRAILER_LENGTH - footerOffset);
+        channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, footerLength).get(buffer.prepare(footerLength), 0, footerLength);
+
+        // The footer carries no checksum, so a damaged one shows up as out-of-range values
+        try {
+            int columnCount = buffer.readVarInt();
+            for (int column = 0; column < columnCount; column++) {
+                String name = buffer.readString();
+                if (column >= COLUMNS.size() || !COLUMNS.get(column).equals(name)) {
+                    throw new IOException("Unexpected column " + name + " in ledger segment " + path);
+                }
+            }
+            int groups = buffer.readVarInt();
+            this.groupRows = new int[groups];
+            this.groupMinCreatedAt = new long[groups];
+            this.groupMaxCreatedAt = new long[groups];
+            this.chunks = new long[groups][columnCount * 3];
+            long rows = 0;
+            for (int group = 0; group < groups; group++) {
+                groupRows[group] = buffer.readVarInt();
+                groupMinCreatedAt[group] = buffer.readLong();
+                groupMaxCreatedAt[group] = buffer.readLong();
+                for (int column = 0; column < columnCount; column++) {
+                    long offset = buffer.readLong();
+                    int compressedLength = buffer.readInt();
+                    if (offset < headerLength || compressedLength < 0 || offset + compressedLength > footerOffset) {
+                        throw new IOException("Column chunk outside the data of ledger segment " + path);
+                    }
+                    chunks[group][column * 3] = offset;
+                    chunks[group][column * 3 + 1] = compressedLength;
+                    chunks[group][column * 3 + 2] = buffer.readInt();
+                }
+                rows += groupRows[group];
+            }
+            this.rowCount = rows;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt footer in ledger segment " + path, e);
+        }
+    }
+
+    public static LedgerSegmentReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new LedgerSegmentReader(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public int rowGroupCount() {
+        return groupRows.length;
+    }
+
+    /**
+     * Earliest created_at in the row group, for skipping groups outside a time range
+     */
+    public Instant minCreatedAt(int group) {
+        return fromMicros(groupMinCreatedAt[group]);
+    }
+
+    public Instant maxCreatedAt(int group) {
+        return fromMicros(groupMaxCreatedAt[group]);
+    }
+
+    /**
+     * Decode a row group. Only the named columns are inflated; with no columns named, all are.
+     */
+    public RowGroup rowGroup(int group, String... columns) throws IOException {
+        boolean[] projected = new boolean[COLUMNS.size()];
+        if (columns.length == 0) {
+            Arrays.fill(projected, true);
+        }
+        for (String column : columns) {
+            int index = COLUMNS.indexOf(column);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown ledger segment column: " + column);
+            }
+            projected[index] = true;
+        }
+
+        long[] chunk = chunks[group];
+        long start = chunk[0];
+        long end = chunk[(COLUMNS.size() - 1) * 3] + chunk[(COLUMNS.size() - 1) * 3 + 1];
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+
+        RowGroup rowGroup = new RowGroup(groupRows[group]);
+        try {
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                if (!projected[column]) {
+                    continue;
+                }
+                inflate(mapped.slice((int) (chunk[column * 3] - start), (int) chunk[column * 3 + 1]), (int) chunk[column * 3 + 2]);
+                int n = rowGroup.size;
+                switch (column) {
+                    case ENTRY_ID -> rowGroup.entryIds = decodeLongs(n, null);
+                    case TXN_ID -> rowGroup.txnIds = decodeStrings(n);
+                    case PAYMENT_ID -> rowGroup.paymentIds = decodeStrings(n);
+                    case ACCOUNT_NUMBER -> rowGroup.accountNumbers = decodeStrings(n);
+                    case ENTRY_TYPE -> rowGroup.entryTypes = decodeStrings(n);
+                    case AMOUNT -> rowGroup.amounts = decodeLongs(n, null);
+                    case BALANCE_AFTER -> {
+                        rowGroup.balanceNulls = new boolean[n];
+                        rowGroup.balances = decodeLongs(n, rowGroup.balanceNulls);
+                    }
+                    case DESCRIPTION -> rowGroup.descriptions = decodeStrings(n);
+                    case CREATED_AT -> rowGroup.createdAts = decodeLongs(n, null);
+                    default -> throw new IllegalStateException("Unknown column " + column);
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt row group " + group + " in ledger segment " + path, e);
+        }
+        return rowGroup;
+    }
+
+    /**
+     * Visit every record of the segment in file order
+     */
+    public void forEach(Consumer<LedgerRecord> action) throws IOException {
+        for (int group = 0; group < groupRows.length; group++) {
+            RowGroup rowGroup = rowGroup(group);
+            for (int i = 0; i < rowGroup.size(); i++) {
+                action.accept(rowGroup.record(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+
+    private void inflate(ByteBuffer input, int rawLength) throws IOException {
+        // One spare byte, so a chunk that inflates past its raw length is caught
+        byte[] out = buffer.prepare(rawLength + 1);
+        buffer.setLength(rawLength);
+        inflater.reset();
+        inflater.setInput(input);
+        try {
+            int length = 0;
+            while (length <= rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(out, length, rawLength + 1 - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length < rawLength) {
+                throw new IOException("Truncated column chunk in ledger segment " + path);
+            }
+            // The stream checksum is only verified once the inflater reaches the end
+            if (length > rawLength || !inflater.finished()) {
+                throw new IOException("Corrupt column chunk in ledger segment " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk in ledger segment " + path, e);
+        }
+    }
+
+    /**
+     * Decode a long column; null rows are flagged in nulls and left at zero
+     */
+    private long[] decodeLongs(int n, boolean[] nulls) throws IOException {
+        boolean hasNulls = readNulls(nulls, n);
+        int encoding = buffer.readByte();
+        long[] values = new long[n];
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            if (hasNulls && nulls[i]) {
+                continue;
+            }
+            long value = buffer.readZigZag();
+            if (encoding == DELTA) {
+                value += previous;
+                previous = value;
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private String[] decodeStrings(int n) throws IOException {
+        boolean[] nulls = new boolean[n];
+        boolean hasNulls = readNulls(nulls, n);
+        int encoding = buffer.readByte();
+        String[] values = new String[n];
+        if (encoding == DICTIONARY) {
+            String[] dictionary = new String[buffer.readVarInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = buffer.readString();
+            }
+            for (int i = 0; i < n; i++) {
+                if (!hasNulls || !nulls[i]) {
+                    values[i] = dictionary[buffer.readVarInt()];
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (!hasNulls || !nulls[i]) {
+                    values[i] = buffer.readString();
+                }
+            }
+        }
+        return values;
+    }
+
+    private boolean readNulls(boolean[] nulls, int n) throws IOException {
+        int flags = buffer.readByte();
+        if ((flags & FLAG_NULLS) == 0) {
+            return false;
+        }
+        if (nulls == null) {
+            throw new IOException("Unexpected nulls in non-nullable column of ledger segment " + path);
+        }
+        buffer.readBitmap(nulls, n);
+        return true;
+    }
+
+    private static boolean hasMagic(ByteBuffer buffer, int offset) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(offset + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    /**
+     * Decoded columns of one row group. Columns that were not projected are null.
+     * Amounts are exposed unscaled as well, so aggregations can sum longs without BigDecimal.
+     */
+    public static final class RowGroup {
+        private final int size;
+        private long[] entryIds;
+        private String[] txnIds;
+        private String[] paymentIds;
+        private String[] accountNumbers;
+        private String[] entryTypes;
+        private long[] amounts;
+        private long[] balances;
+        private boolean[] balanceNulls;
+        private String[] descriptions;
+        private long[] createdAts;
+
+        private RowGroup(int size) {
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long entryId(int row) {
+            return entryIds[row];
+        }
+
+        public String txnId(int row) {
+            return txnIds[row];
+        }
+
+        public String paymentId(int row) {
+            return paymentIds[row];
+        }
+
+        public String accountNumber(int row) {
+            return accountNumbers[row];
+        }
+
+        public String entryType(int row) {
+            return entryTypes[row];
+        }
+
+        /**
+         * Amount in minor units (scaled by {@link LedgerSegment#AMOUNT_SCALE})
+         */
+        public long amountUnscaled(int row) {
+            return amounts[row];
+        }
+
+        public BigDecimal amount(int row) {
+            return BigDecimal.valueOf(amounts[row], AMOUNT_SCALE);
+        }
+
+        public boolean hasBalanceAfter(int row) {
+            return !balanceNulls[row];
+        }
+
+        public long balanceAfterUnscaled(int row) {
+            return balances[row];
+        }
+
+        public BigDecimal balanceAfter(int row) {
+            return balanceNulls[row] ? null : BigDecimal.valueOf(balances[row], AMOUNT_SCALE);
+        }
+
+        public String description(int row) {
+            return descriptions[row];
+        }
+
+        public long createdAtMicros(int row) {
+            return createdAts[row];
+        }
+
+        public Instant createdAt(int row) {
+            return fromMicros(createdAts[row]);
+        }
+
+        /**
+         * Full record of a row; requires every column to be projected
+         */
+        public LedgerRecord record(int row) {
+            return new LedgerRecord(entryId(row), txnId(row), paymentId(row), accountNumber(row), entryType(row),
+                    amount(row), balanceAfter(row), description(row), createdAt(row));
+        }
+    }
+}
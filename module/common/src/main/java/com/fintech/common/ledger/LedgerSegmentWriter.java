@@ -0,0 +1,311 @@
+package com.fintech.common.ledger;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static com.fintech.common.ledger.LedgerSegment.*;
+
+/**
+ * Writes ledger records to a segment file. Rows are buffered column by column up to the
+ * row group size, then each column is encoded, compressed and appended, so memory stays
+ * bounded by one row group however many rows the file receives.
+ * <p>
+ * Not thread-safe; one writer per file.
+ */
+public final class LedgerSegmentWriter implements Closeable {
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 8192;
+
+    private final OutputStream out;
+    private final int rowGroupSize;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final SegmentBuffer raw = new SegmentBuffer(64 * 1024);
+    private final SegmentBuffer compressed = new SegmentBuffer(64 * 1024);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> dictionaryValues = new ArrayList<>();
+    private final List<long[]> groupIndex = new ArrayList<>();
+
+    private final long[] entryIds;
+    private final String[] txnIds;
+    private final String[] paymentIds;
+    private final String[] accountNumbers;
+    private final String[] entryTypes;
+    private final long[] amounts;
+    private final long[] balances;
+    private final boolean[] balanceNulls;
+    private final String[] descriptions;
+    private final long[] createdAts;
+
+    private int rows;
+    private long rowCount;
+    private long position;
+    private boolean closed;
+
+    public LedgerSegmentWriter(Path path) throws IOException {
+        this(path, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public LedgerSegmentWriter(Path path, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be positive");
+        }
+        this.rowGroupSize = rowGroupSize;
+        this.entryIds = new long[rowGroupSize];
+        this.txnIds = new String[rowGroupSize];
+        this.paymentIds = new String[rowGroupSize];
+        this.accountNumbers = new String[rowGroupSize];
+        this.entryTypes = new String[rowGroupSize];
+        this.amounts = new long[rowGroupSize];
+        this.balances = new long[rowGroupSize];
+        this.balanceNulls = new boolean[rowGroupSize];
+        this.descriptions = new String[rowGroupSize];
+        this.createdAts = new long[rowGroupSize];
+
+        this.out = new BufferedOutputStream(Files.newOutputStream(path), 256 * 1024);
+        out.write(MAGIC);
+        out.write(VERSION);
+        position = MAGIC.length + 1;
+    }
+
+    public void write(LedgerRecord record) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Segment writer is closed");
+        }
+        int i = rows;
+        entryIds[i] = record.entryId();
+        txnIds[i] = record.txnId();
+        paymentIds[i] = record.paymentId();
+        accountNumbers[i] = record.accountNumber();
+        entryTypes[i] = record.entryType();
+        amounts[i] = toUnscaled(record.amount());
+        balanceNulls[i] = record.balanceAfter() == null;
+        balances[i] = balanceNulls[i] ? 0 : toUnscaled(record.balanceAfter());
+        descriptions[i] = record.description();
+        createdAts[i] = toMicros(record.createdAt());
+        if (++rows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    /**
+     * Rows written so far, including buffered rows
+     */
+    public long rowCount() {
+        return rowCount + rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (rows > 0) {
+                flushRowGroup();
+            }
+            writeFooter();
+            out.flush();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        int n = rows;
+        long minCreatedAt = Long.MAX_VALUE;
+        long maxCreatedAt = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minCreatedAt = Math.min(minCreatedAt, createdAts[i]);
+            maxCreatedAt = Math.max(maxCreatedAt, createdAts[i]);
+        }
+
+        // n, min, max, then offset / compressed / raw length per column
+        long[] meta = new long[3 + COLUMNS.size() * 3];
+        meta[0] = n;
+        meta[1] = minCreatedAt;
+        meta[2] = maxCreatedAt;
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            raw.clear();
+            switch (column) {
+                case ENTRY_ID -> encodeLongs(entryIds, null, n, DELTA);
+                case TXN_ID -> encodeStrings(txnIds, n);
+                case PAYMENT_ID -> encodeStrings(paymentIds, n);
+                case ACCOUNT_NUMBER -> encodeStrings(accountNumbers, n);
+                case ENTRY_TYPE -> encodeStrings(entryTypes, n);
+                case AMOUNT -> encodeLongs(amounts, null, n, PLAIN);
+                case BALANCE_AFTER -> encodeLongs(balances, balanceNulls, n, PLAIN);
+                case DESCRIPTION -> encodeStrings(descriptions, n);
+                case CREATED_AT -> encodeLongs(createdAts, null, n, DELTA);
+                default -> throw new IllegalStateException("Unknown column " + column);
+            }
+            int compressedLength = compress();
+            meta[3 + column * 3] = position;
+            meta[4 + column * 3] = compressedLength;
+            meta[5 + column * 3] = raw.length();
+            out.write(compressed.array(), 0, compressedLength);
+            position += compressedLength;
+        }
+        groupIndex.add(meta);
+
+        rowCount += n;
+        rows = 0;
+        // Drop string references so flushed rows can be collected
+        Arrays.fill(txnIds, null);
+        Arrays.fill(paymentIds, null);
+        Arrays.fill(accountNumbers, null);
+        Arrays.fill(entryTypes, null);
+        Arrays.fill(descriptions, null);
+    }
+
+    private void writeFooter() throws IOException {
+        long footerOffset = position;
+        SegmentBuffer footer = raw;
+        footer.clear();
+        footer.writeVarLong(COLUMNS.size());
+        for (String column : COLUMNS) {
+            footer.writeString(column);
+        }
+        footer.writeVarLong(groupIndex.size());
+        for (long[] meta : groupIndex) {
+            footer.writeVarLong(meta[0]);
+            footer.writeLong(meta[1]);
+            footer.writeLong(meta[2]);
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                footer.writeLong(meta[3 + column * 3]);
+                footer.writeInt((int) meta[4 + column * 3]);
+                footer.writeInt((int) meta[5 + column * 3]);
+            }
+        }
+        footer.writeLong(footerOffset);
+        footer.writeBytes(MAGIC, 0, MAGIC.length);
+        out.write(footer.array(), 0, footer.length());
+        position += footer.length();
+    }
+
+    private void encodeLongs(long[] values, boolean[] nulls, int n, int encoding) {
+        boolean hasNulls = writeNullBitmap(nulls, n);
+        raw.writeByte(encoding);
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            if (hasNulls && nulls[i]) {
+                continue;
+            }
+            if (encoding == DELTA) {
+                raw.writeZigZag(values[i] - previous);
+                previous = values[i];
+            } else {
+                raw.writeZigZag(values[i]);
+            }
+        }
+    }
+
+    private void encodeStrings(String[] values, int n) {
+        boolean[] nulls = null;
+        int nonNull = 0;
+        for (int i = 0; i < n; i++) {
+            if (values[i] == null) {
+                if (nulls == null) {
+                    nulls = new boolean[n];
+                }
+                nulls[i] = true;
+            } else {
+                nonNull++;
+            }
+        }
+        writeNullBitmap(nulls, n);
+
+        // Dictionary-encode unless more than half of the values are distinct
+        dictionary.clear();
+        dictionaryValues.clear();
+        int limit = nonNull / 2;
+        boolean useDictionary = true;
+        for (int i = 0; i < n && useDictionary; i++) {
+            String value = values[i];
+            if (value != null && dictionary.putIfAbsent(value, dictionary.size()) == null) {
+                dictionaryValues.add(value);
+                useDictionary = dictionary.size() <= limit;
+            }
+        }
+
+        if (useDictionary) {
+            raw.writeByte(DICTIONARY);
+            raw.writeVarLong(dictionaryValues.size());
+            for (String value : dictionaryValues) {
+                raw.writeString(value);
+            }
+            for (int i = 0; i < n; i++) {
+                if (values[i] != null) {
+                    raw.writeVarLong(dictionary.get(values[i]));
+                }
+            }
+        } else {
+            raw.writeByte(PLAIN);
+            for (int i = 0; i < n; i++) {
+                if (values[i] != null) {
+                    raw.writeString(values[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the flags byte and, when any row is null, the bitmap. Returns whether a bitmap was written.
+     */
+    private boolean writeNullBitmap(boolean[] nulls, int n) {
+        boolean hasNulls = false;
+        if (nulls != null) {
+            for (int i = 0; i < n && !hasNulls; i++) {
+                hasNulls = nulls[i];
+            }
+        }
+        raw.writeByte(hasNulls ? FLAG_NULLS : 0);
+        if (hasNulls) {
+            for (int i = 0; i < n; i += 8) {
+                int b = 0;
+                for (int bit = 0; bit < 8 && i + bit < n; bit++) {
+                    if (nulls[i + bit]) {
+                        b |= 1 << bit;
+                    }
+                }
+                raw.writeByte(b);
+            }
+        }
+        return hasNulls;
+    }
+
+    private int compress() {
+        deflater.reset();
+        deflater.setInput(raw.array(), 0, raw.length());
+        deflater.finish();
+        compressed.clear();
+        int length = 0;
+        while (!deflater.finished()) {
+            compressed.ensure(length + 64 * 1024);
+            length += deflater.deflate(compressed.array(), length, compressed.array().length - length);
+        }
+        return length;
+    }
+
+    static long toUnscaled(BigDecimal value) {
+        return value.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+}
@@ -0,0 +1,158 @@
+package com.fintech.common.ledger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with the varint primitives of the segment format, reused across
+ * chunks so encoding and decoding allocate nothing per row.
+ */
+final class SegmentBuffer {
+
+    private byte[] bytes;
+    private int length;
+    private int position;
+
+    SegmentBuffer(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void clear() {
+        length = 0;
+        position = 0;
+    }
+
+    /**
+     * Make room for n bytes and return the array, for callers that fill it directly
+     */
+    byte[] prepare(int n) {
+        ensure(n);
+        length = n;
+        position = 0;
+        return bytes;
+    }
+
+    void setLength(int length) {
+        this.length = length;
+    }
+
+    void ensure(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+
+    // --- writing
+
+    void writeByte(int value) {
+        ensure(length + 1);
+        bytes[length++] = (byte) value;
+    }
+
+    void writeBytes(byte[] src, int offset, int count) {
+        ensure(length + count);
+        System.arraycopy(src, offset, bytes, length, count);
+        length += count;
+    }
+
+    void writeVarLong(long value) {
+        ensure(length + 10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    void writeZigZag(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeLong(long value) {
+        ensure(length + 8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    void writeInt(int value) {
+        ensure(length + 4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            bytes[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    void writeString(String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(utf8.length);
+        writeBytes(utf8, 0, utf8.length);
+    }
+
+    // --- reading
+
+    int readByte() {
+        return bytes[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    int readVarInt() {
+        return Math.toIntExact(readVarLong());
+    }
+
+    long readZigZag() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    int readInt() {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (bytes[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    String readString() {
+        int size = readVarInt();
+        String value = new String(bytes, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    /**
+     * Read a null bitmap of n rows into the given array; set bits mark nulls
+     */
+    void readBitmap(boolean[] nulls, int n) {
+        for (int i = 0; i < n; i++) {
+            nulls[i] = (bytes[position + (i >>> 3)] & (1 << (i & 7))) != 0;
+        }
+        position += (n + 7) >>> 3;
+    }
+}
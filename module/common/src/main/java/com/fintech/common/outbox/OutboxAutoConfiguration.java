@@ -0,0 +1,42 @@
+package com.fintech.common.outbox;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Auto-configuration for the transactional outbox, for services that define an
+ * {@code outboxKafkaTemplate} producer. Services append through {@link OutboxRepository}
+ * and the {@link OutboxRelay} drains the table on the service's scheduler.
+ * The relay alone is disabled with outbox.relay.enabled=false.
+ */
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration",
+        "org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration",
+        "org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration"})
+@ConditionalOnClass({JdbcTemplate.class, KafkaTemplate.class, TransactionTemplate.class})
+@ConditionalOnBean(name = "outboxKafkaTemplate")
+public class OutboxAutoConfiguration {
+
+    @Bean(initMethod = "createSchema")
+    @ConditionalOnMissingBean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository,
+                                   @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> outboxKafkaTemplate,
+                                   TransactionTemplate transactionTemplate) {
+        return new OutboxRelay(outboxRepository, outboxKafkaTemplate, transactionTemplate);
+    }
+}
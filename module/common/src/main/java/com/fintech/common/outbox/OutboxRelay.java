@@ -0,0 +1,82 @@
+package com.fintech.common.outbox;
+
+import com.fintech.common.outbox.OutboxRepository.OutboxRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the transactional outbox to Kafka. Each round claims a batch with
+ * SKIP LOCKED and per-key advisory locks (see {@link OutboxRepository#claimBatch}), pipelines every record through the idempotent outbox producer, waits for
+ * the acks and deletes the batch in one statement. A failed round rolls back and the rows
+ * are picked up again, so delivery is at-least-once.
+ */
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       KafkaTemplate<String, String> outboxKafkaTemplate,
+                       TransactionTemplate transactionTemplate) {
+        this.outboxRepository = outboxRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            logger.error("Outbox relay round failed, rows will be retried - {}", e.getMessage(), e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxRecord> records = outboxRepository.claimBatch(batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(records.size());
+        for (OutboxRecord record : records) {
+            futures.add(outboxKafkaTemplate.send(record.topic(), record.key(), record.payload()));
+        }
+        outboxKafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox batch", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to publish outbox batch of " + records.size() + " events", e);
+        }
+
+        outboxRepository.deleteAll(records);
+        logger.debug("Relayed {} outbox events", records.size());
+        return records.size();
+    }
+}
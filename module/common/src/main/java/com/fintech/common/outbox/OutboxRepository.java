@@ -0,0 +1,126 @@
+package com.fintech.common.outbox;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JDBC access to the outbox_events table. Appends must join the caller's transaction so
+ * the event is committed atomically with the state change.
+ * <p>
+ * Relays claim rows with FOR UPDATE SKIP LOCKED, partitioned by message key: a relay
+ * only takes a row when every earlier event of its key is in the same claim, and holds the
+ * transaction-scoped advisory lock for the key while it does, so every key is drained by
+ * a single relay at a time and its events are sent in id order.
+ */
+public class OutboxRepository {
+
+    // Namespace for the per-key advisory locks, so they cannot collide with other users of pg_advisory_*
+    static final int KEY_LOCK_NAMESPACE = 0x0B0C;
+
+    private static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS outbox_events (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                topic VARCHAR(255) NOT NULL,
+                message_key VARCHAR(100),
+                payload TEXT NOT NULL,
+                created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+            )""";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (topic, message_key, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String CREATE_KEY_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_outbox_events_key_id ON outbox_events (message_key, id)";
+
+    // Candidates are row-locked first; a keyed row is only claimed when no earlier event of its
+    // key is left outside the candidates, and only then is its key's advisory lock taken.
+    // Unkeyed events carry no ordering guarantee and are not partitioned.
+    private static final String CLAIM_SQL = """
+            WITH candidates AS (
+                SELECT id, topic, message_key, payload FROM outbox_events
+                ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+            )
+            SELECT id, topic, message_key, payload FROM candidates c
+            WHERE c.message_key IS NULL OR CASE
+                WHEN EXISTS (SELECT 1 FROM outbox_events e WHERE e.message_key = c.message_key AND e.id < c.id
+                             AND e.id NOT IN (SELECT id FROM candidates)) THEN false
+                ELSE pg_try_advisory_xact_lock(%d, hashtext(c.message_key))
+            END
+            ORDER BY c.id""".formatted(KEY_LOCK_NAMESPACE);
+
+    private static final String DELETE_SQL =
+            "DELETE FROM outbox_events WHERE id = ANY (?)";
+
+    public record OutboxRecord(long id, String topic, String key, String payload) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the outbox table and its key index when they do not exist yet
+     */
+    public void createSchema() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.execute(CREATE_KEY_INDEX_SQL);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, String payload) {
+        jdbcTemplate.update(INSERT_SQL, topic, key, payload, Timestamp.from(Instant.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String topic, List<String> keys, List<String> payloads) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, topic);
+                ps.setString(2, keys.get(i));
+                ps.setString(3, payloads.get(i));
+                ps.setTimestamp(4, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return payloads.size();
+            }
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} rows in id order. Keys with an earlier event held by another
+     * relay are skipped until that relay commits, so a later event never overtakes an earlier
+     * one. Skipped candidates stay row-locked until this transaction ends but are not returned.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxRecord> claimBatch(int limit) {
+        return jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new OutboxRecord(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)),
+                limit);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteAll(List<OutboxRecord> records) {
+        Long[] ids = records.stream().map(OutboxRecord::id).toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_SQL);
+            Array array = con.createArrayOf("bigint", ids);
+            ps.setArray(1, array);
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.fintech.common.authz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthzEnvelopeTest {
+
+    @Test
+    void decisionSurvivesTheRoundTrip() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("max_amount", 10_000);
+        config.put("limit", 5_000_000_000L);
+        config.put("ratio", 0.25);
+        config.put("masked", true);
+        config.put("mode", "strict");
+        config.put("regions", List.of("IN", "US"));
+        config.put("nested", Map.of("enabled", false));
+        config.put("unset", null);
+
+        Map<String, Map<String, Object>> resourceAccess = new LinkedHashMap<>();
+        resourceAccess.put("payment", Map.of("access_field", List.of("amount", "status"), "config", config));
+        resourceAccess.put("ledger", Map.of("access_field", List.of("amount")));
+
+        AuthzEnvelope envelope = AuthzEnvelope.parse(AuthzEnvelope.encode(true, "u1", "ADMIN", "ok",
+                List.of("payment:read", "ledger:read"), resourceAccess));
+
+        assertThat(envelope.isAllowed()).isTrue();
+        assertThat(envelope.getUserId()).isEqualTo("u1");
+        assertThat(envelope.getRole()).isEqualTo("ADMIN");
+        assertThat(envelope.getReason()).isEqualTo("ok");
+        assertThat(envelope.getPermissions()).containsExactly("payment:read", "ledger:read");
+        assertThat(envelope.getResourceCount()).isEqualTo(2);
+
+        int payment = envelope.indexOfResource("payment");
+        assertThat(envelope.getAllowedFields(payment)).containsExactly("amount", "status");
+        assertThat(envelope.getConfig(payment)).isEqualTo(config);
+        assertThat(envelope.getConfig(envelope.indexOfResource("ledger"))).isEmpty();
+        assertThat(envelope.indexOfResource("user")).isEqualTo(-1);
+
+        assertThat(envelope.toResourceAccess()).isEqualTo(Map.of(
+                "payment", Map.of("access_field", List.of("amount", "status"), "config", config),
+                "ledger", Map.of("access_field", List.of("amount"), "config", Map.of())));
+    }
+
+    @Test
+    void absentValuesStayAbsent() {
+        AuthzEnvelope envelope = AuthzEnvelope.parse(AuthzEnvelope.encode(false, null, null, null, null, null));
+
+        assertThat(envelope.isAllowed()).isFalse();
+        assertThat(envelope.getUserId()).isNull();
+        assertThat(envelope.getRole()).isNull();
+        assertThat(envelope.getReason()).isNull();
+        assertThat(envelope.getPermissions()).isEmpty();
+        assertThat(envelope.getResourceCount()).isZero();
+    }
+
+    @Test
+    void repeatedStringsAreStoredOnce() {
+        Map<String, Map<String, Object>> resourceAccess = new LinkedHashMap<>();
+        for (String type : List.of("payment", "ledger", "report")) {
+            resourceAccess.put(type, Map.of("access_field", List.of("amount", "description"),
+                    "config", Map.of("description", "amount")));
+        }
+
+        String header = AuthzEnvelope.encode(true, "amount", null, null, List.of("amount"), resourceAccess);
+
+        String decoded = new String(Base64.getUrlDecoder().decode(header.substring(AuthzEnvelope.PREFIX.length())));
+        assertThat(decoded.split("description", -1)).hasSize(2);
+        assertThat(AuthzEnvelope.parse(header).getConfig(2)).isEqualTo(Map.of("description", "amount"));
+    }
+
+    @Test
+    void malformedHeadersAreRejected() {
+        String header = AuthzEnvelope.encode(true, "u1", "ADMIN", null, List.of("payment:read"), null);
+
+        assertThat(AuthzEnvelope.isEnvelope("Bearer x")).isFalse();
+        assertThatThrownBy(() -> AuthzEnvelope.parse("{\"allowed\":true}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuthzEnvelope.parse(header.substring(0, header.length() - 4)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuthzEnvelope.parse(header + "AA")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuthzEnvelope.parse(AuthzEnvelope.PREFIX
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[]{2, 0})))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,220 @@
+package com.fintech.common.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LedgerSegmentRoundTripTest {
+
+    private static final Instant START = Instant.parse("2026-10-16T00:00:00.123456Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveTheRoundTripAcrossRowGroups() throws IOException {
+        List<LedgerRecord> records = records(2_500);
+        Path path = write(records, 1_000);
+
+        try (LedgerSegmentReader reader = LedgerSegmentReader.open(path)) {
+            assertThat(reader.rowCount()).isEqualTo(2_500L);
+            assertThat(reader.rowGroupCount()).isEqualTo(3);
+            assertThat(reader.rowGroup(2).size()).isEqualTo(500);
+            assertThat(reader.minCreatedAt(0)).isEqualTo(records.get(0).createdAt());
+            assertThat(reader.maxCreatedAt(2)).isEqualTo(records.get(2_499).createdAt());
+            assertThat(readAll(reader)).isEqualTo(records);
+        }
+    }
+
+    @Test
+    void nullsStayNullInEveryRowGroup() throws IOException {
+        List<LedgerRecord> records = new ArrayList<>();
+        // First group all null, second group none null, third mixed
+        for (int i = 0; i < 12; i++) {
+            boolean nulls = i < 4 || (i >= 8 && i % 3 == 0);
+            records.add(new LedgerRecord(i, "TXN" + i, nulls ? null : "PAY" + i, "ACC1", "DEBIT",
+                    amount(100 + i), nulls ? null : amount(-i), nulls ? null : "Transfer", START.plusSeconds(i)));
+        }
+        Path path = write(records, 4);
+
+        try (LedgerSegmentReader reader = LedgerSegmentReader.open(path)) {
+            LedgerSegmentReader.RowGroup allNull = reader.rowGroup(0);
+            assertThat(allNull.hasBalanceAfter(0)).isFalse();
+            assertThat(allNull.balanceAfter(0)).isNull();
+            assertThat(allNull.paymentId(3)).isNull();
+            assertThat(allNull.description(3)).isNull();
+            assertThat(reader.rowGroup(1).balanceAfter(0)).isEqualTo(amount(-4));
+            assertThat(readAll(reader)).isEqualTo(records);
+        }
+    }
+
+    @Test
+    void stringColumnsRoundTripWithAndWithoutDictionary() throws IOException {
+        List<LedgerRecord> records = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // First group: two accounts, dictionary-encoded. Second: every value distinct, plain.
+            String account = i < 100 ? "ACC" + (i % 2) : "ACC" + i;
+            records.add(new LedgerRecord(i, "TXN" + i, "PAY" + i, account, i % 2 == 0 ? "DEBIT" : "CREDIT",
+                    amount(i), amount(i), "\u00dcberweisung " + (i % 3), START.plusMillis(i)));
+        }
+        Path path = write(records, 100);
+
+        try (LedgerSegmentReader reader = LedgerSegmentReader.open(path)) {
+            assertThat(readAll(reader)).isEqualTo(records);
+        }
+    }
+
+    @Test
+    void deltaColumnsHandleNegativeAndExtremeSteps() throws IOException {
+        List<LedgerRecord> records = List.of(
+                record(Long.MAX_VALUE - 1, START),
+                record(Long.MAX_VALUE, START.minusSeconds(3_600)),
+                record(1, Instant.parse("1969-12-31T23:59:59.999999Z")),
+                record(Long.MIN_VALUE + 1, START.plusNanos(1_000)),
+                record(0, Instant.EPOCH));
+        Path path = write(records, 8);
+
+        try (LedgerSegmentReader reader = LedgerSegmentReader.open(path)) {
+            assertThat(readAll(reader)).isEqualTo(records);
+            assertThat(reader.minCreatedAt(0)).isEqualTo(Instant.parse("1969-12-31T23:59:59.999999Z"));
+            assertThat(reader.maxCreatedAt(0)).isEqualTo(START.plusNanos(1_000));
+        }
+    }
+
+    @Test
+    void projectedColumnsDecodeAlone() throws IOException {
+        List<LedgerRecord> records = records(300);
+        Path path = write(records, 1_000);
+
+        try (LedgerSegmentReader reader = LedgerSegmentReader.open(path)) {
+            LedgerSegmentReader.RowGroup group = reader.rowGroup(0, "account_number", "amount");
+            long total = 0;
+            for (int i = 0; i < group.size(); i++) {
+                assertThat(group.accountNumber(i)).isEqualTo(records.get(i).accountNumber());
+                total += group.amountUnscaled(i);
+            }
+            assertThat(total).isEqualTo(records.stream().mapToLong(r -> r.amount().unscaledValue().longValue()).sum());
+            assertThatThrownBy(() -> reader.rowGroup(0, "balance"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void emptySegmentHasNoRowGroups() throws IOException {
+        Path path = write(List.of(), 16);
+
+        try (LedgerSegmentReader reader = LedgerSegmentReader.open(path)) {
+            assertThat(reader.rowCount()).isEqualTo(0L);
+            assertThat(reader.rowGroupCount()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void truncatedSegmentFailsToOpen() throws IOException {
+        byte[] bytes = Files.readAllBytes(write(records(2_500), 1_000));
+
+        for (int length : new int[]{0, 4, 16, bytes.length / 2, bytes.length - 1}) {
+            Path truncated = Files.write(dir.resolve("truncated-" + length + LedgerSegment.EXTENSION),
+                    Arrays.copyOf(bytes, length));
+            assertThatThrownBy(() -> LedgerSegmentReader.open(truncated).close())
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void corruptFooterFailsToOpen() throws IOException {
+        byte[] bytes = Files.readAllBytes(write(records(2_500), 1_000));
+        int footerOffsetAt = bytes.length - 12;
+        long footerOffset = ByteBuffer.wrap(bytes, footerOffsetAt, 8).getLong();
+
+        for (long offset : new long[]{-1, 0, bytes.length, Long.MAX_VALUE, footerOffset + 1}) {
+            byte[] corrupt = bytes.clone();
+            ByteBuffer.wrap(corrupt, footerOffsetAt, 8).putLong(offset);
+            Path path = Files.write(dir.resolve("footer-offset.lseg"), corrupt);
+            assertThatThrownBy(() -> LedgerSegmentReader.open(path).close())
+                    .isInstanceOf(IOException.class);
+        }
+
+        // Overwrite the whole footer, keeping the trailer intact
+        byte[] corrupt = bytes.clone();
+        for (int i = (int) footerOffset; i < footerOffsetAt; i++) {
+            corrupt[i] = (byte) 0xFF;
+        }
+        Path path = Files.write(dir.resolve("footer.lseg"), corrupt);
+        assertThatThrownBy(() -> LedgerSegmentReader.open(path).close())
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void corruptColumnChunkFailsOnRead() throws IOException {
+        byte[] bytes = Files.readAllBytes(write(records(2_500), 1_000));
+        // Inside the first row group's entry_id chunk, which follows the five byte header
+        for (int i = 20; i < 28; i++) {
+            bytes[i] ^= (byte) 0x5A;
+        }
+        Path path = Files.write(dir.resolve("chunk.lseg"), bytes);
+
+        try (LedgerSegmentReader reader = LedgerSegmentReader.open(path)) {
+            assertThatThrownBy(() -> reader.rowGroup(0))
+                    .isInstanceOf(IOException.class);
+            // Other row groups stay readable
+            assertThat(reader.rowGroup(1).size()).isEqualTo(1_000);
+        }
+    }
+
+    private Path write(List<LedgerRecord> records, int rowGroupSize) throws IOException {
+        Path path = Files.createTempFile(dir, "segment", LedgerSegment.EXTENSION);
+        try (LedgerSegmentWriter writer = new LedgerSegmentWriter(path, rowGroupSize)) {
+            for (LedgerRecord record : records) {
+                writer.write(record);
+            }
+            assertThat(writer.rowCount()).isEqualTo((long) records.size());
+        }
+        return path;
+    }
+
+    private static List<LedgerRecord> readAll(LedgerSegmentReader reader) throws IOException {
+        List<LedgerRecord> records = new ArrayList<>();
+        reader.forEach(records::add);
+        return records;
+    }
+
+    /**
+     * Ledger-like rows: increasing IDs and timestamps, a few accounts, paired transactions
+     * and a sprinkling of nulls
+     */
+    private static List<LedgerRecord> records(int count) {
+        List<LedgerRecord> records = new ArrayList<>(count);
+        long entryId = 7_000_000_000_000_000_000L;
+        Instant createdAt = START;
+        for (int i = 0; i < count; i++) {
+            entryId += 1 + (i * 31L) % 4_000;
+            createdAt = createdAt.plusNanos(1_000L * ((i * 17L) % 50_000));
+            records.add(new LedgerRecord(entryId, "TXN" + i / 2, i % 7 == 0 ? null : "PAY" + i / 2,
+                    "ACC" + (i * 13) % 40, i % 2 == 0 ? "DEBIT" : "CREDIT", amount(1 + (i * 7919L) % 10_000_000),
+                    i % 5 == 0 ? null : amount((i * 104_729L) % 1_000_000_000L - 500_000_000L),
+                    i % 3 == 0 ? null : "Transfer " + i % 4, createdAt));
+        }
+        return records;
+    }
+
+    private static LedgerRecord record(long entryId, Instant createdAt) {
+        return new LedgerRecord(entryId, "TXN", "PAY", "ACC", "DEBIT", amount(1), amount(1), null, createdAt);
+    }
+
+    private static BigDecimal amount(long unscaled) {
+        return BigDecimal.valueOf(unscaled, LedgerSegment.AMOUNT_SCALE);
+    }
+}
@@ -0,0 +1,166 @@
+package com.fintech.security.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.security.annotation.FieldAccessControl;
+import com.fintech.security.model.AuthorizationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of filtering and serializing a 500-row page of @FieldAccessControl rows: precompiled
+ * plans written straight to JSON against the legacy convertValue + reflection path.
+ * Thread-scoped so the authorization context is set on the measuring thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class FieldFilterBenchmark {
+
+    private static final int ROWS = 500;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final FieldFilterUtil fieldFilterUtil = new FieldFilterUtil();
+    private final LegacyFieldFilter legacyFieldFilter = new LegacyFieldFilter();
+
+    private List<PaymentRow> page;
+
+    @Setup
+    public void setup() {
+        page = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            page.add(new PaymentRow("PAY" + i, "USER" + (i % 50), new BigDecimal("125.50"), "INR", "COMPLETED",
+                    "ACC" + i, "ACC" + (i + 1), "Invoice " + i, now.minusMinutes(i), now));
+        }
+        Map<String, Map<String, Object>> resourceAccess = Map.of("payment", Map.of(
+                "access_field", List.of("paymentId", "amount", "currency", "status", "createdAt", "updatedAt"),
+                "config", Map.of("access_level", "OWN")));
+        AuthorizationContextHolder.setContext(
+                new AuthorizationContext(true, "USER1", "CUSTOMER", List.of(), resourceAccess, null));
+    }
+
+    @TearDown
+    public void tearDown() {
+        AuthorizationContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public byte[] precompiledPlan() throws Exception {
+        List<Object> filtered = new ArrayList<>(page.size());
+        for (PaymentRow row : page) {
+            filtered.add(fieldFilterUtil.filterFields(row, "payment"));
+        }
+        return mapper.writeValueAsBytes(filtered);
+    }
+
+    @Benchmark
+    public byte[] legacyConvertValue() throws Exception {
+        List<Object> filtered = new ArrayList<>(page.size());
+        for (PaymentRow row : page) {
+            filtered.add(legacyFieldFilter.filterFields(row, "payment"));
+        }
+        return mapper.writeValueAsBytes(filtered);
+    }
+
+    public static class PaymentRow {
+
+        @FieldAccessControl(resourceType = "payment")
+        private final String paymentId;
+
+        @FieldAccessControl(resourceType = "payment", sensitive = true)
+        private final String userId;
+
+        @FieldAccessControl(resourceType = "payment")
+        private final BigDecimal amount;
+
+        @FieldAccessControl(resourceType = "payment")
+        private final String currency;
+
+        @FieldAccessControl(resourceType = "payment")
+        private final String status;
+
+        @FieldAccessControl(resourceType = "payment", sensitive = true)
+        private final String fromAccount;
+
+        @FieldAccessControl(resourceType = "payment", sensitive = true)
+        private final String toAccount;
+
+        @FieldAccessControl(resourceType = "payment")
+        private final String description;
+
+        @FieldAccessControl(resourceType = "payment")
+        private final LocalDateTime createdAt;
+
+        @FieldAccessControl(resourceType = "payment")
+        private final LocalDateTime updatedAt;
+
+        PaymentRow(String paymentId, String userId, BigDecimal amount, String currency, String status,
+                   String fromAccount, String toAccount, String description, LocalDateTime createdAt,
+                   LocalDateTime updatedAt) {
+            this.paymentId = paymentId;
+            this.userId = userId;
+            this.amount = amount;
+            this.currency = currency;
+            this.status = status;
+            this.fromAccount = fromAccount;
+            this.toAccount = toAccount;
+            this.description = description;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+        }
+
+        public String getPaymentId() {
+            return paymentId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getFromAccount() {
+            return fromAccount;
+        }
+
+        public String getToAccount() {
+            return toAccount;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
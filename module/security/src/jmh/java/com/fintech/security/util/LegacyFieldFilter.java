@@ -0,0 +1,43 @@
+package com.fintech.security.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.security.annotation.FieldAccessControl;
+import com.fintech.security.model.AuthorizationContext;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copy of the filtering FieldFilterUtil did before precompiled plans (convertValue to a Map,
+ * then a reflective annotation scan per call), kept only as a benchmark baseline.
+ */
+public class LegacyFieldFilter {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> filterFields(Object object, String defaultResourceType) {
+        Map<String, Object> objectMap = objectMapper.convertValue(object, Map.class);
+        Map<String, Object> filteredMap = new HashMap<>();
+        AuthorizationContext context = AuthorizationContextHolder.getContext();
+
+        for (Field field : object.getClass().getDeclaredFields()) {
+            FieldAccessControl annotation = field.getAnnotation(FieldAccessControl.class);
+            if (annotation == null) {
+                continue;
+            }
+            String resourceType = annotation.resourceType().isEmpty() ? defaultResourceType : annotation.resourceType();
+            String fieldName = annotation.fieldName().isEmpty() ? field.getName() : annotation.fieldName();
+            if (context != null && context.isAllowed() && context.hasFieldAccess(resourceType, fieldName)) {
+                if (objectMap.containsKey(field.getName())) {
+                    filteredMap.put(field.getName(), objectMap.get(field.getName()));
+                }
+            } else if (!annotation.sensitive()) {
+                filteredMap.put(field.getName(), annotation.redactedValue());
+            }
+        }
+        return filteredMap;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fintech.security.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a response wrapper (a page of results, for example) whose own fields are written
+ * as they are, while nested objects are filtered by their own @FieldAccessControl fields.
+ * Nested objects that are neither annotated nor containers are written as empty objects.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FilteredContainer {
+}
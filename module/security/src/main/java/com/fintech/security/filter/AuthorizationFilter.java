@@ -2,6 +2,7 @@ package com.fintech.security.filter;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.common.authz.AuthzEnvelope;
 import com.fintech.security.model.AuthorizationContext;
 import com.fintech.security.util.AuthorizationContextHolder;
 import jakarta.servlet.*;
@@ -94,9 +95,14 @@ public class AuthorizationFilter implements Filter {
         }
 
         try {
+            // Binary envelope (current gateway format), read without building any JSON tree
+            if (AuthzEnvelope.isEnvelope(authzHeader)) {
+                return AuthorizationContext.fromEnvelope(AuthzEnvelope.parse(authzHeader));
+            }
+
             AuthorizationContext context = new AuthorizationContext();
 
-            // Parse the base64 encoded authorization data from gateway
+            // Parse the base64 encoded JSON authorization data from older gateways
             if (authzHeader != null && !authzHeader.isEmpty()) {
                 String decoded = new String(Base64.getDecoder().decode(authzHeader), StandardCharsets.UTF_8);
 
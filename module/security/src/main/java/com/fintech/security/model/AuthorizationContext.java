@@ -1,5 +1,8 @@
 package com.fintech.security.model;
 
+import com.fintech.common.authz.AuthzEnvelope;
+
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +19,10 @@ public class AuthorizationContext {
     private Map<String, Map<String, Object>> resourceAccess; // resourceType -> {access_field: [], config: {}}
     private String reason;
 
+    // Binary envelope from the gateway; resourceAccess is only materialized from it on demand
+    private AuthzEnvelope envelope;
+    private final Map<String, FieldAccessSet> fieldAccess = new HashMap<>();
+
     public AuthorizationContext() {}
 
     public AuthorizationContext(boolean allowed, String userId, String role, 
@@ -28,6 +35,20 @@ public class AuthorizationContext {
         this.reason = reason;
     }
 
+    /**
+     * Build a context backed by a binary envelope from the gateway
+     */
+    public static AuthorizationContext fromEnvelope(AuthzEnvelope envelope) {
+        AuthorizationContext context = new AuthorizationContext();
+        context.allowed = envelope.isAllowed();
+        context.userId = envelope.getUserId();
+        context.role = envelope.getRole();
+        context.reason = envelope.getReason();
+        context.permissions = envelope.getPermissions();
+        context.envelope = envelope;
+        return context;
+    }
+
     // Getters and setters
     public boolean isAllowed() {
         return allowed;
@@ -62,11 +83,16 @@ public class AuthorizationContext {
     }
 
     public Map<String, Map<String, Object>> getResourceAccess() {
+        if (resourceAccess == null && envelope != null) {
+            resourceAccess = envelope.toResourceAccess();
+        }
         return resourceAccess;
     }
 
     public void setResourceAccess(Map<String, Map<String, Object>> resourceAccess) {
         this.resourceAccess = resourceAccess;
+        this.envelope = null;
+        this.fieldAccess.clear();
     }
 
     public String getReason() {
@@ -95,42 +121,37 @@ public class AuthorizationContext {
      * Check if user can access a specific field for a resource type
      */
     public boolean hasFieldAccess(String resourceType, String field) {
-        if (resourceAccess == null) {
-            return false;
-        }
-        
-        Map<String, Object> resource = resourceAccess.get(resourceType.toLowerCase());
-        if (resource == null) {
-            return false;
-        }
-        
-        @SuppressWarnings("unchecked")
-        List<String> allowedFields = (List<String>) resource.get("access_field");
-        if (allowedFields == null) {
-            return false;
-        }
-        
-        // Check for wildcard access
-        if (allowedFields.contains("*")) {
-            return true;
-        }
-        
-        return allowedFields.contains(field);
+        return getFieldAccess(resourceType).contains(field);
+    }
+
+    /**
+     * Allowed fields for a resource type as a bitset, built once per request and resource type
+     */
+    public FieldAccessSet getFieldAccess(String resourceType) {
+        return fieldAccess.computeIfAbsent(resourceType.toLowerCase(), type -> FieldAccessSet.of(loadAllowedFields(type)));
     }
 
     /**
      * Get allowed fields for a resource type
      */
     public List<String> getAllowedFields(String resourceType) {
+        return getFieldAccess(resourceType).getFieldNames();
+    }
+
+    private List<String> loadAllowedFields(String resourceType) {
+        if (resourceAccess == null && envelope != null) {
+            int index = envelope.indexOfResource(resourceType);
+            return index >= 0 ? envelope.getAllowedFields(index) : List.of();
+        }
         if (resourceAccess == null) {
             return List.of();
         }
-        
-        Map<String, Object> resource = resourceAccess.get(resourceType.toLowerCase());
+
+        Map<String, Object> resource = resourceAccess.get(resourceType);
         if (resource == null) {
             return List.of();
         }
-        
+
         @SuppressWarnings("unchecked")
         List<String> allowedFields = (List<String>) resource.get("access_field");
         return allowedFields != null ? allowedFields : List.of();
@@ -150,6 +171,7 @@ public class AuthorizationContext {
     @Deprecated
     public Object getLimit(String limitType) {
         // For backward compatibility, check all resource configs
+        Map<String, Map<String, Object>> resourceAccess = getResourceAccess();
         if (resourceAccess == null) {
             return null;
         }
@@ -168,24 +190,17 @@ public class AuthorizationContext {
      * Get config value for a specific resource type and config key
      */
     public Object getResourceConfig(String resourceType, String configKey) {
-        if (resourceAccess == null) {
-            return null;
-        }
-        
-        Map<String, Object> resource = resourceAccess.get(resourceType.toLowerCase());
-        if (resource == null) {
-            return null;
-        }
-        
-        @SuppressWarnings("unchecked")
-        Map<String, Object> config = (Map<String, Object>) resource.get("config");
-        return config != null ? config.get(configKey) : null;
+        return getResourceConfig(resourceType).get(configKey);
     }
 
     /**
      * Get all config for a specific resource type
      */
     public Map<String, Object> getResourceConfig(String resourceType) {
+        if (resourceAccess == null && envelope != null) {
+            int index = envelope.indexOfResource(resourceType.toLowerCase());
+            return index >= 0 ? envelope.getConfig(index) : Map.of();
+        }
         if (resourceAccess == null) {
             return Map.of();
         }
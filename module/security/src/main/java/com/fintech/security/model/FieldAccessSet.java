@@ -0,0 +1,59 @@
+package com.fintech.security.model;
+
+import com.fintech.security.util.FieldIdRegistry;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Allowed fields of one resource type as a bitset over {@link FieldIdRegistry} IDs
+ */
+public final class FieldAccessSet {
+
+    static final FieldAccessSet EMPTY = new FieldAccessSet(new BitSet(), false, List.of());
+
+    private final BitSet fieldIds;
+    private final boolean wildcard;
+    private final List<String> fieldNames;
+
+    private FieldAccessSet(BitSet fieldIds, boolean wildcard, List<String> fieldNames) {
+        this.fieldIds = fieldIds;
+        this.wildcard = wildcard;
+        this.fieldNames = fieldNames;
+    }
+
+    static FieldAccessSet of(List<String> fieldNames) {
+        if (fieldNames == null || fieldNames.isEmpty()) {
+            return EMPTY;
+        }
+        BitSet fieldIds = new BitSet();
+        boolean wildcard = false;
+        for (String fieldName : fieldNames) {
+            if ("*".equals(fieldName)) {
+                wildcard = true;
+            } else {
+                fieldIds.set(FieldIdRegistry.idOf(fieldName));
+            }
+        }
+        return new FieldAccessSet(fieldIds, wildcard, fieldNames);
+    }
+
+    public boolean contains(String fieldName) {
+        return wildcard || fieldIds.get(FieldIdRegistry.idOf(fieldName));
+    }
+
+    /**
+     * Check by a pre-resolved {@link FieldIdRegistry} ID
+     */
+    public boolean contains(int fieldId) {
+        return wildcard || fieldIds.get(fieldId);
+    }
+
+    public boolean isWildcard() {
+        return wildcard;
+    }
+
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+}
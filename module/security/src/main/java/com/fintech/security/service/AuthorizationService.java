@@ -1,6 +1,7 @@
 package com.fintech.security.service;
 
 import com.fintech.security.model.AuthorizationContext;
+import com.fintech.security.model.FieldAccessSet;
 import com.fintech.security.util.AuthorizationContextHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,22 +63,8 @@ public class AuthorizationService {
         }
 
         // Check access level from database configuration for specific resource type
-        if (context.getResourceAccess() != null) {
-            Map<String, Map<String, Object>> resourceAccess = context.getResourceAccess();
-            if (resourceAccess.containsKey(resourceType)) {
-                Map<String, Object> resourceConfig = resourceAccess.get(resourceType);
-                if (resourceConfig != null && resourceConfig.containsKey("config")) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> config = (Map<String, Object>) resourceConfig.get("config");
-                    if (config != null && config.containsKey("access_level")) {
-                        String dbAccessLevel = (String) config.get("access_level");
-                        return accessLevel.equalsIgnoreCase(dbAccessLevel);
-                    }
-                }
-            }
-        }
-
-        return false;
+        Object dbAccessLevel = context.getResourceConfig(resourceType, "access_level");
+        return dbAccessLevel instanceof String && accessLevel.equalsIgnoreCase((String) dbAccessLevel);
     }
 
 
@@ -103,14 +90,14 @@ public class AuthorizationService {
             return Map.of();
         }
 
-        List<String> allowedFields = context.getAllowedFields(resourceType);
+        FieldAccessSet allowedFields = context.getFieldAccess(resourceType);
         Map<String, Object> filtered = new HashMap<>();
 
         for (Map.Entry<String, Object> entry : data.entrySet()) {
             String fieldName = entry.getKey();
 
             // Only include fields that are explicitly allowed in database configuration
-            if (allowedFields.contains("*") || allowedFields.contains(fieldName)) {
+            if (allowedFields.contains(fieldName)) {
                 filtered.put(fieldName, entry.getValue());
             }
             // Field access is controlled by the database configuration
@@ -0,0 +1,290 @@
+package com.fintech.security.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fintech.security.annotation.FieldAccessControl;
+import com.fintech.security.annotation.FilteredContainer;
+import com.fintech.security.model.AuthorizationContext;
+import com.fintech.security.model.FieldAccessSet;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compiled @FieldAccessControl layout of one response class, built once per class.
+ * <p>
+ * Each annotated field is resolved up front to a getter MethodHandle, its
+ * {@link FieldIdRegistry} ID and its resource type, so filtering an instance costs a
+ * bitset test and a handle call per field instead of a Map conversion plus reflective
+ * field and annotation lookups.
+ * <p>
+ * A class marked {@link FilteredContainer} is compiled as a container: its fields are
+ * written and nested objects are filtered through their own plans, the same way the aspect
+ * unwraps "results" wrapper maps. Inside a container only scalar values are written as they
+ * are; any other class without annotated fields filters to an empty object.
+ */
+public final class FieldFilterPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<FieldFilterPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected FieldFilterPlan computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private final Property[] properties;
+    // Distinct annotation resource types; null stands for the caller's default resource type
+    private final String[] resourceTypes;
+    private final boolean container;
+
+    private FieldFilterPlan(Property[] properties, String[] resourceTypes, boolean container) {
+        this.properties = properties;
+        this.resourceTypes = resourceTypes;
+        this.container = container;
+    }
+
+    private static final class Property {
+        final String name;
+        final MethodHandle getter;
+        final int fieldId;
+        final int resourceTypeIndex;
+        final boolean sensitive;
+        final String redactedValue;
+
+        Property(String name, MethodHandle getter, int fieldId, int resourceTypeIndex,
+                 boolean sensitive, String redactedValue) {
+            this.name = name;
+            this.getter = getter;
+            this.fieldId = fieldId;
+            this.resourceTypeIndex = resourceTypeIndex;
+            this.sensitive = sensitive;
+            this.redactedValue = redactedValue;
+        }
+
+        Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to read field " + name, e);
+            }
+        }
+    }
+
+    /**
+     * Cached plan for the class
+     */
+    public static FieldFilterPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Whether the class declares @FieldAccessControl fields
+     */
+    public boolean isControlled() {
+        return !container && properties.length > 0;
+    }
+
+    public boolean isContainer() {
+        return container;
+    }
+
+    /**
+     * Write the filtered object as JSON
+     */
+    public void write(Object bean, AuthorizationContext context, String defaultResourceType,
+                      JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(bean);
+        if (container) {
+            for (Property property : properties) {
+                gen.writeFieldName(property.name);
+                writeNested(property.get(bean), context, defaultResourceType, gen, provider);
+            }
+        } else {
+            FieldAccessSet[] access = resolveAccess(context, defaultResourceType);
+            for (Property property : properties) {
+                if (isAllowed(access, property)) {
+                    provider.defaultSerializeField(property.name, property.get(bean), gen);
+                } else if (!property.sensitive) {
+                    // Non-sensitive field - replace with redacted value, sensitive fields are dropped
+                    gen.writeStringField(property.name, property.redactedValue);
+                }
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Filtered copy of the object as a Map, for callers that ask for Map responses
+     */
+    public Map<String, Object> toMap(Object bean, AuthorizationContext context, String defaultResourceType) {
+        Map<String, Object> filtered = new LinkedHashMap<>();
+        if (container) {
+            for (Property property : properties) {
+                filtered.put(property.name, toNestedValue(property.get(bean), context, defaultResourceType));
+            }
+            return filtered;
+        }
+
+        FieldAccessSet[] access = resolveAccess(context, defaultResourceType);
+        for (Property property : properties) {
+            if (isAllowed(access, property)) {
+                filtered.put(property.name, property.get(bean));
+            } else if (!property.sensitive) {
+                filtered.put(property.name, property.redactedValue);
+            }
+        }
+        return filtered;
+    }
+
+    private static void writeNested(Object value, AuthorizationContext context, String defaultResourceType,
+                                    JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            provider.defaultSerializeNull(gen);
+            return;
+        }
+        if (value instanceof Collection<?> collection) {
+            gen.writeStartArray(value, collection.size());
+            for (Object item : collection) {
+                writeNested(item, context, defaultResourceType, gen, provider);
+            }
+            gen.writeEndArray();
+            return;
+        }
+        if (value instanceof Map<?, ?> map) {
+            gen.writeStartObject(value);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                gen.writeFieldName(String.valueOf(entry.getKey()));
+                writeNested(entry.getValue(), context, defaultResourceType, gen, provider);
+            }
+            gen.writeEndObject();
+            return;
+        }
+        if (isScalar(value)) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        // Annotated objects and containers are filtered, anything else is written as {}
+        of(value.getClass()).write(value, context, defaultResourceType, gen, provider);
+    }
+
+    private static Object toNestedValue(Object value, AuthorizationContext context, String defaultResourceType) {
+        if (value instanceof Collection<?> collection) {
+            List<Object> items = new ArrayList<>(collection.size());
+            for (Object item : collection) {
+                items.add(toNestedValue(item, context, defaultResourceType));
+            }
+            return items;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> entries = new LinkedHashMap<>();
+            map.forEach((key, item) -> entries.put(String.valueOf(key), toNestedValue(item, context, defaultResourceType)));
+            return entries;
+        }
+        if (value == null || isScalar(value)) {
+            return value;
+        }
+        return of(value.getClass()).toMap(value, context, defaultResourceType);
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum<?> || value instanceof TemporalAccessor
+                || value instanceof Date || value instanceof UUID;
+    }
+
+    /**
+     * Allowed fields per resource type of this plan, resolved once per filtered object.
+     * Returns null, denying every field, when there is no authorized context.
+     */
+    private FieldAccessSet[] resolveAccess(AuthorizationContext context, String defaultResourceType) {
+        if (context == null || !context.isAllowed()) {
+            return null;
+        }
+        FieldAccessSet[] access = new FieldAccessSet[resourceTypes.length];
+        for (int i = 0; i < resourceTypes.length; i++) {
+            access[i] = context.getFieldAccess(resourceTypes[i] != null ? resourceTypes[i] : defaultResourceType);
+        }
+        return access;
+    }
+
+    private static boolean isAllowed(FieldAccessSet[] access, Property property) {
+        return access != null && access[property.resourceTypeIndex].contains(property.fieldId);
+    }
+
+    private static FieldFilterPlan compile(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getName().startsWith("java.")) {
+            return new FieldFilterPlan(new Property[0], new String[0], false);
+        }
+
+        List<Field> controlled = new ArrayList<>();
+        List<Field> plain = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || field.isAnnotationPresent(JsonIgnore.class)) {
+                continue;
+            }
+            if (field.isAnnotationPresent(FieldAccessControl.class)) {
+                controlled.add(field);
+            } else {
+                plain.add(field);
+            }
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        if (!controlled.isEmpty()) {
+            List<String> resourceTypes = new ArrayList<>();
+            Property[] properties = new Property[controlled.size()];
+            for (int i = 0; i < properties.length; i++) {
+                Field field = controlled.get(i);
+                FieldAccessControl annotation = field.getAnnotation(FieldAccessControl.class);
+                String resourceType = annotation.resourceType().isEmpty() ? null : annotation.resourceType();
+                int resourceTypeIndex = resourceTypes.indexOf(resourceType);
+                if (resourceTypeIndex < 0) {
+                    resourceTypeIndex = resourceTypes.size();
+                    resourceTypes.add(resourceType);
+                }
+                String fieldName = annotation.fieldName().isEmpty() ? field.getName() : annotation.fieldName();
+                properties[i] = new Property(field.getName(), getter(lookup, field), FieldIdRegistry.idOf(fieldName),
+                        resourceTypeIndex, annotation.sensitive(), annotation.redactedValue());
+            }
+            return new FieldFilterPlan(properties, resourceTypes.toArray(new String[0]), false);
+        }
+
+        if (type.isAnnotationPresent(FilteredContainer.class)) {
+            Property[] properties = new Property[plain.size()];
+            for (int i = 0; i < properties.length; i++) {
+                Field field = plain.get(i);
+                properties[i] = new Property(field.getName(), getter(lookup, field), -1, -1, false, null);
+            }
+            return new FieldFilterPlan(properties, new String[0], true);
+        }
+
+        return new FieldFilterPlan(new Property[0], new String[0], false);
+    }
+
+    private static MethodHandle getter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            field.setAccessible(true);
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalStateException("Cannot access field " + field.getDeclaringClass().getName()
+                    + "." + field.getName() + " for response filtering", e);
+        }
+    }
+}
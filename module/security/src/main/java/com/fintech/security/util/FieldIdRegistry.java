@@ -0,0 +1,29 @@
+package com.fintech.security.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide interning of field names to small integer IDs, so allowed fields can be
+ * held as bitsets and checked without string comparisons. Field names come from the
+ * field_access table and from @FieldAccessControl annotations, so the set stays small.
+ */
+public final class FieldIdRegistry {
+
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private FieldIdRegistry() {
+    }
+
+    /**
+     * ID of the field name, assigning the next free one on first sight
+     */
+    public static int idOf(String fieldName) {
+        Integer id = ids.get(fieldName);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(fieldName, name -> nextId.getAndIncrement());
+    }
+}
@@ -0,0 +1,48 @@
+package com.fintech.security.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fintech.security.model.AuthorizationContext;
+
+import java.io.IOException;
+
+/**
+ * Response object paired with the authorization context it was filtered for.
+ * Serializes straight to the filtered JSON through its {@link FieldFilterPlan}.
+ */
+@JsonSerialize(using = FilteredObject.Serializer.class)
+public final class FilteredObject {
+
+    private final Object target;
+    private final FieldFilterPlan plan;
+    private final AuthorizationContext context;
+    private final String resourceType;
+
+    FilteredObject(Object target, FieldFilterPlan plan, AuthorizationContext context, String resourceType) {
+        this.target = target;
+        this.plan = plan;
+        this.context = context;
+        this.resourceType = resourceType;
+    }
+
+    /**
+     * The unfiltered object
+     */
+    public Object getTarget() {
+        return target;
+    }
+
+    public static class Serializer extends StdSerializer<FilteredObject> {
+
+        public Serializer() {
+            super(FilteredObject.class);
+        }
+
+        @Override
+        public void serialize(FilteredObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            value.plan.write(value.target, value.context, value.resourceType, gen, provider);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fintech.security.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.security.annotation.FieldAccessControl;
+import com.fintech.security.annotation.FilteredContainer;
+import com.fintech.security.model.AuthorizationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldFilterPlanTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FieldFilterUtil fieldFilterUtil = new FieldFilterUtil();
+
+    record Secret(String accountNumber, String pin) {
+    }
+
+    record Entry(
+            @FieldAccessControl(resourceType = "payment", fieldName = "amount") String amount,
+            @FieldAccessControl(resourceType = "payment", fieldName = "note", redactedValue = "hidden") String note,
+            @FieldAccessControl(resourceType = "payment", fieldName = "pin", sensitive = true) String pin) {
+    }
+
+    // Holds a collection but is not marked as a container
+    record UnmarkedPage(List<Entry> entries, int total) {
+    }
+
+    @FilteredContainer
+    record Page(List<Entry> entries, List<Secret> secrets, Secret secret, Map<String, Secret> byId, int total) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        AuthorizationContextHolder.setContext(new AuthorizationContext(true, "u1", "user", List.of(),
+                Map.of("payment", Map.of("access_field", List.of("amount"))), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        AuthorizationContextHolder.clearContext();
+    }
+
+    @Test
+    void annotatedFieldsAreAllowedRedactedOrDropped() throws Exception {
+        assertThat(write(new Entry("10.00", "rent", "1234")))
+                .isEqualTo("{\"amount\":\"10.00\",\"note\":\"hidden\"}");
+    }
+
+    @Test
+    void unannotatedClassWritesNothing() throws Exception {
+        assertThat(write(new Secret("A1", "1234"))).isEqualTo("{}");
+    }
+
+    @Test
+    void unmarkedClassWithCollectionIsNotAContainer() throws Exception {
+        assertThat(write(new UnmarkedPage(List.of(new Entry("1.00", "x", "1")), 1))).isEqualTo("{}");
+    }
+
+    @Test
+    void containerFiltersNestedValuesAndDeniesUnannotatedOnes() throws Exception {
+        Page page = new Page(List.of(new Entry("1.00", "x", "1")), List.of(new Secret("A1", "1")),
+                new Secret("A2", "2"), Map.of("k", new Secret("A3", "3")), 1);
+
+        assertThat(write(page)).isEqualTo("{\"entries\":[{\"amount\":\"1.00\",\"note\":\"hidden\"}],"
+                + "\"secrets\":[{}],\"secret\":{},\"byId\":{\"k\":{}},\"total\":1}");
+
+        assertThat(fieldFilterUtil.createFilteredMap(page, "payment")).isEqualTo(Map.of(
+                "entries", List.of(Map.of("amount", "1.00", "note", "hidden")),
+                "secrets", List.of(Map.of()),
+                "secret", Map.of(),
+                "byId", Map.of("k", Map.of()),
+                "total", 1));
+    }
+
+    @Test
+    void javaTypesAreReturnedUnfiltered() {
+        List<String> values = List.of("a");
+        assertThat(fieldFilterUtil.filterFields(values, "payment")).isSameAs(values);
+    }
+
+    private String write(Object value) throws Exception {
+        return objectMapper.writeValueAsString(fieldFilterUtil.filterFields(value, "payment"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.fintech.authservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedicated pool for Argon2 password hashing, kept off the request threads and the
+ * connection pool. Every hash holds its Argon2 memory for the whole computation, so the
+ * pool is sized to both the cores and a share of the heap, with a bounded queue and no
+ * caller-runs fallback: a full pool rejects immediately.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public ExecutorService passwordHashExecutor(
+            @Value("${auth.hashing.threads:0}") int configuredThreads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.hashing.memory-kib:16384}") int memoryKib,
+            @Value("${auth.hashing.heap-fraction:0.25}") double heapFraction,
+            MeterRegistry meterRegistry) {
+
+        int threads = configuredThreads > 0 ? configuredThreads : defaultThreads(memoryKib, heapFraction);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.prestartAllCoreThreads();
+
+        logger.info("Password hashing pool: {} threads, queue capacity {}", threads, queueCapacity);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    /**
+     * Separate low-priority pool for upgrading credentials after login, so rehashes never
+     * take a slot from a waiting login. The short queue bounds how long a verified password
+     * stays in memory; upgrades that do not fit are skipped until the next login.
+     */
+    @Bean(name = "passwordRehashExecutor", destroyMethod = "shutdown")
+    public ExecutorService passwordRehashExecutor(
+            @Value("${auth.hashing.rehash-threads:1}") int threads,
+            @Value("${auth.hashing.rehash-queue-capacity:8}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-rehash-");
+        threadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        logger.info("Password rehash pool: {} threads, queue capacity {}", threads, queueCapacity);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.rehashing");
+    }
+
+    /**
+     * One thread per core, unless the heap share cannot hold that many concurrent hashes
+     */
+    private static int defaultThreads(int memoryKib, double heapFraction) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long byMemory = (long) (Runtime.getRuntime().maxMemory() * heapFraction) / (memoryKib * 1024L);
+        return (int) Math.max(1, Math.min(cores, byMemory));
+    }
+}
@@ -40,11 +40,11 @@ public class AuthController {
         AuthenticationResult result = authService.authenticate(request.email(), request.password(), ipAddress, userAgent);
 
         if (result.success()) {
-            String accessToken = jwtUtil.generateAccessToken(result.sessionId());
+            String accessToken = jwtUtil.generateAccessToken(result.sessionId(), result.userId(), result.roleId());
 
 
             // Return response
-            return ResponseEntity.ok(LoginResponse.success(result.authCore().getUserId(), result.authCore().getEmail(), accessToken));
+            return ResponseEntity.ok(LoginResponse.success(result.userId(), result.email(), accessToken));
         } else {
             return ResponseEntity.ok(LoginResponse.failed(result.message(), result.code()));
         }
@@ -23,10 +23,20 @@ public class AuthCredentials {
     @Column(nullable = false, columnDefinition = "VARCHAR(255)")
     private String passwordHash;
 
-    // Encrypted salt
+    // Encrypted salt; empty for hashes that rely on the Argon2 salt alone
     @Column(nullable = false, columnDefinition = "VARCHAR(255)")
     private String salt;
 
+    // Argon2 parameters of passwordHash; null for hashes created before they were recorded
+    @Column(name = "hash_memory_kib")
+    private Integer hashMemoryKib;
+
+    @Column(name = "hash_iterations")
+    private Integer hashIterations;
+
+    @Column(name = "hash_parallelism")
+    private Integer hashParallelism;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -45,6 +55,14 @@ public class AuthCredentials {
         this.salt = salt;
     }
 
+    public AuthCredentials(Long authCoreId, String passwordHash, int hashMemoryKib, int hashIterations,
+                           int hashParallelism) {
+        this(authCoreId, passwordHash, "");
+        this.hashMemoryKib = hashMemoryKib;
+        this.hashIterations = hashIterations;
+        this.hashParallelism = hashParallelism;
+    }
+
     public void setAuthCoreId(Long authCoreId) {
         this.authCoreId = authCoreId;
     }
@@ -57,6 +75,18 @@ public class AuthCredentials {
         this.salt = salt;
     }
 
+    public void setHashMemoryKib(Integer hashMemoryKib) {
+        this.hashMemoryKib = hashMemoryKib;
+    }
+
+    public void setHashIterations(Integer hashIterations) {
+        this.hashIterations = hashIterations;
+    }
+
+    public void setHashParallelism(Integer hashParallelism) {
+        this.hashParallelism = hashParallelism;
+    }
+
     public Long getId() {
         return id;
     }
@@ -73,6 +103,18 @@ public class AuthCredentials {
         return salt;
     }
 
+    public Integer getHashMemoryKib() {
+        return hashMemoryKib;
+    }
+
+    public Integer getHashIterations() {
+        return hashIterations;
+    }
+
+    public Integer getHashParallelism() {
+        return hashParallelism;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
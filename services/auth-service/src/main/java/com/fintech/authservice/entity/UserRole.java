@@ -0,0 +1,49 @@
+package com.fintech.authservice.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Date;
+
+/**
+ * Read-only view of a user's role, joined into the login query so the role claim costs
+ * no extra round trip. user_roles is owned by authorization-service on the shared database;
+ * the mapping mirrors its entity so schema updates from either service agree.
+ */
+@Entity
+@Immutable
+@Table(name = "user_roles")
+public class UserRole {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private String userId;
+
+    @Column(name = "role_id", nullable = false)
+    private Long roleId;
+
+    @Column(name = "created_at")
+    private Date createdAt;
+
+    protected UserRole() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Long getRoleId() {
+        return roleId;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+}
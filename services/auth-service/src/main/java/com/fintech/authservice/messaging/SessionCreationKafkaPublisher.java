@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -25,8 +26,10 @@ public class SessionCreationKafkaPublisher {
     }
 
     /**
-     * Publish session creation message to Kafka for authorization service
+     * Publish session creation message to Kafka for authorization service, on the
+     * sessionPublishExecutor so serialization and producer back-pressure stay off the login path
      */
+    @Async("sessionPublishExecutor")
     public void publishSessionCreationMessage(SessionCreationMessage sessionCreationMessage) {
         try {
             // Convert object to JSON string
@@ -1,4 +1,9 @@
 package com.fintech.authservice.model;
 
-public record AuthCredDB(String passwordHash, String salt) {
+/**
+ * Credentials needed to verify a login. Hash parameters are null for credentials hashed
+ * before they were recorded; a non-empty salt marks the legacy password + salt input.
+ */
+public record AuthCredDB(String passwordHash, String salt, Integer hashMemoryKib, Integer hashIterations,
+                         Integer hashParallelism) {
 }
@@ -0,0 +1,27 @@
+package com.fintech.authservice.model;
+
+import com.fintech.authservice.entity.AuthCore.AuthStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Login read model: account status, credentials and role of an email, fetched in one query.
+ * Credential fields are null when the account has no credentials row, roleId when it has no role yet.
+ */
+public record LoginCredentials(Long authCoreId, String userId, String email, AuthStatus status,
+                               LocalDateTime deletedAt, String passwordHash, String salt,
+                               Integer hashMemoryKib, Integer hashIterations, Integer hashParallelism,
+                               Long roleId) {
+
+    public boolean canAuthenticate() {
+        return (status == AuthStatus.ACTIVE || status == AuthStatus.PENDING_VERIFICATION) && deletedAt == null;
+    }
+
+    public boolean hasCredentials() {
+        return passwordHash != null;
+    }
+
+    public AuthCredDB credentials() {
+        return new AuthCredDB(passwordHash, salt, hashMemoryKib, hashIterations, hashParallelism);
+    }
+}
@@ -2,6 +2,7 @@ package com.fintech.authservice.repository;
 
 import com.fintech.authservice.entity.AuthCore;
 import com.fintech.authservice.entity.AuthCore.AuthStatus;
+import com.fintech.authservice.model.LoginCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,6 +38,17 @@ public interface AuthCoreRepository extends JpaRepository<AuthCore, Long> {
      */
     Optional<AuthCore> findByEmailAndStatus(String email, AuthStatus status);
     
+    /**
+     * Account status, credentials and role for a login in a single query
+     * Uses the unique email, credentials and user_roles indexes; the role is null until the
+     * role registration has been processed by authorization-service
+     */
+    @Query("SELECT new com.fintech.authservice.model.LoginCredentials(ac.id, ac.userId, ac.email, ac.status, ac.deletedAt, " +
+            "cr.passwordHash, cr.salt, cr.hashMemoryKib, cr.hashIterations, cr.hashParallelism, ur.roleId) " +
+            "FROM AuthCore ac LEFT JOIN AuthCredentials cr ON cr.authCoreId = ac.id " +
+            "LEFT JOIN UserRole ur ON ur.userId = ac.userId WHERE ac.email = :email")
+    Optional<LoginCredentials> findLoginCredentials(@Param("email") String email);
+
     /**
      * Find all active verified users
      * Uses composite index for filtering
@@ -1,14 +1,12 @@
 package com.fintech.authservice.repository;
 
 import com.fintech.authservice.entity.AuthCredentials;
-import com.fintech.authservice.model.AuthCredDB;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 /**
  * Repository for AuthCredentials entity
  * Handles password and credential operations
@@ -16,9 +14,15 @@ import java.util.Optional;
 @Repository
 public interface AuthCredentialsRepository extends JpaRepository<AuthCredentials, Long> {
 
-//    @Query("SELECT AuthCredDB FROM AuthCredentials ac WHERE ac.authCoreId = :authCoreId")
-//    Optional<AuthCredDB> findByAuthCoreId(@Param("authCoreId") Long authCoreId);
-
-    Optional<AuthCredDB> findByAuthCoreId(Long authCoreId);
+    /**
+     * Replace a password hash with one using new parameters, unless the password changed meanwhile
+     */
+    @Modifying
+    @Query("UPDATE AuthCredentials ac SET ac.passwordHash = :newHash, ac.salt = '', ac.hashMemoryKib = :memoryKib, " +
+            "ac.hashIterations = :iterations, ac.hashParallelism = :parallelism, ac.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ac.authCoreId = :authCoreId AND ac.passwordHash = :oldHash")
+    int upgradeHash(@Param("authCoreId") Long authCoreId, @Param("oldHash") String oldHash,
+                    @Param("newHash") String newHash, @Param("memoryKib") int memoryKib,
+                    @Param("iterations") int iterations, @Param("parallelism") int parallelism);
 
 }
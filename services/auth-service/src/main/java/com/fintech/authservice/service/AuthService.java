@@ -8,28 +8,29 @@ import com.fintech.authservice.dto.response.AuthenticationResult;
 import com.fintech.authservice.dto.response.RegistrationResult;
 import com.fintech.authservice.entity.AuthCore;
 import com.fintech.authservice.entity.AuthCredentials;
+import com.fintech.authservice.exception.RateLimitExceededException;
 import com.fintech.authservice.messaging.EmailNotificationPublisher;
 import com.fintech.authservice.messaging.SessionCreationKafkaPublisher;
 import com.fintech.authservice.messaging.UserCreationKafkaPublisher;
 import com.fintech.authservice.model.AuthCredDB;
+import com.fintech.authservice.model.LoginCredentials;
 import com.fintech.authservice.repository.AuthCoreRepository;
 import com.fintech.authservice.repository.AuthCredentialsRepository;
 import com.fintech.authservice.util.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
-import static com.fintech.authservice.util.SecurityUtils.generateSalt;
-import static com.fintech.authservice.util.SecurityUtils.hashPassword;
-
-
+/**
+ * Login and registration. Database work runs in short transactions that end before the
+ * password is hashed, so no connection is held for the duration of an Argon2 hash.
+ */
 @Service
-@Transactional
 public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
@@ -46,48 +47,48 @@ public class AuthService {
 
     final private EmailNotificationPublisher emailNotificationPublisher;
 
+    final private PasswordHasher passwordHasher;
+
+    final private TransactionTemplate transactionTemplate;
+
     public AuthService(AuthCoreRepository authCoreRepository, AuthCredentialsRepository credentialsRepository,
                        UserCreationKafkaPublisher userCreationKafkaPublisher, SessionService sessionService,
                        SessionCreationKafkaPublisher sessionCreationKafkaPublisher,
-                       EmailNotificationPublisher emailNotificationPublisher) {
+                       EmailNotificationPublisher emailNotificationPublisher, PasswordHasher passwordHasher,
+                       TransactionTemplate transactionTemplate) {
         this.authCoreRepository = authCoreRepository;
         this.credentialsRepository = credentialsRepository;
         this.userCreationKafkaPublisher = userCreationKafkaPublisher;
         this.sessionService = sessionService;
         this.sessionCreationKafkaPublisher = sessionCreationKafkaPublisher;
         this.emailNotificationPublisher = emailNotificationPublisher;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
     }
 
 
     public AuthenticationResult authenticate(String email, String password, String ipAddress, String userAgent) {
         try {
             String sanitizedEmail = SecurityUtils.sanitizeInput(email);
-            // Step 1: Quick lookup in lean auth_core table
-            Optional<AuthCore> authCoreOpt = authCoreRepository.findByEmailAndStatus(sanitizedEmail, AuthCore.AuthStatus.ACTIVE);
-            if (authCoreOpt.isEmpty()) {
-                // Try other statuses except DELETED
-                authCoreOpt = authCoreRepository.findByEmail(sanitizedEmail);
-                if (authCoreOpt.isEmpty()) {
-                    return AuthenticationResult.failed("Invalid credentials", "USER_NOT_FOUND");
-                }
-
-                AuthCore authCore = authCoreOpt.get();
-                if (!authCore.canAuthenticate()) {
-                    return AuthenticationResult.failed("Account not available", getAccountStatusReason(authCore.getStatus()));
-                }
+            // Steps 1-2: account status, credentials and role in one query, outside any transaction
+            Optional<LoginCredentials> loginOpt = authCoreRepository.findLoginCredentials(sanitizedEmail);
+            if (loginOpt.isEmpty()) {
+                return AuthenticationResult.failed("Invalid credentials", "USER_NOT_FOUND");
             }
 
-            AuthCore authCore = authCoreOpt.get();
-            String userId = authCore.getUserId();
-
-            // Step 3: Verify credentials
-            Optional<AuthCredDB> credentialsOpt = credentialsRepository.findByAuthCoreId(authCore.getId());
-            if (credentialsOpt.isEmpty()) {
+            LoginCredentials login = loginOpt.get();
+            if (!login.canAuthenticate()) {
+                return AuthenticationResult.failed("Account not available", getAccountStatusReason(login.status()));
+            }
+            if (!login.hasCredentials()) {
                 return AuthenticationResult.failed("Invalid credentials", "CREDENTIALS_NOT_FOUND");
             }
 
-            AuthCredDB credentials = credentialsOpt.get();
-            if (!SecurityUtils.verifyPassword(password, credentials.passwordHash(), credentials.salt())) {
+            String userId = login.userId();
+
+            // Step 3: Verify credentials on the hashing pool
+            AuthCredDB credentials = login.credentials();
+            if (!passwordHasher.verify(password, credentials)) {
                 // Handle failed authentication - send email notification
                 try {
                     LoginFailureNotification notification = new LoginFailureNotification(
@@ -105,6 +106,10 @@ public class AuthService {
                 return AuthenticationResult.failed("Invalid credentials", "INVALID_PASSWORD");
             }
 
+            if (passwordHasher.needsRehash(credentials)) {
+                upgradeHash(login.authCoreId(), password, credentials);
+            }
+
             // Step 4: Create session (2-5ms)
             final String sessionId = SecurityUtils.generateCryptographicallySecureSessionId();
 
@@ -117,13 +122,13 @@ public class AuthService {
                 return AuthenticationResult.failed("Authentication failed", "SESSION_STORAGE_ERROR");
             }
 
-            // Send message to authorization service for session table entry
+            // Send message to authorization service for session table entry, off the request thread
             try {
                 SessionCreationMessage sessionMessage = new SessionCreationMessage(
                         sessionId, userId, LocalDateTime.now());
 
                 sessionCreationKafkaPublisher.publishSessionCreationMessage(sessionMessage);
-                logger.info("Published session creation message to Kafka for user: {} with sessionId: {}", userId, sessionId);
+                logger.debug("Queued session creation message for user: {} with sessionId: {}", userId, sessionId);
             } catch (Exception e) {
                 logger.error("Failed to publish session creation message for user: {}", userId, e);
                 // Note: We don't fail the authentication if messaging fails
@@ -131,8 +136,10 @@ public class AuthService {
             }
 
 
-            return AuthenticationResult.success(authCore, sessionId);
+            return AuthenticationResult.success(userId, login.email(), sessionId, login.roleId());
 
+        } catch (RateLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             // Log error and return generic failure
             return AuthenticationResult.failed("Authentication failed", "SYSTEM_ERROR");
@@ -142,30 +149,31 @@ public class AuthService {
     public RegistrationResult registerUser(RegistrationRequest request) {
         try {
             String sanitizedEmail = SecurityUtils.sanitizeInput(request.email());
+            // Validate initial deposit
+            if (request.initialDeposit() != null && request.initialDeposit() < 0) {
+                logger.warn("Registration failed: Invalid initial deposit - {}", request.initialDeposit());
+                return RegistrationResult.failed("Initial deposit cannot be negative", "INVALID_DEPOSIT");
+            }
+
             // Check if email already exists
             if (authCoreRepository.existsByEmail(sanitizedEmail)) {
                 logger.warn("Registration failed: Email already exists - {}", request.email());
                 return RegistrationResult.failed("Email already registered", "EMAIL_EXISTS");
             }
 
-            // Validate initial deposit
-            if (request.initialDeposit() != null && request.initialDeposit() < 0) {
-                logger.warn("Registration failed: Invalid initial deposit - {}", request.initialDeposit());
-                return RegistrationResult.failed("Initial deposit cannot be negative", "INVALID_DEPOSIT");
-            }
+            // Hash before opening the transaction that stores the credentials
+            PasswordHasher.HashedPassword hashed = passwordHasher.hash(request.password());
 
             String userId = UUID.randomUUID().toString();
             logger.info("Creating new user with ID: {} and email: {}", userId, sanitizedEmail);
 
-            // Create auth core
-            AuthCore authCore = new AuthCore(userId, sanitizedEmail);
-            authCore = authCoreRepository.save(authCore);
-
-            // Create credentials
-            final String passwordSalt = generateSalt();
-            String encodedPassword = hashPassword(request.password(), passwordSalt);
-            AuthCredentials credentials = new AuthCredentials(authCore.getId(), encodedPassword, passwordSalt);
-            credentialsRepository.save(credentials);
+            // Create auth core and credentials
+            AuthCore authCore = transactionTemplate.execute(status -> {
+                AuthCore saved = authCoreRepository.save(new AuthCore(userId, sanitizedEmail));
+                credentialsRepository.save(new AuthCredentials(saved.getId(), hashed.hash(),
+                        hashed.params().memoryKib(), hashed.params().iterations(), hashed.params().parallelism()));
+                return saved;
+            });
 
 
             // Publish user creation message to RabbitMQ for user service
@@ -193,12 +201,26 @@ public class AuthService {
             logger.info("User registration completed successfully for: {}", userId);
             return RegistrationResult.success(authCore, "User registered successfully. Profile will be created shortly.");
 
+        } catch (RateLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Registration failed for email: {}", request.email(), e);
             return RegistrationResult.failed("Registration failed", "SYSTEM_ERROR");
         }
     }
 
+    /**
+     * Rehash a verified password with the current parameters off the login path
+     */
+    private void upgradeHash(Long authCoreId, String password, AuthCredDB credentials) {
+        passwordHasher.rehashInBackground(password, hashed -> {
+            Integer updated = transactionTemplate.execute(status -> credentialsRepository.upgradeHash(
+                    authCoreId, credentials.passwordHash(), hashed.hash(), hashed.params().memoryKib(),
+                    hashed.params().iterations(), hashed.params().parallelism()));
+            logger.info("Password hash of auth core {} {} to {}", authCoreId,
+                    Integer.valueOf(1).equals(updated) ? "upgraded" : "changed meanwhile, not upgraded", hashed.params());
+        });
+    }
 
     private String getAccountStatusReason(AuthCore.AuthStatus status) {
         return switch (status) {
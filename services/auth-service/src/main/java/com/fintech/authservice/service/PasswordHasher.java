@@ -0,0 +1,214 @@
+package com.fintech.authservice.service;
+
+import com.fintech.authservice.exception.RateLimitExceededException;
+import com.fintech.authservice.model.AuthCredDB;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Argon2 hashing on the passwordHashExecutor. Callers block for the result, but a
+ * saturated pool is refused up front with a RateLimitExceededException (429) instead of
+ * queueing without bound. Callers must not hold a database connection while hashing.
+ * <p>
+ * New hashes use the current {@link HashParams}: the configured memory and parallelism,
+ * with the iteration count calibrated at startup so one hash takes about
+ * auth.hashing.target-ms on this node. Credentials record the parameters they were hashed
+ * with; those below the current cost, or still using the legacy password + salt
+ * concatenation, are reported by {@link #needsRehash} and upgraded on their next login,
+ * on the low-priority passwordRehashExecutor.
+ */
+@Service
+public class PasswordHasher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final int CALIBRATION_RUNS = 3;
+
+    /**
+     * Parameters of hashes stored before they were recorded per credential
+     * (Spring Security 5.8 defaults)
+     */
+    public static final HashParams LEGACY_PARAMS = new HashParams(16384, 2, 1);
+
+    public record HashParams(int memoryKib, int iterations, int parallelism) {
+    }
+
+    public record HashedPassword(String hash, HashParams params) {
+    }
+
+    private final ExecutorService passwordHashExecutor;
+    private final ExecutorService passwordRehashExecutor;
+    private final HashParams current;
+    private final Argon2PasswordEncoder encoder;
+    private final Counter rejected;
+    private final Counter rehashed;
+
+    @Value("${auth.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    public PasswordHasher(@Qualifier("passwordHashExecutor") ExecutorService passwordHashExecutor,
+                          @Qualifier("passwordRehashExecutor") ExecutorService passwordRehashExecutor,
+                          @Value("${auth.hashing.memory-kib:16384}") int memoryKib,
+                          @Value("${auth.hashing.iterations:2}") int minIterations,
+                          @Value("${auth.hashing.max-iterations:20}") int maxIterations,
+                          @Value("${auth.hashing.parallelism:1}") int parallelism,
+                          @Value("${auth.hashing.target-ms:0}") long targetMs,
+                          MeterRegistry meterRegistry) {
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.passwordRehashExecutor = passwordRehashExecutor;
+        this.current = targetMs > 0
+                ? calibrate(memoryKib, parallelism, minIterations, maxIterations, targetMs)
+                : new HashParams(memoryKib, minIterations, parallelism);
+        this.encoder = encoder(current);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Hash requests refused because the hashing pool was saturated")
+                .register(meterRegistry);
+        this.rehashed = Counter.builder("password.hashing.rehashed")
+                .description("Credentials upgraded to the current hash parameters on login")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.iterations", current, HashParams::iterations)
+                .description("Argon2 iterations of new hashes")
+                .register(meterRegistry);
+    }
+
+    public HashParams getCurrentParams() {
+        return current;
+    }
+
+    /**
+     * Hash a new password with the current parameters
+     */
+    public HashedPassword hash(String password) {
+        return new HashedPassword(run(() -> encoder.encode(password)), current);
+    }
+
+    /**
+     * Verify a password against stored credentials; the encoded hash carries its own parameters
+     */
+    public boolean verify(String password, AuthCredDB credentials) {
+        String input = isLegacySalted(credentials) ? password + credentials.salt() : password;
+        return run(() -> encoder.matches(input, credentials.passwordHash()));
+    }
+
+    /**
+     * Whether credentials were hashed below the current cost or with the legacy salt concatenation.
+     * Stronger parameters are kept, so nodes calibrated differently do not rehash back and forth.
+     */
+    public boolean needsRehash(AuthCredDB credentials) {
+        if (isLegacySalted(credentials) || credentials.hashMemoryKib() == null
+                || credentials.hashIterations() == null || credentials.hashParallelism() == null) {
+            return true;
+        }
+        return credentials.hashMemoryKib() < current.memoryKib()
+                || credentials.hashIterations() < current.iterations()
+                || credentials.hashParallelism() < current.parallelism();
+    }
+
+    /**
+     * Hash a verified password with the current parameters in the background and hand the result
+     * to onHashed on the rehash thread. Skipped when the rehash pool is busy; the next login retries.
+     */
+    public void rehashInBackground(String password, Consumer<HashedPassword> onHashed) {
+        try {
+            passwordRehashExecutor.execute(() -> {
+                try {
+                    onHashed.accept(new HashedPassword(encoder.encode(password), current));
+                    rehashed.increment();
+                } catch (Exception e) {
+                    logger.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Rehash pool busy, password rehash deferred");
+        }
+    }
+
+    private static boolean isLegacySalted(AuthCredDB credentials) {
+        return credentials.salt() != null && !credentials.salt().isEmpty();
+    }
+
+    /**
+     * Run a hash on the pool and wait up to timeoutMs. A running Argon2 hash cannot be
+     * interrupted, so the task checks the caller's deadline before it starts: work whose
+     * caller already got a 429 is dropped instead of occupying a hashing thread.
+     */
+    private <T> T run(Callable<T> task) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Future<T> future;
+        try {
+            future = passwordHashExecutor.submit(() -> {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new CancellationException("Caller gave up waiting for the hash");
+                }
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RateLimitExceededException("Too many concurrent authentication requests, please retry shortly");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            // Dequeued tasks see the passed deadline and return without hashing
+            future.cancel(false);
+            rejected.increment();
+            throw new RateLimitExceededException("Too many concurrent authentication requests, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                rejected.increment();
+                throw new RateLimitExceededException("Too many concurrent authentication requests, please retry shortly");
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Time hashes at the minimum iteration count and scale iterations linearly to the target
+     */
+    static HashParams calibrate(int memoryKib, int parallelism, int minIterations, int maxIterations, long targetMs) {
+        HashParams base = new HashParams(memoryKib, minIterations, parallelism);
+        Argon2PasswordEncoder probe = encoder(base);
+        probe.encode("calibration"); // warm up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long started = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        double msPerIteration = best / 1_000_000.0 / minIterations;
+        int iterations = (int) Math.max(minIterations, Math.min(maxIterations, Math.floor(targetMs / msPerIteration)));
+        HashParams params = new HashParams(memoryKib, iterations, parallelism);
+        logger.info("Password hashing calibrated to {}ms: memory {} KiB, {} iterations, parallelism {} ({} ms per iteration)",
+                targetMs, memoryKib, iterations, parallelism, String.format("%.1f", msPerIteration));
+        return params;
+    }
+
+    private static Argon2PasswordEncoder encoder(HashParams params) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, params.parallelism(), params.memoryKib(),
+                params.iterations());
+    }
+}
@@ -1,6 +1,7 @@
 package com.fintech.authservice.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -29,37 +30,41 @@ public class JwtUtil {
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    // Sessions end after this long in authorization-service; access tokens never outlive them
+    @Value("${security.session.expiry:0}")
+    private long sessionExpiry;
+
     private PrivateKey privateKey;
     private PublicKey publicKey;
-
-    public String generateAccessToken(String sessionId) {
-        return generateToken(sessionId, accessTokenExpiration);
-    }
-
-    private String generateToken(String sessionId, long expiration) {
+    private volatile JwtParser parser;
+
+    /**
+     * Access token carrying the session claims (sessionId, userId, roleId) and an expiry no later
+     * than the session's, so authorization can validate it without looking the session up.
+     * roleId is left out when unknown; such tokens are validated against the session store.
+     */
+    public String generateAccessToken(String sessionId, String userId, Long roleId) {
+        long expiration = sessionExpiry > 0 ? Math.min(accessTokenExpiration, sessionExpiry) : accessTokenExpiration;
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder().subject(sessionId).issuedAt(now).expiration(expiryDate)
                 .claim("sessionId", sessionId)
+                .claim("userId", userId)
+                .claim("roleId", roleId)
                 .signWith(getPrivateKey())
                 .compact();
     }
 
     public String getSessionIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getPublicKey())
-                .build().parseSignedClaims(token).getPayload();
+        Claims claims = parser().parseSignedClaims(token).getPayload();
 
         return claims.get("sessionId", String.class);
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getPublicKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser().parseSignedClaims(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -68,11 +73,7 @@ public class JwtUtil {
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getPublicKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser().parseSignedClaims(token).getPayload();
 
             return claims.getExpiration().before(new Date());
         } catch (Exception e) {
@@ -80,6 +81,16 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Parsers are immutable and thread-safe, so one is built and reused
+     */
+    private JwtParser parser() {
+        if (parser == null) {
+            parser = Jwts.parser().verifyWith(getPublicKey()).build();
+        }
+        return parser;
+    }
+
     private PrivateKey getPrivateKey() {
         if (privateKey == null) {
             try (FileInputStream fis = new FileInputStream(keystorePath)) {
@@ -107,10 +118,6 @@ public class JwtUtil {
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getPublicKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser().parseSignedClaims(token).getPayload();
     }
 }
@@ -1,20 +1,17 @@
 package com.fintech.authservice.util;
 
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.regex.Pattern;
 
 /**
- * Security utility class for password hashing, token generation, and security operations
+ * Security utility class for salts, token generation, and security operations.
+ * Password hashing lives in {@link com.fintech.authservice.service.PasswordHasher}.
  */
 public class SecurityUtils {
 
-    private static final PasswordEncoder passwordEncoder = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
     private static final SecureRandom secureRandom = new SecureRandom();
 
     // Password strength patterns
@@ -32,22 +29,6 @@ public class SecurityUtils {
         return Base64.getEncoder().encodeToString(salt);
     }
 
-    /**
-     * Hash password with salt using BCrypt
-     */
-    public static String hashPassword(String password, String salt) {
-        String saltedPassword = password + salt;
-        return passwordEncoder.encode(saltedPassword);
-    }
-
-    /**
-     * Verify password against hash with salt
-     */
-    public static boolean verifyPassword(String password, String hash, String salt) {
-        String saltedPassword = password + salt;
-        return passwordEncoder.matches(saltedPassword, hash);
-    }
-
     /**
      * Generate a secure token for email verification, password reset, etc.
      */
@@ -3,10 +3,12 @@ package com.fintech.authorizationservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.TimeZone;
 
 @SpringBootApplication(exclude = {FlywayAutoConfiguration.class})
+@EnableScheduling
 public class AuthorizationServiceApplication {
 
 	public static void main(String[] args) {
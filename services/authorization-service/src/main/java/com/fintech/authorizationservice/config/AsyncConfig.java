@@ -1,9 +1,13 @@
 package com.fintech.authorizationservice.config;
 
+import com.fintech.common.concurrent.VirtualThreads;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.concurrent.Executor;
 
@@ -12,7 +16,10 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
 
     @Bean(name = "authzTaskExecutor")
-    public Executor authzTaskExecutor() {
+    public Executor authzTaskExecutor(Environment environment) {
+        if (VirtualThreads.isEnabled(environment)) {
+            return VirtualThreads.newTaskExecutor("authz-async-", -1);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(50);
@@ -24,4 +31,17 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Runs the blocking introspection (Redis, JPA) off the caller's thread: a virtual thread
+     * per call in virtual-thread mode, otherwise Reactor's bounded elastic pool
+     */
+    @Bean(name = "authzIntrospectScheduler", destroyMethod = "dispose")
+    public Scheduler authzIntrospectScheduler(Environment environment) {
+        if (VirtualThreads.isEnabled(environment)) {
+            return Schedulers.fromExecutor(VirtualThreads.newTaskExecutor("authz-introspect-", -1));
+        }
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "authz-introspect");
+    }
 }
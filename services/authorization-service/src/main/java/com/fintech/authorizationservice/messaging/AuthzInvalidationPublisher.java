@@ -0,0 +1,52 @@
+package com.fintech.authorizationservice.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells gateways to drop their cached authorization decisions when a session ends,
+ * a user's role changes or the permission tables change. Messages are
+ * session:{sessionId}, user:{userId} or all.
+ */
+@Component
+public class AuthzInvalidationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthzInvalidationPublisher.class);
+
+    @Value("${authz.invalidation-channel:authz:invalidate}")
+    private String channel;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public AuthzInvalidationPublisher(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void sessionChanged(String sessionId) {
+        publish("session:" + sessionId);
+    }
+
+    public void userChanged(String userId) {
+        publish("user:" + userId);
+    }
+
+    /**
+     * role_permissions, field_access or role names changed; every cached decision may be stale
+     */
+    public void allChanged() {
+        publish("all");
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+            logger.debug("Published authz invalidation: {}", message);
+        } catch (Exception e) {
+            // Gateway caches still expire on their own TTL
+            logger.warn("Failed to publish authz invalidation: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fintech.authorizationservice.model;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Session claims signed into an access token by auth-service. Tokens issued before the
+ * claims were added carry only sessionId; userId and roleId are then null.
+ */
+public record SessionClaims(String sessionId, String userId, Long roleId, long issuedAtMs, long expiresAtMs) {
+
+    public static SessionClaims from(Claims claims) {
+        Number roleId = claims.get("roleId", Number.class);
+        return new SessionClaims(
+                claims.get("sessionId", String.class),
+                claims.get("userId", String.class),
+                roleId != null ? roleId.longValue() : null,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L);
+    }
+
+    /**
+     * Whether the session can be validated from the token alone
+     */
+    public boolean isSelfContained() {
+        return userId != null && roleId != null && expiresAtMs > 0;
+    }
+}
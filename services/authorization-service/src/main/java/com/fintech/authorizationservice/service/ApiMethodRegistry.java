@@ -0,0 +1,158 @@
+package com.fintech.authorizationservice.service;
+
+import com.fintech.authorizationservice.entity.ApiMethod;
+import com.fintech.authorizationservice.repository.ApiMethodRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index of the api_methods table as a segment trie, so resolving a request
+ * path to its API method costs one step per path segment and no database or Redis hop.
+ *
+ * Templates follow the is_path_matching rules: {@code *} matches exactly one segment and
+ * a trailing {@code /**} matches the prefix and anything below it. When several templates
+ * match, a literal segment wins over {@code *}, which wins over {@code /**}.
+ *
+ * The table is re-read on a fixed delay and the trie is swapped in only when its content changed.
+ */
+@Component
+@DependsOn("migrationConfiguration")
+public class ApiMethodRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiMethodRegistry.class);
+
+    private static final String WILDCARD = "*";
+    private static final String CATCH_ALL = "**";
+
+    private final ApiMethodRepository amRepo;
+
+    private volatile Snapshot snapshot = new Snapshot(new Node(), 0, 0);
+
+    public ApiMethodRegistry(ApiMethodRepository amRepo) {
+        this.amRepo = amRepo;
+    }
+
+    /**
+     * Resolved API method: its ID and the template it was matched through
+     */
+    public record Match(Long methodId, String template) {
+    }
+
+    private record Snapshot(Node root, int fingerprint, int size) {
+    }
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        Node wildcard;
+        // HTTP method -> match, for templates ending at this node / ending with /** at this node
+        final Map<String, Match> exact = new HashMap<>();
+        final Map<String, Match> catchAll = new HashMap<>();
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Resolve a concrete request path, or null when no API method matches
+     */
+    public Match resolve(String path, String method) {
+        if (path == null || method == null) {
+            return null;
+        }
+        String[] segments = path.split("/", -1);
+        return match(snapshot.root(), segments, 0, method);
+    }
+
+    private static Match match(Node node, String[] segments, int index, String method) {
+        if (index == segments.length) {
+            Match match = node.exact.get(method);
+            return match != null ? match : node.catchAll.get(method);
+        }
+
+        Node literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            Match match = match(literal, segments, index + 1, method);
+            if (match != null) {
+                return match;
+            }
+        }
+        if (node.wildcard != null) {
+            Match match = match(node.wildcard, segments, index + 1, method);
+            if (match != null) {
+                return match;
+            }
+        }
+        return node.catchAll.get(method);
+    }
+
+    /**
+     * Re-read api_methods and swap in a new trie if anything changed
+     */
+    @Scheduled(fixedDelayString = "${authz.api-methods.reload-interval-ms:60000}",
+            initialDelayString = "${authz.api-methods.reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            List<ApiMethod> methods = new ArrayList<>(amRepo.findAll());
+            methods.sort(Comparator.comparing(ApiMethod::getApiMethodId));
+
+            int fingerprint = 1;
+            for (ApiMethod am : methods) {
+                fingerprint = 31 * fingerprint + am.getApiMethodId().hashCode();
+                fingerprint = 31 * fingerprint + am.getPath().hashCode();
+                fingerprint = 31 * fingerprint + am.getHttpMethod().hashCode();
+            }
+            if (fingerprint == snapshot.fingerprint() && methods.size() == snapshot.size()) {
+                return;
+            }
+
+            Node root = new Node();
+            for (ApiMethod am : methods) {
+                insert(root, am);
+            }
+            snapshot = new Snapshot(root, fingerprint, methods.size());
+            log.info("Loaded {} API methods into path template index", methods.size());
+        } catch (Exception e) {
+            log.error("Failed to reload API methods, keeping previous index", e);
+        }
+    }
+
+    private static void insert(Node root, ApiMethod am) {
+        String template = am.getPath();
+        Match match = new Match(am.getApiMethodId(), template);
+
+        String[] segments = template.split("/", -1);
+        boolean catchAll = segments.length > 0 && CATCH_ALL.equals(segments[segments.length - 1]);
+        int depth = catchAll ? segments.length - 1 : segments.length;
+
+        Node node = root;
+        for (int i = 0; i < depth; i++) {
+            String segment = segments[i];
+            if (WILDCARD.equals(segment)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+
+        if (catchAll) {
+            node.catchAll.put(am.getHttpMethod(), match);
+        } else {
+            node.exact.put(am.getHttpMethod(), match);
+        }
+    }
+}
@@ -5,20 +5,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fintech.authorizationservice.dto.request.AuthzIntrospectRequest;
 import com.fintech.authorizationservice.dto.response.AuthzIntrospectResponse;
 import com.fintech.authorizationservice.entity.Role;
-import com.fintech.authorizationservice.entity.RolePermission;
 import com.fintech.authorizationservice.entity.Session;
 import com.fintech.authorizationservice.entity.UserRole;
-import com.fintech.authorizationservice.model.RoleAuthzCacheData;
+import com.fintech.authorizationservice.messaging.AuthzInvalidationPublisher;
 import com.fintech.authorizationservice.model.SessionCacheData;
+import com.fintech.authorizationservice.model.SessionClaims;
 import com.fintech.authorizationservice.repository.*;
 import com.fintech.authorizationservice.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.Duration;
 import java.util.*;
@@ -28,43 +30,48 @@ public class AuthzService {
 
 
     private final RoleRepository roleRepo;
-    private final RolePermissionRepository rpRepo;
-    private final FieldAccessRepository faRepo;
+    private final PermissionMatrix permissionMatrix;
     private final UserRoleRepository userRoleRepo;
-    private final ApiMethodRepository amRepo;
+    private final ApiMethodRegistry apiMethodRegistry;
 
     private final SessionService sessionService;
+    private final RevocationFilter revocationFilter;
     private final JwtUtil jwtUtil;
 
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final AuthzInvalidationPublisher invalidationPublisher;
+    private final Scheduler introspectScheduler;
     private final ObjectMapper mapper = new ObjectMapper();
 
 
     private static final Logger log = LoggerFactory.getLogger(AuthzService.class);
     private static final String AUTHZ_CACHE_PREFIX = "authz:introspect:";
     private static final String SESSION_CACHE_PREFIX = "session:data:";
-    private static final String PERMISSION_CACHE_PREFIX = "role:authz:"; // Role-based authorization cache
     private static final int SESSION_CACHE_TTL_SECONDS = 1800; // 30 minutes
 
 
-    public AuthzService(RoleRepository roleRepo, RolePermissionRepository rpRepo,
-                        FieldAccessRepository faRepo, UserRoleRepository userRoleRepo, ApiMethodRepository amRepo,
-                        SessionService sessionService, JwtUtil jwtUtil, RedisTemplate<String, String> redisTemplate) {
+    public AuthzService(RoleRepository roleRepo, PermissionMatrix permissionMatrix, UserRoleRepository userRoleRepo, ApiMethodRegistry apiMethodRegistry,
+                        SessionService sessionService, RevocationFilter revocationFilter, JwtUtil jwtUtil,
+                        RedisTemplate<String, String> redisTemplate,
+                        AuthzInvalidationPublisher invalidationPublisher,
+                        @Qualifier("authzIntrospectScheduler") Scheduler introspectScheduler) {
         this.roleRepo = roleRepo;
-        this.rpRepo = rpRepo;
-        this.faRepo = faRepo;
+        this.permissionMatrix = permissionMatrix;
         this.userRoleRepo = userRoleRepo;
-        this.amRepo = amRepo;
+        this.apiMethodRegistry = apiMethodRegistry;
         this.sessionService = sessionService;
+        this.revocationFilter = revocationFilter;
         this.jwtUtil = jwtUtil;
         this.redisTemplate = redisTemplate;
+        this.invalidationPublisher = invalidationPublisher;
+        this.introspectScheduler = introspectScheduler;
     }
 
     // Introspect: validate session with JWT and compose envelope
     public Mono<AuthzIntrospectResponse> introspect(AuthzIntrospectRequest req) {
         return Mono.fromCallable(() -> performIntrospectSync(req))
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(introspectScheduler)
                 .doOnError(ex -> log.error("Introspect error for path={} method={}", req.path(), req.method(), ex))
                 .onErrorReturn(buildDenied("INTERNAL_ERROR"));
     }
@@ -76,128 +83,93 @@ public class AuthzService {
             String path = req.path();
             String method = req.method();
 
-            // 1. Validate JWT
-            if (!jwtUtil.validateToken(jwtToken)) {
+            // 1. Validate JWT (signature and expiry)
+            Claims claims = jwtUtil.getClaimsFromToken(jwtToken);
+            if (claims == null) {
                 return buildDenied("INVALID_TOKEN");
             }
-            String sessionId = jwtUtil.getSessionIdFromToken(jwtToken);
+            SessionClaims session = SessionClaims.from(claims);
+            String sessionId = session.sessionId();
             if (sessionId == null) {
                 return buildDenied("NO_SESSION_ID");
             }
 
-            // 2. Session-based cache lookup (new approach)
-            SessionCacheData sessionData = getSessionFromCache(sessionId);
-            if (sessionData != null && sessionData.isValid()) {
-                log.debug("Session cache hit for sessionId: {}", sessionId);
-
-                // Check role-based permission cache
-                String permissionKey = PERMISSION_CACHE_PREFIX + sessionData.getRoleId() + ":" + method + ":" + path;
-                String cachedRoleAuthz = redisTemplate.opsForValue().get(permissionKey);
-                if (cachedRoleAuthz != null) {
-                    try {
-                        RoleAuthzCacheData roleAuthzData = mapper.readValue(cachedRoleAuthz, RoleAuthzCacheData.class);
-                        log.debug("Role authorization cache hit for roleId: {}, path: {}, method: {}", sessionData.getRoleId(), path, method);
-
-                        // Build response combining cached role data with current user data
-                        AuthzIntrospectResponse response = new AuthzIntrospectResponse();
-                        response.setAllowed(roleAuthzData.isAllowed());
-                        response.setUserId(sessionData.getUserId());
-                        response.setRole(roleAuthzData.getRole());
-                        response.setPermissions(roleAuthzData.getPermissions());
-                        response.setResourceAccess(roleAuthzData.getResourceAccess());
-                        response.setReason(roleAuthzData.getReason());
-
-                        return response;
-                    } catch (Exception e) {
-                        log.warn("Failed to deserialize cached role authorization for key: {}", permissionKey, e);
-                        // Continue with normal flow if deserialization fails
+            String userId = null;
+            Long roleId = null;
+            String roleName = null;
+
+            // 2. Signed session claims: valid unless revoked, no Redis or database hop in the common case
+            if (session.isSelfContained()) {
+                RevocationFilter.Status status = revocationFilter.check(sessionId, session.userId(), session.issuedAtMs());
+                if (status == RevocationFilter.Status.REVOKED) {
+                    return buildDenied("SESSION_INVALID");
+                }
+                if (status == RevocationFilter.Status.VALID) {
+                    roleName = permissionMatrix.roleName(session.roleId());
+                    if (roleName != null) {
+                        userId = session.userId();
+                        roleId = session.roleId();
                     }
                 }
             }
 
-            // 3. Validate session (if not cached or expired)
-            String userId;
-            Long roleId;
-            String roleName;
+            // 3. Otherwise look the session up: Redis session cache, then the database
+            if (userId == null) {
+                SessionCacheData sessionData = getSessionFromCache(sessionId);
 
-            if (sessionData != null && !sessionData.isValid()) {
-                // Session data exists but expired, clear it
-                clearSessionCache(sessionId);
-            }
-
-            if (sessionData == null || !sessionData.isValid()) {
-                Optional<Session> sessionOpt = sessionService.getSession(sessionId);
-                if (sessionOpt.isEmpty()) {
-                    return buildDenied("SESSION_INVALID");
+                if (sessionData != null && !sessionData.isValid()) {
+                    // Session data exists but expired, clear it
+                    clearSessionCache(sessionId);
                 }
-                userId = sessionOpt.get().getUserId();
 
-                // 4. Load role ID
-                Optional<Long> roleIdOpt = userRoleRepo.findRoleIdByUserId(userId);
-                if (roleIdOpt.isEmpty()) {
-                    return buildDenied("NO_ROLES");
-                }
-                roleId = roleIdOpt.get();
+                if (sessionData == null || !sessionData.isValid()) {
+                    Optional<Session> sessionOpt = sessionService.getSession(sessionId);
+                    if (sessionOpt.isEmpty()) {
+                        return buildDenied("SESSION_INVALID");
+                    }
+                    userId = sessionOpt.get().getUserId();
 
-                // 5. Get role name
-                Optional<Role> role = roleRepo.findById(roleId);
-                if (role.isEmpty()) {
-                    return buildDenied("NO_ROLE");
-                }
-                roleName = role.get().getName();
+                    // 4. Load role ID
+                    Optional<Long> roleIdOpt = userRoleRepo.findRoleIdByUserId(userId);
+                    if (roleIdOpt.isEmpty()) {
+                        return buildDenied("NO_ROLES");
+                    }
+                    roleId = roleIdOpt.get();
 
-                // Cache session data for future use
-                cacheSessionData(sessionId, userId, roleId, roleName);
-            } else {
-                // Use cached data
-                userId = sessionData.getUserId();
-                roleId = sessionData.getRoleId();
-                roleName = sessionData.getRoleName();
+                    // 5. Get role name
+                    Optional<Role> role = roleRepo.findById(roleId);
+                    if (role.isEmpty()) {
+                        return buildDenied("NO_ROLE");
+                    }
+                    roleName = role.get().getName();
+
+                    // Cache session data for future use
+                    cacheSessionData(sessionId, userId, roleId, roleName);
+                } else {
+                    // Use cached data
+                    userId = sessionData.getUserId();
+                    roleId = sessionData.getRoleId();
+                    roleName = sessionData.getRoleName();
+                }
             }
 
-            // 6. Check method ID with caching
-            Long methodId = getMethodIdWithCache(path, method);
-            if (methodId == null) {
+            // 6. Resolve the API method through the in-memory template index
+            ApiMethodRegistry.Match apiMethod = apiMethodRegistry.resolve(path, method);
+            if (apiMethod == null) {
                 return buildDenied("NO_METHOD_EXIST");
             }
 
-            // 7. Check permissions using role id and method id
-            List<RolePermission> permissionData = rpRepo.findMatchingPermissions(roleId, methodId);
-            boolean hasPermission = !permissionData.isEmpty();
-
-            // Build the appropriate response
+            // 7. Check permission with a bit test against the in-memory role x method matrix
             AuthzIntrospectResponse response = new AuthzIntrospectResponse();
             response.setUserId(userId);
-
-            // Create role-specific cache data
-            RoleAuthzCacheData roleAuthzData;
-            if (hasPermission) {
-                // Build role-specific data (reusable across users with same role)
-                roleAuthzData = buildRoleAuthzData(roleName, roleId, path);
-
-                // Set response data
+            response.setRole(roleName);
+            if (permissionMatrix.isAllowed(roleId, apiMethod.methodId())) {
                 response.setAllowed(true);
-                response.setRole(roleAuthzData.getRole());
-                response.setPermissions(roleAuthzData.getPermissions());
-                response.setResourceAccess(roleAuthzData.getResourceAccess());
+                response.setPermissions(List.of(apiMethod.template()));
+                response.setResourceAccess(permissionMatrix.resourceAccess(roleId));
             } else {
-                // Create denied role authorization data
-                roleAuthzData = new RoleAuthzCacheData(roleName, null, null, "ACCESS_DENIED");
-
-                // Set response data
                 response.setAllowed(false);
                 response.setReason("ACCESS_DENIED");
-                response.setRole(roleName);
-            }
-
-            // Cache the role-specific authorization data (reusable across users with same role)
-            try {
-                String permissionKey = PERMISSION_CACHE_PREFIX + roleId + ":" + method + ":" + path;
-                String serializedRoleAuthz = mapper.writeValueAsString(roleAuthzData);
-                redisTemplate.opsForValue().set(permissionKey, serializedRoleAuthz, Duration.ofMinutes(10));
-                log.debug("Cached role authorization data for roleId: {}, path: {}, method: {}", roleId, path, method);
-            } catch (Exception e) {
-                log.warn("Failed to cache role authorization for roleId: {}, path: {}, method: {}", roleId, path, method, e);
             }
 
             log.info("Authorization processed for userId={} roleId={} path={} method={} allowed={}",
@@ -265,107 +237,6 @@ public class AuthzService {
         }
     }
 
-    /**
-     * Get method ID with caching
-     */
-    private Long getMethodIdWithCache(String path, String method) {
-        try {
-            String methodCacheKey = "method:" + path + ":" + method;
-            String cachedMethodId = redisTemplate.opsForValue().get(methodCacheKey);
-            if (cachedMethodId != null) {
-                return Long.valueOf(cachedMethodId);
-            } else {
-                Optional<Long> methodIdOpt = amRepo.findByPathAndHttpMethod(path, method);
-                if (methodIdOpt.isPresent()) {
-                    Long methodId = methodIdOpt.get();
-                    // Cache method ID for 1 hour
-                    redisTemplate.opsForValue().set(methodCacheKey, String.valueOf(methodId), Duration.ofHours(1));
-                    return methodId;
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Method cache operation failed", e);
-            Optional<Long> methodIdOpt = amRepo.findByPathAndHttpMethod(path, method);
-            if (methodIdOpt.isPresent()) {
-                return methodIdOpt.get();
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Build role-specific authorization data that can be cached and reused across users
-     */
-    private RoleAuthzCacheData buildRoleAuthzData(String roleName, Long roleId, String path) {
-        try {
-            // Extract permissions
-            Set<String> permKeys = new HashSet<>();
-            permKeys.add(path); // Add the requested path as permitted
-
-            // Resource access aggregation using optimized query
-            Map<String, Map<String, Object>> resourceAccess = new HashMap<>();
-            List<Object[]> fieldData = faRepo.findFieldAccessByRoleId(roleId);
-
-            for (Object[] row : fieldData) {
-                String resourceType = Optional.ofNullable((String) row[0])
-                        .map(String::toLowerCase)
-                        .orElse("");
-
-                // Initialize resource type map if not exists
-                resourceAccess.computeIfAbsent(resourceType, k -> {
-                    Map<String, Object> resourceMap = new HashMap<>();
-                    resourceMap.put("access_field", new ArrayList<String>());
-                    resourceMap.put("config", new HashMap<String, Object>());
-                    return resourceMap;
-                });
-
-                Map<String, Object> resourceMap = resourceAccess.get(resourceType);
-
-                String allowedFieldsJson = (String) row[1];
-                if (allowedFieldsJson != null) {
-                    try {
-                        @SuppressWarnings("unchecked")
-                        List<String> fields = mapper.readValue(allowedFieldsJson, List.class);
-                        if (fields != null && !fields.isEmpty()) {
-                            @SuppressWarnings("unchecked")
-                            List<String> accessFields = (List<String>) resourceMap.get("access_field");
-                            accessFields.addAll(fields);
-                        }
-                    } catch (Exception e) {
-                        log.warn("Failed to parse allowed fields JSON for resource {}: {}", resourceType, allowedFieldsJson, e);
-                    }
-                }
-
-                String configJson = (String) row[2];
-                if (configJson != null) {
-                    try {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> configs = mapper.readValue(configJson, Map.class);
-                        if (configs != null && !configs.isEmpty()) {
-                            @SuppressWarnings("unchecked")
-                            Map<String, Object> resourceConfig = (Map<String, Object>) resourceMap.get("config");
-                            resourceConfig.putAll(configs);
-                        }
-                    } catch (Exception e) {
-                        log.warn("Failed to parse config JSON for resource {}: {}", resourceType, configJson, e);
-                    }
-                }
-            }
-
-            // Deduplicate access fields for each resource type
-            resourceAccess.forEach((resourceType, resourceMap) -> {
-                @SuppressWarnings("unchecked")
-                List<String> accessFields = (List<String>) resourceMap.get("access_field");
-                resourceMap.put("access_field", new ArrayList<>(new LinkedHashSet<>(accessFields)));
-            });
-
-            return new RoleAuthzCacheData(roleName, new ArrayList<>(permKeys), resourceAccess, null);
-        } catch (Exception e) {
-            log.error("Failed to build role authorization data for roleId={}, roleName={}", roleId, roleName, e);
-            return new RoleAuthzCacheData(roleName, null, null, "INTERNAL_ERROR");
-        }
-    }
-
     /**
      * Register a user role when a new user is created
      */
@@ -453,6 +324,9 @@ public class AuthzService {
             // Clear new-style session cache
             clearSessionCache(sessionId);
 
+            // Drop gateway near-cache entries for this session
+            invalidationPublisher.sessionChanged(sessionId);
+
             log.info("Cleared all authorization cache for sessionId: {}", sessionId);
         } catch (Exception e) {
             log.warn("Failed to clear authorization cache for sessionId: {}", sessionId, e);
@@ -464,6 +338,10 @@ public class AuthzService {
      */
     @Transactional(readOnly = true)
     public void clearUserAuthzCache(String userId) {
+        // Role claims in the user's existing tokens are stale; introspection looks them up again.
+        // Not best effort like the cache clearing below: a failure fails the role change.
+        revocationFilter.revokeUser(userId);
+
         try {
             // Get all active sessions for the user and clear their caches
             List<Session> userSessions = sessionService.getActiveSessionsForUser(userId);
@@ -471,16 +349,8 @@ public class AuthzService {
                 clearAuthzCache(session.getSessionId());
             }
 
-            // Also clear role authorization cache for user's role
-            Optional<Long> roleIdOpt = userRoleRepo.findRoleIdByUserId(userId);
-            if (roleIdOpt.isPresent()) {
-                String permissionPattern = PERMISSION_CACHE_PREFIX + roleIdOpt.get() + ":*";
-                Set<String> permissionKeys = redisTemplate.keys(permissionPattern);
-                if (permissionKeys != null && !permissionKeys.isEmpty()) {
-                    redisTemplate.delete(permissionKeys);
-                    log.info("Cleared {} role authorization cache entries for roleId: {}", permissionKeys.size(), roleIdOpt.get());
-                }
-            }
+            // Gateways key decisions by session, so also drop anything cached for the user
+            invalidationPublisher.userChanged(userId);
 
             log.info("Cleared all authorization cache for userId: {}", userId);
         } catch (Exception e) {
@@ -0,0 +1,232 @@
+package com.fintech.authorizationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.authorizationservice.entity.FieldAccess;
+import com.fintech.authorizationservice.entity.Role;
+import com.fintech.authorizationservice.entity.RolePermission;
+import com.fintech.authorizationservice.messaging.AuthzInvalidationPublisher;
+import com.fintech.authorizationservice.repository.FieldAccessRepository;
+import com.fintech.authorizationservice.repository.RolePermissionRepository;
+import com.fintech.authorizationservice.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * In-memory snapshot of role_permissions, field_access and role names.
+ *
+ * Permissions are a roles x API methods bit matrix, so an allow/deny decision is a bit
+ * test. Field access is parsed from its JSON columns once per role into the immutable
+ * resourceAccess map sent in the envelope, and shared by every response for that role.
+ *
+ * The tables are re-read on a fixed delay; a changed snapshot is built off to the side
+ * and published through a volatile reference, so readers never see a partial rebuild.
+ * The tables are edited outside this service, so a changed snapshot is also what tells
+ * gateways to drop their cached decisions.
+ */
+@Component
+@DependsOn("migrationConfiguration")
+public class PermissionMatrix {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionMatrix.class);
+
+    private final RolePermissionRepository rpRepo;
+    private final FieldAccessRepository faRepo;
+    private final RoleRepository roleRepo;
+    private final AuthzInvalidationPublisher invalidationPublisher;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public PermissionMatrix(RolePermissionRepository rpRepo, FieldAccessRepository faRepo, RoleRepository roleRepo,
+                            AuthzInvalidationPublisher invalidationPublisher) {
+        this.rpRepo = rpRepo;
+        this.faRepo = faRepo;
+        this.roleRepo = roleRepo;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    private record Snapshot(Map<Long, Integer> roleIndex,
+                            Map<Long, Integer> methodIndex,
+                            long[] bits,
+                            int wordsPerRole,
+                            Map<Long, Map<String, Map<String, Object>>> resourceAccess,
+                            Map<Long, String> roleNames,
+                            int fingerprint) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), new long[0], 0, Map.of(), Map.of(), 0);
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Whether the role is allowed to call the API method
+     */
+    public boolean isAllowed(Long roleId, Long methodId) {
+        Snapshot current = snapshot;
+        Integer role = current.roleIndex().get(roleId);
+        Integer method = current.methodIndex().get(methodId);
+        if (role == null || method == null) {
+            return false;
+        }
+        long word = current.bits()[role * current.wordsPerRole() + (method >>> 6)];
+        return (word & (1L << method)) != 0;
+    }
+
+    /**
+     * Immutable resourceType -> {access_field: [...], config: {...}} for the role
+     */
+    public Map<String, Map<String, Object>> resourceAccess(Long roleId) {
+        return snapshot.resourceAccess().getOrDefault(roleId, Map.of());
+    }
+
+    /**
+     * Name of the role, or null if the role is not in the snapshot yet
+     */
+    public String roleName(Long roleId) {
+        return snapshot.roleNames().get(roleId);
+    }
+
+    /**
+     * Re-read the tables and publish a new snapshot if anything changed
+     */
+    @Scheduled(fixedDelayString = "${authz.permission-matrix.reload-interval-ms:60000}",
+            initialDelayString = "${authz.permission-matrix.reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            List<RolePermission> permissions = new ArrayList<>(rpRepo.findAll());
+            List<FieldAccess> fieldAccess = new ArrayList<>(faRepo.findAll());
+            List<Role> roles = new ArrayList<>(roleRepo.findAll());
+            permissions.sort(Comparator.comparing(RolePermission::getId));
+            fieldAccess.sort(Comparator.comparing(FieldAccess::getId));
+            roles.sort(Comparator.comparing(Role::getRoleId));
+
+            int fingerprint = fingerprint(permissions, fieldAccess, roles);
+            if (fingerprint == snapshot.fingerprint() && snapshot != Snapshot.EMPTY) {
+                return;
+            }
+
+            boolean initialLoad = snapshot == Snapshot.EMPTY;
+            snapshot = build(permissions, fieldAccess, roles, fingerprint);
+            log.info("Loaded permission matrix: {} roles x {} API methods, field access for {} roles",
+                    snapshot.roleIndex().size(), snapshot.methodIndex().size(), snapshot.resourceAccess().size());
+            if (!initialLoad) {
+                invalidationPublisher.allChanged();
+            }
+        } catch (Exception e) {
+            log.error("Failed to reload permission matrix, keeping previous snapshot", e);
+        }
+    }
+
+    private Snapshot build(List<RolePermission> permissions, List<FieldAccess> fieldAccess, List<Role> roles,
+                           int fingerprint) {
+        Map<Long, Integer> roleIndex = new HashMap<>();
+        Map<Long, Integer> methodIndex = new HashMap<>();
+        for (RolePermission rp : permissions) {
+            roleIndex.putIfAbsent(rp.getRole(), roleIndex.size());
+            methodIndex.putIfAbsent(rp.getApiMethodId(), methodIndex.size());
+        }
+
+        int wordsPerRole = (methodIndex.size() + 63) >>> 6;
+        long[] bits = new long[roleIndex.size() * wordsPerRole];
+        for (RolePermission rp : permissions) {
+            if (!rp.isAllowed()) {
+                continue;
+            }
+            int method = methodIndex.get(rp.getApiMethodId());
+            bits[roleIndex.get(rp.getRole()) * wordsPerRole + (method >>> 6)] |= 1L << method;
+        }
+
+        Map<Long, List<FieldAccess>> byRole = new HashMap<>();
+        for (FieldAccess fa : fieldAccess) {
+            byRole.computeIfAbsent(fa.getRole(), r -> new ArrayList<>()).add(fa);
+        }
+        Map<Long, Map<String, Map<String, Object>>> resourceAccess = new HashMap<>();
+        byRole.forEach((roleId, rows) -> resourceAccess.put(roleId, buildResourceAccess(roleId, rows)));
+
+        Map<Long, String> roleNames = new HashMap<>();
+        for (Role role : roles) {
+            roleNames.put(role.getRoleId(), role.getName());
+        }
+
+        return new Snapshot(Map.copyOf(roleIndex), Map.copyOf(methodIndex), bits, wordsPerRole,
+                Map.copyOf(resourceAccess), Map.copyOf(roleNames), fingerprint);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> buildResourceAccess(Long roleId, List<FieldAccess> rows) {
+        Map<String, LinkedHashSet<String>> fieldsByType = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> configByType = new LinkedHashMap<>();
+
+        for (FieldAccess fa : rows) {
+            String resourceType = Optional.ofNullable(fa.getResourceType())
+                    .map(String::toLowerCase)
+                    .orElse("");
+            LinkedHashSet<String> fields = fieldsByType.computeIfAbsent(resourceType, k -> new LinkedHashSet<>());
+            Map<String, Object> config = configByType.computeIfAbsent(resourceType, k -> new LinkedHashMap<>());
+
+            if (fa.getAllowedFields() != null) {
+                try {
+                    List<String> parsed = mapper.readValue(fa.getAllowedFields(), List.class);
+                    if (parsed != null) {
+                        fields.addAll(parsed);
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to parse allowed fields JSON for roleId {} resource {}: {}",
+                            roleId, resourceType, fa.getAllowedFields(), e);
+                }
+            }
+            if (fa.getConfig() != null) {
+                try {
+                    Map<String, Object> parsed = mapper.readValue(fa.getConfig(), Map.class);
+                    if (parsed != null) {
+                        config.putAll(parsed);
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to parse config JSON for roleId {} resource {}: {}",
+                            roleId, resourceType, fa.getConfig(), e);
+                }
+            }
+        }
+
+        Map<String, Map<String, Object>> resourceAccess = new LinkedHashMap<>();
+        fieldsByType.forEach((resourceType, fields) -> {
+            Map<String, Object> resource = new LinkedHashMap<>();
+            resource.put("access_field", List.copyOf(fields));
+            resource.put("config", Collections.unmodifiableMap(configByType.get(resourceType)));
+            resourceAccess.put(resourceType, Collections.unmodifiableMap(resource));
+        });
+        return Collections.unmodifiableMap(resourceAccess);
+    }
+
+    private static int fingerprint(List<RolePermission> permissions, List<FieldAccess> fieldAccess, List<Role> roles) {
+        int hash = 1;
+        for (RolePermission rp : permissions) {
+            hash = 31 * hash + Objects.hash(rp.getRole(), rp.getApiMethodId(), rp.isAllowed());
+        }
+        for (FieldAccess fa : fieldAccess) {
+            hash = 31 * hash + Objects.hash(fa.getRole(), fa.getResourceType(), fa.getAllowedFields(), fa.getConfig());
+        }
+        for (Role role : roles) {
+            hash = 31 * hash + Objects.hash(role.getRoleId(), role.getName());
+        }
+        return hash;
+    }
+}
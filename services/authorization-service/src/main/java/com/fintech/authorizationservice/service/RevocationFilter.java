@@ -0,0 +1,219 @@
+package com.fintech.authorizationservice.service;
+
+import com.fintech.authorizationservice.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Revoked sessions and users, checked on every introspection without a network hop.
+ *
+ * The exact set lives in Redis as authz:revoked:session:{id} and authz:revoked:user:{id}
+ * keys holding the revocation time, kept as long as a token issued before it can still be
+ * valid. Each instance holds a bloom filter of those keys, fed by a Redis pub/sub channel,
+ * and reads Redis only when the filter answers "maybe".
+ *
+ * Bloom filters cannot forget, so the filter is rebuilt from a SCAN of the exact set on a
+ * fixed delay; revocations arriving during the rebuild go into both filters. Until the
+ * first successful load every check answers UNKNOWN and introspection takes the session lookup.
+ */
+@Component
+public class RevocationFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationFilter.class);
+
+    private static final String KEY_PREFIX = "authz:revoked:";
+    private static final String SESSION = "session:";
+    private static final String USER = "user:";
+
+    public enum Status {
+        /** Neither the session nor the user was revoked after the token was issued */
+        VALID,
+        /** The session was revoked */
+        REVOKED,
+        /** The token's claims may be stale or the set could not be read; look the session up */
+        UNKNOWN
+    }
+
+    @Value("${authz.revocation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${authz.revocation.channel:authz:revoke}")
+    private String channel;
+
+    // Longest lifetime of an access token; a revocation is pointless after it
+    @Value("${authz.revocation.retention-ms:900000}")
+    private long retentionMs;
+
+    @Value("${authz.revocation.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${authz.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Attempts to record and publish a revocation before the caller is told it failed
+    @Value("${authz.revocation.write-attempts:3}")
+    private int writeAttempts;
+
+    @Value("${authz.revocation.write-retry-delay-ms:50}")
+    private long writeRetryDelayMs;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter pending;
+
+    public RevocationFilter(RedisTemplate<String, String> redisTemplate,
+                            RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Revocation filter disabled, every introspection looks the session up");
+            return;
+        }
+        // Subscribe before the first load so nothing published meanwhile is missed
+        listenerContainer.addMessageListener((message, pattern) ->
+                add(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+        rebuild();
+    }
+
+    /**
+     * Whether a token for the session, issued to the user at issuedAtMs, may be trusted
+     */
+    public Status check(String sessionId, String userId, long issuedAtMs) {
+        BloomFilter current = filter;
+        if (!enabled || current == null) {
+            return Status.UNKNOWN;
+        }
+        boolean sessionHit = current.mightContain(SESSION + sessionId);
+        boolean userHit = current.mightContain(USER + userId);
+        if (!sessionHit && !userHit) {
+            return Status.VALID;
+        }
+        try {
+            if (sessionHit && Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + SESSION + sessionId))) {
+                return Status.REVOKED;
+            }
+            if (userHit) {
+                String revokedAt = redisTemplate.opsForValue().get(KEY_PREFIX + USER + userId);
+                // Second-granular iat: a token issued in the same second as the change is re-checked too
+                if (revokedAt != null && issuedAtMs <= Long.parseLong(revokedAt)) {
+                    return Status.UNKNOWN;
+                }
+            }
+            return Status.VALID;
+        } catch (Exception e) {
+            log.warn("Failed to confirm revocation for sessionId: {}", sessionId, e);
+            return Status.UNKNOWN;
+        }
+    }
+
+    /**
+     * The session ended; tokens carrying it are rejected from now on
+     *
+     * @throws IllegalStateException if the revocation could not be recorded and published
+     */
+    public void revokeSession(String sessionId) {
+        revoke(SESSION + sessionId);
+    }
+
+    /**
+     * The user's role changed; role claims in tokens issued until now are no longer trusted
+     *
+     * @throws IllegalStateException if the revocation could not be recorded and published
+     */
+    public void revokeUser(String userId) {
+        revoke(USER + userId);
+    }
+
+    private void revoke(String entry) {
+        if (!enabled) {
+            return;
+        }
+        add(entry);
+        String revokedAt = String.valueOf(System.currentTimeMillis());
+        // Both writes are idempotent, so a failed attempt is simply repeated
+        for (int attempt = 1; ; attempt++) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + entry, revokedAt, Duration.ofMillis(retentionMs));
+                redisTemplate.convertAndSend(channel, entry);
+                log.debug("Revoked {}", entry);
+                return;
+            } catch (Exception e) {
+                if (attempt >= writeAttempts) {
+                    throw new IllegalStateException("Failed to record revocation: " + entry, e);
+                }
+                log.warn("Failed to record revocation: {}, attempt {} of {}", entry, attempt, writeAttempts, e);
+                sleepBeforeRetry(entry, e);
+            }
+        }
+    }
+
+    private void sleepBeforeRetry(String entry, Exception cause) {
+        try {
+            Thread.sleep(writeRetryDelayMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted recording revocation: " + entry, cause);
+        }
+    }
+
+    private void add(String entry) {
+        // pending first: if a rebuild starts after this read, its SCAN already sees the key
+        BloomFilter next = pending;
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(entry);
+        }
+        if (next != null) {
+            next.put(entry);
+        }
+    }
+
+    /**
+     * Replace the filter with one holding only revocations still in the exact set
+     */
+    @Scheduled(fixedDelayString = "${authz.revocation.rebuild-interval-ms:300000}",
+            initialDelayString = "${authz.revocation.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        BloomFilter next = new BloomFilter(expectedEntries, falsePositiveRate);
+        pending = next;
+        int entries = 0;
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*").count(1000).build())) {
+            while (keys.hasNext()) {
+                next.put(keys.next().substring(KEY_PREFIX.length()));
+                entries++;
+            }
+            filter = next;
+            if (entries > expectedEntries) {
+                log.warn("Revocation filter holds {} entries, above the {} it is sized for; false positives rise",
+                        entries, expectedEntries);
+            }
+            log.debug("Rebuilt revocation filter: {} entries, {} bytes", entries, next.sizeInBytes());
+        } catch (Exception e) {
+            log.error("Failed to rebuild revocation filter, keeping previous filter", e);
+        } finally {
+            pending = null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fintech.authorizationservice.service;
 
 import com.fintech.authorizationservice.entity.Session;
+import com.fintech.authorizationservice.messaging.AuthzInvalidationPublisher;
 import com.fintech.authorizationservice.repository.SessionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +23,14 @@ public class SessionService {
     private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
 
     private final SessionRepository sessionRepository;
+    private final AuthzInvalidationPublisher invalidationPublisher;
+    private final RevocationFilter revocationFilter;
 
-    public SessionService(SessionRepository sessionRepository) {
+    public SessionService(SessionRepository sessionRepository, AuthzInvalidationPublisher invalidationPublisher,
+                          RevocationFilter revocationFilter) {
         this.sessionRepository = sessionRepository;
+        this.invalidationPublisher = invalidationPublisher;
+        this.revocationFilter = revocationFilter;
     }
 
     /**
@@ -79,14 +85,19 @@ public class SessionService {
     }
 
     /**
-     * Invalidate a specific session
+     * Invalidate a specific session. Fails if the session's tokens could not be revoked,
+     * since they would otherwise stay valid until they expire.
      */
     public void invalidateSession(String sessionId) {
         try {
             sessionRepository.deleteBySessionId(sessionId);
+            // Tokens carry the session, so they stay valid until revoked or expired
+            revocationFilter.revokeSession(sessionId);
+            invalidationPublisher.sessionChanged(sessionId);
             logger.info("Session invalidated: sessionId={}", sessionId);
         } catch (Exception e) {
             logger.error("Failed to invalidate session: sessionId={}", sessionId, e);
+            throw new RuntimeException("Failed to invalidate session", e);
         }
     }
 
@@ -1,7 +1,7 @@
 package com.fintech.authorizationservice.util;
 
+import com.fintech.common.jwt.JwtVerifier;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.security.PublicKey;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 
 @Component
 public class JwtUtil {
@@ -18,7 +19,13 @@ public class JwtUtil {
     @Value("${jwt.public-cert-path}")
     private String publicCertPath;
 
-    private PublicKey publicKey;
+    @Value("${jwt.verify-cache.ttl-ms:300000}")
+    private long verifyCacheTtlMs;
+
+    @Value("${jwt.verify-cache.max-size:100000}")
+    private int verifyCacheMaxSize;
+
+    private JwtVerifier verifier;
 
     @PostConstruct
     public void loadPublicKey() {
@@ -26,7 +33,8 @@ public class JwtUtil {
             InputStream in = ResourceUtils.getURL(publicCertPath).openStream();
             CertificateFactory factory = CertificateFactory.getInstance("X.509");
             X509Certificate cert = (X509Certificate) factory.generateCertificate(in);
-            this.publicKey = cert.getPublicKey();
+            PublicKey publicKey = cert.getPublicKey();
+            this.verifier = new JwtVerifier(publicKey, Duration.ofMillis(verifyCacheTtlMs), verifyCacheMaxSize);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load public key for JWT validation", e);
         }
@@ -39,27 +47,15 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(publicKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return getClaimsFromToken(token) != null;
     }
 
-    private Claims getClaimsFromToken(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(publicKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (Exception e) {
-            return null;
-        }
+    /**
+     * Verify signature and expiry and return the claims, or null when the token is invalid.
+     * Each token's signature is checked once; repeats are served from the verifier's cache.
+     */
+    public Claims getClaimsFromToken(String token) {
+        return verifier.verify(token);
     }
 
 }
@@ -0,0 +1,33 @@
+-- Ledger statement and balance APIs
+-- Customer roles are not granted yet: ledger-service cannot tie an account number to its owner
+
+INSERT INTO api_methods (path, http_method, description) VALUES
+('/api/ledger/accounts/*/balance', 'GET', 'Get account balance, optionally as of a point in time'),
+('/api/ledger/accounts/*/statement', 'GET', 'Get a page of an account statement'),
+('/api/ledger/accounts/*/statement/stream', 'GET', 'Stream an account statement for a time range')
+ON CONFLICT (path, http_method) DO NOTHING;
+
+-- ADMIN, AUDITOR and COMPLIANCE_OFFICER can read any account's ledger
+INSERT INTO role_permissions (role_id, method_id, allowed)
+SELECT r.role_id, am.api_method_id, true
+FROM roles r,
+     api_methods am
+WHERE r.name IN ('ADMIN', 'AUDITOR', 'COMPLIANCE_OFFICER')
+  AND am.path IN ('/api/ledger/accounts/*/balance',
+                  '/api/ledger/accounts/*/statement',
+                  '/api/ledger/accounts/*/statement/stream')
+  AND am.http_method = 'GET' ON CONFLICT (role_id, method_id) DO NOTHING;
+
+-- ADMIN ledger field access (full access)
+INSERT INTO field_access (role_id, resource_type, allowed_fields, config)
+SELECT r.role_id, 'ledger', '["*"]'::jsonb, '{"access_level": "full", "can_modify": false}'::jsonb
+FROM roles r
+WHERE r.name = 'ADMIN' ON CONFLICT (role_id, resource_type) DO NOTHING;
+
+-- AUDITOR and COMPLIANCE_OFFICER ledger field access (read-only, no payment references)
+INSERT INTO field_access (role_id, resource_type, allowed_fields, config)
+SELECT r.role_id,
+       'ledger',
+       '["entryId","txnId","accountNumber","entryType","amount","balanceAfter","balance","currency","description","createdAt","asOf"]'::jsonb, '{"access_level":"read_only","can_modify":[]}'::jsonb
+FROM roles r
+WHERE r.name IN ('AUDITOR', 'COMPLIANCE_OFFICER') ON CONFLICT (role_id, resource_type) DO NOTHING;
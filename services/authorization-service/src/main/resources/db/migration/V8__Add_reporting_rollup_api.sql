@@ -0,0 +1,16 @@
+-- Rollup-backed reporting APIs (TRANSACTION_SUMMARY, PAYMENT_ANALYSIS)
+-- Reports are aggregates across all users, so only internal oversight roles are granted
+
+INSERT INTO api_methods (path, http_method, description) VALUES
+('/api/reporting/reports/transaction-summary', 'GET', 'Get transaction summary from reporting rollups'),
+('/api/reporting/reports/payment-analysis', 'GET', 'Get payment analysis from reporting rollups')
+ON CONFLICT (path, http_method) DO NOTHING;
+
+INSERT INTO role_permissions (role_id, method_id, allowed)
+SELECT r.role_id, am.api_method_id, true
+FROM roles r,
+     api_methods am
+WHERE r.name IN ('ADMIN', 'MANAGER', 'AUDITOR', 'COMPLIANCE_OFFICER', 'RISK_ANALYST')
+  AND am.path IN ('/api/reporting/reports/transaction-summary',
+                  '/api/reporting/reports/payment-analysis')
+  AND am.http_method = 'GET' ON CONFLICT (role_id, method_id) DO NOTHING;
@@ -0,0 +1,17 @@
+-- Asynchronous report generation: submit, poll status and download the generated file
+-- Same oversight roles as the rollup reports; callers only see reports they created unless ADMIN
+
+INSERT INTO api_methods (path, http_method, description) VALUES
+('/api/reporting/reports', 'POST', 'Submit a report for asynchronous generation'),
+('/api/reporting/reports/*', 'GET', 'Get report generation status'),
+('/api/reporting/reports/*/download', 'GET', 'Download a generated report file')
+ON CONFLICT (path, http_method) DO NOTHING;
+
+INSERT INTO role_permissions (role_id, method_id, allowed)
+SELECT r.role_id, am.api_method_id, true
+FROM roles r,
+     api_methods am
+WHERE r.name IN ('ADMIN', 'MANAGER', 'AUDITOR', 'COMPLIANCE_OFFICER', 'RISK_ANALYST')
+  AND ((am.path = '/api/reporting/reports' AND am.http_method = 'POST')
+    OR (am.path IN ('/api/reporting/reports/*', '/api/reporting/reports/*/download') AND am.http_method = 'GET'))
+ON CONFLICT (role_id, method_id) DO NOTHING;
@@ -0,0 +1,90 @@
+package com.fintech.authorizationservice.service;
+
+import com.fintech.authorizationservice.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevocationFilterTest {
+
+    private static final String SESSION_KEY = "authz:revoked:session:s1";
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private RevocationFilter revocationFilter;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        revocationFilter = new RevocationFilter(redisTemplate, mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(revocationFilter, "enabled", true);
+        ReflectionTestUtils.setField(revocationFilter, "channel", "authz:revoke");
+        ReflectionTestUtils.setField(revocationFilter, "retentionMs", 900_000L);
+        ReflectionTestUtils.setField(revocationFilter, "writeAttempts", 3);
+        ReflectionTestUtils.setField(revocationFilter, "writeRetryDelayMs", 0L);
+        ReflectionTestUtils.setField(revocationFilter, "filter", new BloomFilter(1000, 0.01));
+    }
+
+    @Test
+    void revokedSessionIsRecordedPublishedAndRejected() {
+        revocationFilter.revokeSession("s1");
+
+        verify(valueOperations).set(eq(SESSION_KEY), anyString(), eq(Duration.ofMillis(900_000L)));
+        verify(redisTemplate).convertAndSend("authz:revoke", "session:s1");
+
+        when(redisTemplate.hasKey(SESSION_KEY)).thenReturn(true);
+        assertThat(revocationFilter.check("s1", "u1", 0)).isEqualTo(RevocationFilter.Status.REVOKED);
+        assertThat(revocationFilter.check("s2", "u2", 0)).isEqualTo(RevocationFilter.Status.VALID);
+    }
+
+    @Test
+    void transientWriteFailureIsRetried() {
+        doThrow(new RedisConnectionFailureException("down")).doNothing()
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        revocationFilter.revokeSession("s1");
+
+        verify(valueOperations, times(2)).set(eq(SESSION_KEY), anyString(), any(Duration.class));
+        verify(redisTemplate).convertAndSend("authz:revoke", "session:s1");
+    }
+
+    @Test
+    void persistentWriteFailureIsReportedToTheCaller() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        assertThatThrownBy(() -> revocationFilter.revokeSession("s1")).isInstanceOf(IllegalStateException.class);
+        verify(valueOperations, times(3)).set(eq(SESSION_KEY), anyString(), any(Duration.class));
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    void publishFailureIsReportedToTheCaller() {
+        doNothing().when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.convertAndSend(anyString(), any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThatThrownBy(() -> revocationFilter.revokeUser("u1")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.fintech.gatewayservice.ratelimit;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of a rate limit decision as made on the event loop. SampleTime
+ * reports percentiles, so the p99.99 row shows whether a decision ever stalls; with the
+ * in-memory table there is no I/O to wait on, only the bucket lookup and one CAS.
+ *
+ * manyIps spreads requests over a large client population (table lookups and inserts),
+ * hotIp hammers a single bucket from every thread (CAS contention on one entry).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public abstract class IpRateLimiterBenchmark {
+
+    private static final int IP_COUNT = 100_000;
+
+    private final IpRateLimiterHandler handler = new IpRateLimiterHandler(
+            RateLimiterConfig.custom()
+                    .limitForPeriod(5)
+                    .limitRefreshPeriod(Duration.ofSeconds(10))
+                    .timeoutDuration(Duration.ofMillis(0))
+                    .build(),
+            new SimpleMeterRegistry(),
+            200_000);
+
+    private final String[] ips = new String[IP_COUNT];
+
+    public IpRateLimiterBenchmark() {
+        for (int i = 0; i < IP_COUNT; i++) {
+            ips[i] = "10." + ((i >> 16) & 0xFF) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public boolean manyIps() {
+        return handler.isRateLimited(ips[ThreadLocalRandom.current().nextInt(IP_COUNT)]);
+    }
+
+    @Benchmark
+    public boolean hotIp() {
+        return handler.isRateLimited(ips[0]);
+    }
+
+    @Threads(1)
+    public static class OneThread extends IpRateLimiterBenchmark {
+    }
+
+    @Threads(8)
+    public static class EightThreads extends IpRateLimiterBenchmark {
+    }
+}
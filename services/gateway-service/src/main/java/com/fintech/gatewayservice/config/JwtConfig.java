@@ -1,7 +1,7 @@
 package com.fintech.gatewayservice.config;
 
+import com.fintech.common.jwt.JwtVerifier;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -11,13 +11,20 @@ import java.io.InputStream;
 import java.security.PublicKey;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 
 @Configuration
 public class JwtConfig {
     @Value("${jwt.public-cert-path}")
     private String publicCertPath;
 
-    private PublicKey publicKey;
+    @Value("${jwt.verify-cache.ttl-ms:300000}")
+    private long verifyCacheTtlMs;
+
+    @Value("${jwt.verify-cache.max-size:100000}")
+    private int verifyCacheMaxSize;
+
+    private JwtVerifier verifier;
 
     @PostConstruct
     public void loadPublicKey() {
@@ -25,23 +32,22 @@ public class JwtConfig {
             InputStream in = ResourceUtils.getURL(publicCertPath).openStream();
             CertificateFactory factory = CertificateFactory.getInstance("X.509");
             X509Certificate cert = (X509Certificate) factory.generateCertificate(in);
-            this.publicKey = cert.getPublicKey();
+            PublicKey publicKey = cert.getPublicKey();
+            this.verifier = new JwtVerifier(publicKey, Duration.ofMillis(verifyCacheTtlMs), verifyCacheMaxSize);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load public key for JWT validation", e);
         }
     }
 
     public boolean validateJwt(String jwt) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(publicKey)
-                    .build()
-                    .parseSignedClaims(jwt)
-                    .getPayload();
-            // Optionally, add more claim checks here
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseClaims(jwt) != null;
+    }
+
+    /**
+     * Verify the JWT and return its claims, or null when the token is invalid.
+     * Each token's signature is checked once; repeats are served from the verifier's cache.
+     */
+    public Claims parseClaims(String jwt) {
+        return verifier.verify(jwt);
     }
 }
@@ -0,0 +1,198 @@
+package com.fintech.gatewayservice.external.cache;
+
+import com.fintech.gatewayservice.external.model.response.AuthzIntrospectResponse;
+import com.fintech.gatewayservice.external.service.AuthzService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-cache of authorization decisions in front of {@link AuthzService}.
+ *
+ * Decisions are keyed by session ID, HTTP method and path template (identifier segments
+ * collapsed to {@code *}, the same wildcard the authorization service matches on), bounded
+ * by size and expired by TTL. Concurrent misses for one key share a single introspection
+ * call. The authorization service publishes on a Redis channel whenever a session or a
+ * user's role changes; the TTL bounds staleness if such a message is missed.
+ */
+@Component
+public class AuthzDecisionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthzDecisionCache.class);
+
+    private static final String SESSION_PREFIX = "session:";
+    private static final String USER_PREFIX = "user:";
+    private static final String ALL = "all";
+
+    @Value("${gateway.authz.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.authz.cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${gateway.authz.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${gateway.authz.cache.invalidation-channel:authz:invalidate}")
+    private String invalidationChannel;
+
+    private final AuthzService authzService;
+    private final RedissonClient redissonClient;
+
+    private AsyncCache<Key, AuthzIntrospectResponse> cache;
+    private RTopic invalidationTopic;
+    private int listenerId = -1;
+
+    public AuthzDecisionCache(AuthzService authzService, RedissonClient redissonClient) {
+        this.authzService = authzService;
+        this.redissonClient = redissonClient;
+    }
+
+    @PostConstruct
+    public void init() {
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Key, AuthzIntrospectResponse>() {
+                    @Override
+                    public long expireAfterCreate(Key key, AuthzIntrospectResponse value, long currentTime) {
+                        return isCacheable(value) ? ttlNanos : 0;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, AuthzIntrospectResponse value, long currentTime, long currentDuration) {
+                        return isCacheable(value) ? ttlNanos : 0;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, AuthzIntrospectResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+
+        if (enabled) {
+            invalidationTopic = redissonClient.getTopic(invalidationChannel, StringCodec.INSTANCE);
+            listenerId = invalidationTopic.addListener(String.class, (channel, message) -> invalidate(message));
+        }
+        logger.info("Authz decision cache enabled: {}, ttl: {}ms, max size: {}, invalidation channel: {}",
+                enabled, ttlMs, maxSize, invalidationChannel);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (invalidationTopic != null && listenerId != -1) {
+            invalidationTopic.removeListener(listenerId);
+        }
+    }
+
+    /**
+     * Same contract as {@link AuthzService#checkAccess}, answered from the cache when possible
+     */
+    public Mono<AuthzIntrospectResponse> checkAccess(String jwt, String sessionId, String path, String method,
+                                                     Map<String, Object> context) {
+        if (!enabled || sessionId == null) {
+            return authzService.checkAccess(jwt, path, method, context);
+        }
+
+        Key key = new Key(sessionId, method, toTemplate(path));
+        // suppressCancel: the future is shared by every request waiting on this key
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) ->
+                        authzService.checkAccess(jwt, path, method, context).toFuture()), true);
+    }
+
+    /**
+     * Handles an invalidation message: session:{sessionId}, user:{userId} or all
+     */
+    void invalidate(String message) {
+        if (message == null) {
+            return;
+        }
+        if (message.startsWith(SESSION_PREFIX)) {
+            String sessionId = message.substring(SESSION_PREFIX.length());
+            cache.asMap().keySet().removeIf(key -> key.sessionId().equals(sessionId));
+        } else if (message.startsWith(USER_PREFIX)) {
+            String userId = message.substring(USER_PREFIX.length());
+            // In-flight lookups are dropped too, they may have read the old role
+            cache.asMap().values().removeIf(future -> !future.isDone() || userId.equals(userIdOf(future)));
+        } else if (ALL.equals(message)) {
+            cache.synchronous().invalidateAll();
+        } else {
+            logger.warn("Ignoring unknown authz invalidation message: {}", message);
+            return;
+        }
+        logger.debug("Applied authz invalidation: {}", message);
+    }
+
+    /**
+     * Only definitive decisions are cached. Errors, circuit breaker fallbacks and
+     * session lookups that may succeed shortly after login are always re-asked.
+     */
+    private static boolean isCacheable(AuthzIntrospectResponse response) {
+        return response != null
+                && (response.allowed || "ACCESS_DENIED".equals(response.reason) || "NO_METHOD_EXIST".equals(response.reason));
+    }
+
+    /**
+     * Replaces identifier segments (numbers, UUIDs and other digit-bearing tokens) with {@code *}
+     */
+    static String toTemplate(String path) {
+        if (path == null || path.isEmpty()) {
+            return path;
+        }
+        StringBuilder template = new StringBuilder(path.length());
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+            if (start > 0) {
+                template.append('/');
+            }
+            template.append(isIdentifier(path, start, end) ? "*" : path.substring(start, end));
+            start = end + 1;
+        }
+        return template.toString();
+    }
+
+    private static boolean isIdentifier(String path, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return false;
+        }
+        boolean allDigits = true;
+        boolean hasDigit = false;
+        for (int i = start; i < end; i++) {
+            boolean digit = Character.isDigit(path.charAt(i));
+            allDigits &= digit;
+            hasDigit |= digit;
+        }
+        return allDigits || (hasDigit && length >= 8);
+    }
+
+    private static String userIdOf(CompletableFuture<AuthzIntrospectResponse> future) {
+        if (future.isCompletedExceptionally()) {
+            return null;
+        }
+        AuthzIntrospectResponse response = future.getNow(null);
+        return response != null ? response.userId : null;
+    }
+
+    record Key(String sessionId, String method, String pathTemplate) {
+    }
+}
@@ -1,12 +1,14 @@
 package com.fintech.gatewayservice.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.common.authz.AuthzEnvelope;
 import com.fintech.gatewayservice.config.JwtConfig;
 import com.fintech.gatewayservice.config.RouteValidator;
+import com.fintech.gatewayservice.external.cache.AuthzDecisionCache;
 import com.fintech.gatewayservice.external.model.response.AuthzIntrospectResponse;
-import com.fintech.gatewayservice.external.service.AuthzService;
-import com.fintech.gatewayservice.ratelimit.IpRateLimiterHandler;
+import io.jsonwebtoken.Claims;
 import org.apache.hc.client5.http.utils.Base64;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -24,17 +26,19 @@ import java.util.Map;
 public class JwtAuthGatewayFilter extends AbstractGatewayFilterFactory<JwtAuthGatewayFilter.Config> {
 
     private final JwtConfig jwtConfig;
-    private final IpRateLimiterHandler ipRateLimiterHandler;
     private final RouteValidator routeValidator;
-    private final AuthzService authzService;
+    private final AuthzDecisionCache authzDecisionCache;
     private final ObjectMapper mapper = new ObjectMapper();
 
-    public JwtAuthGatewayFilter(JwtConfig jwtConfig, IpRateLimiterHandler ipRateLimiterHandler, RouteValidator routeValidator, AuthzService authzService) {
+    // binary: compact AuthzEnvelope, json: legacy Base64 JSON for services not yet on the envelope reader
+    @Value("${gateway.authz.envelope-format:binary}")
+    private String envelopeFormat;
+
+    public JwtAuthGatewayFilter(JwtConfig jwtConfig, RouteValidator routeValidator, AuthzDecisionCache authzDecisionCache) {
         super(Config.class);
         this.jwtConfig = jwtConfig;
-        this.ipRateLimiterHandler = ipRateLimiterHandler;
         this.routeValidator = routeValidator;
-        this.authzService = authzService;
+        this.authzDecisionCache = authzDecisionCache;
     }
 
     @Override
@@ -45,10 +49,7 @@ public class JwtAuthGatewayFilter extends AbstractGatewayFilterFactory<JwtAuthGa
             String ip = request.getRemoteAddress() != null ?
                     request.getRemoteAddress().getAddress().getHostAddress() : "unknown";
 
-            // 1️⃣ Per-IP rate limiting
-            if (ipRateLimiterHandler.isRateLimited(ip)) {
-                return deny(exchange, HttpStatus.TOO_MANY_REQUESTS, "IP rate limit exceeded", ip);
-            }
+            // 1️⃣ Per-IP rate limiting runs before this filter, see IpRateLimitGatewayFilter
 
             // 2️⃣ JWT validation for secured routes
             if (routeValidator.isSecured.test(request)) {
@@ -58,13 +59,15 @@ public class JwtAuthGatewayFilter extends AbstractGatewayFilterFactory<JwtAuthGa
                 }
 
                 String jwt = authHeader.substring(7);
-                if (!jwtConfig.validateJwt(jwt)) {
+                Claims claims = jwtConfig.parseClaims(jwt);
+                if (claims == null) {
                     return deny(exchange, HttpStatus.UNAUTHORIZED, "Invalid JWT", ip);
                 }
 
 
-                // 3️⃣ Ask AuthZ service for decision (dynamic)
-                return authzService.checkAccess(jwt, exchange.getRequest().getURI().getPath(),
+                // 3️⃣ Ask AuthZ service for decision (dynamic), cached per session and path template
+                return authzDecisionCache.checkAccess(jwt, claims.get("sessionId", String.class),
+                                exchange.getRequest().getURI().getPath(),
                                 exchange.getRequest().getMethod().name(),
                                 Map.of("clientIp", ip))
                         .flatMap(authzResponse -> handleAuthzResponse(authzResponse, exchange, chain))
@@ -86,13 +89,12 @@ public class JwtAuthGatewayFilter extends AbstractGatewayFilterFactory<JwtAuthGa
         }
 
         try {
-            String json = mapper.writeValueAsString(resp);
-            String base64 = Base64.encodeBase64String(json.getBytes(StandardCharsets.UTF_8));
+            String authzHeader = encodeAuthz(resp);
 
             // add internal headers (trusted internal channel only)
             ServerWebExchange mutated = exchange.mutate()
                     .request(r -> r
-                            .header("X-Authz", base64)
+                            .header("X-Authz", authzHeader)
                             .header("X-User-Id", resp.userId == null ? "" : resp.userId)
                             .header("X-Role", resp.role == null || resp.role.isEmpty() ? "" : resp.role)
                     ).build();
@@ -106,6 +108,15 @@ public class JwtAuthGatewayFilter extends AbstractGatewayFilterFactory<JwtAuthGa
         }
     }
 
+    private String encodeAuthz(AuthzIntrospectResponse resp) throws Exception {
+        if ("json".equalsIgnoreCase(envelopeFormat)) {
+            String json = mapper.writeValueAsString(resp);
+            return Base64.encodeBase64String(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return AuthzEnvelope.encode(resp.allowed, resp.userId, resp.role, resp.reason,
+                resp.permissions, resp.resourceAccess);
+    }
+
     static public class Config {
         private boolean required = true;
 
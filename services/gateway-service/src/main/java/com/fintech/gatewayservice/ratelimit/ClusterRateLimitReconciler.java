@@ -0,0 +1,90 @@
+package com.fintech.gatewayservice.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns the per-node buckets of {@link IpRateLimiterHandler} into a cluster-wide limit.
+ * Permits granted locally are added to a shared Redis counter per IP and window off the
+ * request path; once the cluster total passes the limit, the local bucket refuses the
+ * IP until the window ends. Enabled with gateway.rate-limit.cluster.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.cluster.enabled", havingValue = "true")
+public class ClusterRateLimitReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRateLimitReconciler.class);
+
+    private final IpRateLimiterHandler ipRateLimiterHandler;
+    private final RedissonClient redissonClient;
+
+    @Value("${gateway.rate-limit.cluster.sync-interval-ms:1000}")
+    private long syncIntervalMs;
+
+    private ScheduledExecutorService scheduler;
+
+    public ClusterRateLimitReconciler(IpRateLimiterHandler ipRateLimiterHandler, RedissonClient redissonClient) {
+        this.ipRateLimiterHandler = ipRateLimiterHandler;
+        this.redissonClient = redissonClient;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcile, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Cluster rate limit reconciliation enabled, sync interval: {}ms", syncIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    void reconcile() {
+        try {
+            long periodMillis = TimeUnit.NANOSECONDS.toMillis(ipRateLimiterHandler.getPeriodNanos());
+            long nowMillis = System.currentTimeMillis();
+            long window = nowMillis / periodMillis;
+            long windowEndNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos((window + 1) * periodMillis - nowMillis);
+            int limit = ipRateLimiterHandler.getLimitForPeriod();
+
+            ipRateLimiterHandler.forEachBucket((ip, bucket) -> {
+                long delta = bucket.drainUnsynced();
+                if (delta == 0) {
+                    return;
+                }
+                RAtomicLong counter = redissonClient.getAtomicLong("rate:" + ip + ":" + window);
+                counter.addAndGetAsync(delta).whenComplete((total, ex) -> {
+                    if (ex != null) {
+                        logger.warn("Failed to reconcile rate limit for IP: {} - {}", ip, ex.getMessage());
+                        return;
+                    }
+                    if (total == delta) {
+                        counter.expireAsync(Duration.ofMillis(periodMillis * 2));
+                    }
+                    if (total > limit) {
+                        bucket.blockUntil(windowEndNanos, ipRateLimiterHandler.getPeriodNanos());
+                    }
+                });
+            });
+        } catch (Exception e) {
+            logger.error("Rate limit reconciliation failed - {}", e.getMessage(), e);
+        }
+    }
+}
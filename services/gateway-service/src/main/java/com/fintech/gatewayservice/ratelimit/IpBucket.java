@@ -0,0 +1,74 @@
+package com.fintech.gatewayservice.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket for a single client IP, kept as one theoretical arrival time (GCRA) so a
+ * permit is a single CAS. A bucket of {@code limit} tokens refilling {@code limit} tokens
+ * per period admits at most {@code limit} requests in any period, like the
+ * {@link io.github.resilience4j.ratelimiter.RateLimiterConfig} it is built from.
+ */
+final class IpBucket {
+
+    // nanoTime at which the bucket is full again, advanced by one emission interval per permit
+    private final AtomicLong theoreticalArrival;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Permits not yet reported to the cluster counter
+    private final LongAdder unsynced = new LongAdder();
+
+    IpBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    boolean tryAcquire(long now, long emissionIntervalNanos, long periodNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (next - now > periodNanos) {
+                rejected.increment();
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                allowed.increment();
+                unsynced.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until the next permit is available, 0 if one is available now
+     */
+    long waitNanos(long now, long emissionIntervalNanos, long periodNanos) {
+        long next = Math.max(theoreticalArrival.get(), now) + emissionIntervalNanos;
+        return Math.max(0, next - now - periodNanos);
+    }
+
+    long availablePermits(long now, long emissionIntervalNanos, long periodNanos) {
+        long used = Math.max(theoreticalArrival.get(), now) - now;
+        return Math.max(0, (periodNanos - used) / emissionIntervalNanos);
+    }
+
+    /**
+     * Refuse every request until {@code untilNanos}, used when the cluster-wide limit is exceeded
+     */
+    void blockUntil(long untilNanos, long periodNanos) {
+        theoreticalArrival.accumulateAndGet(untilNanos + periodNanos, Math::max);
+    }
+
+    long drainUnsynced() {
+        return unsynced.sumThenReset();
+    }
+
+    long allowedCount() {
+        return allowed.sum();
+    }
+
+    long rejectedCount() {
+        return rejected.sum();
+    }
+}
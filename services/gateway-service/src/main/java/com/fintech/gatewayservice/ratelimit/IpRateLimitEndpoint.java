@@ -0,0 +1,50 @@
+package com.fintech.gatewayservice.ratelimit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-IP bucket state at /actuator/ipratelimit (management port only), most rejected
+ * first. Kept out of Micrometer tags so client IPs do not become metric cardinality.
+ */
+@Component
+@Endpoint(id = "ipratelimit")
+public class IpRateLimitEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final IpRateLimiterHandler ipRateLimiterHandler;
+
+    public IpRateLimitEndpoint(IpRateLimiterHandler ipRateLimiterHandler) {
+        this.ipRateLimiterHandler = ipRateLimiterHandler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> buckets(@Nullable Integer limit) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        ipRateLimiterHandler.forEachBucket((ip, bucket) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("ip", ip);
+            entry.put("availablePermits", ipRateLimiterHandler.availablePermits(bucket));
+            entry.put("allowed", bucket.allowedCount());
+            entry.put("rejected", bucket.rejectedCount());
+            entries.add(entry);
+        });
+        entries.sort(Comparator.comparingLong((Map<String, Object> entry) -> (Long) entry.get("rejected")).reversed());
+
+        int size = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("limitForPeriod", ipRateLimiterHandler.getLimitForPeriod());
+        result.put("trackedIps", entries.size());
+        result.put("buckets", entries.subList(0, Math.min(size, entries.size())));
+        return result;
+    }
+}
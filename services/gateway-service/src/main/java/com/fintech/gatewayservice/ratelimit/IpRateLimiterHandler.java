@@ -1,33 +1,98 @@
 package com.fintech.gatewayservice.ratelimit;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
-import org.redisson.api.RedissonClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.function.BiConsumer;
 
+/**
+ * Per-IP rate limiter backed by an in-memory token bucket table. A decision is a lookup
+ * plus one CAS, so it is safe to call on the Netty event loop. Cluster-wide limits are
+ * layered on top asynchronously by {@link ClusterRateLimitReconciler} when enabled.
+ */
 @Component
 public class IpRateLimiterHandler {
-    private final RedissonClient redissonClient;
-    private final RateLimiterConfig rateLimiterConfig;
 
-    public IpRateLimiterHandler(RedissonClient redissonClient, RateLimiterConfig rateLimiterConfig) {
-        this.redissonClient = redissonClient;
-        this.rateLimiterConfig = rateLimiterConfig;
+    private final int limitForPeriod;
+    private final long periodNanos;
+    private final long emissionIntervalNanos;
+
+    private final Cache<String, IpBucket> buckets;
+
+    private final Counter allowedCounter;
+    private final Counter rejectedCounter;
+
+    public IpRateLimiterHandler(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+                                @Value("${gateway.rate-limit.max-tracked-ips:200000}") long maxTrackedIps) {
+        this.limitForPeriod = rateLimiterConfig.getLimitForPeriod();
+        this.periodNanos = rateLimiterConfig.getLimitRefreshPeriod().toNanos();
+        this.emissionIntervalNanos = periodNanos / limitForPeriod;
+
+        // An idle bucket refills completely within one period, so it can be dropped after that
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedIps)
+                .expireAfterAccess(Duration.ofNanos(periodNanos * 2))
+                .build();
+
+        this.allowedCounter = Counter.builder("gateway.ratelimit.requests")
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("gateway.ratelimit.requests")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("gateway.ratelimit.tracked.ips", buckets, cache -> cache.estimatedSize())
+                .register(meterRegistry);
     }
 
     /**
      * Returns true if the IP is rate limited, false if allowed.
      */
     public boolean isRateLimited(String ip) {
-        int limit = rateLimiterConfig.getLimitForPeriod();
-        long periodSeconds = rateLimiterConfig.getLimitRefreshPeriod().getSeconds();
-        String key = String.format("rate:%s", ip);
-        long count = redissonClient.getAtomicLong(key).incrementAndGet();
-        if (count == 1) {
-            redissonClient.getAtomicLong(key).expire(Duration.ofSeconds(periodSeconds));
+        long now = System.nanoTime();
+        IpBucket bucket = buckets.getIfPresent(ip);
+        if (bucket == null) {
+            bucket = buckets.get(ip, key -> new IpBucket(now));
+        }
+        if (bucket.tryAcquire(now, emissionIntervalNanos, periodNanos)) {
+            allowedCounter.increment();
+            return false;
+        }
+        rejectedCounter.increment();
+        return true;
+    }
+
+    /**
+     * Seconds a limited client should wait before retrying, rounded up
+     */
+    public long retryAfterSeconds(String ip) {
+        IpBucket bucket = buckets.getIfPresent(ip);
+        if (bucket == null) {
+            return 0;
         }
-        return count > limit;
+        long waitNanos = bucket.waitNanos(System.nanoTime(), emissionIntervalNanos, periodNanos);
+        return (waitNanos + 999_999_999L) / 1_000_000_000L;
     }
 
+    int getLimitForPeriod() {
+        return limitForPeriod;
+    }
+
+    long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    long availablePermits(IpBucket bucket) {
+        return bucket.availablePermits(System.nanoTime(), emissionIntervalNanos, periodNanos);
+    }
+
+    void forEachBucket(BiConsumer<String, IpBucket> action) {
+        buckets.asMap().forEach(action);
+    }
 }
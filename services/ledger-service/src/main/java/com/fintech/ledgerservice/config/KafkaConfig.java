@@ -1,12 +1,15 @@
 package com.fintech.ledgerservice.config;
 
+import com.fintech.common.kafka.AdaptiveConsumerController;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
@@ -28,7 +31,11 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.client-id}")
     private String clientId;
 
+    @Value("${ledger.listener.batch-size:500}")
+    private int batchSize;
+
     @Bean
+    @Primary
     public ConsumerFactory<String, String> consumerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -48,7 +55,8 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+            ObjectProvider<AdaptiveConsumerController> adaptiveConsumers) {
         ConcurrentKafkaListenerContainerFactory<String, String> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
@@ -58,6 +66,8 @@ public class KafkaConfig {
 
         // Set concurrency level (number of consumer threads)
         factory.setConcurrency(3);
+        // Concurrency and max.poll.records then adapt to lag within kafka.adaptive.default.* bounds
+        adaptiveConsumers.ifAvailable(adaptive -> adaptive.apply(factory, "default", 3));
 
         // Error handling
         factory.setCommonErrorHandler(new org.springframework.kafka.listener.DefaultErrorHandler());
@@ -65,6 +75,39 @@ public class KafkaConfig {
         return factory;
     }
 
+    /**
+     * Consumer factory for the batch listener: same settings as {@link #consumerFactory()}
+     * but with a larger poll so a whole batch of completed transactions is posted at once
+     */
+    @Bean
+    public ConsumerFactory<String, String> batchConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>(consumerFactory().getConfigurationProperties());
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 16384);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 100);
+
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory(
+            ObjectProvider<AdaptiveConsumerController> adaptiveConsumers) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+
+        // One acknowledgment per processed poll
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+
+        factory.setConcurrency(3);
+        // Concurrency and max.poll.records then adapt to lag within kafka.adaptive.batch.* bounds
+        adaptiveConsumers.ifAvailable(adaptive -> adaptive.apply(factory, "batch", 3));
+        factory.setCommonErrorHandler(new org.springframework.kafka.listener.DefaultErrorHandler());
+
+        return factory;
+    }
+
     // Producer configuration for sending messages to authorization service
     @Bean
     public ProducerFactory<String, String> producerFactory() {
@@ -1,26 +0,0 @@
-package com.fintech.ledgerservice.config;
-
-import com.fintech.ledgerservice.util.SnowflakeIdGenerator;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-@ConfigurationProperties(prefix = "snowflake")
-public class SnowflakeConfig {
-    
-    private long machineId = 1;
-    
-    @Bean
-    public SnowflakeIdGenerator snowflakeIdGenerator() {
-        return new SnowflakeIdGenerator();
-    }
-    
-    public long getMachineId() {
-        return machineId;
-    }
-    
-    public void setMachineId(long machineId) {
-        this.machineId = machineId;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.fintech.ledgerservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the covering index behind account statements and balance-as-of lookups.
+ *
+ * Hibernate's schema update cannot express INCLUDE columns, so the index is created here
+ * once the schema exists. It is keyed on (account_number, created_at, entry_id) to match
+ * the statement keyset and carries every column a statement row returns, so a page is
+ * served by an index-only scan. CONCURRENTLY keeps ledger writes running while it builds.
+ *
+ * A failed concurrent build leaves an INVALID index that IF NOT EXISTS would keep forever,
+ * so an invalid index is dropped and rebuilt. Once the covering index is valid, the older
+ * (account_number, created_at) index it replaces is dropped. Instances coordinate through
+ * an advisory lock so only one of them builds or drops at a time.
+ */
+@Component
+public class StatementIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementIndexInitializer.class);
+
+    private static final String INDEX_NAME = "idx_ledger_account_statement";
+    private static final String REPLACED_INDEX_NAME = "idx_ledger_account_created_at";
+
+    private static final long LOCK_KEY = 0x4C45444745524958L; // "LEDGERIX"
+
+    private static final String CREATE_STATEMENT_INDEX_SQL =
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME + " " +
+                    "ON ledger_entries (account_number, created_at, entry_id) " +
+                    "INCLUDE (txn_id, entry_type, amount, balance_after, description)";
+
+    // null when the index does not exist
+    private static final String INDEX_VALID_SQL =
+            "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatementIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createStatementIndex() {
+        try {
+            // Advisory locks belong to the session, so every step runs on one connection
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    logger.info("Another instance is maintaining {}, skipping", INDEX_NAME);
+                    return null;
+                }
+                try {
+                    ensureStatementIndex(connection);
+                } finally {
+                    unlock(connection);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // Statements still work without it, just without the index-only scan
+            logger.warn("Failed to create statement index {}: {}", INDEX_NAME, e.getMessage(), e);
+        }
+    }
+
+    private void ensureStatementIndex(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (Boolean.FALSE.equals(isValid(connection, INDEX_NAME))) {
+                logger.warn("Statement index {} is INVALID after an interrupted build, rebuilding", INDEX_NAME);
+                statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME);
+            }
+            statement.execute(CREATE_STATEMENT_INDEX_SQL);
+
+            if (!Boolean.TRUE.equals(isValid(connection, INDEX_NAME))) {
+                logger.warn("Statement index {} is not valid, keeping {}", INDEX_NAME, REPLACED_INDEX_NAME);
+                return;
+            }
+            logger.info("Statement index {} is in place", INDEX_NAME);
+
+            if (isValid(connection, REPLACED_INDEX_NAME) != null) {
+                statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + REPLACED_INDEX_NAME);
+                logger.info("Dropped {}, superseded by {}", REPLACED_INDEX_NAME, INDEX_NAME);
+            }
+        }
+    }
+
+    private static Boolean isValid(Connection connection, String indexName) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INDEX_VALID_SQL)) {
+            ps.setString(1, indexName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            ps.execute();
+        }
+    }
+}
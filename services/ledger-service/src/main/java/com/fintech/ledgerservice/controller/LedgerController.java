@@ -0,0 +1,124 @@
+package com.fintech.ledgerservice.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fintech.ledgerservice.dto.response.AccountBalanceResponse;
+import com.fintech.ledgerservice.dto.response.StatementPage;
+import com.fintech.ledgerservice.service.StatementService;
+import com.fintech.security.annotation.FilterResponse;
+import com.fintech.security.annotation.RequireAuthorization;
+import com.fintech.security.model.AuthorizationContext;
+import com.fintech.security.util.AuthorizationContextHolder;
+import com.fintech.security.util.FieldFilterUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerController.class);
+
+    private final StatementService statementService;
+    private final FieldFilterUtil fieldFilterUtil;
+    private final ObjectWriter rowWriter;
+    private final ObjectMapper objectMapper;
+
+    public LedgerController(StatementService statementService, FieldFilterUtil fieldFilterUtil, ObjectMapper objectMapper) {
+        this.statementService = statementService;
+        this.fieldFilterUtil = fieldFilterUtil;
+        this.objectMapper = objectMapper;
+        // Rows are flushed with the generator's buffer, not one by one
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Get account balance, now or as of a point in time
+     */
+    @GetMapping("/accounts/{accountNumber}/balance")
+    @RequireAuthorization(message = "Access denied: Authentication required to view account balance", resourceType = "ledger")
+    @FilterResponse(resourceType = "ledger")
+    public ResponseEntity<?> getAccountBalance(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+
+        logger.info("Fetching balance for account: {} as of: {}", accountNumber, asOf);
+
+        AccountBalanceResponse balance = statementService.getBalance(accountNumber, asOf);
+        return ResponseEntity.ok(balance);
+    }
+
+    /**
+     * Get one page of an account statement, newest entries first.
+     * Follow nextCursor from the response to read further back.
+     */
+    @GetMapping("/accounts/{accountNumber}/statement")
+    @RequireAuthorization(message = "Access denied: Authentication required to view account statement", resourceType = "ledger")
+    @FilterResponse(resourceType = "ledger")
+    public ResponseEntity<?> getStatement(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        try {
+            StatementPage page = statementService.getStatement(accountNumber,
+                    from != null ? from : Instant.EPOCH, to != null ? to : Instant.now(), cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Invalid statement request", "reason", e.getMessage()));
+        }
+    }
+
+    /**
+     * Stream every entry of an account in a time range as a JSON array, oldest first.
+     * Meant for large ranges: rows are read in keyset pages and written page by page.
+     */
+    @GetMapping(value = "/accounts/{accountNumber}/statement/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @RequireAuthorization(message = "Access denied: Authentication required to export account statement", resourceType = "ledger")
+    public ResponseEntity<StreamingResponseBody> streamStatement(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+
+        Instant until = to != null ? to : Instant.now();
+        logger.info("Streaming statement for account: {} from: {} to: {}", accountNumber, from, until);
+
+        // The body is written on another thread, after the authorization filter has cleared its context
+        AuthorizationContext context = AuthorizationContextHolder.getContext();
+        // Same rule as @FilterResponse: full access skips field filtering
+        boolean filter = context == null || !context.hasFullAccess("ledger");
+
+        StreamingResponseBody body = out -> {
+            AuthorizationContextHolder.setContext(context);
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartArray();
+                statementService.streamStatement(accountNumber, from, until, entry -> {
+                    try {
+                        rowWriter.writeValue(gen, filter ? fieldFilterUtil.filterFields(entry, "ledger") : entry);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gen.writeEndArray();
+            } finally {
+                AuthorizationContextHolder.clearContext();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -1,15 +1,26 @@
 package com.fintech.ledgerservice.dto.response;
 
+import com.fintech.security.annotation.FieldAccessControl;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public class AccountBalanceResponse {
     
+    @FieldAccessControl(resourceType = "ledger", fieldName = "balanceId")
     private String balanceId;
+    @FieldAccessControl(resourceType = "ledger", fieldName = "accountNumber")
     private String accountId;
+    @FieldAccessControl(resourceType = "ledger", fieldName = "balance")
     private BigDecimal currentBalance;
+    @FieldAccessControl(resourceType = "ledger", fieldName = "balance")
     private BigDecimal availableBalance;
+    @FieldAccessControl(resourceType = "ledger", fieldName = "balance")
     private BigDecimal pendingBalance;
+    @FieldAccessControl(resourceType = "ledger", fieldName = "currency")
     private String currency;
+    @FieldAccessControl(resourceType = "ledger", fieldName = "asOf")
+    private Instant asOf;
 
     // Constructors
     public AccountBalanceResponse() {}
@@ -65,6 +76,14 @@ public class AccountBalanceResponse {
         this.pendingBalance = pendingBalance;
     }
 
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
     public String getCurrency() {
         return currency;
     }
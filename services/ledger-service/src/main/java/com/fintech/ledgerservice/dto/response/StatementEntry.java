@@ -0,0 +1,28 @@
+package com.fintech.ledgerservice.dto.response;
+
+import com.fintech.ledgerservice.entity.LedgerEntryType;
+import com.fintech.security.annotation.FieldAccessControl;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One line of an account statement
+ */
+public record StatementEntry(
+        @FieldAccessControl(resourceType = "ledger", fieldName = "entryId")
+        String entryId,
+        @FieldAccessControl(resourceType = "ledger", fieldName = "txnId")
+        String txnId,
+        @FieldAccessControl(resourceType = "ledger", fieldName = "entryType")
+        LedgerEntryType entryType,
+        @FieldAccessControl(resourceType = "ledger", fieldName = "amount")
+        BigDecimal amount,
+        @FieldAccessControl(resourceType = "ledger", fieldName = "balanceAfter")
+        BigDecimal balanceAfter,
+        @FieldAccessControl(resourceType = "ledger", fieldName = "description")
+        String description,
+        @FieldAccessControl(resourceType = "ledger", fieldName = "createdAt")
+        Instant createdAt
+) {
+}
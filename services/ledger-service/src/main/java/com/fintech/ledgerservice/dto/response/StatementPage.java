@@ -0,0 +1,18 @@
+package com.fintech.ledgerservice.dto.response;
+
+import com.fintech.security.annotation.FilteredContainer;
+
+import java.util.List;
+
+/**
+ * A page of an account statement, newest entries first.
+ * Pass nextCursor back to fetch the following page; it is null on the last page.
+ */
+@FilteredContainer
+public record StatementPage(
+        String accountNumber,
+        List<StatementEntry> entries,
+        String nextCursor,
+        boolean hasMore
+) {
+}
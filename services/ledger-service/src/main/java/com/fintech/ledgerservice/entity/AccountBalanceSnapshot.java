@@ -0,0 +1,85 @@
+package com.fintech.ledgerservice.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Running balance of one account as of its latest ledger entry.
+ * Written only by the ledger write pipeline, in the same transaction as the entries.
+ */
+@Entity
+@Table(name = "account_balance_snapshots")
+public class AccountBalanceSnapshot {
+
+    @Id
+    @Column(name = "account_number", nullable = false, length = 50)
+    private String accountNumber;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "last_entry_id", length = 20)
+    private String lastEntryId;
+
+    @Column(name = "last_entry_at")
+    private Instant lastEntryAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public AccountBalanceSnapshot() {
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public String getLastEntryId() {
+        return lastEntryId;
+    }
+
+    public void setLastEntryId(String lastEntryId) {
+        this.lastEntryId = lastEntryId;
+    }
+
+    public Instant getLastEntryAt() {
+        return lastEntryAt;
+    }
+
+    public void setLastEntryAt(Instant lastEntryAt) {
+        this.lastEntryAt = lastEntryAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
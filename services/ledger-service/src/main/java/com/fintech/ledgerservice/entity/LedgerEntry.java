@@ -10,6 +10,8 @@ import java.time.Instant;
 @Entity
 @Table(name = "ledger_entries", indexes = {
         @Index(name = "idx_ledger_txn_id", columnList = "txn_id"),
+        // One debit and one credit per transaction; a duplicate posting fails instead of double counting
+        @Index(name = "uk_ledger_txn_entry_type", columnList = "txn_id, entry_type", unique = true),
         @Index(name = "idx_ledger_created_at", columnList = "created_at"),
         @Index(name = "idx_ledger_entry_type", columnList = "entry_type")
 })
@@ -45,6 +47,11 @@ public class LedgerEntry {
     @FieldAccessControl(resourceType = "ledger", fieldName = "description")
     private String description;
 
+    // Account balance right after this entry, maintained by the ledger write pipeline
+    @Column(name = "balance_after", precision = 19, scale = 2)
+    @FieldAccessControl(resourceType = "ledger", fieldName = "balanceAfter")
+    private BigDecimal balanceAfter;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     @FieldAccessControl(resourceType = "ledger", fieldName = "createdAt")
@@ -121,6 +128,14 @@ public class LedgerEntry {
         this.description = description;
     }
 
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,82 @@
+package com.fintech.ledgerservice.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.ledgerservice.dto.message.TransactionCompletedMessage;
+import com.fintech.ledgerservice.service.LedgerService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Batch replacement for {@link TransactionCompletedEventListener}. Each poll of completed
+ * transactions is posted as one micro-batch: all debit/credit pairs and the running
+ * balances of the touched accounts are written in a single database transaction.
+ * Enabled with ledger.listener.batch-enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.listener.batch-enabled", havingValue = "true")
+public class BatchTransactionCompletedListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTransactionCompletedListener.class);
+
+    private final ObjectMapper objectMapper;
+    private final LedgerService ledgerService;
+
+    public BatchTransactionCompletedListener(ObjectMapper objectMapper, LedgerService ledgerService) {
+        this.objectMapper = objectMapper;
+        this.ledgerService = ledgerService;
+    }
+
+    @KafkaListener(topics = "${kafka.topics.transaction-completed}", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void onTransactionsCompleted(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+
+        logger.info("Processing batch of {} transaction completed events", records.size());
+
+        List<TransactionCompletedMessage> completed = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                TransactionCompletedMessage message = objectMapper.readValue(record.value(), TransactionCompletedMessage.class);
+                if (Objects.equals(message.getStatus(), "COMPLETED")) {
+                    completed.add(message);
+                }
+            } catch (Exception e) {
+                // Unparseable events can never be posted, log and skip them instead of blocking the partition
+                logger.error("Failed to parse transaction completed event from partition: {}, offset: {} - {}",
+                        record.partition(), record.offset(), e.getMessage(), e);
+            }
+        }
+
+        int posted;
+        try {
+            posted = ledgerService.recordCompletedTransactions(completed);
+        } catch (Exception e) {
+            logger.error("Batch posting failed for {} transactions, falling back to per-transaction posting - {}",
+                    completed.size(), e.getMessage(), e);
+            processIndividually(completed);
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        logger.info("Successfully posted {} of {} transactions to the ledger", posted, records.size());
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Fallback used when the batch transaction rolls back. A transaction that fails on its
+     * own is rethrown so the poll is redelivered rather than silently dropped from the ledger.
+     */
+    private void processIndividually(List<TransactionCompletedMessage> completed) {
+        for (TransactionCompletedMessage message : completed) {
+            ledgerService.createLedgerEntry(message);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fintech.ledgerservice.dto.message.TransactionCompletedMessage;
 import com.fintech.ledgerservice.service.LedgerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -16,6 +17,7 @@ import java.util.Objects;
 
 
 @Component
+@ConditionalOnProperty(name = "ledger.listener.batch-enabled", havingValue = "false", matchIfMissing = true)
 public class TransactionCompletedEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionCompletedEventListener.class);
@@ -0,0 +1,7 @@
+package com.fintech.ledgerservice.repository;
+
+import com.fintech.ledgerservice.entity.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, String> {
+}
@@ -0,0 +1,158 @@
+package com.fintech.ledgerservice.repository;
+
+import com.fintech.ledgerservice.entity.LedgerEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC writes for the ledger write pipeline. Entries and balance snapshots are written
+ * with JDBC batches, which the PostgreSQL driver turns into multi-row statements when
+ * reWriteBatchedInserts is set on the datasource.
+ */
+@Repository
+public class LedgerBatchRepository {
+
+    private static final String SIGNED_AMOUNT = "CASE WHEN entry_type = 'DEBIT' THEN -amount ELSE amount END";
+
+    private static final String FIND_RECORDED_TXN_IDS_SQL =
+            "SELECT DISTINCT txn_id FROM ledger_entries WHERE txn_id = ANY(?)";
+
+    // Accounts seen for the first time start from whatever the ledger already holds for them
+    private static final String CREATE_MISSING_SNAPSHOTS_SQL =
+            "INSERT INTO account_balance_snapshots (account_number, balance, entry_count, updated_at) " +
+                    "SELECT a.account_number, " +
+                    "COALESCE((SELECT SUM(" + SIGNED_AMOUNT + ") FROM ledger_entries le WHERE le.account_number = a.account_number), 0), " +
+                    "(SELECT COUNT(*) FROM ledger_entries le WHERE le.account_number = a.account_number), ? " +
+                    "FROM unnest(?) AS a(account_number) " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM account_balance_snapshots s WHERE s.account_number = a.account_number) " +
+                    "ORDER BY a.account_number " +
+                    "ON CONFLICT (account_number) DO NOTHING";
+
+    // Row locks are taken in account order so concurrent batches cannot deadlock
+    private static final String LOCK_SNAPSHOTS_SQL =
+            "SELECT account_number, balance FROM account_balance_snapshots " +
+                    "WHERE account_number = ANY(?) ORDER BY account_number FOR UPDATE";
+
+    private static final String INSERT_ENTRY_SQL =
+            "INSERT INTO ledger_entries (entry_id, txn_id, payment_id, account_number, entry_type, amount, " +
+                    "description, balance_after, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SNAPSHOT_SQL =
+            "UPDATE account_balance_snapshots SET balance = ?, entry_count = entry_count + ?, last_entry_id = ?, " +
+                    "last_entry_at = ?, updated_at = ? WHERE account_number = ?";
+
+    private static final String FIND_BALANCE_AFTER_SQL =
+            "SELECT balance_after FROM ledger_entries " +
+                    "WHERE account_number = ? AND created_at <= ? AND balance_after IS NOT NULL " +
+                    "ORDER BY created_at DESC, entry_id DESC LIMIT 1";
+
+    private static final String SUM_BALANCE_SQL =
+            "SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM ledger_entries " +
+                    "WHERE account_number = ? AND created_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Subset of the given transaction IDs that already have ledger entries
+     */
+    public Set<String> findRecordedTxnIds(Collection<String> txnIds) {
+        Set<String> recorded = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_RECORDED_TXN_IDS_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", txnIds.toArray()));
+            return ps;
+        }, rs -> {
+            recorded.add(rs.getString(1));
+        });
+        return recorded;
+    }
+
+    /**
+     * Create missing snapshots, then lock every snapshot row of the batch and return current balances
+     */
+    public Map<String, BigDecimal> lockBalances(List<String> sortedAccounts) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(CREATE_MISSING_SNAPSHOTS_SQL);
+            ps.setTimestamp(1, now);
+            ps.setArray(2, con.createArrayOf("varchar", sortedAccounts.toArray()));
+            return ps;
+        });
+
+        Map<String, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOCK_SNAPSHOTS_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", sortedAccounts.toArray()));
+            return ps;
+        }, rs -> {
+            balances.put(rs.getString(1), rs.getBigDecimal(2));
+        });
+        return balances;
+    }
+
+    public void insertEntries(List<LedgerEntry> entries, Instant createdAt) {
+        Timestamp timestamp = Timestamp.from(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getEntryId());
+            ps.setString(2, entry.getTxnId());
+            ps.setString(3, entry.getPaymentId());
+            ps.setString(4, entry.getAccountNumber());
+            ps.setString(5, entry.getEntryType().name());
+            ps.setBigDecimal(6, entry.getAmount());
+            ps.setString(7, entry.getDescription());
+            ps.setBigDecimal(8, entry.getBalanceAfter());
+            ps.setTimestamp(9, timestamp);
+        });
+    }
+
+    /**
+     * New running balance of one account after a batch
+     */
+    public record BalanceUpdate(String accountNumber, BigDecimal balance, int entries, String lastEntryId) {
+    }
+
+    public void updateBalances(List<BalanceUpdate> updates, Instant lastEntryAt) {
+        Timestamp entryTimestamp = Timestamp.from(lastEntryAt);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPDATE_SNAPSHOT_SQL, updates, updates.size(), (ps, update) -> {
+            ps.setBigDecimal(1, update.balance());
+            ps.setInt(2, update.entries());
+            ps.setString(3, update.lastEntryId());
+            ps.setTimestamp(4, entryTimestamp);
+            ps.setTimestamp(5, now);
+            ps.setString(6, update.accountNumber());
+        });
+    }
+
+    /**
+     * Running balance of the account's latest entry at or before the given time, or null
+     * if no entry before that time carries one
+     */
+    public BigDecimal findBalanceAfter(String accountNumber, Instant asOf) {
+        List<BigDecimal> balances = jdbcTemplate.queryForList(FIND_BALANCE_AFTER_SQL, BigDecimal.class,
+                accountNumber, Timestamp.from(asOf));
+        return balances.isEmpty() ? null : balances.get(0);
+    }
+
+    /**
+     * Full scan of the account's entries up to the given time, for history older than the running balances
+     */
+    public BigDecimal sumBalance(String accountNumber, Instant asOf) {
+        return jdbcTemplate.queryForObject(SUM_BALANCE_SQL, BigDecimal.class, accountNumber, Timestamp.from(asOf));
+    }
+}
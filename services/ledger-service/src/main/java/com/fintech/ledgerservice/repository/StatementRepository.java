@@ -0,0 +1,68 @@
+package com.fintech.ledgerservice.repository;
+
+import com.fintech.ledgerservice.dto.response.StatementEntry;
+import com.fintech.ledgerservice.entity.LedgerEntryType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Account statement reads over ledger_entries. Both queries walk the
+ * (account_number, created_at, entry_id) index and only select columns it covers.
+ */
+@Repository
+public class StatementRepository {
+
+    private static final String COLUMNS = "entry_id, txn_id, entry_type, amount, balance_after, description, created_at";
+
+    // Keyset page, newest first: rows strictly after the cursor position in (created_at, entry_id) order
+    private static final String PAGE_SQL =
+            "SELECT " + COLUMNS + " FROM ledger_entries " +
+                    "WHERE account_number = ? AND created_at >= ? AND (created_at, entry_id) < (?, ?) " +
+                    "ORDER BY created_at DESC, entry_id DESC LIMIT ?";
+
+    // Keyset page, oldest first: rows strictly after the cursor position and before "to"
+    private static final String RANGE_PAGE_SQL =
+            "SELECT " + COLUMNS + " FROM ledger_entries " +
+                    "WHERE account_number = ? AND (created_at, entry_id) > (?, ?) AND created_at < ? " +
+                    "ORDER BY created_at, entry_id LIMIT ?";
+
+    private static final RowMapper<StatementEntry> ROW_MAPPER = (rs, rowNum) -> new StatementEntry(
+            rs.getString(1),
+            rs.getString(2),
+            LedgerEntryType.valueOf(rs.getString(3)),
+            rs.getBigDecimal(4),
+            rs.getBigDecimal(5),
+            rs.getString(6),
+            rs.getTimestamp(7).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatementRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Up to limit entries in [from, to) positioned before (beforeCreatedAt, beforeEntryId), newest first.
+     * For the first page pass to and an empty entry ID.
+     */
+    public List<StatementEntry> findPage(String accountNumber, Instant from, Instant beforeCreatedAt,
+                                         String beforeEntryId, int limit) {
+        return jdbcTemplate.query(PAGE_SQL, ROW_MAPPER, accountNumber, Timestamp.from(from),
+                Timestamp.from(beforeCreatedAt), beforeEntryId, limit);
+    }
+
+    /**
+     * Up to limit entries before to, positioned after (afterCreatedAt, afterEntryId), oldest first.
+     * For the first page pass from and an empty entry ID.
+     */
+    public List<StatementEntry> findRangePage(String accountNumber, Instant afterCreatedAt, String afterEntryId,
+                                              Instant to, int limit) {
+        return jdbcTemplate.query(RANGE_PAGE_SQL, ROW_MAPPER, accountNumber, Timestamp.from(afterCreatedAt),
+                afterEntryId, Timestamp.from(to), limit);
+    }
+}
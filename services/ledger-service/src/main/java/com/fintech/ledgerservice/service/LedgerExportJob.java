@@ -0,0 +1,46 @@
+package com.fintech.ledgerservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly ledger export. Each run exports the closed days of the catch-up window that
+ * have no partition yet, so a missed night is filled in by the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.export.enabled", havingValue = "true")
+public class LedgerExportJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerExportJob.class);
+
+    private final LedgerExportService exportService;
+
+    @Value("${ledger.export.catch-up-days:7}")
+    private int catchUpDays;
+
+    public LedgerExportJob(LedgerExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Scheduled(cron = "${ledger.export.cron:0 30 0 * * *}", zone = "${ledger.export.zone:UTC}")
+    public void exportClosedDays() {
+        LocalDate today = LocalDate.now(exportService.getZone());
+        for (LocalDate day = today.minusDays(catchUpDays); day.isBefore(today); day = day.plusDays(1)) {
+            if (exportService.isExported(day)) {
+                continue;
+            }
+            try {
+                exportService.exportDay(day);
+            } catch (Exception e) {
+                // Later days are still attempted; this one is retried on the next run
+                logger.error("Ledger export for {} failed", day, e);
+            }
+        }
+    }
+}
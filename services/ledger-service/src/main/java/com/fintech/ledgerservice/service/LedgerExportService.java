@@ -0,0 +1,150 @@
+package com.fintech.ledgerservice.service;
+
+import com.fintech.common.ledger.LedgerRecord;
+import com.fintech.common.ledger.LedgerSegment;
+import com.fintech.common.ledger.LedgerSegmentWriter;
+import com.fintech.ledgerservice.repository.LedgerExportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Exports ledger_entries to columnar segment files, one directory per day holding one
+ * segment per account shard:
+ * <pre>
+ * {directory}/date=2025-01-31/shard-00.lseg ... shard-15.lseg
+ * </pre>
+ * A day is written into a hidden temporary directory and renamed into place once every
+ * segment is closed, so readers only ever see complete days and an existing day
+ * directory marks the day as exported. Heap use is bounded by one row group per shard.
+ */
+@Service
+public class LedgerExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerExportService.class);
+
+    private final LedgerExportRepository exportRepo;
+
+    @Value("${ledger.export.directory:/var/lib/ledger-export}")
+    private String directory;
+
+    @Value("${ledger.export.shards:16}")
+    private int shards;
+
+    @Value("${ledger.export.row-group-size:8192}")
+    private int rowGroupSize;
+
+    @Value("${ledger.export.zone:UTC}")
+    private String zone;
+
+    public LedgerExportService(LedgerExportRepository exportRepo) {
+        this.exportRepo = exportRepo;
+    }
+
+    public ZoneId getZone() {
+        return ZoneId.of(zone);
+    }
+
+    public boolean isExported(LocalDate day) {
+        return Files.isDirectory(partition(day));
+    }
+
+    /**
+     * Export every entry created on the given day, in the export zone.
+     *
+     * @return number of rows exported, or -1 if the day was already exported
+     */
+    @Transactional(readOnly = true)
+    public long exportDay(LocalDate day) throws IOException {
+        Path target = partition(day);
+        if (Files.isDirectory(target)) {
+            return -1;
+        }
+
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+        Path staging = root.resolve("." + target.getFileName() + "-" + UUID.randomUUID() + ".tmp");
+        Files.createDirectory(staging);
+
+        Instant from = day.atStartOfDay(getZone()).toInstant();
+        Instant to = day.plusDays(1).atStartOfDay(getZone()).toInstant();
+        long started = System.currentTimeMillis();
+        LedgerSegmentWriter[] writers = new LedgerSegmentWriter[shards];
+        long rows = 0;
+        try {
+            exportRepo.streamRange(from, to, record -> write(writers, staging, record));
+            // Every shard gets a segment, empty or not, so readers can rely on the layout
+            for (int shard = 0; shard < shards; shard++) {
+                if (writers[shard] == null) {
+                    writers[shard] = new LedgerSegmentWriter(staging.resolve(LedgerSegment.segmentName(shard)), rowGroupSize);
+                }
+                rows += writers[shard].rowCount();
+                writers[shard].close();
+            }
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (FileSystemException e) {
+            if (!Files.isDirectory(target)) {
+                throw e;
+            }
+            // Another instance finished the same day first
+            logger.info("Ledger export for {} already written by another instance", day);
+            return -1;
+        } finally {
+            for (LedgerSegmentWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+            deleteIfPresent(staging);
+        }
+
+        logger.info("Exported {} ledger entries for {} into {} shards in {} ms",
+                rows, day, shards, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    private void write(LedgerSegmentWriter[] writers, Path staging, LedgerRecord record) {
+        int shard = LedgerSegment.shardOf(record.accountNumber(), shards);
+        try {
+            if (writers[shard] == null) {
+                writers[shard] = new LedgerSegmentWriter(staging.resolve(LedgerSegment.segmentName(shard)), rowGroupSize);
+            }
+            writers[shard].write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path partition(LocalDate day) {
+        return Paths.get(directory, LedgerSegment.partitionName(day));
+    }
+
+    private static void deleteIfPresent(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
@@ -1,27 +1,50 @@
 package com.fintech.ledgerservice.service;
 
+import com.fintech.common.id.IdBlock;
+import com.fintech.common.id.SnowflakeIdGenerator;
 import com.fintech.ledgerservice.dto.message.TransactionCompletedMessage;
+import com.fintech.ledgerservice.entity.AccountBalanceSnapshot;
 import com.fintech.ledgerservice.entity.LedgerEntry;
 import com.fintech.ledgerservice.entity.LedgerEntryType;
+import com.fintech.ledgerservice.repository.AccountBalanceSnapshotRepository;
+import com.fintech.ledgerservice.repository.LedgerBatchRepository;
 import com.fintech.ledgerservice.repository.LedgerRepository;
-import com.fintech.ledgerservice.util.SnowflakeIdGenerator;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
 
 @Service
 public class LedgerService {
 
     private static final Logger logger = LoggerFactory.getLogger(LedgerService.class);
 
+    // Two entries per transaction must fit in a single ID reservation
+    private static final int MAX_TRANSACTIONS_PER_WRITE = SnowflakeIdGenerator.MAX_RESERVATION / 2;
+
     private final LedgerRepository ledgerRepo;
+    private final LedgerBatchRepository ledgerBatchRepo;
+    private final AccountBalanceSnapshotRepository snapshotRepo;
     private final SnowflakeIdGenerator snowflakeIdGenerator;
 
     public LedgerService(LedgerRepository ledgerRepo,
+                         LedgerBatchRepository ledgerBatchRepo,
+                         AccountBalanceSnapshotRepository snapshotRepo,
                          SnowflakeIdGenerator snowflakeIdGenerator) {
         this.ledgerRepo = ledgerRepo;
+        this.ledgerBatchRepo = ledgerBatchRepo;
+        this.snapshotRepo = snapshotRepo;
         this.snowflakeIdGenerator = snowflakeIdGenerator;
     }
 
@@ -42,7 +65,7 @@ public class LedgerService {
            AccountBalance credit = accountRepo.findById(creditAccountId).orElseGet(() -> {
                logger.info("Creating new account balance for creditAccountId: {}", creditAccountId);
                AccountBalance a = new AccountBalance();
-               a.setBalanceId(snowflakeIdGenerator.nextId());
+               a.setBalanceId(snowflakeIdGenerator.nextIdString());
                a.setAccountId(creditAccountId);
                a.setCurrentBalance(BigDecimal.ZERO);
                a.setAvailableBalance(BigDecimal.ZERO);
@@ -53,7 +76,7 @@ public class LedgerService {
 
            // Create ledger entries with Snowflake IDs
            LedgerEntry debitEntry = new LedgerEntry();
-           debitEntry.setEntryId(snowflakeIdGenerator.nextId());
+           debitEntry.setEntryId(snowflakeIdGenerator.nextIdString());
            debitEntry.setTxnId(txnId);
            debitEntry.setAccountId(debitAccountId);
            debitEntry.setEntryType("DEBIT");
@@ -61,7 +84,7 @@ public class LedgerService {
            debitEntry.setCurrency("USD");
 
            LedgerEntry creditEntry = new LedgerEntry();
-           creditEntry.setEntryId(snowflakeIdGenerator.nextId());
+           creditEntry.setEntryId(snowflakeIdGenerator.nextIdString());
            creditEntry.setTxnId(txnId);
            creditEntry.setAccountId(creditAccountId);
            creditEntry.setEntryType("CREDIT");
@@ -83,7 +106,7 @@ public class LedgerService {
 
            // Publish event
            LedgerEntryCreatedEvent event = new LedgerEntryCreatedEvent(
-               snowflakeIdGenerator.nextId(),
+               snowflakeIdGenerator.nextIdString(),
                txnId,
                debitAccountId,
                creditAccountId,
@@ -122,30 +145,116 @@ public class LedgerService {
                 transactionCompletedMessage.getToAccount(),
                 transactionCompletedMessage.getAmount());
 
-        // Create ledger entries with Snowflake IDs
-        LedgerEntry debitEntry = new LedgerEntry(snowflakeIdGenerator.nextId(),
-                transactionCompletedMessage.getTxnId(),
-                transactionCompletedMessage.getPaymentId(),
-                transactionCompletedMessage.getFromAccount(),
-                LedgerEntryType.DEBIT,
-                transactionCompletedMessage.getAmount(),
-                transactionCompletedMessage.getDescription());
+        recordCompletedTransactions(List.of(transactionCompletedMessage));
 
-        LedgerEntry creditEntry = new LedgerEntry(
-                snowflakeIdGenerator.nextId(),
-                transactionCompletedMessage.getTxnId(),
-                transactionCompletedMessage.getPaymentId(),
-                transactionCompletedMessage.getToAccount(),
-                LedgerEntryType.CREDIT,
-                transactionCompletedMessage.getAmount(),
-                transactionCompletedMessage.getDescription()
-        );
+        logger.info("Successfully processed double entry for txnId: {}", transactionCompletedMessage.getTxnId());
 
-        // Persist all changes
-        ledgerRepo.save(debitEntry);
-        ledgerRepo.save(creditEntry);
+    }
 
-        logger.info("Successfully processed double entry for txnId: {}", transactionCompletedMessage.getTxnId());
+    /**
+     * Write the debit/credit pairs of a batch of completed transactions and move the
+     * running balances of every touched account, all in one database transaction.
+     * Transactions that already have ledger entries are skipped, so a redelivered
+     * batch does not post twice. The check runs after the balance rows are locked, so a
+     * concurrent delivery of the same transaction has either committed or is waiting.
+     * The unique (txn_id, entry_type) index backs this up.
+     *
+     * @return number of transactions posted
+     */
+    @Transactional
+    public int recordCompletedTransactions(List<TransactionCompletedMessage> messages) {
+        Map<String, TransactionCompletedMessage> byTxnId = new LinkedHashMap<>();
+        for (TransactionCompletedMessage message : messages) {
+            byTxnId.putIfAbsent(message.getTxnId(), message);
+        }
+        if (byTxnId.isEmpty()) {
+            return 0;
+        }
+
+        // Snapshot rows stay locked until commit, so running balances are applied in commit order
+        Set<String> accounts = new TreeSet<>();
+        for (TransactionCompletedMessage message : byTxnId.values()) {
+            accounts.add(message.getFromAccount());
+            accounts.add(message.getToAccount());
+        }
+        Map<String, BigDecimal> balances = ledgerBatchRepo.lockBalances(new ArrayList<>(accounts));
+
+        ledgerBatchRepo.findRecordedTxnIds(byTxnId.keySet()).forEach(txnId -> {
+            logger.info("Skipping already recorded txnId: {}", txnId);
+            byTxnId.remove(txnId);
+        });
+        if (byTxnId.isEmpty()) {
+            return 0;
+        }
+
+        List<TransactionCompletedMessage> pending = new ArrayList<>(byTxnId.values());
+        for (int from = 0; from < pending.size(); from += MAX_TRANSACTIONS_PER_WRITE) {
+            post(pending.subList(from, Math.min(from + MAX_TRANSACTIONS_PER_WRITE, pending.size())), balances);
+        }
+        return pending.size();
+    }
+
+    /**
+     * Posts the messages on top of the locked balances, which are moved forward in place
+     */
+    private void post(List<TransactionCompletedMessage> messages, Map<String, BigDecimal> balances) {
+        // Create ledger entries with Snowflake IDs, one reservation for the whole batch
+        IdBlock ids = snowflakeIdGenerator.reserve(messages.size() * 2);
+        List<LedgerEntry> entries = new ArrayList<>(messages.size() * 2);
+        Set<String> accounts = new TreeSet<>();
+        for (TransactionCompletedMessage message : messages) {
+            entries.add(new LedgerEntry(ids.nextIdString(),
+                    message.getTxnId(),
+                    message.getPaymentId(),
+                    message.getFromAccount(),
+                    LedgerEntryType.DEBIT,
+                    message.getAmount(),
+                    message.getDescription()));
+            entries.add(new LedgerEntry(ids.nextIdString(),
+                    message.getTxnId(),
+                    message.getPaymentId(),
+                    message.getToAccount(),
+                    LedgerEntryType.CREDIT,
+                    message.getAmount(),
+                    message.getDescription()));
+            accounts.add(message.getFromAccount());
+            accounts.add(message.getToAccount());
+        }
+
+        Map<String, Integer> entryCounts = new HashMap<>();
+        Map<String, String> lastEntryIds = new HashMap<>();
+        for (LedgerEntry entry : entries) {
+            BigDecimal signed = entry.getEntryType() == LedgerEntryType.DEBIT ? entry.getAmount().negate() : entry.getAmount();
+            BigDecimal balance = balances.getOrDefault(entry.getAccountNumber(), BigDecimal.ZERO).add(signed);
+            balances.put(entry.getAccountNumber(), balance);
+            entry.setBalanceAfter(balance);
+            entryCounts.merge(entry.getAccountNumber(), 1, Integer::sum);
+            lastEntryIds.put(entry.getAccountNumber(), entry.getEntryId());
+        }
+
+        Instant createdAt = Instant.now();
+        ledgerBatchRepo.insertEntries(entries, createdAt);
+
+        List<LedgerBatchRepository.BalanceUpdate> updates = new ArrayList<>(accounts.size());
+        for (String account : accounts) {
+            updates.add(new LedgerBatchRepository.BalanceUpdate(account, balances.get(account),
+                    entryCounts.get(account), lastEntryIds.get(account)));
+        }
+        ledgerBatchRepo.updateBalances(updates, createdAt);
+    }
+
+    /**
+     * Balance of the account as of the given time. Recent times are answered from the
+     * account's snapshot, older ones from the running balance on the latest entry at or
+     * before that time; only history older than the running balances is summed.
+     */
+    public BigDecimal getBalanceAsOf(String accountNumber, Instant asOf) {
+        AccountBalanceSnapshot snapshot = snapshotRepo.findById(accountNumber).orElse(null);
+        if (snapshot != null && snapshot.getLastEntryAt() != null && !asOf.isBefore(snapshot.getLastEntryAt())) {
+            return snapshot.getBalance();
+        }
 
+        BigDecimal balance = ledgerBatchRepo.findBalanceAfter(accountNumber, asOf);
+        return balance != null ? balance : ledgerBatchRepo.sumBalance(accountNumber, asOf);
     }
 }
@@ -0,0 +1,134 @@
+package com.fintech.ledgerservice.service;
+
+import com.fintech.ledgerservice.dto.response.AccountBalanceResponse;
+import com.fintech.ledgerservice.dto.response.StatementEntry;
+import com.fintech.ledgerservice.dto.response.StatementPage;
+import com.fintech.ledgerservice.repository.StatementRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read side of the ledger: account statements and balances. Every read runs in a
+ * read-only transaction, which sends it to the read replica when one is configured.
+ */
+@Service
+public class StatementService {
+
+    private final StatementRepository statementRepo;
+    private final LedgerService ledgerService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${ledger.statement.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${ledger.statement.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${ledger.statement.stream-page-size:1000}")
+    private int streamPageSize;
+
+    public StatementService(StatementRepository statementRepo, LedgerService ledgerService,
+                            PlatformTransactionManager transactionManager) {
+        this.statementRepo = statementRepo;
+        this.ledgerService = ledgerService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * One page of the account's entries in [from, to), newest first
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public StatementPage getStatement(String accountNumber, Instant from, Instant to, String cursor, Integer size) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+
+        // An empty entry ID sorts before every real one, so the first page starts just below "to"
+        Cursor position = cursor == null || cursor.isEmpty() ? new Cursor(to, "") : Cursor.decode(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        List<StatementEntry> rows = statementRepo.findPage(accountNumber, from, position.createdAt(),
+                position.entryId(), limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<StatementEntry> entries = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            StatementEntry last = entries.get(entries.size() - 1);
+            nextCursor = new Cursor(last.createdAt(), last.entryId()).encode();
+        }
+        return new StatementPage(accountNumber, List.copyOf(entries), nextCursor, hasMore);
+    }
+
+    /**
+     * Every entry of the account in [from, to), oldest first, handed to the consumer page by page.
+     * Each keyset page is read in its own short transaction and written after it commits, so a
+     * slow client never keeps a transaction (or a replica snapshot) open.
+     */
+    public void streamStatement(String accountNumber, Instant from, Instant to, Consumer<StatementEntry> consumer) {
+        // An empty entry ID sorts before every real one, so the first page starts at "from"
+        Cursor position = new Cursor(from, "");
+        List<StatementEntry> rows;
+        do {
+            Cursor after = position;
+            rows = readOnlyTransaction.execute(status -> statementRepo.findRangePage(accountNumber,
+                    after.createdAt(), after.entryId(), to, streamPageSize));
+            rows.forEach(consumer);
+            if (!rows.isEmpty()) {
+                StatementEntry last = rows.get(rows.size() - 1);
+                position = new Cursor(last.createdAt(), last.entryId());
+            }
+        } while (rows.size() == streamPageSize);
+    }
+
+    /**
+     * Balance of the account now, or as of the given time
+     */
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getBalance(String accountNumber, Instant asOf) {
+        Instant at = asOf != null ? asOf : Instant.now();
+        BigDecimal balance = ledgerService.getBalanceAsOf(accountNumber, at);
+
+        AccountBalanceResponse response = new AccountBalanceResponse(null, accountNumber, balance, balance,
+                BigDecimal.ZERO, "USD");
+        response.setAsOf(at);
+        return response;
+    }
+
+    /**
+     * Keyset position: the (created_at, entry_id) of the last entry returned
+     */
+    record Cursor(Instant createdAt, String entryId) {
+
+        String encode() {
+            String position = createdAt + "|" + entryId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = position.indexOf('|');
+                if (separator <= 0 || separator == position.length() - 1) {
+                    throw new IllegalArgumentException("Malformed statement cursor");
+                }
+                return new Cursor(Instant.parse(position.substring(0, separator)), position.substring(separator + 1));
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Malformed statement cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fintech.ledgerservice.service;
+
+import com.fintech.common.id.SnowflakeIdGenerator;
+import com.fintech.ledgerservice.dto.message.TransactionCompletedMessage;
+import com.fintech.ledgerservice.entity.LedgerEntry;
+import com.fintech.ledgerservice.repository.AccountBalanceSnapshotRepository;
+import com.fintech.ledgerservice.repository.LedgerBatchRepository;
+import com.fintech.ledgerservice.repository.LedgerRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerServiceTest {
+
+    private final LedgerBatchRepository ledgerBatchRepo = mock(LedgerBatchRepository.class);
+    private final LedgerService ledgerService = new LedgerService(mock(LedgerRepository.class), ledgerBatchRepo,
+            mock(AccountBalanceSnapshotRepository.class), new SnowflakeIdGenerator(1));
+
+    @Test
+    void redeliveredTransactionIsCheckedUnderTheBalanceLocksAndSkipped() {
+        when(ledgerBatchRepo.lockBalances(anyList())).thenReturn(balances("A", "100.00", "B", "0.00"));
+        when(ledgerBatchRepo.findRecordedTxnIds(any())).thenReturn(Set.of("T1"));
+
+        int posted = ledgerService.recordCompletedTransactions(List.of(message("T1", "10.00")));
+
+        assertThat(posted).isZero();
+        InOrder order = inOrder(ledgerBatchRepo);
+        order.verify(ledgerBatchRepo).lockBalances(List.of("A", "B"));
+        order.verify(ledgerBatchRepo).findRecordedTxnIds(any());
+        verify(ledgerBatchRepo, never()).insertEntries(anyList(), any());
+        verify(ledgerBatchRepo, never()).updateBalances(anyList(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void duplicatesInsideOneBatchArePostedOnce() {
+        when(ledgerBatchRepo.lockBalances(anyList())).thenReturn(balances("A", "100.00", "B", "0.00"));
+        when(ledgerBatchRepo.findRecordedTxnIds(any())).thenReturn(Set.of());
+
+        int posted = ledgerService.recordCompletedTransactions(
+                List.of(message("T1", "10.00"), message("T1", "10.00"), message("T2", "5.00")));
+
+        assertThat(posted).isEqualTo(2);
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerBatchRepo).insertEntries(entries.capture(), any());
+        assertThat(entries.getValue()).hasSize(4);
+        assertThat(entries.getValue()).extracting(LedgerEntry::getBalanceAfter).containsExactly(
+                new BigDecimal("90.00"), new BigDecimal("10.00"), new BigDecimal("85.00"), new BigDecimal("15.00"));
+    }
+
+    private static TransactionCompletedMessage message(String txnId, String amount) {
+        return new TransactionCompletedMessage(txnId, "P-" + txnId, "u1", "A", "B", new BigDecimal(amount), null, "COMPLETED");
+    }
+
+    private static Map<String, BigDecimal> balances(String a, String aBalance, String b, String bBalance) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        balances.put(a, new BigDecimal(aBalance));
+        balances.put(b, new BigDecimal(bBalance));
+        return balances;
+    }
+}
@@ -0,0 +1,28 @@
+package com.fintech.paymentservice.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Index migrations for the payment tables. Hibernate still creates the tables, so the
+ * migration runs after the entity manager factory instead of through the Boot auto-config,
+ * and keeps its own history table apart from the authorization service sharing the database.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean(initMethod = "migrate")
+    public Flyway paymentFlyway(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .table("payment_schema_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .locations("classpath:db/migration")
+                .load();
+    }
+}
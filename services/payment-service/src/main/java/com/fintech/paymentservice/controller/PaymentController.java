@@ -8,6 +8,7 @@ import com.fintech.paymentservice.dto.response.BulkTransferResponse;
 import com.fintech.paymentservice.dto.response.PaymentHistoryResponse;
 import com.fintech.paymentservice.dto.response.PaymentInitiatedResponse;
 import com.fintech.paymentservice.entity.Payment;
+import com.fintech.paymentservice.service.BulkTransferService;
 import com.fintech.paymentservice.service.PaymentService;
 import com.fintech.security.annotation.FilterResponse;
 import com.fintech.security.annotation.RequireAuthorization;
@@ -28,10 +29,13 @@ public class PaymentController {
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
 
     private final PaymentService paymentService;
+    private final BulkTransferService bulkTransferService;
     private final AuthorizationService authorizationService;
 
-    public PaymentController(PaymentService paymentService, AuthorizationService authorizationService) {
+    public PaymentController(PaymentService paymentService, BulkTransferService bulkTransferService,
+                             AuthorizationService authorizationService) {
         this.paymentService = paymentService;
+        this.bulkTransferService = bulkTransferService;
         this.authorizationService = authorizationService;
     }
 
@@ -238,7 +242,7 @@ public class PaymentController {
         }
 
         try {
-            BulkTransferResponse response = paymentService.processBulkTransfers(request.transfers(), currentUserId);
+            BulkTransferResponse response = bulkTransferService.processBulkTransfers(request.transfers(), currentUserId);
             logger.info("Bulk transfer completed for user {}: {} successful, {} failed", 
                        currentUserId, response.successful(), response.failed());
             return ResponseEntity.ok(response);
@@ -2,14 +2,15 @@ package com.fintech.paymentservice.dto.request;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.util.List;
 
 public record BulkTransferRequest(
         @NotEmpty(message = "Transfer list cannot be empty")
-        @Size(max = 100, message = "Maximum 100 transfers allowed per bulk request")
+        @Size(max = 10000, message = "Maximum 10000 transfers allowed per bulk request")
         @Valid
-        List<InitiateRequest> transfers
+        List<@NotNull(message = "Transfer is empty") InitiateRequest> transfers
 ) {
 }
\ No newline at end of file
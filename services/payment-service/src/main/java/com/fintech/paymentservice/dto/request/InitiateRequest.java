@@ -3,20 +3,24 @@ package com.fintech.paymentservice.dto.request;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 
 public record InitiateRequest(
         @NotBlank(message = "From account is required")
+        @Size(max = 50, message = "From account must be at most 50 characters")
         String fromAccount,
 
         @NotBlank(message = "To account is required")
+        @Size(max = 50, message = "To account must be at most 50 characters")
         String toAccount,
 
         @NotNull(message = "Amount is required")
         @Positive(message = "Amount must be positive")
         BigDecimal amount,
 
+        @Size(max = 500, message = "Description must be at most 500 characters")
         String description
 ) {
 }
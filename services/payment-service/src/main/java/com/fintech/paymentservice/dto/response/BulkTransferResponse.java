@@ -1,7 +1,10 @@
 package com.fintech.paymentservice.dto.response;
 
+import com.fintech.security.annotation.FilteredContainer;
+
 import java.util.List;
 
+@FilteredContainer
 public record BulkTransferResponse(
         List<PaymentInitiatedResponse> successfulTransfers,
         List<BulkTransferError> failedTransfers,
@@ -9,6 +12,7 @@ public record BulkTransferResponse(
         int successful,
         int failed
 ) {
+    @FilteredContainer
     public record BulkTransferError(
             int index,
             String error,
@@ -1,9 +1,11 @@
 package com.fintech.paymentservice.dto.response;
 
 import com.fintech.paymentservice.entity.Payment;
+import com.fintech.security.annotation.FilteredContainer;
 
 import java.util.List;
 
+@FilteredContainer
 public record PaymentHistoryResponse(
         List<Payment> payments,
         int totalCount,
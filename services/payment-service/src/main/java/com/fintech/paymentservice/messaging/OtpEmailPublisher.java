@@ -8,6 +8,8 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class OtpEmailPublisher {
 
@@ -47,4 +49,28 @@ public class OtpEmailPublisher {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Publish many otp email notifications over a single channel
+     *
+     * @return number of notifications that could not be published
+     */
+    public int publishOtpEmails(List<OtpNotificationEvent> emailMessages) {
+        Integer failed = rabbitTemplate.invoke(operations -> {
+            int failures = 0;
+            for (OtpNotificationEvent emailMessage : emailMessages) {
+                try {
+                    operations.convertAndSend(notificationExchange, emailRoutingKey,
+                            objectMapper.writeValueAsString(emailMessage));
+                } catch (Exception e) {
+                    failures++;
+                    logger.error("Failed to publish transaction otp email notification", e);
+                }
+            }
+            return failures;
+        });
+
+        logger.info("Published {} transaction otp email notifications to exchange: {} with routing key: {}",
+                emailMessages.size() - failed, notificationExchange, emailRoutingKey);
+        return failed;
+    }
+}
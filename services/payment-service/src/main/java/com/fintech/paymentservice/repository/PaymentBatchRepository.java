@@ -0,0 +1,45 @@
+package com.fintech.paymentservice.repository;
+
+import com.fintech.paymentservice.entity.Payment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC batch writes for bulk transfers, where per-entity JPA saves would cost one round
+ * trip per payment. With reWriteBatchedInserts the driver sends each batch as multi-row inserts.
+ */
+@Repository
+public class PaymentBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO payments (payment_id, user_id, from_account, to_account, amount, description, " +
+                    "status, retry_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertAll(List<Payment> payments, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, payments, batchSize, (ps, payment) -> {
+            Timestamp createdAt = Timestamp.from(payment.getCreatedAt());
+            ps.setString(1, payment.getPaymentId());
+            ps.setString(2, payment.getUserId());
+            ps.setString(3, payment.getFromAccount());
+            ps.setString(4, payment.getToAccount());
+            ps.setBigDecimal(5, payment.getAmount());
+            ps.setString(6, payment.getDescription());
+            ps.setString(7, payment.getStatus().name());
+            ps.setInt(8, payment.getRetryCount());
+            ps.setTimestamp(9, createdAt);
+            ps.setTimestamp(10, createdAt);
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.fintech.paymentservice.repository;
+
+import com.fintech.paymentservice.model.PaymentStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Conditional status transitions of a payment, each a single statement. The status guard
+ * in the WHERE clause replaces read-modify-write, so concurrent calls cannot both move
+ * the same payment out of PENDING_VERIFICATION.
+ */
+@Repository
+public class PaymentStatusRepository {
+
+    // Authorizes the payment and queues its transaction initiate event in the outbox in one
+    // statement; the payload is the JSON of PaymentInitiatedEvent, keyed by payment ID
+    private static final String AUTHORIZE_AND_QUEUE_SQL =
+            "WITH authorized AS (" +
+                    "UPDATE payments SET status = 'AUTHORIZED', authorized_at = ?, updated_at = ? " +
+                    "WHERE payment_id = ? AND user_id = ? AND status = 'PENDING_VERIFICATION' " +
+                    "RETURNING payment_id, user_id, from_account, to_account, amount, description) " +
+                    "INSERT INTO outbox_events (topic, message_key, payload, created_at) " +
+                    "SELECT CAST(? AS varchar), payment_id, json_build_object('paymentId', payment_id, 'userId', user_id, " +
+                    "'fromAccount', from_account, 'toAccount', to_account, 'amount', amount, " +
+                    "'description', description)::text, CAST(? AS timestamptz) FROM authorized";
+
+    private static final String FAIL_SQL =
+            "UPDATE payments SET status = 'FAILED', failure_reason = ?, failed_at = ?, updated_at = ? " +
+                    "WHERE payment_id = ? AND user_id = ? AND status = 'PENDING_VERIFICATION'";
+
+    private static final String EXPIRE_SQL =
+            "UPDATE payments SET status = 'FAILED', failure_reason = ?, failed_at = ?, updated_at = ? " +
+                    "WHERE payment_id IN (SELECT payment_id FROM payments " +
+                    "WHERE status = 'PENDING_VERIFICATION' AND created_at < ? LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String STATUS_SQL =
+            "SELECT status FROM payments WHERE payment_id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentStatusRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Authorize a payment awaiting verification and queue its transaction initiate event on
+     * the given topic, atomically in a single statement
+     *
+     * @return false if the payment is not the user's or no longer awaits verification
+     */
+    public boolean authorizeAndQueue(String paymentId, String userId, String topic) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.update(AUTHORIZE_AND_QUEUE_SQL, now, now, paymentId, userId, topic, now) == 1;
+    }
+
+    /**
+     * Fail a payment awaiting verification
+     *
+     * @return false if the payment is not the user's or no longer awaits verification
+     */
+    public boolean fail(String paymentId, String userId, String reason) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.update(FAIL_SQL, reason, now, now, paymentId, userId) == 1;
+    }
+
+    /**
+     * Fail up to limit payments created before the cutoff that still await verification
+     *
+     * @return number of payments failed
+     */
+    public int expirePendingVerification(Instant createdBefore, String reason, int limit) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.update(EXPIRE_SQL, reason, now, now, Timestamp.from(createdBefore), limit);
+    }
+
+    public Optional<PaymentStatus> findStatus(String paymentId, String userId) {
+        return jdbcTemplate.query(STATUS_SQL, (rs, rowNum) -> PaymentStatus.valueOf(rs.getString(1)), paymentId, userId)
+                .stream().findFirst();
+    }
+}
@@ -0,0 +1,138 @@
+package com.fintech.paymentservice.service;
+
+import com.fintech.common.id.IdBlock;
+import com.fintech.common.id.SnowflakeIdGenerator;
+import com.fintech.paymentservice.dto.message.OtpNotificationEvent;
+import com.fintech.paymentservice.dto.request.InitiateRequest;
+import com.fintech.paymentservice.dto.response.BulkTransferResponse;
+import com.fintech.paymentservice.dto.response.BulkTransferResponse.BulkTransferError;
+import com.fintech.paymentservice.dto.response.PaymentInitiatedResponse;
+import com.fintech.paymentservice.entity.Payment;
+import com.fintech.paymentservice.messaging.OtpEmailPublisher;
+import com.fintech.paymentservice.model.PaymentStatus;
+import com.fintech.paymentservice.repository.PaymentBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Initiates a bulk transfer as one set-based pipeline instead of one initiate() per item:
+ * <ol>
+ *     <li>take payment IDs for every item from one reserved Snowflake block</li>
+ *     <li>store the OTPs with pipelined SET EX commands</li>
+ *     <li>insert the payments with batched statements in one transaction</li>
+ *     <li>publish the OTP notifications over a single channel once committed</li>
+ * </ol>
+ * Items are validated by {@code @Valid} on the request before they get here. OTPs are
+ * written before the insert so a committed payment always has one; OTPs of a failed
+ * insert simply expire.
+ */
+@Service
+public class BulkTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkTransferService.class);
+
+    private static final String INITIATED_MESSAGE =
+            "Payment initiated successfully. Please verify with OTP sent to your registered mobile number.";
+
+    private final PaymentBatchRepository paymentBatchRepository;
+    private final OtpService otpService;
+    private final OtpEmailPublisher otpEmailPublisher;
+    private final SnowflakeIdGenerator idGenerator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment.bulk.batch-size:1000}")
+    private int batchSize;
+
+    public BulkTransferService(PaymentBatchRepository paymentBatchRepository, OtpService otpService,
+                               OtpEmailPublisher otpEmailPublisher, SnowflakeIdGenerator idGenerator,
+                               TransactionTemplate transactionTemplate) {
+        this.paymentBatchRepository = paymentBatchRepository;
+        this.otpService = otpService;
+        this.otpEmailPublisher = otpEmailPublisher;
+        this.idGenerator = idGenerator;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public BulkTransferResponse processBulkTransfers(List<InitiateRequest> transfers, String currentUserId) {
+        long started = System.nanoTime();
+        logger.info("Processing bulk transfer of {} requests for user {}", transfers.size(), currentUserId);
+
+        List<BulkTransferError> failed = new ArrayList<>();
+        List<Payment> payments = toPayments(transfers, currentUserId);
+        List<PaymentInitiatedResponse> successful = new ArrayList<>(payments.size());
+        if (!payments.isEmpty()) {
+            try {
+                Map<String, String> otps = otpService.generateOtps(
+                        payments.stream().map(Payment::getPaymentId).toList(), currentUserId, batchSize);
+                transactionTemplate.executeWithoutResult(status -> paymentBatchRepository.insertAll(payments, batchSize));
+
+                payments.forEach(payment -> successful.add(toResponse(payment)));
+                publishOtps(payments, otps, currentUserId);
+            } catch (Exception e) {
+                logger.error("Bulk transfer of {} payments for user {} failed: {}", payments.size(), currentUserId,
+                        e.getMessage(), e);
+                for (int i = 0; i < payments.size(); i++) {
+                    failed.add(new BulkTransferError(i, "Transfer failed", e.getMessage()));
+                }
+            }
+        }
+
+        logger.info("Bulk transfer completed for user {}: {} successful, {} failed in {}ms", currentUserId,
+                successful.size(), failed.size(), (System.nanoTime() - started) / 1_000_000);
+        return new BulkTransferResponse(successful, failed, transfers.size(), successful.size(), failed.size());
+    }
+
+    private List<Payment> toPayments(List<InitiateRequest> transfers, String currentUserId) {
+        List<Payment> payments = new ArrayList<>(transfers.size());
+        Instant now = Instant.now();
+        IdBlock ids = null;
+        for (InitiateRequest request : transfers) {
+            if (ids == null || !ids.hasNext()) {
+                ids = idGenerator.reserve(Math.min(transfers.size() - payments.size(), SnowflakeIdGenerator.MAX_RESERVATION));
+            }
+            Payment payment = new Payment(ids.nextIdString(), currentUserId,
+                    request.fromAccount(), request.toAccount(), request.amount());
+            payment.setDescription(request.description());
+            payment.setStatus(PaymentStatus.PENDING_VERIFICATION);
+            payment.setCreatedAt(now);
+            payments.add(payment);
+        }
+        return payments;
+    }
+
+    private void publishOtps(List<Payment> payments, Map<String, String> otps, String currentUserId) {
+        List<OtpNotificationEvent> notifications = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            notifications.add(new OtpNotificationEvent(currentUserId, payment.getAmount().toString(),
+                    otps.get(payment.getPaymentId())));
+        }
+        try {
+            int failures = otpEmailPublisher.publishOtpEmails(notifications);
+            if (failures > 0) {
+                logger.error("Failed to send {} of {} OTP notifications for bulk transfer of user {}",
+                        failures, notifications.size(), currentUserId);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to send OTP notifications for bulk transfer of user {}", currentUserId, e);
+        }
+    }
+
+    private static PaymentInitiatedResponse toResponse(Payment payment) {
+        return new PaymentInitiatedResponse(payment.getPaymentId(),
+                payment.getFromAccount(),
+                payment.getToAccount(),
+                payment.getAmount(),
+                payment.getDescription(),
+                payment.getStatus(),
+                payment.getCreatedAt(),
+                INITIATED_MESSAGE);
+    }
+}
@@ -1,19 +1,26 @@
 package com.fintech.paymentservice.service;
 
-import com.fintech.paymentservice.dto.message.PaymentInitiatedEvent;
-import com.fintech.paymentservice.entity.Payment;
-import com.fintech.paymentservice.messaging.TransactionPublisher;
 import com.fintech.paymentservice.model.PaymentStatus;
-import com.fintech.paymentservice.repository.PaymentRepository;
+import com.fintech.paymentservice.repository.PaymentStatusRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -22,20 +29,69 @@ public class OtpService {
 
     private static final Logger logger = LoggerFactory.getLogger(OtpService.class);
 
-    private final PaymentRepository paymentRepository;
-
-    private final TransactionPublisher transactionPublisher;
-
     private static final String OTP_KEY_PREFIX = "otp:payment:";
+    private static final String ATTEMPTS_KEY_PREFIX = "otp:attempts:";
     private static final int OTP_EXPIRY_MINUTES = 5;
     private static final int OTP_LENGTH = 6;
 
+    /**
+     * Checks and consumes an OTP stored as "otp:owner". Wrong codes count against an attempts
+     * key that lives as long as the OTP; the last allowed attempt deletes the OTP. Returns the
+     * OTP's remaining TTL in ms when it matched (and was consumed), otherwise a VERIFY_* code.
+     */
+    private static final RedisScript<Long> VERIFY_SCRIPT = new DefaultRedisScript<>("""
+            local stored = redis.call('GET', KEYS[1])
+            if not stored then
+                return -1
+            end
+            local otp, owner = stored, ARGV[2]
+            local sep = string.find(stored, ':', 1, true)
+            if sep then
+                otp, owner = string.sub(stored, 1, sep - 1), string.sub(stored, sep + 1)
+            end
+            if owner ~= ARGV[2] then
+                return -3
+            end
+            if otp == ARGV[1] then
+                local ttl = redis.call('PTTL', KEYS[1])
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return math.max(ttl, 1)
+            end
+            local attempts = redis.call('INCR', KEYS[2])
+            if attempts == 1 then
+                redis.call('PEXPIRE', KEYS[2], math.max(redis.call('PTTL', KEYS[1]), 1))
+            end
+            if attempts >= tonumber(ARGV[3]) then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return -2
+            end
+            return 0
+            """, Long.class);
+
+    private static final long VERIFY_WRONG = 0;
+    private static final long VERIFY_MISSING = -1;
+    private static final long VERIFY_EXHAUSTED = -2;
+    private static final long VERIFY_NOT_OWNER = -3;
+
+    private final PaymentStatusRepository paymentStatusRepository;
     private final StringRedisTemplate redisTemplate;
     private final SecureRandom secureRandom;
 
-    public OtpService(PaymentRepository paymentRepository, TransactionPublisher transactionPublisher, StringRedisTemplate redisTemplate) {
-        this.paymentRepository = paymentRepository;
-        this.transactionPublisher = transactionPublisher;
+    @Value("${kafka.topics.transaction-initiate}")
+    private String transactionInitiateTopic;
+
+    @Value("${payment.otp.max-attempts:3}")
+    private int maxAttempts;
+
+    // Payments still awaiting verification this long after their OTP expired are failed
+    @Value("${payment.otp.expiry-grace-seconds:60}")
+    private long expiryGraceSeconds;
+
+    @Value("${payment.otp.expiry-sweep-batch-size:500}")
+    private int expirySweepBatchSize;
+
+    public OtpService(PaymentStatusRepository paymentStatusRepository, StringRedisTemplate redisTemplate) {
+        this.paymentStatusRepository = paymentStatusRepository;
         this.redisTemplate = redisTemplate;
         this.secureRandom = new SecureRandom();
     }
@@ -43,100 +99,117 @@ public class OtpService {
     /**
      * Generate and store OTP for payment verification
      */
-    public String generateOtp(String paymentId) {
+    public String generateOtp(String paymentId, String userId) {
         String otp = generateRandomOtp();
         String key = OTP_KEY_PREFIX + paymentId;
 
         // Store OTP in Redis with expiry
-        redisTemplate.opsForValue().set(key, otp, Duration.ofMinutes(OTP_EXPIRY_MINUTES));
+        redisTemplate.opsForValue().set(key, otp + ":" + userId, Duration.ofMinutes(OTP_EXPIRY_MINUTES));
 
         logger.info("OTP generated for payment: {} (expires in {} minutes)", paymentId, OTP_EXPIRY_MINUTES);
         return otp;
     }
 
     /**
-     * Validate OTP for payment
+     * Generate and store OTPs for many payments of one user, pipelining the SET EX commands in
+     * one round trip per chunk
+     *
+     * @return OTP per payment ID, in the order given
      */
-    private boolean validateOtp(String paymentId, String providedOtp) {
-        String key = OTP_KEY_PREFIX + paymentId;
-        String storedOtp = redisTemplate.opsForValue().get(key);
-
-        if (storedOtp == null) {
-            logger.warn("OTP not found or expired for payment: {}", paymentId);
-            return false;
+    public Map<String, String> generateOtps(List<String> paymentIds, String userId, int chunkSize) {
+        Map<String, String> otps = new LinkedHashMap<>(paymentIds.size() * 2);
+        for (String paymentId : paymentIds) {
+            otps.put(paymentId, generateRandomOtp());
         }
 
-        boolean isValid = storedOtp.equals(providedOtp);
-
-        if (isValid) {
-            // Delete OTP after successful verification
-            redisTemplate.delete(key);
-            logger.info("OTP verified successfully for payment: {}", paymentId);
-        } else {
-            logger.warn("Invalid OTP provided for payment: {}", paymentId);
+        Expiration expiration = Expiration.from(Duration.ofMinutes(OTP_EXPIRY_MINUTES));
+        List<Map.Entry<String, String>> entries = List.copyOf(otps.entrySet());
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<Map.Entry<String, String>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, String> entry : chunk) {
+                    connection.stringCommands().set(
+                            (OTP_KEY_PREFIX + entry.getKey()).getBytes(StandardCharsets.UTF_8),
+                            (entry.getValue() + ":" + userId).getBytes(StandardCharsets.UTF_8),
+                            expiration, RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
         }
 
-        return isValid;
+        logger.info("{} OTPs generated (expire in {} minutes)", otps.size(), OTP_EXPIRY_MINUTES);
+        return otps;
     }
 
     /**
-     * Verify OTP and authorize payment
+     * Verify OTP and authorize payment.
+     * <p>
+     * One script call checks and consumes the OTP and counts failed attempts; one statement then
+     * moves the payment out of PENDING_VERIFICATION and queues its transaction initiate event.
+     * A wrong OTP leaves the payment pending until the attempts run out. A missing OTP is only
+     * rejected: it may have just been consumed by a concurrent verify, and expired payments are
+     * failed by {@link #expireUnverifiedPayments()}.
      */
-    @Transactional
     public boolean verifyOtp(String paymentId, String providedOtp, String currentUserId) {
         logger.info("Verifying OTP for payment {} by user {}", paymentId, currentUserId);
 
-        Optional<Payment> paymentOpt = paymentRepository.findById(paymentId);
-        if (paymentOpt.isEmpty()) {
-            logger.warn("Payment not found: {}", paymentId);
+        String key = OTP_KEY_PREFIX + paymentId;
+        Long result = redisTemplate.execute(VERIFY_SCRIPT, List.of(key, ATTEMPTS_KEY_PREFIX + paymentId),
+                providedOtp, currentUserId, String.valueOf(maxAttempts));
+        long outcome = result != null ? result : VERIFY_MISSING;
+
+        if (outcome == VERIFY_NOT_OWNER) {
+            logger.warn("User {} trying to verify OTP for payment {} owned by another user", currentUserId, paymentId);
             return false;
         }
-
-        Payment payment = paymentOpt.get();
-
-        // Verify user ownership
-        if (!payment.getUserId().equals(currentUserId)) {
-            logger.warn("User {} trying to verify OTP for payment {} owned by {}", currentUserId, paymentId, payment.getUserId());
+        if (outcome == VERIFY_WRONG) {
+            logger.warn("Invalid OTP provided for payment: {}", paymentId);
             return false;
         }
-
-        // Check payment status
-        if (payment.getStatus() != PaymentStatus.PENDING_VERIFICATION) {
-            logger.warn("Payment {} is not in pending verification status: {}", paymentId, payment.getStatus());
+        if (outcome == VERIFY_MISSING) {
+            Optional<PaymentStatus> status = paymentStatusRepository.findStatus(paymentId, currentUserId);
+            logger.warn("No OTP for payment {} of user {}, payment status: {}", paymentId, currentUserId,
+                    status.map(Enum::name).orElse("NOT_FOUND"));
             return false;
         }
-
-        // Verify OTP
-        boolean otpValid = validateOtp(paymentId, providedOtp);
-        if (!otpValid) {
-            logger.warn("Invalid OTP provided for payment: {}", paymentId);
-
-            //fail the payment
-            payment.setStatus(PaymentStatus.FAILED);
-            payment.setFailureReason("Invalid OTP");
-            payment.setFailedAt(Instant.now());
-            paymentRepository.save(payment);
-
+        if (outcome == VERIFY_EXHAUSTED) {
+            if (paymentStatusRepository.fail(paymentId, currentUserId, "Invalid OTP")) {
+                logger.warn("Payment {} failed: OTP attempts exhausted", paymentId);
+            }
             return false;
         }
 
-        // Update payment status to authorized
-        payment.setStatus(PaymentStatus.AUTHORIZED);
-        payment.setAuthorizedAt(Instant.now());
-        paymentRepository.save(payment);
-        logger.info("OTP verified successfully for payment: {}", paymentId);
-
-        try { // Publish OTP verified event
-            PaymentInitiatedEvent paymentInitiatedEvent = new PaymentInitiatedEvent(payment.getPaymentId(),
-                    payment.getUserId(), payment.getFromAccount(),
-                    payment.getToAccount(), payment.getAmount(),
-                    payment.getDescription());
-            transactionPublisher.publishTransactionInitiate(paymentInitiatedEvent);
-            return true;
-        } catch (Exception e) {
-            logger.error("Error while sending event to transaction service with paymentId: {}", paymentId, e);
+        boolean authorized;
+        try {
+            authorized = paymentStatusRepository.authorizeAndQueue(paymentId, currentUserId, transactionInitiateTopic);
+        } catch (RuntimeException e) {
+            // Put the consumed OTP back so the user can verify again
+            redisTemplate.opsForValue().setIfAbsent(key, providedOtp + ":" + currentUserId,
+                    Duration.ofMillis(outcome));
+            throw e;
+        }
+        if (!authorized) {
+            logger.warn("Payment {} is not awaiting verification by user {}", paymentId, currentUserId);
             return false;
         }
+
+        logger.info("OTP verified successfully for payment: {}, transaction initiate queued", paymentId);
+        return true;
+    }
+
+    /**
+     * Fail payments whose OTP expired without being verified
+     */
+    @Scheduled(fixedDelayString = "${payment.otp.expiry-sweep-interval-ms:60000}")
+    public void expireUnverifiedPayments() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(OTP_EXPIRY_MINUTES)).minusSeconds(expiryGraceSeconds);
+        int expired;
+        do {
+            expired = paymentStatusRepository.expirePendingVerification(cutoff, "OTP expired", expirySweepBatchSize);
+            if (expired > 0) {
+                logger.info("Failed {} payments whose OTP expired", expired);
+            }
+        } while (expired == expirySweepBatchSize);
     }
 
     /**
@@ -162,4 +235,4 @@ public class OtpService {
         }
         return otp.toString();
     }
-}
\ No newline at end of file
+}
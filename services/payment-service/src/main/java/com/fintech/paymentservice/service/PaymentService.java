@@ -1,15 +1,14 @@
 package com.fintech.paymentservice.service;
 
+import com.fintech.common.id.SnowflakeIdGenerator;
 import com.fintech.paymentservice.dto.message.OtpNotificationEvent;
 import com.fintech.paymentservice.dto.message.TransactionCompletedMessage;
 import com.fintech.paymentservice.dto.request.InitiateRequest;
 import com.fintech.paymentservice.dto.response.PaymentInitiatedResponse;
 import com.fintech.paymentservice.entity.Payment;
 import com.fintech.paymentservice.messaging.OtpEmailPublisher;
-import com.fintech.paymentservice.messaging.TransactionPublisher;
 import com.fintech.paymentservice.model.PaymentStatus;
 import com.fintech.paymentservice.repository.PaymentRepository;
-import com.fintech.paymentservice.util.SnowflakeIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -36,7 +35,7 @@ public class PaymentService {
 
     private final SnowflakeIdGenerator idGenerator;
 
-    public PaymentService(PaymentRepository paymentRepository, StringRedisTemplate redis, TransactionPublisher eventPublisher, OtpEmailPublisher otpEmailPublisher, OtpService otpService, SnowflakeIdGenerator idGenerator) {
+    public PaymentService(PaymentRepository paymentRepository, StringRedisTemplate redis, OtpEmailPublisher otpEmailPublisher, OtpService otpService, SnowflakeIdGenerator idGenerator) {
         this.paymentRepository = paymentRepository;
         this.redis = redis;
         this.otpEmailPublisher = otpEmailPublisher;
@@ -52,7 +51,7 @@ public class PaymentService {
         logger.info("Initiating payment for user {} from {} to {} amount {}", currentUserId, request.fromAccount(), request.toAccount(), request.amount());
 
         // Generate unique payment ID using Snowflake
-        String paymentId = idGenerator.generateStringId();
+        String paymentId = idGenerator.nextIdString();
 
         // Create payment entity
         Payment payment = new Payment();
@@ -69,7 +68,7 @@ public class PaymentService {
         payment = paymentRepository.save(payment);
 
         // Generate OTP for verification
-        String otp = otpService.generateOtp(paymentId);
+        String otp = otpService.generateOtp(paymentId, currentUserId);
 
         /// send otp to useId with amount
         try {
@@ -259,7 +258,7 @@ public class PaymentService {
     public PaymentInitiatedResponse deposit(String account, BigDecimal amount, String description, String currentUserId) {
         logger.info("Processing deposit for user {} to account {} amount {}", currentUserId, account, amount);
 
-        String paymentId = idGenerator.generateStringId();
+        String paymentId = idGenerator.nextIdString();
 
         Payment payment = new Payment();
         payment.setPaymentId(paymentId);
@@ -275,7 +274,7 @@ public class PaymentService {
         payment = paymentRepository.save(payment);
 
         // Generate OTP for verification
-        String otp = otpService.generateOtp(paymentId);
+        String otp = otpService.generateOtp(paymentId, currentUserId);
 
         try {
             otpEmailPublisher.publishOtpEmail(new OtpNotificationEvent(currentUserId, amount.toString(), otp));
@@ -303,7 +302,7 @@ public class PaymentService {
     public PaymentInitiatedResponse withdraw(String account, BigDecimal amount, String description, String currentUserId) {
         logger.info("Processing withdrawal for user {} from account {} amount {}", currentUserId, account, amount);
 
-        String paymentId = idGenerator.generateStringId();
+        String paymentId = idGenerator.nextIdString();
 
         Payment payment = new Payment();
         payment.setPaymentId(paymentId);
@@ -319,7 +318,7 @@ public class PaymentService {
         payment = paymentRepository.save(payment);
 
         // Generate OTP for verification
-        String otp = otpService.generateOtp(paymentId);
+        String otp = otpService.generateOtp(paymentId, currentUserId);
 
         try {
             otpEmailPublisher.publishOtpEmail(new OtpNotificationEvent(currentUserId, amount.toString(), otp));
@@ -374,36 +373,4 @@ public class PaymentService {
         logger.info("Payment {} successfully cancelled by user {}", paymentId, currentUserId);
         return true;
     }
-
-    /**
-     * Process bulk transfers
-     */
-    @Transactional
-    public com.fintech.paymentservice.dto.response.BulkTransferResponse processBulkTransfers(
-            java.util.List<InitiateRequest> transfers, String currentUserId) {
-        
-        logger.info("Processing bulk transfer of {} requests for user {}", transfers.size(), currentUserId);
-        
-        java.util.List<PaymentInitiatedResponse> successful = new java.util.ArrayList<>();
-        java.util.List<com.fintech.paymentservice.dto.response.BulkTransferResponse.BulkTransferError> failed = new java.util.ArrayList<>();
-        
-        for (int i = 0; i < transfers.size(); i++) {
-            try {
-                InitiateRequest request = transfers.get(i);
-                PaymentInitiatedResponse response = initiate(request, currentUserId);
-                successful.add(response);
-                logger.debug("Bulk transfer {} of {} successful: {}", i + 1, transfers.size(), response.paymentId());
-            } catch (Exception e) {
-                logger.error("Bulk transfer {} of {} failed: {}", i + 1, transfers.size(), e.getMessage());
-                failed.add(new com.fintech.paymentservice.dto.response.BulkTransferResponse.BulkTransferError(
-                    i, "Transfer failed", e.getMessage()));
-            }
-        }
-        
-        logger.info("Bulk transfer completed for user {}: {} successful, {} failed", 
-                   currentUserId, successful.size(), failed.size());
-        
-        return new com.fintech.paymentservice.dto.response.BulkTransferResponse(
-            successful, failed, transfers.size(), successful.size(), failed.size());
-    }
 }
@@ -0,0 +1,5 @@
+-- Expiry sweep over payments still waiting for their OTP (status + created_at). Partial, so
+-- the index only holds the few pending rows rather than the whole payment history
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payments_pending_verification_created_at
+    ON payments (created_at) WHERE status = 'PENDING_VERIFICATION';
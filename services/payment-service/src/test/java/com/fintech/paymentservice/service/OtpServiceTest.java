@@ -0,0 +1,91 @@
+package com.fintech.paymentservice.service;
+
+import com.fintech.paymentservice.model.PaymentStatus;
+import com.fintech.paymentservice.repository.PaymentStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OtpServiceTest {
+
+    private static final String PAYMENT_ID = "p1";
+    private static final String USER_ID = "u1";
+    private static final String OTP = "123456";
+    private static final String TOPIC = "fintech.transaction.initiate";
+
+    private final PaymentStatusRepository paymentStatusRepository = mock(PaymentStatusRepository.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    private OtpService otpService;
+
+    @BeforeEach
+    void setUp() {
+        otpService = new OtpService(paymentStatusRepository, redisTemplate);
+        ReflectionTestUtils.setField(otpService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(otpService, "transactionInitiateTopic", TOPIC);
+    }
+
+    @Test
+    void concurrentVerifyLoserDoesNotFailTheAuthorizedPayment() {
+        when(paymentStatusRepository.authorizeAndQueue(PAYMENT_ID, USER_ID, TOPIC)).thenReturn(true);
+        when(paymentStatusRepository.findStatus(PAYMENT_ID, USER_ID)).thenReturn(Optional.of(PaymentStatus.AUTHORIZED));
+        // The script consumes the OTP for the first caller; the second finds it gone
+        givenScriptReturns(250_000L, -1L);
+
+        boolean winner = otpService.verifyOtp(PAYMENT_ID, OTP, USER_ID);
+        boolean loser = otpService.verifyOtp(PAYMENT_ID, OTP, USER_ID);
+
+        assertThat(winner).isTrue();
+        assertThat(loser).isFalse();
+        verify(paymentStatusRepository).authorizeAndQueue(PAYMENT_ID, USER_ID, TOPIC);
+        verify(paymentStatusRepository, never()).fail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void missingOtpIsRejectedWithoutFailingThePayment() {
+        when(paymentStatusRepository.findStatus(PAYMENT_ID, USER_ID))
+                .thenReturn(Optional.of(PaymentStatus.PENDING_VERIFICATION));
+        givenScriptReturns(-1L);
+
+        assertThat(otpService.verifyOtp(PAYMENT_ID, OTP, USER_ID)).isFalse();
+        verify(paymentStatusRepository, never()).fail(anyString(), anyString(), anyString());
+        verify(paymentStatusRepository, never()).authorizeAndQueue(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void exhaustedAttemptsFailThePayment() {
+        givenScriptReturns(-2L);
+
+        assertThat(otpService.verifyOtp(PAYMENT_ID, OTP, USER_ID)).isFalse();
+        verify(paymentStatusRepository).fail(PAYMENT_ID, USER_ID, "Invalid OTP");
+    }
+
+    @Test
+    void paymentNoLongerPendingQueuesNoEvent() {
+        when(paymentStatusRepository.authorizeAndQueue(PAYMENT_ID, USER_ID, TOPIC)).thenReturn(false);
+        givenScriptReturns(250_000L);
+
+        assertThat(otpService.verifyOtp(PAYMENT_ID, OTP, USER_ID)).isFalse();
+        verify(paymentStatusRepository, never()).fail(anyString(), anyString(), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenScriptReturns(Long first, Long... rest) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq(OTP), eq(USER_ID), eq("3")))
+                .thenReturn(first, rest);
+    }
+}
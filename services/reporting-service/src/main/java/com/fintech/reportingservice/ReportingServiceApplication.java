@@ -11,6 +11,7 @@ import java.util.TimeZone;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 @EnableKafka
 @EnableJpaRepositories
 public class ReportingServiceApplication {
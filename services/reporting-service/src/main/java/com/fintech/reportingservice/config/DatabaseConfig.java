@@ -1,7 +1,9 @@
 package com.fintech.reportingservice.config;
 
+import com.fintech.common.concurrent.VirtualThreads;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -12,7 +14,10 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 public class DatabaseConfig {
 
     @Bean(name = "reportTaskExecutor")
-    public TaskExecutor reportTaskExecutor() {
+    public TaskExecutor reportTaskExecutor(Environment environment) {
+        if (VirtualThreads.isEnabled(environment)) {
+            return VirtualThreads.newTaskExecutor("ReportService-", -1);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(20);
@@ -24,6 +29,10 @@ public class DatabaseConfig {
         return executor;
     }
 
+    /**
+     * Stays a small platform pool in virtual-thread mode: each report holds a database cursor
+     * and a file for minutes, so the pool size is the limit on concurrent generations
+     */
     @Bean(name = "reportGenerationExecutor")
     public TaskExecutor reportGenerationExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
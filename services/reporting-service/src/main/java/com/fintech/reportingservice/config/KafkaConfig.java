@@ -1,16 +1,22 @@
 package com.fintech.reportingservice.config;
 
+import com.fintech.common.kafka.AdaptiveConsumerController;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,6 +33,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:reporting-service}")
     private String groupId;
 
+    @Value("${reporting.rollup.batch-size:1000}")
+    private int rollupBatchSize;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -46,6 +55,7 @@ public class KafkaConfig {
     }
 
     @Bean
+    @Primary
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -64,14 +74,52 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ObjectProvider<AdaptiveConsumerController> adaptiveConsumers) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.setConcurrency(5);
+        // Concurrency and max.poll.records then adapt to lag within kafka.adaptive.default.* bounds
+        adaptiveConsumers.ifAvailable(adaptive -> adaptive.apply(factory, "default", 5));
 
         // Enable manual acknowledgment
         factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
 
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * Raw JSON consumer for the rollup ingestion; large polls mean fewer, larger upsert batches
+     */
+    @Bean
+    public ConsumerFactory<String, String> batchConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, rollupBatchSize);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 16384);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 200);
+
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory(
+            ObjectProvider<AdaptiveConsumerController> adaptiveConsumers) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(3);
+        // Concurrency and max.poll.records then adapt to lag within kafka.adaptive.batch.* bounds
+        adaptiveConsumers.ifAvailable(adaptive -> adaptive.apply(factory, "batch", 3));
+
+        // One acknowledgment per merged poll; a failed merge is retried, it never reaches the rollups half applied
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, FixedBackOff.UNLIMITED_ATTEMPTS)));
+
+        return factory;
+    }
+}
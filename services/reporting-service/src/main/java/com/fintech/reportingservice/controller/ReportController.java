@@ -0,0 +1,175 @@
+package com.fintech.reportingservice.controller;
+
+import com.fintech.reportingservice.dto.request.CreateReportRequest;
+import com.fintech.reportingservice.entity.Report;
+import com.fintech.reportingservice.model.ReportFormat;
+import com.fintech.reportingservice.model.RollupGranularity;
+import com.fintech.reportingservice.service.ReportGenerationService;
+import com.fintech.reportingservice.service.TransactionReportService;
+import com.fintech.security.annotation.RequireAuthorization;
+import com.fintech.security.util.AuthorizationContextHolder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reporting/reports")
+public class ReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+
+    // Tomcat request attributes for serving a file with sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final TransactionReportService transactionReportService;
+    private final ReportGenerationService reportGenerationService;
+
+    public ReportController(TransactionReportService transactionReportService,
+                            ReportGenerationService reportGenerationService) {
+        this.transactionReportService = transactionReportService;
+        this.reportGenerationService = reportGenerationService;
+    }
+
+    /**
+     * Queue generation of a report file; poll the returned report for progress
+     */
+    @PostMapping
+    @RequireAuthorization(message = "Access denied: Authentication required to generate reports", resourceType = "reporting")
+    public ResponseEntity<?> createReport(@RequestBody CreateReportRequest request) {
+        String userId = AuthorizationContextHolder.getCurrentUserId();
+        logger.info("Report requested by: {} type: {} format: {}", userId, request.reportType(), request.reportFormat());
+        try {
+            Report report = reportGenerationService.submit(request, userId);
+            return ResponseEntity.accepted().body(reportGenerationService.toStatus(report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Invalid report request", "reason", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Report generation unavailable", "reason", e.getMessage()));
+        }
+    }
+
+    /**
+     * Status of a report, with rows written and throughput while it is being generated
+     */
+    @GetMapping("/{reportId}")
+    @RequireAuthorization(message = "Access denied: Authentication required to view reports", resourceType = "reporting")
+    public ResponseEntity<?> getReport(@PathVariable String reportId) {
+        return reportGenerationService.findReport(reportId)
+                .filter(this::canAccess)
+                .<ResponseEntity<?>>map(report -> ResponseEntity.ok(reportGenerationService.toStatus(report)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Download a completed report file. Tomcat sends it with sendfile when the connector
+     * supports it; otherwise the file channel is transferred straight to the response.
+     */
+    @GetMapping("/{reportId}/download")
+    @RequireAuthorization(message = "Access denied: Authentication required to download reports", resourceType = "reporting")
+    public void downloadReport(@PathVariable String reportId, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Report report = reportGenerationService.findReport(reportId).filter(this::canAccess).orElse(null);
+        if (report == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (!report.isReadyForDownload()) {
+            response.sendError(HttpStatus.CONFLICT.value(), "Report is " + report.getReportStatus()
+                    + (report.isExpired() ? " and expired" : ""));
+            return;
+        }
+        Path file = reportGenerationService.fileOf(report);
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpStatus.GONE.value(), "Report file is no longer available");
+            return;
+        }
+
+        long size = Files.size(file);
+        response.setContentType(report.getReportFormat() == ReportFormat.EXCEL
+                ? "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" : "application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + file.getFileName() + "\"");
+        response.setContentLengthLong(size);
+        reportGenerationService.recordDownload(reportId);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private boolean canAccess(Report report) {
+        return AuthorizationContextHolder.isCurrentUserAdmin()
+                || AuthorizationContextHolder.isCurrentUserOwner(report.getCreatedBy());
+    }
+
+    /**
+     * TRANSACTION_SUMMARY: transaction counts and amounts over a time range, per MINUTE, HOUR or DAY
+     */
+    @GetMapping("/transaction-summary")
+    @RequireAuthorization(message = "Access denied: Authentication required to view transaction summary", resourceType = "reporting")
+    public ResponseEntity<?> getTransactionSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) RollupGranularity granularity) {
+
+        logger.info("Transaction summary from: {} to: {} by: {}", from, to, granularity);
+        try {
+            return ResponseEntity.ok(transactionReportService.transactionSummary(
+                    from, to != null ? to : Instant.now(), granularity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Invalid transaction summary request", "reason", e.getMessage()));
+        }
+    }
+
+    /**
+     * PAYMENT_ANALYSIS: success rate, amounts and most active users and accounts over a time range
+     */
+    @GetMapping("/payment-analysis")
+    @RequireAuthorization(message = "Access denied: Authentication required to view payment analysis", resourceType = "reporting")
+    public ResponseEntity<?> getPaymentAnalysis(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer top) {
+
+        logger.info("Payment analysis from: {} to: {}", from, to);
+        try {
+            return ResponseEntity.ok(transactionReportService.paymentAnalysis(
+                    from, to != null ? to : Instant.now(), top));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Invalid payment analysis request", "reason", e.getMessage()));
+        }
+    }
+}
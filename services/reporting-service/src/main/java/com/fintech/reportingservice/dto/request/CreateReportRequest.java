@@ -0,0 +1,18 @@
+package com.fintech.reportingservice.dto.request;
+
+import com.fintech.reportingservice.model.ReportFormat;
+import com.fintech.reportingservice.model.ReportType;
+
+import java.util.Map;
+
+/**
+ * Request to generate a report file. See ReportSourceFactory for the parameters of each type.
+ */
+public record CreateReportRequest(
+        ReportType reportType,
+        ReportFormat reportFormat,
+        String reportName,
+        String description,
+        Map<String, String> parameters
+) {
+}
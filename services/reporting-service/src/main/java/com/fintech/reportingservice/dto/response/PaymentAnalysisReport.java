@@ -0,0 +1,32 @@
+package com.fintech.reportingservice.dto.response;
+
+import com.fintech.reportingservice.model.ReportType;
+import com.fintech.reportingservice.model.RollupGranularity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * PAYMENT_ANALYSIS report over [from, to): outcome rates, amounts and the most active
+ * users and accounts by completed amount. from and to are widened to bucket boundaries.
+ */
+public record PaymentAnalysisReport(
+        ReportType reportType,
+        RollupGranularity granularity,
+        Instant from,
+        Instant to,
+        RollupBucket totals,
+        double successRate,
+        BigDecimal averageAmount,
+        List<UserActivity> topUsers,
+        List<AccountActivity> topAccounts
+) {
+
+    public record UserActivity(String userId, long txnCount, long failedCount, BigDecimal completedAmount) {
+    }
+
+    public record AccountActivity(String accountNumber, long debitCount, BigDecimal debitAmount,
+                                  long creditCount, BigDecimal creditAmount, long failedCount) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.fintech.reportingservice.dto.response;
+
+import com.fintech.reportingservice.model.ReportFormat;
+import com.fintech.reportingservice.model.ReportStatus;
+import com.fintech.reportingservice.model.ReportType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of a generated report. While the report is in progress, recordCount and
+ * fileSizeBytes are the rows and bytes written so far.
+ */
+public record ReportStatusResponse(
+        String reportId,
+        String reportName,
+        ReportType reportType,
+        ReportFormat reportFormat,
+        ReportStatus status,
+        Long recordCount,
+        Long fileSizeBytes,
+        Long rowsPerSecond,
+        Long generationTimeMs,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        LocalDateTime expiresAt
+) {
+}
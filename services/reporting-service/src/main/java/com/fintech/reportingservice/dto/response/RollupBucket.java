@@ -0,0 +1,18 @@
+package com.fintech.reportingservice.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Transaction totals of one rollup bucket, or of a whole report range
+ */
+public record RollupBucket(
+        Instant bucketStart,
+        long txnCount,
+        long completedCount,
+        long failedCount,
+        BigDecimal completedAmount,
+        BigDecimal failedAmount,
+        BigDecimal maxAmount
+) {
+}
@@ -0,0 +1,21 @@
+package com.fintech.reportingservice.dto.response;
+
+import com.fintech.reportingservice.model.ReportType;
+import com.fintech.reportingservice.model.RollupGranularity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * TRANSACTION_SUMMARY report: totals over [from, to) and the non-empty buckets in time order.
+ * from and to are widened to bucket boundaries.
+ */
+public record TransactionSummaryReport(
+        ReportType reportType,
+        RollupGranularity granularity,
+        Instant from,
+        Instant to,
+        RollupBucket totals,
+        List<RollupBucket> buckets
+) {
+}
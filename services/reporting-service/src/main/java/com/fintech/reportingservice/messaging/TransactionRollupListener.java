@@ -0,0 +1,41 @@
+package com.fintech.reportingservice.messaging;
+
+import com.fintech.reportingservice.service.RollupIngestionService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Streams transaction-completed events into the reporting rollups, one upsert batch per poll.
+ * Enabled unless reporting.rollup.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "reporting.rollup.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionRollupListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupListener.class);
+
+    private final RollupIngestionService ingestionService;
+
+    @Value("${kafka.topics.transaction-completed}")
+    private String topic;
+
+    public TransactionRollupListener(RollupIngestionService ingestionService) {
+        this.ingestionService = ingestionService;
+    }
+
+    @KafkaListener(topics = "${kafka.topics.transaction-completed}", groupId = "${reporting.rollup.group-id:reporting-rollups}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void onTransactionsCompleted(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        int counted = ingestionService.ingest(topic, records);
+        logger.debug("Rolled up {} of {} transaction completed events", counted, records.size());
+        acknowledgment.acknowledge();
+    }
+}
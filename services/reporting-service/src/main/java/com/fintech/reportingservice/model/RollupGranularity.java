@@ -0,0 +1,50 @@
+package com.fintech.reportingservice.model;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket sizes of the transaction rollups. Buckets are aligned to UTC.
+ */
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Start of the bucket holding the given instant
+     */
+    public Instant bucketOf(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    /**
+     * Smallest bucket boundary at or after the given instant
+     */
+    public Instant ceiling(Instant instant) {
+        Instant start = bucketOf(instant);
+        return start.equals(instant) ? start : start.plus(1, unit);
+    }
+
+    public boolean isAligned(Instant instant) {
+        return bucketOf(instant).equals(instant);
+    }
+
+    /**
+     * Coarsest granularity that covers [from, to) with per-user and per-account rollups:
+     * DAY for day-aligned ranges, HOUR otherwise
+     */
+    public static RollupGranularity dimensionGranularityFor(Instant from, Instant to) {
+        return DAY.isAligned(from) && DAY.isAligned(to) ? DAY : HOUR;
+    }
+
+    public long bucketsBetween(Instant from, Instant to) {
+        return unit.between(bucketOf(from), ceiling(to));
+    }
+}
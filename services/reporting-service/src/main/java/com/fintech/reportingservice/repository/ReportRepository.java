@@ -0,0 +1,53 @@
+package com.fintech.reportingservice.repository;
+
+import com.fintech.reportingservice.entity.Report;
+import com.fintech.reportingservice.model.ReportStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReportRepository extends JpaRepository<Report, String> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Report r SET r.downloadCount = COALESCE(r.downloadCount, 0) + 1 WHERE r.reportId = :reportId")
+    int incrementDownloadCount(@Param("reportId") String reportId);
+
+    List<Report> findByExpiresAtBefore(LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Reports in the given statuses whose lease (updated_at) ran out before the cutoff
+     */
+    @EntityGraph(attributePaths = "parameters")
+    List<Report> findByReportStatusInAndUpdatedAtBefore(Collection<ReportStatus> statuses, LocalDateTime cutoff,
+                                                        Pageable pageable);
+
+    /**
+     * Extend the lease of reports this instance is generating
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Report r SET r.updatedAt = :now WHERE r.reportId IN :reportIds AND r.reportStatus IN :statuses")
+    int renewLeases(@Param("reportIds") Collection<String> reportIds,
+                    @Param("statuses") Collection<ReportStatus> statuses, @Param("now") LocalDateTime now);
+
+    /**
+     * Take over an expired lease; only one instance sees the old updated_at and gets 1
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Report r SET r.updatedAt = :now WHERE r.reportId = :reportId AND r.updatedAt = :seen"
+            + " AND r.reportStatus IN :statuses")
+    int claimLease(@Param("reportId") String reportId, @Param("seen") LocalDateTime seen,
+                   @Param("statuses") Collection<ReportStatus> statuses, @Param("now") LocalDateTime now);
+}
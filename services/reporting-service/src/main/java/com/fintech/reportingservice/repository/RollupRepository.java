@@ -0,0 +1,213 @@
+package com.fintech.reportingservice.repository;
+
+import com.fintech.reportingservice.dto.response.PaymentAnalysisReport;
+import com.fintech.reportingservice.dto.response.RollupBucket;
+import com.fintech.reportingservice.model.RollupGranularity;
+import com.fintech.reportingservice.service.RollupBatch;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the transaction rollup tables. Deltas are merged with additive
+ * upserts sent as JDBC batches.
+ */
+@Repository
+public class RollupRepository {
+
+    private static final String UPSERT_TOTALS_SQL =
+            "INSERT INTO transaction_rollups AS r (granularity, bucket_start, txn_count, completed_count, failed_count, " +
+                    "completed_amount, failed_amount, max_amount, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (granularity, bucket_start) DO UPDATE SET " +
+                    "txn_count = r.txn_count + EXCLUDED.txn_count, " +
+                    "completed_count = r.completed_count + EXCLUDED.completed_count, " +
+                    "failed_count = r.failed_count + EXCLUDED.failed_count, " +
+                    "completed_amount = r.completed_amount + EXCLUDED.completed_amount, " +
+                    "failed_amount = r.failed_amount + EXCLUDED.failed_amount, " +
+                    "max_amount = GREATEST(r.max_amount, EXCLUDED.max_amount), " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String UPSERT_USERS_SQL =
+            "INSERT INTO user_transaction_rollups AS r (granularity, user_id, bucket_start, txn_count, failed_count, " +
+                    "completed_amount, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (granularity, user_id, bucket_start) DO UPDATE SET " +
+                    "txn_count = r.txn_count + EXCLUDED.txn_count, " +
+                    "failed_count = r.failed_count + EXCLUDED.failed_count, " +
+                    "completed_amount = r.completed_amount + EXCLUDED.completed_amount, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String UPSERT_ACCOUNTS_SQL =
+            "INSERT INTO account_transaction_rollups AS r (granularity, account_number, bucket_start, debit_count, " +
+                    "debit_amount, credit_count, credit_amount, failed_count, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (granularity, account_number, bucket_start) DO UPDATE SET " +
+                    "debit_count = r.debit_count + EXCLUDED.debit_count, " +
+                    "debit_amount = r.debit_amount + EXCLUDED.debit_amount, " +
+                    "credit_count = r.credit_count + EXCLUDED.credit_count, " +
+                    "credit_amount = r.credit_amount + EXCLUDED.credit_amount, " +
+                    "failed_count = r.failed_count + EXCLUDED.failed_count, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String LOCK_OFFSETS_SQL =
+            "SELECT partition_id, next_offset FROM rollup_consumer_offsets " +
+                    "WHERE topic = ? AND partition_id = ANY(?) ORDER BY partition_id FOR UPDATE";
+
+    private static final String UPSERT_OFFSET_SQL =
+            "INSERT INTO rollup_consumer_offsets AS o (topic, partition_id, next_offset, updated_at) VALUES (?, ?, ?, ?) " +
+                    "ON CONFLICT (topic, partition_id) DO UPDATE SET " +
+                    "next_offset = GREATEST(o.next_offset, EXCLUDED.next_offset), updated_at = EXCLUDED.updated_at";
+
+    private static final String BUCKET_COLUMNS =
+            "txn_count, completed_count, failed_count, completed_amount, failed_amount, max_amount";
+
+    private static final String FIND_BUCKETS_SQL =
+            "SELECT bucket_start, " + BUCKET_COLUMNS + " FROM transaction_rollups " +
+                    "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+
+    private static final String SUM_BUCKETS_SQL =
+            "SELECT CAST(? AS TIMESTAMPTZ), COALESCE(SUM(txn_count), 0), COALESCE(SUM(completed_count), 0), " +
+                    "COALESCE(SUM(failed_count), 0), COALESCE(SUM(completed_amount), 0), " +
+                    "COALESCE(SUM(failed_amount), 0), COALESCE(MAX(max_amount), 0) FROM transaction_rollups " +
+                    "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    private static final String TOP_USERS_SQL =
+            "SELECT user_id, SUM(txn_count), SUM(failed_count), SUM(completed_amount) AS amount " +
+                    "FROM user_transaction_rollups WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? " +
+                    "GROUP BY user_id ORDER BY amount DESC, user_id LIMIT ?";
+
+    private static final String TOP_ACCOUNTS_SQL =
+            "SELECT account_number, SUM(debit_count), SUM(debit_amount), SUM(credit_count), SUM(credit_amount), " +
+                    "SUM(failed_count), SUM(debit_amount) + SUM(credit_amount) AS volume " +
+                    "FROM account_transaction_rollups WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? " +
+                    "GROUP BY account_number ORDER BY volume DESC, account_number LIMIT ?";
+
+    private static final RowMapper<RollupBucket> BUCKET_MAPPER = (rs, rowNum) -> new RollupBucket(
+            rs.getTimestamp(1).toInstant(),
+            rs.getLong(2),
+            rs.getLong(3),
+            rs.getLong(4),
+            rs.getBigDecimal(5),
+            rs.getBigDecimal(6),
+            rs.getBigDecimal(7));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lock the stored offsets of the given partitions and return the next unconsumed offset
+     * of each. Partitions never consumed before are absent.
+     */
+    public Map<Integer, Long> lockOffsets(String topic, Collection<Integer> partitions) {
+        Map<Integer, Long> offsets = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOCK_OFFSETS_SQL);
+            ps.setString(1, topic);
+            ps.setArray(2, con.createArrayOf("integer", partitions.toArray()));
+            return ps;
+        }, rs -> {
+            offsets.put(rs.getInt(1), rs.getLong(2));
+        });
+        return offsets;
+    }
+
+    public void saveOffsets(String topic, Map<Integer, Long> nextOffsets) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Map.Entry<Integer, Long>> entries = new ArrayList<>(nextOffsets.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        jdbcTemplate.batchUpdate(UPSERT_OFFSET_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, topic);
+            ps.setInt(2, entry.getKey());
+            ps.setLong(3, entry.getValue());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    /**
+     * Merge the batch into the rollup tables
+     */
+    public void merge(RollupBatch batch) {
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<Map.Entry<RollupBatch.BucketKey, RollupBatch.TotalCounts>> totals = batch.sortedTotals();
+        jdbcTemplate.batchUpdate(UPSERT_TOTALS_SQL, totals, totals.size(), (ps, entry) -> {
+            RollupBatch.TotalCounts counts = entry.getValue();
+            ps.setString(1, entry.getKey().granularity().name());
+            ps.setTimestamp(2, Timestamp.from(entry.getKey().bucketStart()));
+            ps.setLong(3, counts.txnCount);
+            ps.setLong(4, counts.completedCount);
+            ps.setLong(5, counts.failedCount);
+            ps.setBigDecimal(6, counts.completedAmount);
+            ps.setBigDecimal(7, counts.failedAmount);
+            ps.setBigDecimal(8, counts.maxAmount);
+            ps.setTimestamp(9, now);
+        });
+
+        List<Map.Entry<RollupBatch.DimensionKey, RollupBatch.UserCounts>> users = batch.sortedUsers();
+        jdbcTemplate.batchUpdate(UPSERT_USERS_SQL, users, users.size(), (ps, entry) -> {
+            RollupBatch.UserCounts counts = entry.getValue();
+            ps.setString(1, entry.getKey().granularity().name());
+            ps.setString(2, entry.getKey().dimension());
+            ps.setTimestamp(3, Timestamp.from(entry.getKey().bucketStart()));
+            ps.setLong(4, counts.txnCount);
+            ps.setLong(5, counts.failedCount);
+            ps.setBigDecimal(6, counts.completedAmount);
+            ps.setTimestamp(7, now);
+        });
+
+        List<Map.Entry<RollupBatch.DimensionKey, RollupBatch.AccountCounts>> accounts = batch.sortedAccounts();
+        jdbcTemplate.batchUpdate(UPSERT_ACCOUNTS_SQL, accounts, accounts.size(), (ps, entry) -> {
+            RollupBatch.AccountCounts counts = entry.getValue();
+            ps.setString(1, entry.getKey().granularity().name());
+            ps.setString(2, entry.getKey().dimension());
+            ps.setTimestamp(3, Timestamp.from(entry.getKey().bucketStart()));
+            ps.setLong(4, counts.debitCount);
+            ps.setBigDecimal(5, counts.debitAmount);
+            ps.setLong(6, counts.creditCount);
+            ps.setBigDecimal(7, counts.creditAmount);
+            ps.setLong(8, counts.failedCount);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    /**
+     * Non-empty buckets in [from, to), oldest first
+     */
+    public List<RollupBucket> findBuckets(RollupGranularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.query(FIND_BUCKETS_SQL, BUCKET_MAPPER,
+                granularity.name(), Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Totals of all buckets in [from, to), reported as one bucket starting at from
+     */
+    public RollupBucket sumBuckets(RollupGranularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.queryForObject(SUM_BUCKETS_SQL, BUCKET_MAPPER,
+                Timestamp.from(from), granularity.name(), Timestamp.from(from), Timestamp.from(to));
+    }
+
+    public List<PaymentAnalysisReport.UserActivity> findTopUsers(RollupGranularity granularity,
+                                                                 Instant from, Instant to, int limit) {
+        return jdbcTemplate.query(TOP_USERS_SQL, (rs, rowNum) -> new PaymentAnalysisReport.UserActivity(
+                        rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4)),
+                granularity.name(), Timestamp.from(from), Timestamp.from(to), limit);
+    }
+
+    public List<PaymentAnalysisReport.AccountActivity> findTopAccounts(RollupGranularity granularity,
+                                                                       Instant from, Instant to, int limit) {
+        return jdbcTemplate.query(TOP_ACCOUNTS_SQL, (rs, rowNum) -> new PaymentAnalysisReport.AccountActivity(
+                        rs.getString(1), rs.getLong(2), rs.getBigDecimal(3), rs.getLong(4), rs.getBigDecimal(5),
+                        rs.getLong(6)),
+                granularity.name(), Timestamp.from(from), Timestamp.from(to), limit);
+    }
+}
@@ -0,0 +1,400 @@
+package com.fintech.reportingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.common.id.SnowflakeIdGenerator;
+import com.fintech.reportingservice.dto.request.CreateReportRequest;
+import com.fintech.reportingservice.dto.response.ReportStatusResponse;
+import com.fintech.reportingservice.entity.Report;
+import com.fintech.reportingservice.model.ReportFormat;
+import com.fintech.reportingservice.model.ReportStatus;
+import com.fintech.reportingservice.repository.ReportRepository;
+import com.fintech.reportingservice.source.ReportRowSource;
+import com.fintech.reportingservice.writer.CsvReportWriter;
+import com.fintech.reportingservice.writer.ExcelReportWriter;
+import com.fintech.reportingservice.writer.JsonReportWriter;
+import com.fintech.reportingservice.writer.ReportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates report files asynchronously on the reportGenerationExecutor.
+ * <p>
+ * Rows stream from the report's source through a format writer into a file channel:
+ * CSV and JSON are gzipped on the way, XLSX is already a zip container. Every stage has
+ * a fixed-size buffer, so a multi-million-row report runs in constant memory. Progress
+ * (rows, bytes, throughput) of running reports is kept in memory for status requests.
+ * <p>
+ * updated_at doubles as a generation lease: the instance that queued a report renews it
+ * while the report is PENDING or IN_PROGRESS, and any instance requeues reports whose
+ * lease ran out because their instance died. Expired reports lose their file and row.
+ */
+@Service
+public class ReportGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportGenerationService.class);
+
+    // Progress is published to status readers every this many rows
+    private static final int PROGRESS_UPDATE_ROWS = 8192;
+
+    private static final Set<ReportStatus> ACTIVE = EnumSet.of(ReportStatus.PENDING, ReportStatus.IN_PROGRESS);
+
+    private final ReportRepository reportRepo;
+    private final ReportSourceFactory sourceFactory;
+    private final TaskExecutor reportGenerationExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ReportProgress> running = new ConcurrentHashMap<>();
+    // Queued or running on this instance, i.e. the leases this instance renews
+    private final Set<String> owned = ConcurrentHashMap.newKeySet();
+
+    @Value("${reporting.reports.directory:/var/lib/reports}")
+    private String directory;
+
+    @Value("${reporting.reports.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${reporting.reports.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${reporting.reports.progress-log-rows:1000000}")
+    private long progressLogRows;
+
+    @Value("${reporting.reports.lease-timeout-ms:300000}")
+    private long leaseTimeoutMs;
+
+    @Value("${reporting.reports.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    public ReportGenerationService(ReportRepository reportRepo, ReportSourceFactory sourceFactory,
+                                   @Qualifier("reportGenerationExecutor") TaskExecutor reportGenerationExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   SnowflakeIdGenerator snowflakeIdGenerator, ObjectMapper objectMapper) {
+        this.reportRepo = reportRepo;
+        this.sourceFactory = sourceFactory;
+        this.reportGenerationExecutor = reportGenerationExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Validate the request, record the report as PENDING and queue its generation
+     *
+     * @throws IllegalArgumentException if the type, format or parameters are not supported
+     * @throws IllegalStateException    if the generation queue is full
+     */
+    public Report submit(CreateReportRequest request, String createdBy) {
+        if (request.reportType() == null || request.reportFormat() == null) {
+            throw new IllegalArgumentException("reportType and reportFormat are required");
+        }
+        if (request.reportFormat() == ReportFormat.PDF) {
+            throw new IllegalArgumentException("PDF cannot be streamed; use CSV, JSON or EXCEL");
+        }
+        Map<String, String> parameters = request.parameters() != null ? new HashMap<>(request.parameters()) : new HashMap<>();
+        // Fail fast on bad parameters instead of queueing a report that can only fail
+        sourceFactory.create(request.reportType(), parameters);
+
+        Report report = new Report();
+        report.setReportId(snowflakeIdGenerator.nextIdString());
+        report.setReportName(request.reportName() != null ? request.reportName()
+                : request.reportType() + " " + LocalDateTime.now());
+        report.setReportType(request.reportType());
+        report.setReportFormat(request.reportFormat());
+        report.setReportStatus(ReportStatus.PENDING);
+        report.setDescription(request.description());
+        report.setParameters(parameters);
+        report.setCreatedBy(createdBy);
+        report.setDownloadCount(0);
+        Report saved = reportRepo.save(report);
+
+        try {
+            queue(saved.getReportId(), parameters);
+        } catch (TaskRejectedException e) {
+            fail(saved, "Report generation queue is full");
+            throw new IllegalStateException("Report generation queue is full, try again later");
+        }
+        return saved;
+    }
+
+    public Optional<Report> findReport(String reportId) {
+        return reportRepo.findById(reportId);
+    }
+
+    public ReportStatusResponse toStatus(Report report) {
+        ReportProgress progress = running.get(report.getReportId());
+        if (progress != null) {
+            return new ReportStatusResponse(report.getReportId(), report.getReportName(), report.getReportType(),
+                    report.getReportFormat(), report.getReportStatus(), progress.getRows(), progress.getBytes(),
+                    progress.getRowsPerSecond(), progress.getElapsedMs(), null, report.getCreatedAt(), null,
+                    report.getExpiresAt());
+        }
+        Long rowsPerSecond = report.getRecordCount() != null && report.getGenerationTimeMs() != null
+                && report.getGenerationTimeMs() > 0 ? report.getRecordCount() * 1000 / report.getGenerationTimeMs() : null;
+        return new ReportStatusResponse(report.getReportId(), report.getReportName(), report.getReportType(),
+                report.getReportFormat(), report.getReportStatus(), report.getRecordCount(), report.getFileSizeBytes(),
+                rowsPerSecond, report.getGenerationTimeMs(), report.getErrorMessage(), report.getCreatedAt(),
+                report.getCompletedAt(), report.getExpiresAt());
+    }
+
+    /**
+     * File of a completed report
+     */
+    public Path fileOf(Report report) {
+        return Paths.get(report.getFilePath());
+    }
+
+    public void recordDownload(String reportId) {
+        reportRepo.incrementDownloadCount(reportId);
+    }
+
+    /**
+     * Renew the lease of every report queued or running on this instance
+     */
+    @Scheduled(fixedDelayString = "${reporting.reports.lease-renew-interval-ms:60000}")
+    public void renewLeases() {
+        if (owned.isEmpty()) {
+            return;
+        }
+        try {
+            reportRepo.renewLeases(List.copyOf(owned), ACTIVE, LocalDateTime.now());
+        } catch (Exception e) {
+            logger.warn("Could not renew report generation leases - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Requeue PENDING and IN_PROGRESS reports whose lease expired, i.e. whose instance
+     * stopped before finishing them. Runs shortly after startup and then periodically.
+     */
+    @Scheduled(initialDelayString = "${reporting.reports.recovery-initial-delay-ms:30000}",
+            fixedDelayString = "${reporting.reports.recovery-interval-ms:60000}")
+    public void recoverAbandonedReports() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(leaseTimeoutMs));
+        List<Report> abandoned;
+        try {
+            abandoned = reportRepo.findByReportStatusInAndUpdatedAtBefore(ACTIVE, cutoff,
+                    PageRequest.of(0, sweepBatchSize));
+        } catch (Exception e) {
+            logger.warn("Could not look up abandoned reports - {}", e.getMessage());
+            return;
+        }
+
+        for (Report report : abandoned) {
+            String reportId = report.getReportId();
+            if (owned.contains(reportId)
+                    || reportRepo.claimLease(reportId, report.getUpdatedAt(), ACTIVE, LocalDateTime.now()) == 0) {
+                continue;
+            }
+            try {
+                // A partial file from the dead instance would make CREATE_NEW fail
+                Files.deleteIfExists(fileOf(reportId, report.getReportFormat()));
+                queue(reportId, new HashMap<>(report.getParameters()));
+                logger.warn("Requeued report {} left {} by a stopped instance", reportId, report.getReportStatus());
+            } catch (TaskRejectedException e) {
+                // The lease lapses again and a later sweep retries
+                logger.warn("Report generation queue is full, abandoned reports are retried later");
+                return;
+            } catch (IOException e) {
+                logger.warn("Could not remove partial file of abandoned report {}", reportId, e);
+            }
+        }
+    }
+
+    /**
+     * Delete the files and rows of reports past their expires_at
+     */
+    @Scheduled(fixedDelayString = "${reporting.reports.cleanup-interval-ms:3600000}")
+    public void deleteExpiredReports() {
+        long deleted = 0;
+        try {
+            List<Report> expired;
+            do {
+                expired = reportRepo.findByExpiresAtBefore(LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+                List<String> removable = expired.stream().filter(this::deleteFile).map(Report::getReportId).toList();
+                if (removable.isEmpty()) {
+                    break;
+                }
+                // report_parameters rows go with ON DELETE CASCADE
+                reportRepo.deleteAllByIdInBatch(removable);
+                deleted += removable.size();
+            } while (expired.size() == sweepBatchSize);
+        } catch (Exception e) {
+            logger.warn("Expired report cleanup stopped after {} reports - {}", deleted, e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} expired reports", deleted);
+        }
+    }
+
+    private boolean deleteFile(Report report) {
+        if (report.getFilePath() == null) {
+            return true;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(report.getFilePath()));
+            return true;
+        } catch (IOException e) {
+            logger.warn("Could not delete expired report file {}, keeping its row", report.getFilePath(), e);
+            return false;
+        }
+    }
+
+    private void queue(String reportId, Map<String, String> parameters) {
+        owned.add(reportId);
+        try {
+            reportGenerationExecutor.execute(() -> {
+                try {
+                    generate(reportId, parameters);
+                } finally {
+                    owned.remove(reportId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            owned.remove(reportId);
+            throw e;
+        }
+    }
+
+    private Path fileOf(String reportId, ReportFormat format) {
+        return Paths.get(directory, reportId + extensionOf(format));
+    }
+
+    private void generate(String reportId, Map<String, String> parameters) {
+        Report report = reportRepo.findById(reportId).orElse(null);
+        if (report == null) {
+            return;
+        }
+        report.setReportStatus(ReportStatus.IN_PROGRESS);
+        report.setStartedAt(LocalDateTime.now());
+        report = reportRepo.save(report);
+
+        ReportProgress progress = new ReportProgress();
+        running.put(reportId, progress);
+        Path file = fileOf(reportId, report.getReportFormat());
+        try {
+            Files.createDirectories(file.getParent());
+            ReportRowSource source = sourceFactory.create(report.getReportType(), parameters);
+            ReportFormat format = report.getReportFormat();
+            // The read-only transaction lets JDBC sources read through a server-side cursor
+            long rows = readOnlyTransaction.execute(status -> {
+                try {
+                    return write(source, format, file, progress, reportId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            report.setReportStatus(ReportStatus.COMPLETED);
+            report.setFilePath(file.toString());
+            report.setFileSizeBytes(Files.size(file));
+            report.setRecordCount(rows);
+            report.setGenerationTimeMs(progress.getElapsedMs());
+            report.setCompletedAt(LocalDateTime.now());
+            report.setExpiresAt(LocalDateTime.now().plusHours(retentionHours));
+            reportRepo.save(report);
+
+            logger.info("Report {} ({} {}) completed: {} rows, {} bytes in {} ms ({} rows/s)",
+                    reportId, report.getReportType(), format, rows, report.getFileSizeBytes(),
+                    report.getGenerationTimeMs(), progress.getRowsPerSecond());
+        } catch (Exception e) {
+            logger.error("Report {} generation failed after {} rows - {}", reportId, progress.getRows(), e.getMessage(), e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException deleteFailure) {
+                logger.warn("Could not delete partial report file {}", file, deleteFailure);
+            }
+            fail(report, e instanceof UncheckedIOException ? e.getCause().getMessage() : e.getMessage());
+        } finally {
+            running.remove(reportId);
+        }
+    }
+
+    private long write(ReportRowSource source, ReportFormat format, Path file, ReportProgress progress,
+                       String reportId) throws IOException {
+        long[] rows = {0};
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             OutputStream out = openOutput(channel, format);
+             ReportWriter writer = newWriter(format, out)) {
+
+            writer.writeHeader(source.columns());
+            source.stream(row -> {
+                writer.writeRow(row);
+                long written = ++rows[0];
+                if (written % PROGRESS_UPDATE_ROWS == 0) {
+                    progress.update(written, channel.position());
+                    if (written % progressLogRows == 0) {
+                        logger.info("Report {}: {} rows, {} bytes, {} rows/s",
+                                reportId, written, progress.getBytes(), progress.getRowsPerSecond());
+                    }
+                }
+            });
+            progress.update(rows[0], channel.position());
+        }
+        return rows[0];
+    }
+
+    private OutputStream openOutput(FileChannel channel, ReportFormat format) throws IOException {
+        OutputStream channelOut = Channels.newOutputStream(channel);
+        return format == ReportFormat.EXCEL
+                ? new BufferedOutputStream(channelOut, bufferSize)
+                : new GZIPOutputStream(channelOut, bufferSize);
+    }
+
+    private ReportWriter newWriter(ReportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReportWriter(out, bufferSize);
+            case JSON -> new JsonReportWriter(objectMapper.getFactory(), out);
+            case EXCEL -> new ExcelReportWriter(out);
+            default -> throw new IllegalArgumentException("Unsupported report format: " + format);
+        };
+    }
+
+    private static String extensionOf(ReportFormat format) {
+        return switch (format) {
+            case CSV -> ".csv.gz";
+            case JSON -> ".json.gz";
+            case EXCEL -> ".xlsx";
+            default -> "." + format.name().toLowerCase();
+        };
+    }
+
+    private void fail(Report report, String message) {
+        report.setReportStatus(ReportStatus.FAILED);
+        report.setCompletedAt(LocalDateTime.now());
+        report.setErrorMessage(message != null && message.length() > 2000 ? message.substring(0, 2000) : message);
+        report.setExpiresAt(LocalDateTime.now().plusHours(retentionHours));
+        reportRepo.save(report);
+    }
+}
@@ -0,0 +1,37 @@
+package com.fintech.reportingservice.service;
+
+/**
+ * Live progress of one report being generated. Written by the generating thread,
+ * read by status requests.
+ */
+public class ReportProgress {
+
+    private final long startedNanos = System.nanoTime();
+    private volatile long rows;
+    private volatile long bytes;
+
+    void update(long rows, long bytes) {
+        this.rows = rows;
+        this.bytes = bytes;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Bytes written to the report file so far, after compression
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMs() {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    public long getRowsPerSecond() {
+        long elapsedMs = getElapsedMs();
+        return elapsedMs == 0 ? 0 : rows * 1000 / elapsedMs;
+    }
+}
@@ -0,0 +1,127 @@
+package com.fintech.reportingservice.service;
+
+import com.fintech.reportingservice.model.ReportType;
+import com.fintech.reportingservice.model.RollupGranularity;
+import com.fintech.reportingservice.source.JdbcReportSource;
+import com.fintech.reportingservice.source.LedgerSegmentReportSource;
+import com.fintech.reportingservice.source.ReportRowSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the row source of a report from its type and parameters.
+ * <p>
+ * Parameters: from (ISO instant, required), to (ISO instant, default now), granularity
+ * (TRANSACTION_SUMMARY, default HOUR) and accountNumber (FINANCIAL_STATEMENT, optional).
+ */
+@Component
+public class ReportSourceFactory {
+
+    public static final Set<ReportType> SUPPORTED_TYPES = Set.of(
+            ReportType.TRANSACTION_SUMMARY, ReportType.PAYMENT_ANALYSIS, ReportType.FINANCIAL_STATEMENT);
+
+    private static final String TRANSACTION_SUMMARY_SQL =
+            "SELECT bucket_start, txn_count, completed_count, failed_count, completed_amount, failed_amount, max_amount " +
+                    "FROM transaction_rollups WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? " +
+                    "ORDER BY bucket_start";
+
+    private static final String PAYMENT_ANALYSIS_SQL =
+            "SELECT account_number, SUM(debit_count), SUM(debit_amount), SUM(credit_count), SUM(credit_amount), " +
+                    "SUM(failed_count) FROM account_transaction_rollups " +
+                    "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? " +
+                    "GROUP BY account_number ORDER BY account_number";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    @Value("${reporting.ledger-export.directory:/var/lib/ledger-export}")
+    private String ledgerExportDirectory;
+
+    @Value("${reporting.ledger-export.zone:UTC}")
+    private String ledgerExportZone;
+
+    public ReportSourceFactory(DataSource dataSource,
+                               @Value("${reporting.reports.fetch-size:5000}") int fetchSize) {
+        // A fetch size makes the PostgreSQL driver read through a server-side cursor inside a transaction
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the type is not supported or the parameters are invalid
+     */
+    public ReportRowSource create(ReportType type, Map<String, String> parameters) {
+        Instant from = parseInstant(parameters, "from", null);
+        Instant to = parseInstant(parameters, "to", Instant.now());
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Report range is empty: from must be before to");
+        }
+
+        switch (type) {
+            case TRANSACTION_SUMMARY -> {
+                RollupGranularity granularity = parseGranularity(parameters.get("granularity"));
+                return new JdbcReportSource(streamingJdbcTemplate,
+                        List.of("bucket_start", "txn_count", "completed_count", "failed_count",
+                                "completed_amount", "failed_amount", "max_amount"),
+                        TRANSACTION_SUMMARY_SQL, granularity.name(),
+                        Timestamp.from(granularity.bucketOf(from)), Timestamp.from(granularity.ceiling(to)));
+            }
+            case PAYMENT_ANALYSIS -> {
+                RollupGranularity granularity = RollupGranularity.dimensionGranularityFor(from, to);
+                return new JdbcReportSource(streamingJdbcTemplate,
+                        List.of("account_number", "debit_count", "debit_amount", "credit_count", "credit_amount",
+                                "failed_count"),
+                        PAYMENT_ANALYSIS_SQL, granularity.name(),
+                        Timestamp.from(granularity.bucketOf(from)), Timestamp.from(granularity.ceiling(to)));
+            }
+            case FINANCIAL_STATEMENT -> {
+                LedgerSegmentReportSource source = new LedgerSegmentReportSource(Paths.get(ledgerExportDirectory),
+                        ZoneId.of(ledgerExportZone), from, to, parameters.get("accountNumber"));
+                List<LocalDate> missing = source.missingDays();
+                if (!missing.isEmpty()) {
+                    throw new IllegalArgumentException("Ledger export not available yet for " + missing.size()
+                            + " day(s), first missing: " + missing.get(0));
+                }
+                return source;
+            }
+            default -> throw new IllegalArgumentException("Report type not supported for generation: " + type);
+        }
+    }
+
+    private static Instant parseInstant(Map<String, String> parameters, String name, Instant defaultValue) {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("Missing report parameter: " + name);
+            }
+            return defaultValue;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Report parameter " + name + " is not an ISO-8601 instant: " + value);
+        }
+    }
+
+    private static RollupGranularity parseGranularity(String value) {
+        if (value == null || value.isBlank()) {
+            return RollupGranularity.HOUR;
+        }
+        try {
+            return RollupGranularity.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown granularity: " + value);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.fintech.reportingservice.service;
+
+import com.fintech.reportingservice.dto.message.TransactionCompletedMessage;
+import com.fintech.reportingservice.model.RollupGranularity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory rollup deltas of one consumer poll. Every transaction is folded into its
+ * MINUTE, HOUR and DAY total buckets and its HOUR and DAY per-user and per-account
+ * buckets, so a poll of hundreds of events collapses into a few dozen upserts.
+ * <p>
+ * Not thread-safe; one batch per poll.
+ */
+public class RollupBatch {
+
+    private static final RollupGranularity[] TOTAL_GRANULARITIES = RollupGranularity.values();
+    // Minute buckets per user or account would outnumber the raw records
+    private static final RollupGranularity[] DIMENSION_GRANULARITIES = {RollupGranularity.HOUR, RollupGranularity.DAY};
+
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    public record BucketKey(RollupGranularity granularity, Instant bucketStart) {
+    }
+
+    public record DimensionKey(RollupGranularity granularity, String dimension, Instant bucketStart) {
+    }
+
+    private static final Comparator<BucketKey> BUCKET_ORDER = Comparator
+            .comparing((BucketKey key) -> key.granularity().name())
+            .thenComparing(BucketKey::bucketStart);
+
+    // Same order as the primary keys, so concurrent consumers lock rows in the same sequence
+    private static final Comparator<DimensionKey> DIMENSION_ORDER = Comparator
+            .comparing((DimensionKey key) -> key.granularity().name())
+            .thenComparing(DimensionKey::dimension)
+            .thenComparing(DimensionKey::bucketStart);
+
+    public static class TotalCounts {
+        public long txnCount;
+        public long completedCount;
+        public long failedCount;
+        public BigDecimal completedAmount = BigDecimal.ZERO;
+        public BigDecimal failedAmount = BigDecimal.ZERO;
+        public BigDecimal maxAmount = BigDecimal.ZERO;
+    }
+
+    public static class UserCounts {
+        public long txnCount;
+        public long failedCount;
+        public BigDecimal completedAmount = BigDecimal.ZERO;
+    }
+
+    public static class AccountCounts {
+        public long debitCount;
+        public BigDecimal debitAmount = BigDecimal.ZERO;
+        public long creditCount;
+        public BigDecimal creditAmount = BigDecimal.ZERO;
+        public long failedCount;
+    }
+
+    private final Map<BucketKey, TotalCounts> totals = new HashMap<>();
+    private final Map<DimensionKey, UserCounts> users = new HashMap<>();
+    private final Map<DimensionKey, AccountCounts> accounts = new HashMap<>();
+    private int events;
+
+    /**
+     * Fold one transaction outcome into the batch
+     *
+     * @param eventTime time the outcome was published, which decides its buckets
+     */
+    public void add(TransactionCompletedMessage message, Instant eventTime) {
+        events++;
+        BigDecimal amount = message.getAmount() != null ? message.getAmount() : BigDecimal.ZERO;
+        boolean completed = COMPLETED.equals(message.getStatus());
+        boolean failed = FAILED.equals(message.getStatus());
+
+        for (RollupGranularity granularity : TOTAL_GRANULARITIES) {
+            TotalCounts counts = totals.computeIfAbsent(
+                    new BucketKey(granularity, granularity.bucketOf(eventTime)), key -> new TotalCounts());
+            counts.txnCount++;
+            if (completed) {
+                counts.completedCount++;
+                counts.completedAmount = counts.completedAmount.add(amount);
+                counts.maxAmount = counts.maxAmount.max(amount);
+            } else if (failed) {
+                counts.failedCount++;
+                counts.failedAmount = counts.failedAmount.add(amount);
+            }
+        }
+
+        for (RollupGranularity granularity : DIMENSION_GRANULARITIES) {
+            Instant bucket = granularity.bucketOf(eventTime);
+            if (message.getUserId() != null) {
+                UserCounts counts = users.computeIfAbsent(
+                        new DimensionKey(granularity, message.getUserId(), bucket), key -> new UserCounts());
+                counts.txnCount++;
+                if (completed) {
+                    counts.completedAmount = counts.completedAmount.add(amount);
+                } else if (failed) {
+                    counts.failedCount++;
+                }
+            }
+            if (message.getFromAccount() != null) {
+                AccountCounts counts = accounts.computeIfAbsent(
+                        new DimensionKey(granularity, message.getFromAccount(), bucket), key -> new AccountCounts());
+                if (completed) {
+                    counts.debitCount++;
+                    counts.debitAmount = counts.debitAmount.add(amount);
+                } else if (failed) {
+                    counts.failedCount++;
+                }
+            }
+            if (completed && message.getToAccount() != null) {
+                AccountCounts counts = accounts.computeIfAbsent(
+                        new DimensionKey(granularity, message.getToAccount(), bucket), key -> new AccountCounts());
+                counts.creditCount++;
+                counts.creditAmount = counts.creditAmount.add(amount);
+            }
+        }
+    }
+
+    public int getEvents() {
+        return events;
+    }
+
+    public boolean isEmpty() {
+        return events == 0;
+    }
+
+    public List<Map.Entry<BucketKey, TotalCounts>> sortedTotals() {
+        List<Map.Entry<BucketKey, TotalCounts>> sorted = new ArrayList<>(totals.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(BUCKET_ORDER));
+        return sorted;
+    }
+
+    public List<Map.Entry<DimensionKey, UserCounts>> sortedUsers() {
+        List<Map.Entry<DimensionKey, UserCounts>> sorted = new ArrayList<>(users.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(DIMENSION_ORDER));
+        return sorted;
+    }
+
+    public List<Map.Entry<DimensionKey, AccountCounts>> sortedAccounts() {
+        List<Map.Entry<DimensionKey, AccountCounts>> sorted = new ArrayList<>(accounts.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(DIMENSION_ORDER));
+        return sorted;
+    }
+}
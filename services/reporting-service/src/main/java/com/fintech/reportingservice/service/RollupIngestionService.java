@@ -0,0 +1,78 @@
+package com.fintech.reportingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.reportingservice.dto.message.TransactionCompletedMessage;
+import com.fintech.reportingservice.repository.RollupRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds polls of transaction-completed events into the rollup tables.
+ * <p>
+ * The next offset of every partition is stored in the same database transaction as the
+ * rollup deltas. Records below the stored offset were already counted and are skipped,
+ * so a poll redelivered after a crash or rebalance is never counted twice.
+ */
+@Service
+public class RollupIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupIngestionService.class);
+
+    private final RollupRepository rollupRepo;
+    private final ObjectMapper objectMapper;
+
+    public RollupIngestionService(RollupRepository rollupRepo, ObjectMapper objectMapper) {
+        this.rollupRepo = rollupRepo;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Merge one poll of a single topic into the rollups
+     *
+     * @return number of events counted
+     */
+    @Transactional
+    public int ingest(String topic, List<ConsumerRecord<String, String>> records) {
+        Map<Integer, Long> nextOffsets = new HashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            nextOffsets.merge(record.partition(), record.offset() + 1, Math::max);
+        }
+        Map<Integer, Long> committed = rollupRepo.lockOffsets(topic, nextOffsets.keySet());
+
+        RollupBatch batch = new RollupBatch();
+        int skipped = 0;
+        for (ConsumerRecord<String, String> record : records) {
+            Long committedOffset = committed.get(record.partition());
+            if (committedOffset != null && record.offset() < committedOffset) {
+                skipped++;
+                continue;
+            }
+            try {
+                TransactionCompletedMessage message = objectMapper.readValue(record.value(), TransactionCompletedMessage.class);
+                batch.add(message, Instant.ofEpochMilli(record.timestamp()));
+            } catch (Exception e) {
+                // A malformed event can never be counted; skip it rather than block the partition
+                logger.error("Failed to parse transaction completed event from partition: {}, offset: {} - {}",
+                        record.partition(), record.offset(), e.getMessage(), e);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            rollupRepo.merge(batch);
+        }
+        rollupRepo.saveOffsets(topic, nextOffsets);
+
+        if (skipped > 0) {
+            logger.info("Skipped {} already counted transaction events on topic {}", skipped, topic);
+        }
+        return batch.getEvents();
+    }
+}
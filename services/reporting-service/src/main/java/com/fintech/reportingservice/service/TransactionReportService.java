@@ -0,0 +1,100 @@
+package com.fintech.reportingservice.service;
+
+import com.fintech.reportingservice.dto.response.PaymentAnalysisReport;
+import com.fintech.reportingservice.dto.response.RollupBucket;
+import com.fintech.reportingservice.dto.response.TransactionSummaryReport;
+import com.fintech.reportingservice.model.ReportType;
+import com.fintech.reportingservice.model.RollupGranularity;
+import com.fintech.reportingservice.repository.RollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * TRANSACTION_SUMMARY and PAYMENT_ANALYSIS reports, answered from the rollup tables
+ * instead of scanning transaction records. Report ranges are widened to whole buckets.
+ */
+@Service
+public class TransactionReportService {
+
+    private final RollupRepository rollupRepo;
+
+    @Value("${reporting.rollup.max-buckets:10000}")
+    private int maxBuckets;
+
+    @Value("${reporting.rollup.top-limit:10}")
+    private int defaultTopLimit;
+
+    public TransactionReportService(RollupRepository rollupRepo) {
+        this.rollupRepo = rollupRepo;
+    }
+
+    /**
+     * Totals over [from, to) and one bucket per granularity step
+     *
+     * @throws IllegalArgumentException if the range is empty or has more than max-buckets buckets
+     */
+    public TransactionSummaryReport transactionSummary(Instant from, Instant to, RollupGranularity granularity) {
+        RollupGranularity step = granularity != null ? granularity : RollupGranularity.HOUR;
+        Instant start = step.bucketOf(from);
+        Instant end = step.ceiling(to);
+        validateRange(start, end);
+        if (step.bucketsBetween(start, end) > maxBuckets) {
+            throw new IllegalArgumentException("Range spans more than " + maxBuckets + " " + step + " buckets");
+        }
+
+        List<RollupBucket> buckets = rollupRepo.findBuckets(step, start, end);
+        return new TransactionSummaryReport(ReportType.TRANSACTION_SUMMARY, step, start, end,
+                sum(start, buckets), buckets);
+    }
+
+    /**
+     * Outcome rates, amounts and top users and accounts over [from, to). Day-aligned ranges
+     * read the DAY rollups; anything else is widened to whole hours.
+     */
+    public PaymentAnalysisReport paymentAnalysis(Instant from, Instant to, Integer top) {
+        RollupGranularity granularity = RollupGranularity.dimensionGranularityFor(from, to);
+        Instant start = granularity.bucketOf(from);
+        Instant end = granularity.ceiling(to);
+        validateRange(start, end);
+        int limit = top == null || top <= 0 ? defaultTopLimit : Math.min(top, 100);
+
+        RollupBucket totals = rollupRepo.sumBuckets(granularity, start, end);
+        double successRate = totals.txnCount() == 0 ? 0 : (double) totals.completedCount() / totals.txnCount();
+        BigDecimal averageAmount = totals.completedCount() == 0 ? BigDecimal.ZERO
+                : totals.completedAmount().divide(BigDecimal.valueOf(totals.completedCount()), 2, RoundingMode.HALF_UP);
+
+        return new PaymentAnalysisReport(ReportType.PAYMENT_ANALYSIS, granularity, start, end, totals,
+                successRate, averageAmount,
+                rollupRepo.findTopUsers(granularity, start, end, limit),
+                rollupRepo.findTopAccounts(granularity, start, end, limit));
+    }
+
+    private static void validateRange(Instant start, Instant end) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Report range is empty: from must be before to");
+        }
+    }
+
+    private static RollupBucket sum(Instant start, List<RollupBucket> buckets) {
+        long txnCount = 0;
+        long completedCount = 0;
+        long failedCount = 0;
+        BigDecimal completedAmount = BigDecimal.ZERO;
+        BigDecimal failedAmount = BigDecimal.ZERO;
+        BigDecimal maxAmount = BigDecimal.ZERO;
+        for (RollupBucket bucket : buckets) {
+            txnCount += bucket.txnCount();
+            completedCount += bucket.completedCount();
+            failedCount += bucket.failedCount();
+            completedAmount = completedAmount.add(bucket.completedAmount());
+            failedAmount = failedAmount.add(bucket.failedAmount());
+            maxAmount = maxAmount.max(bucket.maxAmount());
+        }
+        return new RollupBucket(start, txnCount, completedCount, failedCount, completedAmount, failedAmount, maxAmount);
+    }
+}
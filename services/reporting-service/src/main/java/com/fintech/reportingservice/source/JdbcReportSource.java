@@ -0,0 +1,64 @@
+package com.fintech.reportingservice.source;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Report rows read through a server-side cursor. The template must have a fetch size
+ * and the stream must run inside a transaction for the cursor to be used.
+ */
+public class JdbcReportSource implements ReportRowSource {
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final List<String> columns;
+    private final String sql;
+    private final Object[] parameters;
+
+    public JdbcReportSource(JdbcTemplate streamingJdbcTemplate, List<String> columns, String sql, Object... parameters) {
+        this.streamingJdbcTemplate = streamingJdbcTemplate;
+        this.columns = columns;
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public List<String> columns() {
+        return columns;
+    }
+
+    @Override
+    public void stream(RowConsumer consumer) throws IOException {
+        Object[] row = new Object[columns.size()];
+        try {
+            streamingJdbcTemplate.query(sql, rs -> {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = readValue(rs, i + 1);
+                }
+                try {
+                    consumer.accept(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, parameters);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object readValue(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        if (value instanceof Integer number) {
+            return number.longValue();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,113 @@
+package com.fintech.reportingservice.source;
+
+import com.fintech.common.ledger.LedgerSegment;
+import com.fintech.common.ledger.LedgerSegmentReader;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ledger entries read from the ledger-service columnar export instead of the OLTP database.
+ * Rows come day by day, shard by shard; row groups outside [from, to) are skipped using
+ * their created_at bounds. With an account number only that account's shard is read.
+ */
+public class LedgerSegmentReportSource implements ReportRowSource {
+
+    private final Path exportDirectory;
+    private final ZoneId zone;
+    private final Instant from;
+    private final Instant to;
+    private final String accountNumber;
+
+    public LedgerSegmentReportSource(Path exportDirectory, ZoneId zone, Instant from, Instant to, String accountNumber) {
+        this.exportDirectory = exportDirectory;
+        this.zone = zone;
+        this.from = from;
+        this.to = to;
+        this.accountNumber = accountNumber;
+    }
+
+    /**
+     * Days of the range whose export partition does not exist yet
+     */
+    public List<LocalDate> missingDays() {
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate day : days()) {
+            if (!Files.isDirectory(exportDirectory.resolve(LedgerSegment.partitionName(day)))) {
+                missing.add(day);
+            }
+        }
+        return missing;
+    }
+
+    @Override
+    public List<String> columns() {
+        return LedgerSegment.COLUMNS;
+    }
+
+    @Override
+    public void stream(RowConsumer consumer) throws IOException {
+        Object[] row = new Object[LedgerSegment.COLUMNS.size()];
+        for (LocalDate day : days()) {
+            for (Path segment : segments(exportDirectory.resolve(LedgerSegment.partitionName(day)))) {
+                try (LedgerSegmentReader reader = LedgerSegmentReader.open(segment)) {
+                    streamSegment(reader, row, consumer);
+                }
+            }
+        }
+    }
+
+    private void streamSegment(LedgerSegmentReader reader, Object[] row, RowConsumer consumer) throws IOException {
+        for (int group = 0; group < reader.rowGroupCount(); group++) {
+            if (reader.maxCreatedAt(group).isBefore(from) || !reader.minCreatedAt(group).isBefore(to)) {
+                continue;
+            }
+            LedgerSegmentReader.RowGroup rows = reader.rowGroup(group);
+            for (int i = 0; i < rows.size(); i++) {
+                Instant createdAt = rows.createdAt(i);
+                if (createdAt.isBefore(from) || !createdAt.isBefore(to)
+                        || (accountNumber != null && !accountNumber.equals(rows.accountNumber(i)))) {
+                    continue;
+                }
+                row[0] = rows.entryId(i);
+                row[1] = rows.txnId(i);
+                row[2] = rows.paymentId(i);
+                row[3] = rows.accountNumber(i);
+                row[4] = rows.entryType(i);
+                row[5] = rows.amount(i);
+                row[6] = rows.balanceAfter(i);
+                row[7] = rows.description(i);
+                row[8] = createdAt;
+                consumer.accept(row);
+            }
+        }
+    }
+
+    private List<Path> segments(Path partition) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(partition, "*" + LedgerSegment.EXTENSION)) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        if (accountNumber == null || segments.isEmpty()) {
+            return segments;
+        }
+        return List.of(partition.resolve(LedgerSegment.segmentName(LedgerSegment.shardOf(accountNumber, segments.size()))));
+    }
+
+    private List<LocalDate> days() {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate last = to.minusNanos(1).atZone(zone).toLocalDate();
+        for (LocalDate day = from.atZone(zone).toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+}
@@ -0,0 +1,22 @@
+package com.fintech.reportingservice.source;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rows of one report, streamed to a consumer as they are read rather than collected first
+ */
+public interface ReportRowSource {
+
+    List<String> columns();
+
+    /**
+     * Push every row to the consumer. The row array is reused between calls.
+     */
+    void stream(RowConsumer consumer) throws IOException;
+
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(Object[] row) throws IOException;
+    }
+}
@@ -0,0 +1,42 @@
+package com.fintech.reportingservice.writer;
+
+import com.opencsv.CSVWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header line
+ */
+public class CsvReportWriter implements ReportWriter {
+
+    private final CSVWriter csv;
+    private String[] line;
+
+    public CsvReportWriter(OutputStream out, int bufferSize) {
+        this.csv = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferSize));
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) {
+        line = new String[columns.size()];
+        csv.writeNext(columns.toArray(new String[0]), false);
+    }
+
+    @Override
+    public void writeRow(Object[] values) {
+        for (int i = 0; i < line.length; i++) {
+            line[i] = values[i] != null ? values[i].toString() : "";
+        }
+        csv.writeNext(line, false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        csv.flush();
+    }
+}
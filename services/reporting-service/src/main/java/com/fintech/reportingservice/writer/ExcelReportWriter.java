@@ -0,0 +1,80 @@
+package com.fintech.reportingservice.writer;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * XLSX written with a streaming workbook: only a small window of rows is kept in memory,
+ * older rows are flushed to compressed temp files and the workbook is assembled on close.
+ * Reports longer than one sheet continue on further sheets, each with the header row.
+ */
+public class ExcelReportWriter implements ReportWriter {
+
+    private static final int ROW_WINDOW = 200;
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    private final SXSSFWorkbook workbook;
+    private final OutputStream out;
+    private List<String> columns;
+    private SXSSFSheet sheet;
+    private int sheetRows;
+
+    public ExcelReportWriter(OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) {
+        this.columns = columns;
+        newSheet();
+    }
+
+    @Override
+    public void writeRow(Object[] values) {
+        if (sheetRows > MAX_ROWS_PER_SHEET) {
+            newSheet();
+        }
+        Row row = sheet.createRow(sheetRows++);
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet("Report " + (workbook.getNumberOfSheets() + 1));
+        sheetRows = 0;
+        Row header = sheet.createRow(sheetRows++);
+        for (int i = 0; i < columns.size(); i++) {
+            header.createCell(i).setCellValue(columns.get(i));
+        }
+    }
+}
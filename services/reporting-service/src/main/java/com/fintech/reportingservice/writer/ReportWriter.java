@@ -0,0 +1,25 @@
+package com.fintech.reportingservice.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Format-specific sink for report rows. Rows are encoded as they arrive through a
+ * fixed-size buffer, so a writer's memory does not grow with the report.
+ * <p>
+ * Values are String, Number (Long, BigDecimal) or Instant, or null. The row array may be
+ * reused by the caller after {@link #writeRow} returns.
+ */
+public interface ReportWriter extends Closeable {
+
+    void writeHeader(List<String> columns) throws IOException;
+
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Finish the document and flush it; closing does not close the underlying stream
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,37 @@
+-- Generated report files and their status. Files live under reporting.reports.directory;
+-- rows are written by the asynchronous generation engine.
+
+CREATE TABLE IF NOT EXISTS reports (
+    report_id          VARCHAR(50)   PRIMARY KEY,
+    report_name        VARCHAR(200)  NOT NULL,
+    report_type        VARCHAR(50)   NOT NULL,
+    report_status      VARCHAR(30)   NOT NULL,
+    report_format      VARCHAR(20)   NOT NULL,
+    description        VARCHAR(1000),
+    file_path          VARCHAR(500),
+    file_size_bytes    BIGINT,
+    record_count       BIGINT,
+    generation_time_ms BIGINT,
+    created_by         VARCHAR(100)  NOT NULL,
+    scheduled_at       TIMESTAMP,
+    started_at         TIMESTAMP,
+    completed_at       TIMESTAMP,
+    error_message      VARCHAR(2000),
+    download_count     INTEGER       DEFAULT 0,
+    expires_at         TIMESTAMP,
+    created_at         TIMESTAMP     NOT NULL,
+    updated_at         TIMESTAMP     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_type ON reports (report_type);
+CREATE INDEX IF NOT EXISTS idx_report_status ON reports (report_status);
+CREATE INDEX IF NOT EXISTS idx_created_by ON reports (created_by);
+CREATE INDEX IF NOT EXISTS idx_created_at ON reports (created_at);
+CREATE INDEX IF NOT EXISTS idx_status_created ON reports (report_status, created_at);
+
+CREATE TABLE IF NOT EXISTS report_parameters (
+    report_id   VARCHAR(50)   NOT NULL REFERENCES reports (report_id) ON DELETE CASCADE,
+    param_key   VARCHAR(255)  NOT NULL,
+    param_value VARCHAR(1000),
+    PRIMARY KEY (report_id, param_key)
+);
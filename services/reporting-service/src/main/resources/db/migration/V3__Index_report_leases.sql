@@ -0,0 +1,4 @@
+-- Lookups for the generation lease recovery (status + updated_at) and the expired report cleanup
+
+CREATE INDEX IF NOT EXISTS idx_status_updated ON reports (report_status, updated_at);
+CREATE INDEX IF NOT EXISTS idx_expires_at ON reports (expires_at);
@@ -1,7 +1,10 @@
 package com.fintech.retryservice.config;
 
+import com.fintech.common.concurrent.VirtualThreads;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -12,7 +15,10 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 public class DatabaseConfig {
 
     @Bean(name = "taskExecutor")
-    public TaskExecutor taskExecutor() {
+    public TaskExecutor taskExecutor(Environment environment) {
+        if (VirtualThreads.isEnabled(environment)) {
+            return VirtualThreads.newTaskExecutor("RetryService-", -1);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
@@ -23,4 +29,26 @@ public class DatabaseConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Loads due retry attempts and records their outcomes; the HTTP calls themselves are non-blocking.
+     * In virtual-thread mode every dispatch gets its own thread, bounded by the per-type limits
+     * of the RetryDispatcher and the connection pool.
+     */
+    @Bean(name = "retryDispatchExecutor")
+    public TaskExecutor retryDispatchExecutor(@Value("${retry.engine.dispatch-threads:32}") int dispatchThreads,
+                                              Environment environment) {
+        if (VirtualThreads.isEnabled(environment)) {
+            return VirtualThreads.newTaskExecutor("RetryDispatch-", -1);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dispatchThreads);
+        executor.setMaxPoolSize(dispatchThreads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("RetryDispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
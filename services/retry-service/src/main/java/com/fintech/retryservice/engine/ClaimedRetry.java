@@ -0,0 +1,9 @@
+package com.fintech.retryservice.engine;
+
+import com.fintech.retryservice.model.RetryType;
+
+/**
+ * A retry attempt claimed by this instance, waiting in the timing wheel until dueAtMs
+ */
+public record ClaimedRetry(String retryId, RetryType retryType, long dueAtMs) {
+}
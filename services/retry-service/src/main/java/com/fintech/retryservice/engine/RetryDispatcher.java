@@ -0,0 +1,166 @@
+package com.fintech.retryservice.engine;
+
+import com.fintech.retryservice.model.RetryAttempt;
+import com.fintech.retryservice.model.RetryStatus;
+import com.fintech.retryservice.model.RetryType;
+import com.fintech.retryservice.repository.RetryAttemptRepository;
+import com.fintech.retryservice.service.RetryOutcomeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes due retry attempts against their endpoint, at most retry.engine.concurrency.&lt;TYPE&gt;
+ * (default retry.engine.concurrency.default) at a time per retry type.
+ * <p>
+ * The HTTP call is non-blocking; only loading the attempt and recording its outcome run on
+ * the retryDispatchExecutor. A type at its limit is refused so the engine can defer the
+ * attempt instead of letting one slow downstream starve the others.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "retry.engine.enabled", havingValue = "true", matchIfMissing = true)
+public class RetryDispatcher {
+
+    private final RetryAttemptRepository retryAttemptRepository;
+    private final RetryOutcomeService retryOutcomeService;
+    private final WebClient webClient;
+    private final TaskExecutor retryDispatchExecutor;
+    private final Scheduler outcomeScheduler;
+    private final Map<RetryType, Semaphore> permits = new EnumMap<>(RetryType.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${retry.engine.request-timeout-ms:10000}")
+    private long requestTimeoutMs;
+
+    public RetryDispatcher(RetryAttemptRepository retryAttemptRepository, RetryOutcomeService retryOutcomeService,
+                           @Qualifier("webClient") WebClient webClient,
+                           @Qualifier("retryDispatchExecutor") TaskExecutor retryDispatchExecutor,
+                           Environment environment,
+                           @Value("${retry.engine.concurrency.default:16}") int defaultConcurrency) {
+        this.retryAttemptRepository = retryAttemptRepository;
+        this.retryOutcomeService = retryOutcomeService;
+        this.webClient = webClient;
+        this.retryDispatchExecutor = retryDispatchExecutor;
+        this.outcomeScheduler = Schedulers.fromExecutor(retryDispatchExecutor);
+        for (RetryType type : RetryType.values()) {
+            int limit = environment.getProperty("retry.engine.concurrency." + type.name(), Integer.class, defaultConcurrency);
+            permits.put(type, new Semaphore(limit));
+        }
+    }
+
+    /**
+     * Start executing a claimed attempt
+     *
+     * @return false if its type is at the concurrency limit or the executor is saturated
+     */
+    public boolean tryDispatch(ClaimedRetry retry, String instanceId) {
+        Semaphore permit = permits.get(retry.retryType());
+        if (!permit.tryAcquire()) {
+            return false;
+        }
+        inFlight.incrementAndGet();
+        try {
+            retryDispatchExecutor.execute(() -> execute(retry, instanceId, permit));
+            return true;
+        } catch (TaskRejectedException e) {
+            finish(permit);
+            return false;
+        }
+    }
+
+    /**
+     * Attempts currently executing
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void execute(ClaimedRetry retry, String instanceId, Semaphore permit) {
+        RetryAttempt attempt;
+        try {
+            attempt = retryAttemptRepository.findByRetryIdAndClaimedBy(retry.retryId(), instanceId)
+                    .filter(claimed -> claimed.getRetryStatus() == RetryStatus.IN_PROGRESS)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.error("Failed to load retry {} - {}", retry.retryId(), e.getMessage(), e);
+            finish(permit);
+            return;
+        }
+        if (attempt == null) {
+            log.warn("Retry {} is no longer claimed by {}, skipping", retry.retryId(), instanceId);
+            finish(permit);
+            return;
+        }
+        if (attempt.getEndpointUrl() == null || attempt.getEndpointUrl().isBlank()) {
+            record(() -> retryOutcomeService.recordFailure(retry.retryId(), instanceId, "NO_ENDPOINT",
+                    "Retry attempt has no endpoint URL", false));
+            finish(permit);
+            return;
+        }
+
+        Map<String, String> body = attempt.getRetryData() != null ? new HashMap<>(attempt.getRetryData()) : Map.of();
+        webClient.post()
+                .uri(attempt.getEndpointUrl())
+                .header("X-Retry-Id", attempt.getRetryId())
+                .header("X-Retry-Attempt", String.valueOf(attempt.getRetryCount() + 1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .publishOn(outcomeScheduler)
+                .doFinally(signal -> finish(permit))
+                .subscribe(
+                        response -> record(() -> retryOutcomeService.recordSuccess(retry.retryId(), instanceId)),
+                        error -> record(() -> recordError(retry.retryId(), instanceId, error)));
+    }
+
+    private void recordError(String retryId, String instanceId, Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            HttpStatusCode status = responseError.getStatusCode();
+            // Other client errors will not succeed by sending the same request again
+            boolean retryable = status.is5xxServerError() || status.value() == 408 || status.value() == 429;
+            retryOutcomeService.recordFailure(retryId, instanceId, "HTTP_" + status.value(),
+                    responseError.getMessage(), retryable);
+        } else if (error instanceof TimeoutException) {
+            retryOutcomeService.recordFailure(retryId, instanceId, "TIMEOUT",
+                    "No response within " + requestTimeoutMs + "ms", true);
+        } else {
+            retryOutcomeService.recordFailure(retryId, instanceId, "DISPATCH_ERROR", error.getMessage(), true);
+        }
+    }
+
+    private void record(Runnable outcome) {
+        try {
+            outcome.run();
+        } catch (Exception e) {
+            // The claim is left to expire and the attempt is picked up again
+            log.error("Failed to record retry outcome - {}", e.getMessage(), e);
+        }
+    }
+
+    private void finish(Semaphore permit) {
+        permit.release();
+        inFlight.decrementAndGet();
+    }
+}
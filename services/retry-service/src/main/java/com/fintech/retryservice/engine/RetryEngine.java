@@ -0,0 +1,157 @@
+package com.fintech.retryservice.engine;
+
+import com.fintech.retryservice.repository.RetryClaimRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Retry engine backed by the retry_attempts table.
+ * <p>
+ * Every load interval, PENDING attempts due within the lookahead window are claimed in
+ * batches (SKIP LOCKED, so instances never claim the same row) and held in a timing wheel,
+ * which hands each to the {@link RetryDispatcher} when its backoff elapses. Only the
+ * lookahead window is in memory, bounded by retry.engine.max-scheduled; the rest of the
+ * backlog stays in the table behind the (retry_status, next_retry_time) index.
+ * <p>
+ * Enabled unless retry.engine.enabled=false.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "retry.engine.enabled", havingValue = "true", matchIfMissing = true)
+public class RetryEngine {
+
+    private final RetryClaimRepository retryClaimRepository;
+    private final RetryDispatcher retryDispatcher;
+    private final String instanceId;
+
+    @Value("${retry.engine.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${retry.engine.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${retry.engine.lookahead-ms:30000}")
+    private long lookaheadMs;
+
+    @Value("${retry.engine.batch-size:500}")
+    private int batchSize;
+
+    @Value("${retry.engine.max-scheduled:50000}")
+    private int maxScheduled;
+
+    @Value("${retry.engine.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${retry.engine.defer-ms:250}")
+    private long deferMs;
+
+    private TimingWheel<ClaimedRetry> wheel;
+    private Thread timerThread;
+    private volatile boolean running;
+
+    public RetryEngine(RetryClaimRepository retryClaimRepository, RetryDispatcher retryDispatcher,
+                       @Value("${retry.engine.instance-id:${HOSTNAME:}}") String instanceId) {
+        this.retryClaimRepository = retryClaimRepository;
+        this.retryDispatcher = retryDispatcher;
+        this.instanceId = instanceId == null || instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+    }
+
+    @PostConstruct
+    public void start() {
+        wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        running = true;
+        timerThread = new Thread(this::runTimer, "retry-timer");
+        timerThread.setDaemon(true);
+        timerThread.start();
+        log.info("Retry engine {} started: tick {}ms, lookahead {}ms, batch {}, max scheduled {}",
+                instanceId, tickMs, lookaheadMs, batchSize, maxScheduled);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        timerThread.interrupt();
+        timerThread.join(tickMs * 10);
+        List<ClaimedRetry> waiting = wheel.drain();
+        if (!waiting.isEmpty()) {
+            retryClaimRepository.release(instanceId, waiting.stream().map(ClaimedRetry::retryId).toList());
+            log.info("Retry engine {} released {} scheduled retries", instanceId, waiting.size());
+        }
+    }
+
+    /**
+     * Claim attempts due within the lookahead window into the timing wheel
+     */
+    @Scheduled(fixedDelayString = "${retry.engine.load-interval-ms:500}")
+    public void loadDue() {
+        if (!running) {
+            return;
+        }
+        try {
+            int capacity = maxScheduled - wheel.size() - retryDispatcher.getInFlight();
+            LocalDateTime dueBefore = LocalDateTime.now().plus(lookaheadMs, ChronoUnit.MILLIS);
+            while (capacity > 0 && running) {
+                List<ClaimedRetry> claimed = retryClaimRepository.claimDue(
+                        instanceId, dueBefore, Math.min(batchSize, capacity), leaseSeconds);
+                claimed.forEach(this::schedule);
+                capacity -= claimed.size();
+                if (claimed.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to claim due retries - {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Return attempts whose claim outlived its lease (instance crashed or lost) to PENDING
+     */
+    @Scheduled(fixedDelayString = "${retry.engine.lease-check-interval-ms:30000}")
+    public void releaseExpiredLeases() {
+        try {
+            int released = retryClaimRepository.releaseExpired(LocalDateTime.now(), batchSize * 10);
+            if (released > 0) {
+                log.warn("Released {} retries with expired claims", released);
+            }
+        } catch (Exception e) {
+            log.error("Failed to release expired retry claims - {}", e.getMessage(), e);
+        }
+    }
+
+    private void schedule(ClaimedRetry retry) {
+        if (!wheel.schedule(retry.dueAtMs(), retry)) {
+            dispatch(retry);
+        }
+    }
+
+    private void dispatch(ClaimedRetry retry) {
+        if (!retryDispatcher.tryDispatch(retry, instanceId)) {
+            // Its type is at the concurrency limit; try again shortly
+            wheel.schedule(System.currentTimeMillis() + Math.max(deferMs, tickMs), retry);
+        }
+    }
+
+    private void runTimer() {
+        while (running) {
+            try {
+                wheel.advance(tickMs * 2, this::dispatch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Retry timer failed - {}", e.getMessage(), e);
+            }
+        }
+    }
+}
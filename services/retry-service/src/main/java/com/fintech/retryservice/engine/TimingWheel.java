@@ -0,0 +1,204 @@
+package com.fintech.retryservice.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding items until their due time.
+ * <p>
+ * The first level has wheelSize buckets of tickMs each; every further level is created on
+ * demand with buckets as wide as the whole level below it, so an item due far ahead costs
+ * the same O(1) insert and is cascaded down as the clock reaches its bucket. Only buckets
+ * that hold items sit in the DelayQueue, so an idle wheel does not wake up every tick.
+ * Items expire when the clock reaches their bucket, i.e. within one tickMs of their due time.
+ */
+public class TimingWheel<T> {
+
+    private final DelayQueue<Bucket<T>> delayQueue = new DelayQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Level<T> root;
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level<>(tickMs, wheelSize, startMs, delayQueue);
+    }
+
+    /**
+     * Hold an item until dueAtMs
+     *
+     * @return false if the item is already due; the caller should handle it now
+     */
+    public boolean schedule(long dueAtMs, T item) {
+        lock.lock();
+        try {
+            if (!root.add(new Entry<>(dueAtMs, item))) {
+                return false;
+            }
+            size++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait up to timeoutMs for the next bucket to expire and hand every due item to onExpired
+     *
+     * @return number of items that expired
+     */
+    public int advance(long timeoutMs, Consumer<T> onExpired) throws InterruptedException {
+        Bucket<T> bucket = delayQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return 0;
+        }
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (bucket != null) {
+                root.advanceClock(bucket.getExpiration());
+                // Items of a higher level bucket are re-inserted into the finer levels below
+                bucket.flush(entry -> {
+                    if (!root.add(entry)) {
+                        expired.add(entry.item());
+                    }
+                });
+                bucket = delayQueue.poll();
+            }
+            size -= expired.size();
+        } finally {
+            lock.unlock();
+        }
+        expired.forEach(onExpired);
+        return expired.size();
+    }
+
+    /**
+     * Remove and return every item still waiting
+     */
+    public List<T> drain() {
+        List<T> items = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Bucket<T> bucket : delayQueue) {
+                bucket.flush(entry -> items.add(entry.item()));
+            }
+            delayQueue.clear();
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+        return items;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<T>(long dueAtMs, T item) {
+    }
+
+    private static final class Level<T> {
+
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket<T>[] buckets;
+        private final DelayQueue<Bucket<T>> delayQueue;
+        private long currentTime;
+        private Level<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs, DelayQueue<Bucket<T>> delayQueue) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.delayQueue = delayQueue;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+        }
+
+        boolean add(Entry<T> entry) {
+            long dueAtMs = entry.dueAtMs();
+            if (dueAtMs < currentTime + tickMs) {
+                return false;
+            }
+            if (dueAtMs < currentTime + interval) {
+                long virtualId = dueAtMs / tickMs;
+                Bucket<T> bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime, delayQueue);
+            }
+            return overflow.add(entry);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<T> implements Delayed {
+
+        private final ArrayDeque<Entry<T>> entries = new ArrayDeque<>();
+        private volatile long expiration = -1;
+
+        void add(Entry<T> entry) {
+            entries.add(entry);
+        }
+
+        /**
+         * @return true if the expiration changed, i.e. the bucket must be (re)queued
+         */
+        boolean setExpiration(long expirationMs) {
+            long previous = expiration;
+            expiration = expirationMs;
+            return previous != expirationMs;
+        }
+
+        long getExpiration() {
+            return expiration;
+        }
+
+        void flush(Consumer<Entry<T>> consumer) {
+            Entry<T> entry;
+            while ((entry = entries.poll()) != null) {
+                consumer.accept(entry);
+            }
+            expiration = -1;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((Bucket<?>) other).expiration);
+        }
+    }
+}
@@ -21,7 +21,8 @@ import java.util.Map;
     @Index(name = "idx_original_id", columnList = "original_id"),
     @Index(name = "idx_next_retry_time", columnList = "next_retry_time"),
     @Index(name = "idx_created_at", columnList = "created_at"),
-    @Index(name = "idx_status_retry_time", columnList = "retry_status, next_retry_time")
+    @Index(name = "idx_status_retry_time", columnList = "retry_status, next_retry_time"),
+    @Index(name = "idx_status_lease", columnList = "retry_status, lease_expires_at")
 })
 @Data
 @Builder
@@ -97,6 +98,18 @@ public class RetryAttempt {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    /**
+     * Retry engine instance holding this attempt while it is IN_PROGRESS
+     */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    /**
+     * An IN_PROGRESS claim past this time is returned to PENDING
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     /**
      * Check if retry attempt has exceeded maximum retries
      */
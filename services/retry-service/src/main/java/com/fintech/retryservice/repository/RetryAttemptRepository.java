@@ -3,9 +3,12 @@ package com.fintech.retryservice.repository;
 import com.fintech.retryservice.model.RetryAttempt;
 import com.fintech.retryservice.model.RetryStatus;
 import com.fintech.retryservice.model.RetryType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -51,6 +54,23 @@ public interface RetryAttemptRepository extends JpaRepository<RetryAttempt, Stri
         @Param("status") RetryStatus status,
         @Param("currentTime") LocalDateTime currentTime);
 
+    /**
+     * Find a retry attempt claimed by a retry engine instance, with its retry data
+     */
+    @EntityGraph(attributePaths = "retryData")
+    Optional<RetryAttempt> findByRetryIdAndClaimedBy(String retryId, String claimedBy);
+
+    /**
+     * Lock a retry attempt still claimed by a retry engine instance to record its outcome
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RetryAttempt r WHERE r.retryId = :retryId " +
+           "AND r.retryStatus = :status AND r.claimedBy = :claimedBy")
+    Optional<RetryAttempt> findClaimedForUpdate(
+        @Param("retryId") String retryId,
+        @Param("status") RetryStatus status,
+        @Param("claimedBy") String claimedBy);
+
     /**
      * Find stuck retry attempts
      */
@@ -0,0 +1,80 @@
+package com.fintech.retryservice.repository;
+
+import com.fintech.retryservice.engine.ClaimedRetry;
+import com.fintech.retryservice.model.RetryType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Claims of due retry attempts between retry engine instances.
+ * <p>
+ * A claim moves PENDING rows to IN_PROGRESS under this instance's name with a lease.
+ * Candidates are locked FOR UPDATE SKIP LOCKED, so concurrent instances claim disjoint
+ * batches without waiting on each other. Expired leases are returned to PENDING; outcomes
+ * are only recorded while the row is still claimed by the instance that dispatched it.
+ */
+@Repository
+public class RetryClaimRepository {
+
+    private static final String CLAIM_DUE_SQL =
+            "UPDATE retry_attempts r SET retry_status = 'IN_PROGRESS', claimed_by = ?, " +
+                    "lease_expires_at = GREATEST(r.next_retry_time, ?) + ? * INTERVAL '1 second', updated_at = ? " +
+                    "FROM (SELECT retry_id FROM retry_attempts " +
+                    "WHERE retry_status = 'PENDING' AND next_retry_time <= ? AND retry_count < max_retries " +
+                    "ORDER BY next_retry_time LIMIT ? FOR UPDATE SKIP LOCKED) due " +
+                    "WHERE r.retry_id = due.retry_id " +
+                    "RETURNING r.retry_id, r.retry_type, r.next_retry_time";
+
+    private static final String RELEASE_EXPIRED_SQL =
+            "UPDATE retry_attempts SET retry_status = 'PENDING', claimed_by = NULL, lease_expires_at = NULL, updated_at = ? " +
+                    "WHERE retry_id IN (SELECT retry_id FROM retry_attempts " +
+                    "WHERE retry_status = 'IN_PROGRESS' AND lease_expires_at < ? LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE retry_attempts SET retry_status = 'PENDING', claimed_by = NULL, lease_expires_at = NULL, updated_at = ? " +
+                    "WHERE retry_id = ? AND retry_status = 'IN_PROGRESS' AND claimed_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RetryClaimRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claim up to limit PENDING attempts due at or before dueBefore, earliest first.
+     * The lease runs leaseSeconds past each attempt's due time, or past now for an attempt
+     * that is already overdue, so a backlog is never claimed with an expired lease.
+     */
+    public List<ClaimedRetry> claimDue(String instanceId, LocalDateTime dueBefore, int limit, long leaseSeconds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(CLAIM_DUE_SQL,
+                (rs, rowNum) -> new ClaimedRetry(
+                        rs.getString(1),
+                        RetryType.valueOf(rs.getString(2)),
+                        rs.getTimestamp(3).getTime()),
+                instanceId, now, leaseSeconds, now, Timestamp.valueOf(dueBefore), limit);
+    }
+
+    /**
+     * Return up to limit attempts whose lease expired (e.g. their instance died) to PENDING
+     */
+    public int releaseExpired(LocalDateTime now, int limit) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.update(RELEASE_EXPIRED_SQL, timestamp, timestamp, limit);
+    }
+
+    /**
+     * Give claims this instance will not dispatch back to PENDING
+     */
+    public void release(String instanceId, Collection<String> retryIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(RELEASE_SQL, retryIds.stream()
+                .map(retryId -> new Object[]{now, retryId, instanceId})
+                .toList());
+    }
+}
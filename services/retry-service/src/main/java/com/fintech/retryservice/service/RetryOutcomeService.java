@@ -0,0 +1,96 @@
+package com.fintech.retryservice.service;
+
+import com.fintech.retryservice.model.RetryAttempt;
+import com.fintech.retryservice.model.RetryStatus;
+import com.fintech.retryservice.repository.RetryAttemptRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Records the outcome of a dispatched retry attempt and releases its claim.
+ * <p>
+ * The update only applies while the attempt is still claimed by the dispatching instance;
+ * if its lease expired and another instance took it over, the late outcome is dropped.
+ */
+@Slf4j
+@Service
+public class RetryOutcomeService {
+
+    private static final String UPDATED_BY = "retry-engine";
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final RetryAttemptRepository retryAttemptRepository;
+
+    public RetryOutcomeService(RetryAttemptRepository retryAttemptRepository) {
+        this.retryAttemptRepository = retryAttemptRepository;
+    }
+
+    @Transactional
+    public void recordSuccess(String retryId, String instanceId) {
+        Optional<RetryAttempt> claimed = lockClaimed(retryId, instanceId);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        RetryAttempt attempt = claimed.get();
+        LocalDateTime now = LocalDateTime.now();
+        attempt.setRetryStatus(RetryStatus.COMPLETED);
+        attempt.setLastRetryTime(now);
+        attempt.setCompletedAt(now);
+        attempt.setErrorMessage(null);
+        attempt.setLastErrorCode(null);
+        release(attempt);
+    }
+
+    /**
+     * Record a failed attempt. A retryable failure is rescheduled with the attempt's
+     * exponential backoff until max retries are exceeded; anything else fails for good.
+     */
+    @Transactional
+    public void recordFailure(String retryId, String instanceId, String errorCode, String errorMessage,
+                              boolean retryable) {
+        Optional<RetryAttempt> claimed = lockClaimed(retryId, instanceId);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        RetryAttempt attempt = claimed.get();
+        attempt.setLastErrorCode(errorCode);
+        attempt.setErrorMessage(errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+                ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage);
+
+        if (retryable) {
+            attempt.incrementRetryCount();
+            if (attempt.getRetryStatus() != RetryStatus.MAX_RETRIES_EXCEEDED) {
+                attempt.setRetryStatus(RetryStatus.PENDING);
+            } else {
+                attempt.setCompletedAt(LocalDateTime.now());
+            }
+        } else {
+            attempt.setRetryStatus(RetryStatus.FAILED);
+            attempt.setLastRetryTime(LocalDateTime.now());
+            attempt.setCompletedAt(LocalDateTime.now());
+        }
+        release(attempt);
+        log.debug("Retry {} failed with {}, now {} (attempt {} of {})", retryId, errorCode,
+                attempt.getRetryStatus(), attempt.getRetryCount(), attempt.getMaxRetries());
+    }
+
+    private Optional<RetryAttempt> lockClaimed(String retryId, String instanceId) {
+        Optional<RetryAttempt> claimed = retryAttemptRepository.findClaimedForUpdate(
+                retryId, RetryStatus.IN_PROGRESS, instanceId);
+        if (claimed.isEmpty()) {
+            log.warn("Dropping outcome of retry {}: no longer claimed by {}", retryId, instanceId);
+        }
+        return claimed;
+    }
+
+    private void release(RetryAttempt attempt) {
+        attempt.setClaimedBy(null);
+        attempt.setLeaseExpiresAt(null);
+        attempt.setLastUpdatedBy(UPDATED_BY);
+        retryAttemptRepository.save(attempt);
+    }
+}
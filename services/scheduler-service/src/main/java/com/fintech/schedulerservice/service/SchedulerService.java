@@ -1,5 +1,6 @@
 package com.fintech.schedulerservice.service;
 
+import com.fintech.common.id.SnowflakeIdGenerator;
 import com.fintech.schedulerservice.dto.JobRequest;
 import com.fintech.schedulerservice.dto.JobResponse;
 import com.fintech.schedulerservice.dto.JobStatusUpdate;
@@ -7,7 +8,6 @@ import com.fintech.schedulerservice.model.JobStatus;
 import com.fintech.schedulerservice.model.JobType;
 import com.fintech.schedulerservice.model.ScheduledJob;
 import com.fintech.schedulerservice.repository.ScheduledJobRepository;
-import com.fintech.schedulerservice.util.SnowflakeIdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.*;
@@ -45,7 +45,7 @@ public class SchedulerService {
     public JobResponse createJob(JobRequest jobRequest) {
         log.info("Creating new job: {}", jobRequest.getJobName());
 
-        String jobId = snowflakeIdGenerator.nextId();
+        String jobId = snowflakeIdGenerator.nextIdString();
         
         ScheduledJob scheduledJob = ScheduledJob.builder()
                 .jobId(jobId)
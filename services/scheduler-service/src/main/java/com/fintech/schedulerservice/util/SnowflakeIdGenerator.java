@@ -1,95 +0,0 @@
-package com.fintech.schedulerservice.util;
-
-import org.springframework.stereotype.Component;
-
-/**
- * Snowflake ID generator for unique job IDs
- * Based on Twitter's Snowflake algorithm
- */
-@Component
-public class SnowflakeIdGenerator {
-
-    // Epoch start time (January 1, 2020 00:00:00 UTC)
-    private static final long EPOCH = 1577836800000L;
-
-    // Number of bits allocated for each component
-    private static final long WORKER_ID_BITS = 5L;
-    private static final long DATACENTER_ID_BITS = 5L;
-    private static final long SEQUENCE_BITS = 12L;
-
-    // Maximum values for each component
-    private static final long MAX_WORKER_ID = -1L ^ (-1L << WORKER_ID_BITS);
-    private static final long MAX_DATACENTER_ID = -1L ^ (-1L << DATACENTER_ID_BITS);
-
-    // Shift amounts for each component
-    private static final long WORKER_ID_SHIFT = SEQUENCE_BITS;
-    private static final long DATACENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
-    private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS;
-
-    // Sequence mask
-    private static final long SEQUENCE_MASK = -1L ^ (-1L << SEQUENCE_BITS);
-
-    private final long workerId;
-    private final long datacenterId;
-    private long sequence = 0L;
-    private long lastTimestamp = -1L;
-
-    public SnowflakeIdGenerator() {
-        this(1L, 1L); // Default worker and datacenter IDs
-    }
-
-    public SnowflakeIdGenerator(long workerId, long datacenterId) {
-        if (workerId > MAX_WORKER_ID || workerId < 0) {
-            throw new IllegalArgumentException(
-                String.format("Worker ID can't be greater than %d or less than 0", MAX_WORKER_ID));
-        }
-        if (datacenterId > MAX_DATACENTER_ID || datacenterId < 0) {
-            throw new IllegalArgumentException(
-                String.format("Datacenter ID can't be greater than %d or less than 0", MAX_DATACENTER_ID));
-        }
-        this.workerId = workerId;
-        this.datacenterId = datacenterId;
-    }
-
-    public synchronized String nextId() {
-        return String.valueOf(nextLongId());
-    }
-
-    public synchronized long nextLongId() {
-        long timestamp = timeGen();
-
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException(
-                String.format("Clock moved backwards. Refusing to generate id for %d milliseconds",
-                    lastTimestamp - timestamp));
-        }
-
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & SEQUENCE_MASK;
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
-            }
-        } else {
-            sequence = 0L;
-        }
-
-        lastTimestamp = timestamp;
-
-        return ((timestamp - EPOCH) << TIMESTAMP_LEFT_SHIFT) |
-               (datacenterId << DATACENTER_ID_SHIFT) |
-               (workerId << WORKER_ID_SHIFT) |
-               sequence;
-    }
-
-    protected long tilNextMillis(long lastTimestamp) {
-        long timestamp = timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = timeGen();
-        }
-        return timestamp;
-    }
-
-    protected long timeGen() {
-        return System.currentTimeMillis();
-    }
-}
\ No newline at end of file
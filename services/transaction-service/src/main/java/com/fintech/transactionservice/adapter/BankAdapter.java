@@ -3,6 +3,22 @@ package com.fintech.transactionservice.adapter;
 import com.fintech.transactionservice.entity.Transaction;
 import com.fintech.transactionservice.model.TransactionResult;
 
+import java.util.List;
+
 public interface BankAdapter {
     TransactionResult process(Transaction payment);
+
+    /**
+     * Called once before a batch of transfers runs in one database transaction, so an
+     * adapter can take all the locks it needs up front in a global order
+     */
+    default void prepareBatch(List<Transaction> transactions) {
+    }
+
+    /**
+     * Called once after every transfer of a prepared batch ran, in the same database
+     * transaction, so an adapter can write what it deferred in one go
+     */
+    default void completeBatch(List<Transaction> transactions) {
+    }
 }
\ No newline at end of file
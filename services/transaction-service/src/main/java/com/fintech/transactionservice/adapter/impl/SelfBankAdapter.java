@@ -6,24 +6,71 @@ import com.fintech.transactionservice.annotation.BankCode;
 import com.fintech.transactionservice.entity.Account;
 import com.fintech.transactionservice.entity.Transaction;
 import com.fintech.transactionservice.model.TransactionResult;
+import com.fintech.transactionservice.repository.AccountBatchRepository;
 import com.fintech.transactionservice.repository.AccountRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 @BankCode("Self")
 public class SelfBankAdapter implements BankAdapter {
 
     final AccountRepository accountRepository;
+    final AccountBatchRepository accountBatchRepository;
 
-    public SelfBankAdapter(AccountRepository accountRepository) {
+    public SelfBankAdapter(AccountRepository accountRepository, AccountBatchRepository accountBatchRepository) {
         this.accountRepository = accountRepository;
+        this.accountBatchRepository = accountBatchRepository;
     }
 
 
+    /**
+     * Locks every account of the batch in sorted order with one statement before any transfer
+     * runs, so two consumers with overlapping batches cannot deadlock on each other's rows.
+     * Transfers of the batch then run against the locked balances in memory.
+     */
+    @Override
+    public void prepareBatch(List<Transaction> transactions) {
+        TreeSet<String> accountNumbers = new TreeSet<>();
+        for (Transaction transaction : transactions) {
+            accountNumbers.add(transaction.getFromAccount());
+            accountNumbers.add(transaction.getToAccount());
+        }
+        BatchBalances batch = new BatchBalances(accountBatchRepository.lockBalances(accountNumbers));
+        TransactionSynchronizationManager.bindResource(this, batch);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SelfBankAdapter.this);
+            }
+        });
+    }
+
+    /**
+     * Writes the net balance change of every account of the batch in one JDBC batch
+     */
+    @Override
+    public void completeBatch(List<Transaction> transactions) {
+        BatchBalances batch = (BatchBalances) TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        if (batch != null) {
+            accountBatchRepository.applyDeltas(batch.deltas);
+        }
+    }
+
     @Override
     public TransactionResult process(Transaction transaction) {
+        BatchBalances batch = (BatchBalances) TransactionSynchronizationManager.getResource(this);
+        if (batch != null) {
+            return batch.transfer(transaction);
+        }
 
         // Lock accounts in consistent order to prevent deadlocks
         String first, second;
@@ -52,4 +99,39 @@ public class SelfBankAdapter implements BankAdapter {
 
         return new TransactionResult(true, "SUCCESS", transaction.getTxnId());
     }
-}
\ No newline at end of file
+
+    /**
+     * Locked balances of a batch and the net change of each account so far
+     */
+    private static final class BatchBalances {
+
+        private final Map<String, BigDecimal> balances;
+        private final Map<String, BigDecimal> deltas = new TreeMap<>();
+
+        private BatchBalances(Map<String, BigDecimal> balances) {
+            this.balances = balances;
+        }
+
+        private TransactionResult transfer(Transaction transaction) {
+            String from = transaction.getFromAccount();
+            String to = transaction.getToAccount();
+            BigDecimal amount = transaction.getAmount();
+            BigDecimal senderBalance = balances.get(from);
+            if (senderBalance == null) {
+                throw new NoSuchElementException("Account not found: " + from);
+            }
+            if (!balances.containsKey(to)) {
+                throw new NoSuchElementException("Account not found: " + to);
+            }
+            if (senderBalance.compareTo(amount) < 0) {
+                return new TransactionResult(false, "INSUFFICIENT_FUNDS", transaction.getTxnId());
+            }
+
+            balances.put(from, senderBalance.subtract(amount));
+            balances.merge(to, amount, BigDecimal::add);
+            deltas.merge(from, amount.negate(), BigDecimal::add);
+            deltas.merge(to, amount, BigDecimal::add);
+            return new TransactionResult(true, "SUCCESS", transaction.getTxnId());
+        }
+    }
+}
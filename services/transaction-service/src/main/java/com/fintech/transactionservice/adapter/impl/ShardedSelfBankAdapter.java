@@ -0,0 +1,37 @@
+package com.fintech.transactionservice.adapter.impl;
+
+import com.fintech.transactionservice.adapter.BankAdapter;
+import com.fintech.transactionservice.annotation.BankCode;
+import com.fintech.transactionservice.engine.AccountBalanceEngine;
+import com.fintech.transactionservice.entity.Transaction;
+import com.fintech.transactionservice.model.TransactionResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Self bank adapter backed by the in-memory {@link AccountBalanceEngine} instead of
+ * pessimistic row locks. Must be called inside the transaction that records the transfer.
+ * Enabled with transaction.bank-code=SelfSharded.
+ */
+@Service
+@BankCode("SelfSharded")
+@ConditionalOnProperty(name = "transaction.bank-code", havingValue = "SelfSharded")
+public class ShardedSelfBankAdapter implements BankAdapter {
+
+    final AccountBalanceEngine accountBalanceEngine;
+
+    public ShardedSelfBankAdapter(AccountBalanceEngine accountBalanceEngine) {
+        this.accountBalanceEngine = accountBalanceEngine;
+    }
+
+    @Override
+    public TransactionResult process(Transaction transaction) {
+        // Waits at most transfer-timeout-ms; the balance is written in the caller's transaction
+        return accountBalanceEngine.transferInTransaction(
+                transaction.getTxnId(),
+                transaction.getFromAccount(),
+                transaction.getToAccount(),
+                transaction.getAmount()
+        );
+    }
+}
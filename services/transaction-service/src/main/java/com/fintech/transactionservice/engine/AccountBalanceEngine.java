@@ -0,0 +1,209 @@
+package com.fintech.transactionservice.engine;
+
+import com.fintech.transactionservice.model.TransactionResult;
+import com.fintech.transactionservice.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process account balance engine.
+ * Accounts are partitioned by account number onto single-threaded shard workers, so
+ * each balance has exactly one writer and transfers never take database row locks.
+ * A transfer is applied as a debit on the sender's shard followed by a credit on the
+ * receiver's shard. The balance change is written in the caller's database transaction
+ * together with the transaction row, settled in memory once that transaction commits and
+ * reversed if it does not, so the database never holds a balance the transaction table does
+ * not explain. The database balance is authoritative; shards reload from it when they disagree.
+ *
+ * This engine must be the only writer of account balances while it is enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.bank-code", havingValue = "SelfSharded")
+public class AccountBalanceEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBalanceEngine.class);
+
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${transaction.balance-engine.shards:0}")
+    private int shardCount;
+
+    @Value("${transaction.balance-engine.queue-capacity:65536}")
+    private int queueCapacity;
+
+    // Longest a transfer (or its reversal) is waited for while the caller holds its database transaction
+    @Value("${transaction.balance-engine.transfer-timeout-ms:5000}")
+    private long transferTimeoutMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger reversing = new AtomicInteger();
+    private volatile boolean accepting;
+    private BalanceShard[] shards;
+
+    public AccountBalanceEngine(AccountRepository accountRepository, JdbcTemplate jdbcTemplate) {
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        shards = new BalanceShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new BalanceShard(i, this, accountRepository, queueCapacity);
+            shards[i].start();
+        }
+        accepting = true;
+        logger.info("Account balance engine started with {} shards, transfer timeout: {}ms", count, transferTimeoutMs);
+    }
+
+    /**
+     * Apply a transfer as part of the current database transaction: the balance change is
+     * written before it commits and the in-memory transfer is reversed if it rolls back.
+     * Waits at most transfer-timeout-ms; a transfer that completes after that is reversed.
+     */
+    public TransactionResult transferInTransaction(String txnId, String fromAccount, String toAccount, BigDecimal amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Balance engine transfers must run inside a database transaction");
+        }
+        long minorUnits = BalanceShard.toMinorUnits(amount);
+        CompletableFuture<TransactionResult> future = transfer(txnId, fromAccount, toAccount, amount);
+
+        TransactionResult result;
+        try {
+            result = future.get(transferTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.thenAccept(late -> {
+                if (late.success() && !fromAccount.equals(toAccount)) {
+                    logger.warn("Reversing transfer txnId: {} that completed after the caller gave up", txnId);
+                    reverse(txnId, fromAccount, toAccount, minorUnits);
+                }
+            });
+            throw new RejectedExecutionException("Balance engine did not apply txnId " + txnId
+                    + " within " + transferTimeoutMs + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for txnId " + txnId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (result.success() && !fromAccount.equals(toAccount)) {
+            PendingBalanceUpdates.current(this, jdbcTemplate).add(txnId, fromAccount, toAccount, minorUnits);
+        }
+        return result;
+    }
+
+    /**
+     * Submit a transfer. The returned future completes on the receiver's shard once
+     * both legs are applied, or on the sender's shard when the debit is refused.
+     */
+    public CompletableFuture<TransactionResult> transfer(String txnId, String fromAccount, String toAccount, BigDecimal amount) {
+        CompletableFuture<TransactionResult> result = new CompletableFuture<>();
+        if (!accepting) {
+            result.completeExceptionally(new RejectedExecutionException("Account balance engine is not accepting transfers"));
+            return result;
+        }
+
+        long minorUnits = BalanceShard.toMinorUnits(amount);
+        if (minorUnits <= 0) {
+            result.completeExceptionally(new IllegalArgumentException("Transfer amount must be positive: " + amount));
+            return result;
+        }
+
+        inFlight.incrementAndGet();
+        result.whenComplete((r, ex) -> inFlight.decrementAndGet());
+
+        BalanceCommand debit = BalanceCommand.debit(txnId, fromAccount, toAccount, minorUnits, result);
+        if (!shardFor(fromAccount).offer(debit)) {
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Balance shard saturated for account: " + fromAccount));
+        }
+        return result;
+    }
+
+    /**
+     * Undo an applied transfer in memory: credit the sender back, then debit the receiver
+     */
+    CompletableFuture<Void> reverse(String txnId, String fromAccount, String toAccount, long minorUnits) {
+        CompletableFuture<Void> reversed = new CompletableFuture<>();
+        reversing.incrementAndGet();
+        reversed.whenComplete((r, ex) -> reversing.decrementAndGet());
+        shardFor(fromAccount).enqueue(BalanceCommand.reverse(txnId, fromAccount, toAccount, minorUnits, reversed));
+        return reversed;
+    }
+
+    /**
+     * Make a committed transfer part of both balances. Sent to each shard directly, so a
+     * transfer submitted by the committing thread afterwards always sees it.
+     */
+    void settle(String txnId, String fromAccount, String toAccount, long minorUnits) {
+        shardFor(fromAccount).enqueue(BalanceCommand.settleDebit(txnId, fromAccount, toAccount, minorUnits));
+        shardFor(toAccount).enqueue(BalanceCommand.settleCredit(txnId, fromAccount, toAccount, minorUnits));
+    }
+
+    /**
+     * Reload an account from the database once nothing is pending on it
+     */
+    void refresh(String accountNumber) {
+        shardFor(accountNumber).enqueue(BalanceCommand.refresh(accountNumber));
+    }
+
+    /**
+     * Waits up to transfer-timeout-ms for queued reversals to be applied. Returns false if
+     * some are still pending, in which case balances still include rolled back transfers.
+     */
+    public boolean awaitReversals() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(transferTimeoutMs);
+        while (reversing.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return reversing.get() == 0;
+    }
+
+    long transferTimeoutMs() {
+        return transferTimeoutMs;
+    }
+
+    BalanceShard shardFor(String accountNumber) {
+        return shards[(accountNumber.hashCode() & Integer.MAX_VALUE) % shards.length];
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting = false;
+
+        // Let transfers whose debit already happened finish their credit leg
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            logger.error("Stopping account balance engine with {} transfers still in flight", inFlight.get());
+        }
+
+        for (BalanceShard shard : shards) {
+            shard.stop();
+        }
+        logger.info("Account balance engine stopped");
+    }
+}
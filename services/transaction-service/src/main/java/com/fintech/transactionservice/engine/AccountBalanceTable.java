@@ -0,0 +1,122 @@
+package com.fintech.transactionservice.engine;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Primitive balance table owned by a single shard thread.
+ * Balances are kept in minor units (paise/cents) in flat long[]s so the hot path
+ * never allocates BigDecimal instances. Not thread-safe by design.
+ *
+ * Each slot holds the committed balance plus the debits and credits of transfers whose
+ * database transaction has not committed yet. Pending debits are held against the
+ * balance; pending credits only become spendable once settled, so undoing a rolled back
+ * transfer can never take a balance below zero.
+ */
+final class AccountBalanceTable {
+
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    private String[] accountNumbers;
+    private long[] balances;
+    private long[] pendingDebits;
+    private long[] pendingCredits;
+    private boolean[] stale;
+    private int size;
+
+    AccountBalanceTable(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.accountNumbers = new String[capacity];
+        this.balances = new long[capacity];
+        this.pendingDebits = new long[capacity];
+        this.pendingCredits = new long[capacity];
+        this.stale = new boolean[capacity];
+    }
+
+    /**
+     * Returns the slot for an account, or -1 when the account has not been loaded yet
+     */
+    int slotOf(String accountNumber) {
+        Integer slot = slots.get(accountNumber);
+        return slot == null ? -1 : slot;
+    }
+
+    int load(String accountNumber, long balance) {
+        if (size == balances.length) {
+            grow();
+        }
+        int slot = size++;
+        accountNumbers[slot] = accountNumber;
+        balances[slot] = balance;
+        slots.put(accountNumber, slot);
+        return slot;
+    }
+
+    /**
+     * Committed balance less pending debits
+     */
+    long available(int slot) {
+        return balances[slot] - pendingDebits[slot];
+    }
+
+    void debit(int slot, long amount) {
+        pendingDebits[slot] += amount;
+    }
+
+    void credit(int slot, long amount) {
+        pendingCredits[slot] += amount;
+    }
+
+    void settleDebit(int slot, long amount) {
+        pendingDebits[slot] -= amount;
+        balances[slot] -= amount;
+    }
+
+    void settleCredit(int slot, long amount) {
+        pendingCredits[slot] -= amount;
+        balances[slot] += amount;
+    }
+
+    void releaseDebit(int slot, long amount) {
+        pendingDebits[slot] -= amount;
+    }
+
+    void releaseCredit(int slot, long amount) {
+        pendingCredits[slot] -= amount;
+    }
+
+    boolean hasPending(int slot) {
+        return pendingDebits[slot] != 0 || pendingCredits[slot] != 0;
+    }
+
+    void markStale(int slot) {
+        stale[slot] = true;
+    }
+
+    boolean isStale(int slot) {
+        return stale[slot];
+    }
+
+    /**
+     * Replace the committed balance with one read from the database. Only valid while the
+     * slot has nothing pending, otherwise the read may already include a pending transfer.
+     */
+    void refresh(int slot, long balance) {
+        balances[slot] = balance;
+        stale[slot] = false;
+    }
+
+    String accountNumber(int slot) {
+        return accountNumbers[slot];
+    }
+
+    private void grow() {
+        int capacity = balances.length << 1;
+        accountNumbers = Arrays.copyOf(accountNumbers, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        pendingDebits = Arrays.copyOf(pendingDebits, capacity);
+        pendingCredits = Arrays.copyOf(pendingCredits, capacity);
+        stale = Arrays.copyOf(stale, capacity);
+    }
+}
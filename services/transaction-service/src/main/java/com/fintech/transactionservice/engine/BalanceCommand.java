@@ -0,0 +1,80 @@
+package com.fintech.transactionservice.engine;
+
+import com.fintech.transactionservice.model.TransactionResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Message exchanged between shard workers. A transfer starts as a DEBIT on the
+ * sender's shard and continues as a CREDIT on the receiver's shard; REFUND reverses
+ * a debit whose credit leg could not be applied. REVERSE_DEBIT / REVERSE_CREDIT undo a
+ * transfer whose database transaction did not commit, in the same two hops.
+ * SETTLE_DEBIT / SETTLE_CREDIT make a committed transfer part of each side's balance, and
+ * REFRESH reloads an account whose balance disagreed with the database.
+ */
+final class BalanceCommand {
+
+    enum Type {
+        DEBIT,
+        CREDIT,
+        REFUND,
+        REVERSE_DEBIT,
+        REVERSE_CREDIT,
+        SETTLE_DEBIT,
+        SETTLE_CREDIT,
+        REFRESH
+    }
+
+    final Type type;
+    final String txnId;
+    final String fromAccount;
+    final String toAccount;
+    final long amount;
+    final CompletableFuture<TransactionResult> result;
+    final CompletableFuture<Void> reversed;
+
+    private BalanceCommand(Type type, String txnId, String fromAccount, String toAccount, long amount,
+                           CompletableFuture<TransactionResult> result, CompletableFuture<Void> reversed) {
+        this.type = type;
+        this.txnId = txnId;
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+        this.amount = amount;
+        this.result = result;
+        this.reversed = reversed;
+    }
+
+    static BalanceCommand debit(String txnId, String fromAccount, String toAccount, long amount,
+                                CompletableFuture<TransactionResult> result) {
+        return new BalanceCommand(Type.DEBIT, txnId, fromAccount, toAccount, amount, result, null);
+    }
+
+    static BalanceCommand reverse(String txnId, String fromAccount, String toAccount, long amount,
+                                  CompletableFuture<Void> reversed) {
+        return new BalanceCommand(Type.REVERSE_DEBIT, txnId, fromAccount, toAccount, amount, null, reversed);
+    }
+
+    static BalanceCommand settleDebit(String txnId, String fromAccount, String toAccount, long amount) {
+        return new BalanceCommand(Type.SETTLE_DEBIT, txnId, fromAccount, toAccount, amount, null, null);
+    }
+
+    static BalanceCommand settleCredit(String txnId, String fromAccount, String toAccount, long amount) {
+        return new BalanceCommand(Type.SETTLE_CREDIT, txnId, fromAccount, toAccount, amount, null, null);
+    }
+
+    static BalanceCommand refresh(String accountNumber) {
+        return new BalanceCommand(Type.REFRESH, null, accountNumber, null, 0, null, null);
+    }
+
+    BalanceCommand toCredit() {
+        return new BalanceCommand(Type.CREDIT, txnId, fromAccount, toAccount, amount, result, null);
+    }
+
+    BalanceCommand toRefund() {
+        return new BalanceCommand(Type.REFUND, txnId, fromAccount, toAccount, amount, result, null);
+    }
+
+    BalanceCommand toReverseCredit() {
+        return new BalanceCommand(Type.REVERSE_CREDIT, txnId, fromAccount, toAccount, amount, null, reversed);
+    }
+}
@@ -0,0 +1,252 @@
+package com.fintech.transactionservice.engine;
+
+import com.fintech.transactionservice.model.TransactionResult;
+import com.fintech.transactionservice.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-writer shard worker. Every account hashed onto this shard is mutated only by
+ * this shard's thread, so funds checks, debits and credits are applied without locks.
+ * Transfers whose database transaction has not committed yet are held as pending debits
+ * and credits; the caller writes the balance change in that transaction and settles the
+ * transfer here once it commits, or reverses it if it rolls back (see
+ * {@link PendingBalanceUpdates}). The database stays the source of truth: a slot is
+ * reloaded when a debit would be refused or the database refused the slot's balance.
+ */
+final class BalanceShard implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceShard.class);
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final int index;
+    private final AccountBalanceEngine engine;
+    private final AccountRepository accountRepository;
+    private final int queueCapacity;
+
+    private final BlockingQueue<BalanceCommand> inbox = new LinkedBlockingQueue<>();
+    private final AccountBalanceTable table;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    BalanceShard(int index, AccountBalanceEngine engine, AccountRepository accountRepository, int queueCapacity) {
+        this.index = index;
+        this.engine = engine;
+        this.accountRepository = accountRepository;
+        this.queueCapacity = queueCapacity;
+        this.table = new AccountBalanceTable(1024);
+        this.worker = new Thread(this, "balance-shard-" + index);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    /**
+     * Entry point for new transfers. Applies admission control so a saturated shard
+     * rejects work instead of queueing without bound.
+     */
+    boolean offer(BalanceCommand command) {
+        if (!running || inbox.size() >= queueCapacity) {
+            return false;
+        }
+        return inbox.offer(command);
+    }
+
+    /**
+     * Entry point for follow-up legs (credit/refund/reversal). These must never be
+     * dropped, otherwise a debit could be left without its credit or its undo.
+     */
+    void enqueue(BalanceCommand command) {
+        inbox.add(command);
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join();
+    }
+
+    @Override
+    public void run() {
+        while (running || !inbox.isEmpty()) {
+            try {
+                BalanceCommand command = inbox.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (command != null) {
+                    apply(command);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        logger.info("Balance shard {} stopped", index);
+    }
+
+    private void apply(BalanceCommand command) {
+        try {
+            switch (command.type) {
+                case DEBIT -> applyDebit(command);
+                case CREDIT -> applyCredit(command);
+                case REFUND -> applyRefund(command);
+                case REVERSE_DEBIT -> applyReverseDebit(command);
+                case REVERSE_CREDIT -> applyReverseCredit(command);
+                case SETTLE_DEBIT -> applySettleDebit(command);
+                case SETTLE_CREDIT -> applySettleCredit(command);
+                case REFRESH -> applyRefresh(command);
+            }
+        } catch (Exception e) {
+            logger.error("Balance shard {} failed to apply {} for txnId: {}", index, command.type, command.txnId, e);
+            if (command.result != null) {
+                command.result.completeExceptionally(e);
+            }
+            if (command.reversed != null) {
+                command.reversed.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void applyDebit(BalanceCommand command) {
+        int slot = resolve(command.fromAccount);
+        if (slot < 0) {
+            command.result.completeExceptionally(new NoSuchElementException("Account not found: " + command.fromAccount));
+            return;
+        }
+        if (table.available(slot) < command.amount) {
+            // The database may hold funds this slot has not seen, check it before refusing
+            if (!reload(slot) || table.available(slot) < command.amount) {
+                command.result.complete(new TransactionResult(false, "INSUFFICIENT_FUNDS", command.txnId));
+                return;
+            }
+        }
+        if (command.fromAccount.equals(command.toAccount)) {
+            // Self transfer nets to zero, nothing to persist
+            command.result.complete(new TransactionResult(true, "SUCCESS", command.txnId));
+            return;
+        }
+
+        table.debit(slot, command.amount);
+        engine.shardFor(command.toAccount).enqueue(command.toCredit());
+    }
+
+    private void applyCredit(BalanceCommand command) {
+        int slot = resolve(command.toAccount);
+        if (slot < 0) {
+            engine.shardFor(command.fromAccount).enqueue(command.toRefund());
+            return;
+        }
+        table.credit(slot, command.amount);
+        command.result.complete(new TransactionResult(true, "SUCCESS", command.txnId));
+    }
+
+    private void applyRefund(BalanceCommand command) {
+        // The sender was loaded by the debit leg, so its slot is always present here
+        int slot = table.slotOf(command.fromAccount);
+        table.releaseDebit(slot, command.amount);
+        reloadIfStale(slot);
+        command.result.completeExceptionally(new NoSuchElementException("Account not found: " + command.toAccount));
+    }
+
+    private void applyReverseDebit(BalanceCommand command) {
+        // Both accounts were loaded by the transfer being reversed
+        int slot = table.slotOf(command.fromAccount);
+        table.releaseDebit(slot, command.amount);
+        reloadIfStale(slot);
+        engine.shardFor(command.toAccount).enqueue(command.toReverseCredit());
+    }
+
+    private void applyReverseCredit(BalanceCommand command) {
+        int slot = table.slotOf(command.toAccount);
+        table.releaseCredit(slot, command.amount);
+        reloadIfStale(slot);
+        command.reversed.complete(null);
+    }
+
+    private void applySettleDebit(BalanceCommand command) {
+        int slot = table.slotOf(command.fromAccount);
+        table.settleDebit(slot, command.amount);
+        reloadIfStale(slot);
+    }
+
+    private void applySettleCredit(BalanceCommand command) {
+        int slot = table.slotOf(command.toAccount);
+        table.settleCredit(slot, command.amount);
+        reloadIfStale(slot);
+    }
+
+    private void applyRefresh(BalanceCommand command) {
+        int slot = table.slotOf(command.fromAccount);
+        if (slot >= 0) {
+            table.markStale(slot);
+            reloadIfStale(slot);
+        }
+    }
+
+    /**
+     * Returns the table slot for an account, loading it from the database on first touch
+     */
+    private int resolve(String accountNumber) {
+        int slot = table.slotOf(accountNumber);
+        if (slot >= 0) {
+            reloadIfStale(slot);
+            return slot;
+        }
+        try {
+            return accountRepository.findByAccountNumber(accountNumber)
+                    .map(account -> table.load(accountNumber, toMinorUnits(account.getBalance())))
+                    .orElse(-1);
+        } catch (Exception e) {
+            logger.error("Balance shard {} failed to load account: {}", index, accountNumber, e);
+            return -1;
+        }
+    }
+
+    private void reloadIfStale(int slot) {
+        if (table.isStale(slot)) {
+            reload(slot);
+        }
+    }
+
+    /**
+     * Re-reads the committed balance of a slot, e.g. before refusing a debit for funds the
+     * database may have. A slot with transfers pending is only marked stale and reloaded once
+     * they settle or are reversed, since its database row may already include some of them.
+     *
+     * @return true if the balance was reloaded
+     */
+    private boolean reload(int slot) {
+        if (table.hasPending(slot)) {
+            table.markStale(slot);
+            return false;
+        }
+        String accountNumber = table.accountNumber(slot);
+        try {
+            return accountRepository.findByAccountNumber(accountNumber)
+                    .map(account -> {
+                        table.refresh(slot, toMinorUnits(account.getBalance()));
+                        return true;
+                    })
+                    .orElse(false);
+        } catch (Exception e) {
+            logger.error("Balance shard {} failed to reload account: {}", index, accountNumber, e);
+            table.markStale(slot);
+            return false;
+        }
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, 2);
+    }
+}
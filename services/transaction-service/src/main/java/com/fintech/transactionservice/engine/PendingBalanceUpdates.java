@@ -0,0 +1,115 @@
+package com.fintech.transactionservice.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance changes made by the engine on behalf of one database transaction.
+ *
+ * Before commit the net delta per account is written with a guarded UPDATE, in account
+ * number order so concurrent transactions lock balance rows in the same order. A refused
+ * update means the shard's view of that account is wrong, so it is reloaded from the
+ * database. Once the transaction commits its transfers are settled on the shards; if it
+ * does not, every transfer is reversed before the caller sees the failure, so a
+ * redelivered event starts from the committed balance.
+ */
+final class PendingBalanceUpdates implements TransactionSynchronization {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingBalanceUpdates.class);
+
+    // Refuses to take a balance below zero, which would mean the shard and the table disagree
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE account SET balance = balance + ?, updated_at = now() WHERE account_number = ? AND balance + ? >= 0";
+
+    private final AccountBalanceEngine engine;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Long> deltas = new TreeMap<>();
+    private final List<Transfer> transfers = new ArrayList<>();
+
+    private PendingBalanceUpdates(AccountBalanceEngine engine, JdbcTemplate jdbcTemplate) {
+        this.engine = engine;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the pending updates of the current transaction, registering them on first use
+     */
+    static PendingBalanceUpdates current(AccountBalanceEngine engine, JdbcTemplate jdbcTemplate) {
+        PendingBalanceUpdates pending = (PendingBalanceUpdates) TransactionSynchronizationManager.getResource(engine);
+        if (pending == null) {
+            pending = new PendingBalanceUpdates(engine, jdbcTemplate);
+            TransactionSynchronizationManager.bindResource(engine, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    void add(String txnId, String fromAccount, String toAccount, long amount) {
+        transfers.add(new Transfer(txnId, fromAccount, toAccount, amount));
+        deltas.merge(fromAccount, -amount, Long::sum);
+        deltas.merge(toAccount, amount, Long::sum);
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((accountNumber, delta) -> {
+            if (delta != 0) {
+                Object[] row = {BalanceShard.fromMinorUnits(delta), accountNumber, BalanceShard.fromMinorUnits(delta)};
+                args.add(row);
+            }
+        });
+        if (args.isEmpty()) {
+            return;
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, args);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                String accountNumber = (String) args.get(i)[1];
+                engine.refresh(accountNumber);
+                throw new IllegalStateException("Balance update refused for account: " + accountNumber
+                        + ", reloading it from the database");
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(engine);
+        if (transfers.isEmpty()) {
+            return;
+        }
+        if (status == STATUS_COMMITTED) {
+            transfers.forEach(t -> engine.settle(t.txnId(), t.fromAccount(), t.toAccount(), t.amount()));
+            return;
+        }
+
+        CompletableFuture<?>[] reversals = new CompletableFuture<?>[transfers.size()];
+        for (int i = 0; i < reversals.length; i++) {
+            Transfer transfer = transfers.get(i);
+            reversals[i] = engine.reverse(transfer.txnId(), transfer.fromAccount(), transfer.toAccount(), transfer.amount());
+        }
+        try {
+            CompletableFuture.allOf(reversals).get(engine.transferTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted reversing {} transfers after rollback", reversals.length);
+        } catch (Exception e) {
+            logger.error("Failed to reverse {} transfers after rollback", reversals.length, e);
+        }
+    }
+
+    private record Transfer(String txnId, String fromAccount, String toAccount, long amount) {
+    }
+}
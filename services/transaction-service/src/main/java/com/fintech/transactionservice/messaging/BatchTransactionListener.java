@@ -0,0 +1,109 @@
+package com.fintech.transactionservice.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.transactionservice.dto.message.PaymentInitiatedEvent;
+import com.fintech.transactionservice.engine.AccountBalanceEngine;
+import com.fintech.transactionservice.entity.Transaction;
+import com.fintech.transactionservice.service.TransactionService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch replacement for {@link TransactionListener}. A whole poll of payment events is
+ * deduplicated, processed and persisted in one database transaction, together with the
+ * resulting completed events in the outbox. Enabled with transaction.listener.batch-enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.listener.batch-enabled", havingValue = "true")
+public class BatchTransactionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTransactionListener.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TransactionService transactionService;
+    private final ObjectProvider<AccountBalanceEngine> accountBalanceEngine;
+
+    public BatchTransactionListener(TransactionService transactionService,
+                                    ObjectProvider<AccountBalanceEngine> accountBalanceEngine) {
+        this.transactionService = transactionService;
+        this.accountBalanceEngine = accountBalanceEngine;
+    }
+
+    @KafkaListener(topics = "${kafka.topics.transaction-initiate}", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void onPaymentsAuthorized(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+
+        logger.info("Processing batch of {} transaction events", records.size());
+
+        List<PaymentInitiatedEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                events.add(objectMapper.readValue(record.value(), PaymentInitiatedEvent.class));
+            } catch (Exception e) {
+                // Same policy as the single-record listener: unparseable events are logged and skipped
+                logger.error("Failed to parse payment authorized event for key: {} - {}",
+                        record.key(), e.getMessage(), e);
+            }
+        }
+
+        List<Transaction> transactions;
+        try {
+            // Completed events are queued in the outbox inside the same transaction
+            transactions = transactionService.createTransactions(events);
+        } catch (TransactionSystemException e) {
+            // Commit or rollback itself failed, so the batch may have committed. Let the error
+            // handler redeliver it; the paymentId check skips whatever did commit.
+            logger.error("Batch commit outcome unknown for {} events, redelivering - {}", events.size(), e.getMessage(), e);
+            throw e;
+        } catch (Exception e) {
+            // The batch rolled back. Replay it event by event only once the balance engine
+            // (when enabled) has undone every transfer of the batch, otherwise redeliver.
+            logger.error("Batch processing failed for {} events, falling back to per-event processing - {}",
+                    events.size(), e.getMessage(), e);
+            awaitBalanceReversals(e);
+            processIndividually(events);
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        logger.info("Successfully processed batch of {} events into {} transactions", records.size(), transactions.size());
+        acknowledgment.acknowledge();
+    }
+
+    private void awaitBalanceReversals(Exception batchFailure) {
+        AccountBalanceEngine engine = accountBalanceEngine.getIfAvailable();
+        try {
+            if (engine != null && !engine.awaitReversals()) {
+                throw new IllegalStateException("Balance reversals still pending, redelivering batch", batchFailure);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for balance reversals", batchFailure);
+        }
+    }
+
+    /**
+     * Fallback used when the batch transaction rolled back, so one bad event does not
+     * fail the whole poll
+     */
+    private void processIndividually(List<PaymentInitiatedEvent> events) {
+        for (PaymentInitiatedEvent event : events) {
+            try {
+                transactionService.createTransaction(event);
+            } catch (Exception e) {
+                logger.error("Failed to process payment authorized event for paymentId: {} - {}",
+                        event.getPaymentId(), e.getMessage(), e);
+            }
+        }
+    }
+}
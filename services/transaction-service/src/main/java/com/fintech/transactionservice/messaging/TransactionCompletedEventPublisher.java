@@ -1,72 +1,76 @@
 package com.fintech.transactionservice.messaging;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.common.outbox.OutboxRepository;
 import com.fintech.transactionservice.dto.message.TransactionCompletedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class TransactionCompletedEventPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionCompletedEventPublisher.class);
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxRepository outboxRepository;
 
     @Value("${kafka.topics.transaction-completed}")
     private String transactionCompletedTopic;
 
     final ObjectMapper objectMapper;
 
-    public TransactionCompletedEventPublisher(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
+    public TransactionCompletedEventPublisher(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
         this.objectMapper = objectMapper;
     }
 
     /**
-     * Publish user role registration message to Kafka for authorization service
+     * Queue a transaction completed message in the outbox. Must be called inside the
+     * transaction that records the outcome; {@link com.fintech.common.outbox.OutboxRelay} sends it to Kafka after commit.
      */
     public void publishTransactionCompleted(TransactionCompletedEvent transactionCompletedEvent) {
         try {
             // Convert object to JSON string
             String jsonMessage = objectMapper.writeValueAsString(transactionCompletedEvent);
 
-            kafkaTemplate.send(transactionCompletedTopic, transactionCompletedEvent.getTxnId(), jsonMessage)
-                    .whenComplete((result, ex) -> {
-                        if (ex == null) {
-
-
-                            logger.info("Published ledger entry message to topic: {} with offset: {} for tnxId: {} with userId: {} and amount: {} and description: {}",
-                                    transactionCompletedTopic,
-                                    result.getRecordMetadata().offset(),
-                                    transactionCompletedEvent.getTxnId(),
-                                    transactionCompletedEvent.getUserId(),
-                                    transactionCompletedEvent.getAmount(),
-                                    transactionCompletedEvent.getDescription()
-                            );
+            outboxRepository.append(transactionCompletedTopic, transactionCompletedEvent.getTxnId(), jsonMessage);
 
-                        } else {
-                            logger.error("Failed to publish ledger entry message to topic: {} with offset: {} for tnxId: {} with userId: {} and amount: {} and description: {}",
-                                    transactionCompletedTopic,
-                                    result.getRecordMetadata().offset(),
-                                    transactionCompletedEvent.getTxnId(),
-                                    transactionCompletedEvent.getUserId(),
-                                    transactionCompletedEvent.getAmount(),
-                                    transactionCompletedEvent.getDescription(), ex);
-                            throw new RuntimeException("Failed to publish ledger entry message", ex);
-                        }
-                    });
-
-        } catch (Exception e) {
-            logger.error("Failed to publish ledger entry message to topic: {} for tnxId: {} with userId: {} and amount: {} and description: {}",
+            logger.info("Queued ledger entry message for topic: {} for tnxId: {} with userId: {} and amount: {}",
                     transactionCompletedTopic,
                     transactionCompletedEvent.getTxnId(),
                     transactionCompletedEvent.getUserId(),
-                    transactionCompletedEvent.getAmount(),
-                    transactionCompletedEvent.getDescription(), e);
+                    transactionCompletedEvent.getAmount());
+
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize ledger entry message for tnxId: {}",
+                    transactionCompletedEvent.getTxnId(), e);
             throw new RuntimeException("Failed to publish ledger entry message", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch variant of {@link #publishTransactionCompleted}: queues all events with a
+     * single JDBC batch insert into the outbox.
+     */
+    public void publishTransactionsCompleted(List<TransactionCompletedEvent> events) {
+        List<String> keys = new ArrayList<>(events.size());
+        List<String> payloads = new ArrayList<>(events.size());
+        try {
+            for (TransactionCompletedEvent event : events) {
+                keys.add(event.getTxnId());
+                payloads.add(objectMapper.writeValueAsString(event));
+            }
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize batch of {} transaction completed messages", events.size(), e);
+            throw new RuntimeException("Failed to publish transaction completed batch", e);
+        }
+
+        outboxRepository.appendAll(transactionCompletedTopic, keys, payloads);
+        logger.info("Queued {} transaction completed messages for topic: {}", events.size(), transactionCompletedTopic);
+    }
+}
@@ -6,6 +6,7 @@ import com.fintech.transactionservice.entity.Transaction;
 import com.fintech.transactionservice.service.TransactionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -14,6 +15,7 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "transaction.listener.batch-enabled", havingValue = "false", matchIfMissing = true)
 public class TransactionListener {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionListener.class);
@@ -0,0 +1,69 @@
+package com.fintech.transactionservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to account balances for the batch listener path: one statement locks every
+ * account of a batch and one batch applies their net changes.
+ */
+@Repository
+public class AccountBatchRepository {
+
+    // Rows are locked in account number order, the same order single transfers use
+    private static final String LOCK_BALANCES_SQL =
+            "SELECT account_number, balance FROM account WHERE account_number = ANY (?) " +
+                    "ORDER BY account_number FOR UPDATE";
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE account SET balance = balance + ?, updated_at = ? WHERE account_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lock the given accounts and return their balances; missing accounts are absent
+     */
+    public Map<String, BigDecimal> lockBalances(Collection<String> accountNumbers) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOCK_BALANCES_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", accountNumbers.toArray()));
+            return ps;
+        }, rs -> {
+            balances.put(rs.getString(1), rs.getBigDecimal(2));
+        });
+        return balances;
+    }
+
+    /**
+     * Add each account's net change to its balance
+     */
+    public void applyDeltas(Map<String, BigDecimal> deltas) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Map.Entry<String, BigDecimal>> changes = new ArrayList<>();
+        deltas.forEach((accountNumber, delta) -> {
+            if (delta.signum() != 0) {
+                changes.add(Map.entry(accountNumber, delta));
+            }
+        });
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setBigDecimal(1, change.getValue());
+            ps.setTimestamp(2, now);
+            ps.setString(3, change.getKey());
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.fintech.transactionservice.repository;
+
+import com.fintech.transactionservice.entity.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JDBC batch writes for the batch listener path, where per-entity JPA saves would
+ * cost one round trip per event.
+ */
+@Repository
+public class TransactionBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transaction (txn_id, payment_id, user_id, from_account, to_account, amount, description, " +
+                    "status, retry_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE transaction SET status = ?, updated_at = ? WHERE txn_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<Transaction> transactions) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, transactions.size(), (ps, transaction) -> {
+            ps.setString(1, transaction.getTxnId());
+            ps.setString(2, transaction.getPaymentId());
+            ps.setString(3, transaction.getUserId());
+            ps.setString(4, transaction.getFromAccount());
+            ps.setString(5, transaction.getToAccount());
+            ps.setBigDecimal(6, transaction.getAmount());
+            ps.setString(7, transaction.getDescription());
+            ps.setString(8, transaction.getStatus().name());
+            ps.setInt(9, transaction.getRetryCount());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+
+    public void updateStatuses(List<Transaction> transactions) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, transactions, transactions.size(), (ps, transaction) -> {
+            ps.setString(1, transaction.getStatus().name());
+            ps.setTimestamp(2, now);
+            ps.setString(3, transaction.getTxnId());
+        });
+    }
+}
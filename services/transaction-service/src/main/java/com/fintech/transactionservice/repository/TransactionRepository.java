@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, String
 
     @Query("SELECT t FROM Transaction t WHERE t.paymentId = ?1")
     Optional<Transaction> findByPaymentId(String paymentId);
+
+    @Query("SELECT t.paymentId FROM Transaction t WHERE t.paymentId IN ?1")
+    List<String> findExistingPaymentIds(Collection<String> paymentIds);
 }
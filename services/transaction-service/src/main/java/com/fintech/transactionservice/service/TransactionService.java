@@ -1,5 +1,7 @@
 package com.fintech.transactionservice.service;
 
+import com.fintech.common.id.IdBlock;
+import com.fintech.common.id.SnowflakeIdGenerator;
 import com.fintech.transactionservice.adapter.BankAdapter;
 import com.fintech.transactionservice.adapter.BankAdapterFactory;
 import com.fintech.transactionservice.dto.message.PaymentInitiatedEvent;
@@ -8,14 +10,20 @@ import com.fintech.transactionservice.entity.Transaction;
 import com.fintech.transactionservice.entity.TransactionStatus;
 import com.fintech.transactionservice.messaging.TransactionCompletedEventPublisher;
 import com.fintech.transactionservice.model.TransactionResult;
+import com.fintech.transactionservice.repository.TransactionBatchRepository;
 import com.fintech.transactionservice.repository.TransactionRepository;
-import com.fintech.transactionservice.util.SnowflakeIdGenerator;
 import io.micrometer.observation.annotation.Observed;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -28,17 +36,23 @@ public class TransactionService {
     private final TransactionCompletedEventPublisher transactionCompletedEventPublisher;
     private final BankAdapterFactory bankAdapterFactory;
     private final TransactionRepository transactionRepository;
+    private final TransactionBatchRepository transactionBatchRepository;
+
+    @Value("${transaction.bank-code:Self}")
+    private String bankCode;
 
     public TransactionService(
             SnowflakeIdGenerator snowflakeIdGenerator,
             TransactionCompletedEventPublisher transactionCompletedEventPublisher,
             BankAdapterFactory bankAdapterFactory,
-            TransactionRepository transactionRepository
+            TransactionRepository transactionRepository,
+            TransactionBatchRepository transactionBatchRepository
     ) {
         this.snowflakeIdGenerator = snowflakeIdGenerator;
         this.transactionCompletedEventPublisher = transactionCompletedEventPublisher;
         this.bankAdapterFactory = bankAdapterFactory;
         this.transactionRepository = transactionRepository;
+        this.transactionBatchRepository = transactionBatchRepository;
     }
 
     @Transactional
@@ -55,7 +69,7 @@ public class TransactionService {
 
         // 2. Create Transaction with PENDING status
         Transaction transaction = new Transaction(
-                snowflakeIdGenerator.nextId(),
+                snowflakeIdGenerator.nextIdString(),
                 event.getPaymentId(),
                 event.getUserId(),
                 event.getFromAccount(),
@@ -69,31 +83,100 @@ public class TransactionService {
         logger.info("Created transaction: {} for paymentId: {}",
                 transaction.getTxnId(), event.getPaymentId());
 
-        try {
-            // 3. Call BankAdapter for debit/credit execution
-            BankAdapter adapter = bankAdapterFactory.getAdapter("Self");
-            if (adapter == null) {
-                throw new IllegalArgumentException("No adapter configured for bank: " + "Self");
-            }
+        // 3. Call BankAdapter for debit/credit execution
+        executeTransfer(transaction);
+        transactionRepository.save(transaction);
 
-            TransactionResult result = adapter.process(transaction);
+        // 4. Queue TransactionCompletedEvent in the outbox for ledger and payment services to acknowledge
+        transactionCompletedEventPublisher.publishTransactionCompleted(toCompletedEvent(transaction));
+        logger.info("TransactionCompletedEvent queued for txnId: {}", transaction.getTxnId());
 
-            if (result.success()) {
-                transaction.setStatus(TransactionStatus.COMPLETED);
-                transactionRepository.save(transaction);
 
-            } else {
-                transaction.setStatus(TransactionStatus.FAILED);
-                transactionRepository.save(transaction);
-            }
+        return transaction;
+    }
+
+    /**
+     * Batch variant of {@link #createTransaction}: deduplicates the whole poll with one
+     * IN query and persists it with JDBC batch statements instead of per-event saves.
+     */
+    @Transactional
+    public List<Transaction> createTransactions(List<PaymentInitiatedEvent> events) {
+        // 1. Idempotency check for the whole batch, including duplicates inside the batch itself
+        Map<String, PaymentInitiatedEvent> byPaymentId = new LinkedHashMap<>();
+        for (PaymentInitiatedEvent event : events) {
+            byPaymentId.putIfAbsent(event.getPaymentId(), event);
+        }
+        if (byPaymentId.isEmpty()) {
+            return List.of();
+        }
+        for (String paymentId : transactionRepository.findExistingPaymentIds(byPaymentId.keySet())) {
+            logger.warn("Transaction already exists for paymentId: {}", paymentId);
+            byPaymentId.remove(paymentId);
+        }
+        if (byPaymentId.isEmpty()) {
+            return List.of();
+        }
+
+        // 2. Insert all transactions with PENDING status in one batch, with IDs from one reserved block
+        IdBlock ids = snowflakeIdGenerator.reserve(byPaymentId.size());
+        List<Transaction> transactions = new ArrayList<>(byPaymentId.size());
+        for (PaymentInitiatedEvent event : byPaymentId.values()) {
+            transactions.add(new Transaction(
+                    ids.nextIdString(),
+                    event.getPaymentId(),
+                    event.getUserId(),
+                    event.getFromAccount(),
+                    event.getToAccount(),
+                    event.getAmount(),
+                    event.getDescription()
+            ));
+        }
+        transactionBatchRepository.insertAll(transactions);
+
+        // 3. Lock up front, execute transfers, then write the final statuses in one batch
+        BankAdapter adapter = bankAdapter();
+        adapter.prepareBatch(transactions);
+        for (Transaction transaction : transactions) {
+            executeTransfer(transaction);
+        }
+        adapter.completeBatch(transactions);
+        transactionBatchRepository.updateStatuses(transactions);
+
+        // 4. Queue all TransactionCompletedEvents in the outbox with one batch insert
+        transactionCompletedEventPublisher.publishTransactionsCompleted(
+                transactions.stream().map(this::toCompletedEvent).toList());
+
+        logger.info("Created {} transactions from batch of {} events ({} duplicates skipped)",
+                transactions.size(), events.size(), events.size() - transactions.size());
+        return transactions;
+    }
+
+    /**
+     * Runs the configured BankAdapter and records the outcome on the transaction
+     */
+    private void executeTransfer(Transaction transaction) {
+        try {
+            TransactionResult result = bankAdapter().process(transaction);
+            transaction.setStatus(result.success() ? TransactionStatus.COMPLETED : TransactionStatus.FAILED);
+        } catch (ConcurrencyFailureException ex) {
+            // Deadlocks and lock timeouts doom the whole database transaction, so let it roll back
+            throw ex;
         } catch (Exception ex) {
             logger.error("Transaction processing failed for txnId: {}", transaction.getTxnId(), ex);
             transaction.setStatus(TransactionStatus.FAILED);
-            transactionRepository.save(transaction);
         }
+    }
+
+    private BankAdapter bankAdapter() {
+        BankAdapter adapter = bankAdapterFactory.getAdapter(bankCode);
+        if (adapter == null) {
+            throw new IllegalArgumentException("No adapter configured for bank: " + bankCode);
+        }
+        return adapter;
+    }
 
-        // 4. Publish TransactionCompletedEvent for ledger and payment services to acknowledge
-        TransactionCompletedEvent completedEvent = new TransactionCompletedEvent(
+    private TransactionCompletedEvent toCompletedEvent(Transaction transaction) {
+        return new TransactionCompletedEvent(
                 transaction.getTxnId(),
                 transaction.getPaymentId(),
                 transaction.getUserId(),
@@ -103,11 +186,6 @@ public class TransactionService {
                 transaction.getDescription(),
                 transaction.getStatus().name()
         );
-        transactionCompletedEventPublisher.publishTransactionCompleted(completedEvent);
-        logger.info("TransactionCompletedEvent published for txnId: {}", transaction.getTxnId());
-
-
-        return transaction;
     }
 
 /*
@@ -0,0 +1,167 @@
+package com.fintech.transactionservice.engine;
+
+import com.fintech.transactionservice.entity.Account;
+import com.fintech.transactionservice.model.TransactionResult;
+import com.fintech.transactionservice.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountBalanceEngineTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private AccountBalanceEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findByAccountNumber("A"))
+                .thenReturn(Optional.of(new Account("u1", "A", new BigDecimal("100.00"))));
+        when(accountRepository.findByAccountNumber("B"))
+                .thenReturn(Optional.of(new Account("u2", "B", new BigDecimal("0.00"))));
+
+        engine = new AccountBalanceEngine(accountRepository, jdbcTemplate);
+        ReflectionTestUtils.setField(engine, "shardCount", 2);
+        ReflectionTestUtils.setField(engine, "queueCapacity", 1024);
+        ReflectionTestUtils.setField(engine, "transferTimeoutMs", 5000L);
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        engine.stop();
+    }
+
+    @Test
+    void rolledBackTransferIsReversedSoRedeliveryCanApplyIt() {
+        TransactionResult first = inTransaction(false, () -> transfer("T1", "100.00"));
+        assertThat(first.success()).isTrue();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        // Same event redelivered after the rollback: funds are available again
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+        TransactionResult redelivered = inTransaction(true, () -> transfer("T1", "100.00"));
+        assertThat(redelivered.success()).isTrue();
+    }
+
+    @Test
+    void committedTransferWritesGuardedDeltasAndKeepsTheBalance() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+
+        TransactionResult first = inTransaction(true, () -> transfer("T1", "60.00"));
+        when(accountRepository.findByAccountNumber("A"))
+                .thenReturn(Optional.of(new Account("u1", "A", new BigDecimal("40.00"))));
+        TransactionResult second = inTransaction(true, () -> transfer("T2", "60.00"));
+
+        assertThat(first.success()).isTrue();
+        assertThat(second.success()).isFalse();
+        assertThat(second.statusCode()).isEqualTo("INSUFFICIENT_FUNDS");
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void refusedDatabaseUpdateFailsTheCommit() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0, 1});
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(transfer("T1", "10.00").success()).isTrue();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        assertThatThrownBy(() -> synchronizations.forEach(s -> s.beforeCommit(false)))
+                .isInstanceOf(IllegalStateException.class);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // The full balance is back after the rollback
+        assertThat(inTransaction(false, () -> transfer("T2", "100.00")).success()).isTrue();
+    }
+
+    @Test
+    void refusedDatabaseUpdateReloadsTheAccount() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0, 1});
+        when(accountRepository.findByAccountNumber("A"))
+                .thenReturn(Optional.of(new Account("u1", "A", new BigDecimal("100.00"))))
+                .thenReturn(Optional.of(new Account("u1", "A", new BigDecimal("5.00"))));
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(transfer("T1", "10.00").success()).isTrue();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThatThrownBy(() -> synchronizations.forEach(s -> s.beforeCommit(false)))
+                .isInstanceOf(IllegalStateException.class);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionResult retried = inTransaction(false, () -> transfer("T1", "10.00"));
+        assertThat(retried.success()).isFalse();
+        assertThat(retried.statusCode()).isEqualTo("INSUFFICIENT_FUNDS");
+    }
+
+    @Test
+    void debitBeyondTheLoadedBalanceChecksTheDatabaseFirst() {
+        assertThat(inTransaction(false, () -> transfer("T1", "10.00")).success()).isTrue();
+        when(accountRepository.findByAccountNumber("A"))
+                .thenReturn(Optional.of(new Account("u1", "A", new BigDecimal("200.00"))));
+
+        assertThat(inTransaction(false, () -> transfer("T2", "150.00")).success()).isTrue();
+    }
+
+    @Test
+    void uncommittedCreditIsNotSpendable() {
+        TransactionResult onward = inTransaction(false, () -> {
+            assertThat(transfer("T1", "100.00").success()).isTrue();
+            return engine.transferInTransaction("T2", "B", "A", new BigDecimal("50.00"));
+        });
+
+        assertThat(onward.success()).isFalse();
+        assertThat(onward.statusCode()).isEqualTo("INSUFFICIENT_FUNDS");
+        // Reversing T1 leaves both balances where they started
+        assertThat(inTransaction(false, () -> transfer("T3", "100.00")).success()).isTrue();
+    }
+
+    @Test
+    void transferOutsideTransactionIsRefused() {
+        assertThatThrownBy(() -> transfer("T1", "10.00")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private TransactionResult transfer(String txnId, String amount) {
+        return engine.transferInTransaction(txnId, "A", "B", new BigDecimal(amount));
+    }
+
+    private TransactionResult inTransaction(boolean commit, Supplier<TransactionResult> work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionResult result = work.get();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(s -> s.beforeCommit(false));
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(s -> s.afterCompletion(status));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}